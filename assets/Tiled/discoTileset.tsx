@@ -1,4 +1,7 @@
 <?xml version="1.0" encoding="UTF-8"?>
 <tileset version="1.10" tiledversion="1.10.2" name="discoTileset" tilewidth="64" tileheight="64" tilecount="6" columns="3">
+ <properties>
+  <property name="tiles" value="../world/tilesets/discoTileset/"/>
+ </properties>
  <image source="tilesets/discoTileset.png" width="192" height="128"/>
 </tileset>
@@ -1,4 +1,7 @@
 <?xml version="1.0" encoding="UTF-8"?>
 <tileset version="1.10" tiledversion="1.10.2" name="rabbeatTileset" tilewidth="64" tileheight="64" tilecount="21" columns="3">
+ <properties>
+  <property name="tiles" value="../world/tilesets/rabbeatTileset/"/>
+ </properties>
  <image source="tilesets/rabbeatTileset.png" width="192" height="448"/>
 </tileset>
@@ -0,0 +1,38 @@
+/*
+ * BenchLauncher.java
+ *
+ * Runs the game simulation without a window or an audio device.  This is the
+ * headless counterpart to DesktopLauncher.  Rather than showing the game, it
+ * steps every level as fast as it can and reports how long each one takes.
+ *
+ * Run it from the assets directory (the gradle run task does this for you).
+ */
+package edu.cornell.gdiac.rabbeat.bench;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/**
+ * The main class of the headless benchmark.
+ *
+ * This class parses the tick count and launches a headless application.
+ */
+public class BenchLauncher {
+	/** Number of ticks to simulate per level if none is given */
+	private static final int DEFAULT_TICKS = 3600;
+
+	/**
+	 * Classic main method that all Java programmers know.
+	 *
+	 * The optional first argument is the number of ticks to simulate per level.
+	 *
+	 * @param arg Command line arguments
+	 */
+	public static void main (String[] arg) {
+		int ticks = arg.length > 0 ? Integer.parseInt(arg[0]) : DEFAULT_TICKS;
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		// We drive the simulation ourselves, so never call render
+		config.updatesPerSecond = -1;
+		new HeadlessApplication(new LevelSimulation(ticks), config);
+	}
+}
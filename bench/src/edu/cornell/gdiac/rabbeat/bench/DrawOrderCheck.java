@@ -0,0 +1,245 @@
+/*
+ * DrawOrderCheck.java
+ *
+ * The render queue sorts sprites by texture, which must never change which of two
+ * overlapping sprites is drawn on top.  The levels layer a lot of decals and
+ * animated art over each other, so this loads every level, sends its art through
+ * the queue, and checks that the sorted order keeps every overlapping pair the way
+ * the level placed them.
+ */
+package edu.cornell.gdiac.rabbeat.bench;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.JsonValue;
+import edu.cornell.gdiac.assets.AssetDirectory;
+import edu.cornell.gdiac.rabbeat.GameController;
+import edu.cornell.gdiac.rabbeat.RenderQueue;
+import edu.cornell.gdiac.rabbeat.objects.GameObject;
+import edu.cornell.gdiac.rabbeat.objects.art.ArtObject;
+import edu.cornell.gdiac.util.PooledList;
+
+/**
+ * Headless application that checks the draw order of the art in every level.
+ *
+ * Every chunk of the level is loaded, and each layer is queued the same way
+ * GameController.draw queues it, with every art object at rest (the pulsing and
+ * stretching art at a scale of 1). Two sprites of a layer overlap if their
+ * rectangles do. A level fails if the queue draws a sprite before an earlier sprite
+ * it overlaps. The check also prints the texture switches of each level, before
+ * and after sorting, so that we can see what the sort still saves.
+ *
+ * The application exits with status 1 if any level fails.
+ */
+public class DrawOrderCheck extends ApplicationAdapter {
+	/** The number of floats in each corner of a sprite */
+	private static final int CORNER_SIZE = RenderQueue.SPRITE_SIZE / 4;
+
+	/** The queue the art is sent through */
+	private final RenderQueue queue = new RenderQueue(1024);
+	/** The transform of the sprite being queued */
+	private final Affine2 transform = new Affine2();
+	/** The position of each sprite in the sorted order, by the order added */
+	private int[] positions = new int[1024];
+
+	/**
+	 * Called when the application is first created.
+	 *
+	 * This checks every level and then exits.
+	 */
+	@Override
+	public void create() {
+		LevelSimulation.stubGraphics();
+
+		AssetDirectory directory = new AssetDirectory("assets.json");
+		directory.loadAssets();
+		directory.finishLoading();
+
+		// Keep every chunk loaded, so that the whole level is checked
+		JsonValue defaults = directory.getEntry("defaultConstants", JsonValue.class).get("defaults");
+		defaults.remove("stream_radius");
+		defaults.addChild("stream_radius", new JsonValue(Integer.MAX_VALUE));
+
+		System.out.printf("%-8s %8s %12s %12s %10s%n",
+				"level", "sprites", "unsorted", "sorted", "reordered");
+		GameController counter = new GameController();
+		int levels = counter.getNumberOfLevels();
+		counter.dispose();
+		int failures = 0;
+		for (int level = 1; level <= levels; level++) {
+			failures += check(directory, level);
+		}
+
+		directory.unloadAssets();
+		directory.dispose();
+		if (failures > 0) {
+			System.out.println(failures + " overlapping pairs are drawn out of order");
+			System.exit(1);
+		}
+		Gdx.app.exit();
+	}
+
+	/**
+	 * Checks the art of a single level and prints a line of results.
+	 *
+	 * @param directory The loaded game assets
+	 * @param level     The level number to check
+	 *
+	 * @return the number of overlapping pairs drawn out of order
+	 */
+	private int check(AssetDirectory directory, int level) {
+		GameController controller = new GameController();
+		controller.setCurrentLevelInt(level);
+		controller.gatherAssets(directory);
+		controller.initialize();
+
+		int sprites = 0;
+		int unsorted = 0;
+		int sorted = 0;
+		int reordered = 0;
+		for (int ii = 0; ii < controller.objectController.objects.getLayerCount(); ii++) {
+			PooledList<GameObject> layer = controller.objectController.objects.getLayer(ii);
+			for (GameObject obj : layer) {
+				if (obj instanceof ArtObject) {
+					queue((ArtObject) obj, ii);
+				}
+			}
+			if (queue.size() == 0) {
+				continue;
+			}
+			sprites += queue.size();
+			unsorted += countSwitches(false);
+			queue.sort();
+			sorted += countSwitches(true);
+			reordered += countReordered(controller, ii);
+			queue.clear();
+		}
+
+		System.out.printf("%-8s %8d %12d %12d %10d%n",
+				controller.getCurrentLevel(), sprites, unsorted, sorted, reordered);
+		controller.releaseLevelAssets();
+		controller.dispose();
+		return reordered;
+	}
+
+	/**
+	 * Adds an art object to the queue, as ArtObject.draw would draw it at rest
+	 *
+	 * @param art   The art object to add
+	 * @param layer The layer it is drawn in
+	 */
+	private void queue(ArtObject art, int layer) {
+		TextureRegion region = art.getTextureRegion();
+		if (region == null) {
+			return;
+		}
+		Vector2 origin = art.getOrigin();
+		Vector2 scale = art.getDrawScale();
+		transform.setToTranslation(art.getDrawX() * scale.x, art.getDrawY() * scale.x);
+		transform.rotate(180.0f * art.getDrawAngle() / (float) Math.PI);
+		transform.translate(-origin.x, -origin.y);
+		queue.add(region, 0, region.getRegionWidth(), region.getRegionHeight(), transform, layer, 0);
+	}
+
+	/**
+	 * Returns the number of times the texture changes while drawing the queue
+	 *
+	 * @param sorted Whether to walk the queue in sorted order, or in the order added
+	 *
+	 * @return the number of times the texture changes while drawing the queue
+	 */
+	private int countSwitches(boolean sorted) {
+		int switches = 0;
+		Texture last = null;
+		for (int ii = 0; ii < queue.size(); ii++) {
+			Texture texture = queue.getTexture(sorted ? queue.getSprite(ii) : ii);
+			if (texture != last) {
+				switches++;
+				last = texture;
+			}
+		}
+		return switches;
+	}
+
+	/**
+	 * Returns the number of overlapping pairs the sorted queue draws out of order.
+	 *
+	 * Each pair is printed, so that the level can be fixed by hand if need be.
+	 *
+	 * @param controller The controller of the level
+	 * @param layer      The layer in the queue
+	 *
+	 * @return the number of overlapping pairs the sorted queue draws out of order
+	 */
+	private int countReordered(GameController controller, int layer) {
+		int size = queue.size();
+		if (positions.length < size) {
+			positions = new int[size];
+		}
+		for (int ii = 0; ii < size; ii++) {
+			positions[queue.getSprite(ii)] = ii;
+		}
+
+		float[] vertices = queue.getVertices();
+		int reordered = 0;
+		for (int first = 0; first < size; first++) {
+			for (int second = first + 1; second < size; second++) {
+				if (positions[second] > positions[first]
+						|| queue.getTexture(first) == queue.getTexture(second)
+						|| !overlaps(vertices, first, second)) {
+					continue;
+				}
+				System.out.printf("  %s layer %d: sprite %d is drawn under sprite %d%n",
+						controller.getCurrentLevel(), layer, second, first);
+				reordered++;
+			}
+		}
+		return reordered;
+	}
+
+	/**
+	 * Returns true if the bounding boxes of two queued sprites overlap
+	 *
+	 * @param vertices The vertices of the queue
+	 * @param first    The order the first sprite was added in
+	 * @param second   The order the second sprite was added in
+	 *
+	 * @return true if the bounding boxes of two queued sprites overlap
+	 */
+	private boolean overlaps(float[] vertices, int first, int second) {
+		int a = first * RenderQueue.SPRITE_SIZE;
+		int b = second * RenderQueue.SPRITE_SIZE;
+		return min(vertices, a) < max(vertices, b) && min(vertices, b) < max(vertices, a)
+				&& min(vertices, a + 1) < max(vertices, b + 1) && min(vertices, b + 1) < max(vertices, a + 1);
+	}
+
+	/**
+	 * Returns the least value of a coordinate over the corners of a sprite
+	 *
+	 * @param vertices The vertices of the queue
+	 * @param offset   The offset of the coordinate in the first corner
+	 *
+	 * @return the least value of a coordinate over the corners of a sprite
+	 */
+	private float min(float[] vertices, int offset) {
+		return Math.min(Math.min(vertices[offset], vertices[offset + CORNER_SIZE]),
+				Math.min(vertices[offset + 2 * CORNER_SIZE], vertices[offset + 3 * CORNER_SIZE]));
+	}
+
+	/**
+	 * Returns the greatest value of a coordinate over the corners of a sprite
+	 *
+	 * @param vertices The vertices of the queue
+	 * @param offset   The offset of the coordinate in the first corner
+	 *
+	 * @return the greatest value of a coordinate over the corners of a sprite
+	 */
+	private float max(float[] vertices, int offset) {
+		return Math.max(Math.max(vertices[offset], vertices[offset + CORNER_SIZE]),
+				Math.max(vertices[offset + 2 * CORNER_SIZE], vertices[offset + 3 * CORNER_SIZE]));
+	}
+}
@@ -0,0 +1,31 @@
+/*
+ * DrawOrderLauncher.java
+ *
+ * Runs the draw order check without a window or an audio device.  Nothing is
+ * drawn, as the check only needs the sorted order of the render queue.
+ *
+ * Run it from the assets directory (the gradle drawOrderCheck task does this for you).
+ */
+package edu.cornell.gdiac.rabbeat.bench;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/**
+ * The main class of the headless draw order check.
+ *
+ * This class launches a headless application.
+ */
+public class DrawOrderLauncher {
+	/**
+	 * Classic main method that all Java programmers know.
+	 *
+	 * @param arg Command line arguments
+	 */
+	public static void main (String[] arg) {
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		// We drive the check ourselves, so never call render
+		config.updatesPerSecond = -1;
+		new HeadlessApplication(new DrawOrderCheck(), config);
+	}
+}
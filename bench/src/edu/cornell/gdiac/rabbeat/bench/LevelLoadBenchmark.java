@@ -0,0 +1,156 @@
+/*
+ * LevelLoadBenchmark.java
+ *
+ * Loads each level over and over and measures what a load costs.  How long the
+ * loading screen feels is not a good measure of load time work, such as the level
+ * format or the wall tracing, so this gives a repeatable number for every level
+ * that we can compare across changes.
+ */
+package edu.cornell.gdiac.rabbeat.bench;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.physics.box2d.World;
+import edu.cornell.gdiac.assets.AssetDirectory;
+import edu.cornell.gdiac.rabbeat.GameController;
+import edu.cornell.gdiac.rabbeat.LevelDefinition;
+import edu.cornell.gdiac.rabbeat.LevelFormat;
+
+/**
+ * Headless application that loads every level and prints the results.
+ *
+ * Each load has two parts. Parsing reads the level file into a definition, as the
+ * level preloader does. Populating is GameController.initialize, which builds the
+ * world from that definition with ObjectController.populateObjects, along with the
+ * chunks around the player. The assets are loaded once per level beforehand, so
+ * neither part includes them.
+ *
+ * Every level is loaded a number of times before it is measured, so that the JIT
+ * has compiled the load path. The times and allocated bytes are the average of the
+ * measured loads. The allocated bytes are only reported by JVMs that count them
+ * per thread (-1 otherwise). The body and fixture counts are those of the world
+ * after the last load.
+ */
+public class LevelLoadBenchmark extends ApplicationAdapter {
+	/** Number of measured loads per level */
+	private final int iterations;
+	/** Number of unmeasured loads per level */
+	private final int warmup;
+	/** The allocation counter of this JVM, or null if it does not have one */
+	private final com.sun.management.ThreadMXBean allocations;
+
+	/**
+	 * Creates a new benchmark with the given number of loads per level.
+	 *
+	 * @param iterations Number of measured loads per level
+	 * @param warmup     Number of unmeasured loads per level
+	 */
+	public LevelLoadBenchmark(int iterations, int warmup) {
+		this.iterations = Math.max(1, iterations);
+		this.warmup = Math.max(0, warmup);
+
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+			allocations = (com.sun.management.ThreadMXBean) threads;
+			allocations.setThreadAllocatedMemoryEnabled(true);
+		} else {
+			allocations = null;
+		}
+	}
+
+	/**
+	 * Called when the application is first created.
+	 *
+	 * This runs the entire benchmark and then exits.
+	 */
+	@Override
+	public void create() {
+		LevelSimulation.stubGraphics();
+
+		AssetDirectory directory = new AssetDirectory("assets.json");
+		directory.loadAssets();
+		directory.finishLoading();
+
+		System.out.printf("%-8s %10s %12s %12s %14s %8s %9s%n",
+				"level", "parse ms", "populate ms", "total ms", "alloc KB", "bodies", "fixtures");
+		GameController counter = new GameController();
+		int levels = counter.getNumberOfLevels();
+		counter.dispose();
+		for (int level = 1; level <= levels; level++) {
+			measure(directory, level);
+		}
+
+		directory.unloadAssets();
+		directory.dispose();
+		Gdx.app.exit();
+	}
+
+	/**
+	 * Loads a single level repeatedly and prints a line of results.
+	 *
+	 * Each load after the first clears the level first, the same way GDXRoot does
+	 * when it moves to the next level.
+	 *
+	 * @param directory The loaded game assets
+	 * @param level     The level number to load
+	 */
+	private void measure(AssetDirectory directory, int level) {
+		GameController controller = new GameController();
+		controller.setCurrentLevelInt(level);
+		controller.gatherAssets(directory);
+
+		long parseTime = 0;
+		long populateTime = 0;
+		long allocated = 0;
+		for (int ii = 0; ii < warmup + iterations; ii++) {
+			if (ii > 0) {
+				controller.clearLevel();
+				controller.gatherAssets(directory);
+			}
+
+			long bytes = getAllocatedBytes();
+			long start = System.nanoTime();
+			LevelDefinition definition = LevelFormat.load(controller.objectController.levelFile);
+			long parsed = System.nanoTime();
+			controller.objectController.level = definition;
+			controller.initialize();
+			long populated = System.nanoTime();
+			bytes = getAllocatedBytes() - bytes;
+
+			if (ii >= warmup) {
+				parseTime += parsed - start;
+				populateTime += populated - parsed;
+				allocated += bytes;
+			}
+		}
+
+		World world = controller.getWorld();
+		double perLoad = 1000000.0 * iterations;
+		System.out.printf("%-8s %10.3f %12.3f %12.3f %14d %8d %9d%n",
+				controller.getCurrentLevel(),
+				parseTime / perLoad,
+				populateTime / perLoad,
+				(parseTime + populateTime) / perLoad,
+				allocations == null ? -1 : allocated / iterations / 1024,
+				world.getBodyCount(),
+				world.getFixtureCount());
+		controller.releaseLevelAssets();
+		controller.dispose();
+	}
+
+	/**
+	 * Returns the number of bytes allocated by this thread so far
+	 *
+	 * @return the number of bytes allocated by this thread, or 0 if they are not counted
+	 */
+	private long getAllocatedBytes() {
+		if (allocations == null) {
+			return 0;
+		}
+		return allocations.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * LevelSimulation.java
+ *
+ * Loads each level in turn and steps it a fixed number of ticks without drawing.
+ * This gives a repeatable measure of how expensive a level is to simulate, which
+ * we can compare across changes to catch regressions.
+ */
+package edu.cornell.gdiac.rabbeat.bench;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import edu.cornell.gdiac.assets.AssetDirectory;
+import edu.cornell.gdiac.rabbeat.FrameProfiler;
+import edu.cornell.gdiac.rabbeat.GameController;
+
+/**
+ * Headless application that simulates every level and prints the results.
+ *
+ * Every level is loaded the same way GDXRoot loads it, but nothing is drawn and
+ * the soundtrack is replaced by a silent clock.  Each tick runs the full
+ * preUpdate/update/postUpdate cycle at the fixed physics timestep.
+ */
+public class LevelSimulation extends ApplicationAdapter {
+	/** Number of ticks to simulate per level */
+	private final int ticks;
+
+	/**
+	 * Creates a new simulation for the given number of ticks per level.
+	 *
+	 * @param ticks Number of ticks to simulate per level
+	 */
+	public LevelSimulation(int ticks) {
+		this.ticks = ticks;
+	}
+
+	/**
+	 * Called when the application is first created.
+	 *
+	 * This runs the entire benchmark and then exits.
+	 */
+	@Override
+	public void create() {
+		stubGraphics();
+
+		AssetDirectory directory = new AssetDirectory("assets.json");
+		directory.loadAssets();
+		directory.finishLoading();
+
+		System.out.printf("%-8s %10s %12s %12s %8s%n",
+				"level", "ticks/s", "physics ms", "update ms", "resets");
+		GameController counter = new GameController();
+		int levels = counter.getNumberOfLevels();
+		counter.dispose();
+		for (int level = 1; level <= levels; level++) {
+			simulate(directory, level);
+		}
+
+		directory.unloadAssets();
+		directory.dispose();
+		Gdx.app.exit();
+	}
+
+	/**
+	 * Simulates a single level and prints a line of results.
+	 *
+	 * Physics and update times are the average per tick.  Resets are the number
+	 * of times the player died or finished and the level had to be restarted.
+	 *
+	 * @param directory The loaded game assets
+	 * @param level     The level number to simulate
+	 */
+	private void simulate(AssetDirectory directory, int level) {
+		GameController controller = new GameController();
+		controller.setCurrentLevelInt(level);
+		controller.gatherAssets(directory);
+		controller.initialize();
+
+		SimulatedMusic clock = new SimulatedMusic();
+		controller.syncController.setSync(clock, clock);
+		clock.play();
+
+		float dt = GameController.WORLD_STEP;
+		int resets = 0;
+		long elapsed = 0;
+		FrameProfiler profiler = controller.getProfiler();
+		profiler.resetTotals();
+		for (int tick = 0; tick < ticks; tick++) {
+			long start = System.nanoTime();
+			clock.advance(dt);
+			if (controller.preUpdate(dt)) {
+				controller.update(dt);
+				controller.postUpdate(dt);
+			}
+			profiler.endFrame();
+			elapsed += System.nanoTime() - start;
+
+			// Restarting is not part of the cost we want to measure
+			if (controller.isFailure() || controller.isComplete()) {
+				controller.reset();
+				resets++;
+			}
+		}
+
+		double perTick = 1000000.0 * ticks;
+		System.out.printf("%-8s %10.0f %12.4f %12.4f %8d%n",
+				controller.getCurrentLevel(),
+				ticks / (elapsed / 1000000000.0),
+				profiler.getTotal(FrameProfiler.Phase.PHYSICS) / perTick,
+				profiler.getTotal(FrameProfiler.Phase.OBJECT_UPDATE) / perTick,
+				resets);
+		controller.releaseLevelAssets();
+		controller.dispose();
+	}
+
+	/**
+	 * Installs a GL context that does nothing.
+	 *
+	 * The headless backend has no OpenGL, but loading textures still makes GL calls.
+	 * Every call is answered with a zero value, which is enough for textures and
+	 * atlases to load.  Nothing in the simulation reads them back.
+	 */
+	static void stubGraphics() {
+		InvocationHandler handler = new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) {
+				Class<?> type = method.getReturnType();
+				if (type == boolean.class) {
+					return false;
+				} else if (type == int.class) {
+					return 0;
+				} else if (type == long.class) {
+					return 0L;
+				} else if (type == float.class) {
+					return 0f;
+				} else if (type == String.class) {
+					return "";
+				}
+				return null;
+			}
+		};
+		GL20 gl = (GL20) Proxy.newProxyInstance(GL20.class.getClassLoader(),
+				new Class<?>[] { GL20.class }, handler);
+		Gdx.gl = gl;
+		Gdx.gl20 = gl;
+	}
+}
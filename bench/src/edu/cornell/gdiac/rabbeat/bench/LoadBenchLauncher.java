@@ -0,0 +1,42 @@
+/*
+ * LoadBenchLauncher.java
+ *
+ * Runs the level load benchmark without a window or an audio device.  This is the
+ * load time counterpart to BenchLauncher.  Rather than stepping each level, it
+ * loads every level repeatedly and reports what each load costs.
+ *
+ * Run it from the assets directory (the gradle loadBench task does this for you).
+ */
+package edu.cornell.gdiac.rabbeat.bench;
+
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+/**
+ * The main class of the headless load benchmark.
+ *
+ * This class parses the iteration counts and launches a headless application.
+ */
+public class LoadBenchLauncher {
+	/** Number of measured loads per level if none is given */
+	private static final int DEFAULT_ITERATIONS = 20;
+	/** Number of unmeasured loads per level if none is given */
+	private static final int DEFAULT_WARMUP = 5;
+
+	/**
+	 * Classic main method that all Java programmers know.
+	 *
+	 * The optional first argument is the number of measured loads per level, and
+	 * the optional second argument is the number of warmup loads before them.
+	 *
+	 * @param arg Command line arguments
+	 */
+	public static void main (String[] arg) {
+		int iterations = arg.length > 0 ? Integer.parseInt(arg[0]) : DEFAULT_ITERATIONS;
+		int warmup = arg.length > 1 ? Integer.parseInt(arg[1]) : DEFAULT_WARMUP;
+		HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+		// We drive the benchmark ourselves, so never call render
+		config.updatesPerSecond = -1;
+		new HeadlessApplication(new LevelLoadBenchmark(iterations, warmup), config);
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * SimulatedMusic.java
+ *
+ * A music track that plays no sound.  The sync system uses the soundtrack position
+ * as its clock, so a headless simulation needs something that advances in its place.
+ */
+package edu.cornell.gdiac.rabbeat.bench;
+
+import com.badlogic.gdx.audio.Music;
+
+/**
+ * A silent track whose position only advances when the simulation says so.
+ *
+ * Handing this to the SyncController makes beats fire on simulated time rather
+ * than on wall clock time, so enemies and platforms act as they would in game.
+ */
+public class SimulatedMusic implements Music {
+	/** The current position in seconds */
+	private float position;
+	/** Whether the track is playing */
+	private boolean playing;
+	/** Whether the track is looping */
+	private boolean looping;
+	/** The track volume */
+	private float volume = 1.0f;
+
+	/**
+	 * Advances the track position if it is playing.
+	 *
+	 * @param dt Number of seconds to advance
+	 */
+	public void advance(float dt) {
+		if (playing) {
+			position += dt;
+		}
+	}
+
+	@Override
+	public void play() {
+		playing = true;
+	}
+
+	@Override
+	public void pause() {
+		playing = false;
+	}
+
+	@Override
+	public void stop() {
+		playing = false;
+		position = 0;
+	}
+
+	@Override
+	public boolean isPlaying() {
+		return playing;
+	}
+
+	@Override
+	public void setLooping(boolean isLooping) {
+		looping = isLooping;
+	}
+
+	@Override
+	public boolean isLooping() {
+		return looping;
+	}
+
+	@Override
+	public void setVolume(float volume) {
+		this.volume = volume;
+	}
+
+	@Override
+	public float getVolume() {
+		return volume;
+	}
+
+	@Override
+	public void setPan(float pan, float volume) {
+		this.volume = volume;
+	}
+
+	@Override
+	public void setPosition(float position) {
+		this.position = position;
+	}
+
+	@Override
+	public float getPosition() {
+		return position;
+	}
+
+	@Override
+	public void dispose() {
+	}
+
+	@Override
+	public void setOnCompletionListener(OnCompletionListener listener) {
+	}
+}
@@ -16,6 +16,8 @@
  */
 package edu.cornell.gdiac.assets;
 
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.assets.loaders.*;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
@@ -29,6 +31,7 @@ import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.JsonValue;
 import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
 import edu.cornell.gdiac.audio.*;
 import edu.cornell.gdiac.util.*;
 
@@ -56,6 +59,22 @@ import edu.cornell.gdiac.util.*;
  * audio assets, fonts, and other JSON files.  To add more assets, you will need to
  * extend this class.
  *
+ * The directory may also name a manifest of asset groups, with a "groups" entry.
+ * The manifest maps each group name to the files of the group, listed by category
+ * (e.g. "textures" or "music").  Any directory asset in a group is not loaded by
+ * {@link #loadAssets}.  It is only loaded by {@link #loadGroup}, and is unloaded
+ * again by {@link #unloadGroup}.  This allows the assets of a level to only be in
+ * memory while the level is.  The assets that are in no group form the global group,
+ * which is loaded with the directory.  If the manifest does not exist, there are
+ * no groups and every asset is global.
+ *
+ * The directory may also define texture packs, with a "packs" entry.  A texture in
+ * a pack is not loaded as a {@link Texture}.  It is copied into pages shared with
+ * the other textures of the pack, and is looked up with {@link #getEntry} as a
+ * {@link TextureRegion} instead.  This lets a sprite batch draw the pack without
+ * changing textures.  The pages are uploaded once loading finishes, so a packed
+ * region should not be used until {@link #update} returns true.
+ *
  * We have decided not implement this class as a singleton. It is possible that you 
  * may want more than one asset manager (for managing separate scenes).  If you
  * need to globalize access to this asset manager, use {@link ResourceManager}.
@@ -69,6 +88,10 @@ public class AssetDirectory extends AssetManager {
     protected Index contents;
     /** The dedicated loader for the {@link Index} class */
     protected DirectoryLoader topLoader;
+    /** The asset groups that are currently loaded */
+    protected ObjectSet<String> loadedGroups = new ObjectSet<String>();
+    /** The dedicated loader for packed textures */
+    protected PackedRegionLoader packLoader;
 
     /**
      * This class represents the top level index of an asset directory.
@@ -82,12 +105,18 @@ public class AssetDirectory extends AssetManager {
         ObjectMap<Class<?>, ObjectMap<String, String>> keymap;
         /** The contents of the JSON file */
         JsonValue directory;
+        /** The files of each asset group, by group name */
+        ObjectMap<String, Array<String>> groups;
+        /** How to load each file that belongs to a group (once it is parsed) */
+        ObjectMap<String, AssetDescriptor<?>> deferred;
         
         /**
          * Creates a new, empty directory index
          */
         public Index() {
             keymap = new ObjectMap<Class<?>, ObjectMap<String, String>>();
+            groups = new ObjectMap<String, Array<String>>();
+            deferred = new ObjectMap<String, AssetDescriptor<?>>();
         }
     }
 
@@ -153,6 +182,8 @@ public class AssetDirectory extends AssetManager {
         setLoader( Texture.class, new TextureLoader( resolver ) );
         setLoader( TextureAtlas.class, new TextureAtlasLoader( resolver ) );
         setLoader( TextureRegion.class, new TextureRegionLoader( resolver ) );
+        packLoader = new PackedRegionLoader( resolver );
+        setLoader( TextureRegion.class, PackedRegionLoader.SUFFIX, packLoader );
         setLoader( FilmStrip.class, new FilmStripLoader( resolver ) );
 
         setLoader( JsonValue.class, new JsonValueLoader( resolver ) );
@@ -166,6 +197,7 @@ public class AssetDirectory extends AssetManager {
         topLoader.addParser( new JsonValueParser() );
         topLoader.addParser( new TextureParser() );
         topLoader.addParser( new TextureRegionParser() );
+        topLoader.addParser( new PackedRegionParser() );
         topLoader.addParser( new FilmStripParser() );
         topLoader.addParser( new FreetypeFontParser() );
         topLoader.addParser( new SoundParser() );
@@ -212,20 +244,131 @@ public class AssetDirectory extends AssetManager {
     /**
      * Unloads all assets previously loaded by {@link #loadAssets}.
      *
-     * Assets loaded manually (e.g. not via the asset directory JSON) will not be
-     * affected and will remain in this asset manager.
+     * This includes any asset group that is still loaded.  Assets loaded manually 
+     * (e.g. not via the asset directory JSON) will not be affected and will remain 
+     * in this asset manager.
      */
     public void unloadAssets() {
         if (contents == null) {
             return;
         }
+        for (String group : loadedGroups.iterator().toArray()) {
+            unloadGroup( group );
+        }
         for (ObjectMap<String, String> category : contents.keymap.values()) {
             for (String filename : category.values()) {
-                unload( filename );
+                if (!contents.deferred.containsKey( PackedRegionLoader.getSource( filename ) )) {
+                    unload( filename );
+                }
             }
         }
         contents = null;
     }
+
+    /**
+     * Adds the given asset to the loading queue, unless it belongs to a group
+     *
+     * While the directory is being parsed, assets that belong to an asset group are 
+     * set aside instead of being queued.  They are queued when their group is loaded.  
+     * At any other time, this is the same as {@link AssetManager#load}.
+     *
+     * @param fileName  the file name (interpretation depends on {@link AssetLoader})
+     * @param type      the type of the asset
+     * @param parameter parameters for the AssetLoader
+     */
+    @Override
+    public synchronized <T> void load(String fileName, Class<T> type, AssetLoaderParameters<T> parameter) {
+        Index parsing = topLoader.getLoadedDirectory();
+        String source = PackedRegionLoader.getSource( fileName );
+        if (parsing != null && parsing.deferred.containsKey( source )) {
+            parsing.deferred.put( source, new AssetDescriptor<T>( fileName, type, parameter ) );
+            return;
+        }
+        super.load( fileName, type, parameter );
+    }
+
+    /**
+     * Updates the loading queue, returning true once everything is loaded.
+     *
+     * Once the queue is empty, the pages of any newly packed textures are uploaded.
+     *
+     * @return true if all loading is finished.
+     */
+    @Override
+    public synchronized boolean update() {
+        boolean finished = super.update();
+        if (finished) {
+            packLoader.flush();
+        }
+        return finished;
+    }
+
+    /**
+     * Returns true if the asset directory has a group with the given name
+     *
+     * @param name  the group name
+     *
+     * @return true if the asset directory has a group with the given name
+     */
+    public boolean hasGroup(String name) {
+        return contents != null && contents.groups.containsKey( name );
+    }
+
+    /**
+     * Returns true if the given asset group has been loaded (or queued)
+     *
+     * @param name  the group name
+     *
+     * @return true if the given asset group has been loaded (or queued)
+     */
+    public boolean isGroupLoaded(String name) {
+        return loadedGroups.contains( name );
+    }
+
+    /**
+     * Adds the assets of the given group to the loading queue.
+     *
+     * As with any other asset, the group is not loaded until the manager is updated.
+     * Use {@link #finishLoading} to load it immediately.  Assets shared with another
+     * loaded group are not loaded twice. This method does nothing if the group is
+     * already loaded or does not exist.
+     *
+     * @param name  the group name
+     */
+    public void loadGroup(String name) {
+        Array<String> files = (contents == null ? null : contents.groups.get( name ));
+        if (files == null || !loadedGroups.add( name )) {
+            return;
+        }
+        // The packed textures of the group go in new pages, which can be freed with it
+        packLoader.startSheets();
+        for (String file : files) {
+            AssetDescriptor<?> descriptor = contents.deferred.get( file );
+            if (descriptor != null) {
+                load( descriptor );
+            }
+        }
+    }
+
+    /**
+     * Unloads the assets of the given group.
+     *
+     * Assets shared with another loaded group stay loaded. This method does nothing
+     * if the group is not loaded.
+     *
+     * @param name  the group name
+     */
+    public void unloadGroup(String name) {
+        if (contents == null || !loadedGroups.remove( name )) {
+            return;
+        }
+        for (String file : contents.groups.get( name )) {
+            AssetDescriptor<?> descriptor = contents.deferred.get( file );
+            if (descriptor != null && contains( descriptor.fileName )) {
+                unload( descriptor.fileName );
+            }
+        }
+    }
     
     /**
      * Returns the {@link AssetParser} objects associated with this directory loader
@@ -273,7 +416,7 @@ public class AssetDirectory extends AssetManager {
      * Returns the asset associated with the given directory key
      * 
      * The method {@link #loadAssets} must have been called for this method to
-     * return a value.
+     * return a value.  If the asset is in an asset group, that group must be loaded.
      *
      * @param key  the asset directory key
      * @param type the asset type
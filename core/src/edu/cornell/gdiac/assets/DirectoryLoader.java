@@ -130,6 +130,21 @@ public class DirectoryLoader extends AsynchronousAssetLoader<AssetDirectory.Inde
         cachedData = new AssetDirectory.Index();
         cachedData.directory = reader.parse(file);
         System.out.flush();
+
+        // Read the groups first, so that the parsers know which assets to hold back
+        String manifest = cachedData.directory.getString("groups", null);
+        if (manifest != null && resolve(manifest).exists()) {
+            for (JsonValue group : reader.parse(resolve(manifest))) {
+                Array<String> files = new Array<String>();
+                for (JsonValue category : group) {
+                    for (JsonValue entry : category) {
+                        files.add(entry.asString());
+                        cachedData.deferred.put(entry.asString(), null);
+                    }
+                }
+                cachedData.groups.put(group.name(), files);
+            }
+        }
         for(AssetParser<?> parser : parsers) {
             ObjectMap<String,String> keys = cachedData.keymap.get( parser.getType(), null );
             if (keys == null) {
@@ -0,0 +1,326 @@
+/*
+ * PackedRegionLoader.java
+ *
+ * This is a loader for images that are packed into shared pages when they are loaded,
+ * instead of each getting their own texture.  Drawing images from different textures
+ * forces the sprite batch to flush every time the texture changes.  Small images that
+ * are drawn together, like the decals of a level, should share as few textures as
+ * possible.
+ */
+package edu.cornell.gdiac.assets;
+
+import com.badlogic.gdx.assets.*;
+import com.badlogic.gdx.assets.loaders.*;
+import com.badlogic.gdx.assets.loaders.resolvers.*;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * This class is an {@link AssetLoader} to load {@link TextureRegion} assets packed
+ * into shared pages.
+ *
+ * A packed region asset should be specified by the image file name followed by
+ * {@link #SUFFIX}. The image is read as a pixmap and copied into a {@link PixmapPacker}
+ * shared by every image of the same pack. The pages are only uploaded as textures
+ * once the asset manager has finished loading (see {@link #flush}), so a region
+ * does not have a texture until then.
+ *
+ * The images of a pack go into the current sheet of that pack, which is a single
+ * packer. A packer cannot remove an image, so a new sheet is started by {@link #startSheets}
+ * whenever a new set of images (such as an asset group) is loaded. A sheet is
+ * disposed once every region in it has been unloaded.
+ *
+ * An image that is too large for a page of its pack gets a texture of its own.
+ */
+public class PackedRegionLoader extends AsynchronousAssetLoader<TextureRegion, PackedRegionLoader.PackedRegionParameters> {
+    /** The suffix that identifies a packed region asset */
+    public static final String SUFFIX = ".packed";
+
+    /** The current sheet of each pack, by pack name */
+    private final ObjectMap<String, Sheet> sheets = new ObjectMap<String, Sheet>();
+    /** The regions loaded since the last flush */
+    private final Array<PackedRegion> pending = new Array<PackedRegion>();
+    /** The sheet of the asynchronously read region */
+    private Sheet cachedSheet;
+    /** The asynchronously read image, if it did not fit in the sheet */
+    private Pixmap cachedPixmap;
+
+    /**
+     * The definable parameters for a packed {@link TextureRegion}.
+     *
+     * These parameters define the pack of the region. Every region in the same pack
+     * should use the same values.
+     */
+    public static class PackedRegionParameters extends AssetLoaderParameters<TextureRegion> {
+        /** The name of the pack */
+        public String pack;
+        /** The width and height of a page (in pixels) */
+        public int size = 2048;
+        /** The pixels between images, filled with copies of their edges (in pixels) */
+        public int padding = 2;
+        /** The minification filter of the pages */
+        public Texture.TextureFilter minFilter = Texture.TextureFilter.Linear;
+        /** The magnification filter of the pages */
+        public Texture.TextureFilter magFilter = Texture.TextureFilter.Linear;
+
+        /**
+         * Creates parameters for the given pack.
+         *
+         * @param pack  The name of the pack
+         */
+        public PackedRegionParameters(String pack) {
+            this.pack = pack;
+        }
+    }
+
+    /**
+     * A set of pages that regions of a single pack are copied into.
+     */
+    private static class Sheet {
+        /** The packer that owns the pages */
+        final PixmapPacker packer;
+        /** The parameters of the pack */
+        final PackedRegionParameters params;
+        /** The number of loaded regions in the pages */
+        int regions;
+        /** Whether this is still the current sheet of its pack */
+        boolean current = true;
+
+        /**
+         * Creates an empty sheet for the given pack parameters.
+         *
+         * @param params    The parameters of the pack
+         */
+        Sheet(PackedRegionParameters params) {
+            this.params = params;
+            packer = new PixmapPacker( params.size, params.size, Pixmap.Format.RGBA8888, params.padding, true );
+        }
+    }
+
+    /**
+     * A texture region in a sheet (or in a texture of its own)
+     *
+     * Disposing the region releases it from its sheet.  The asset manager does this
+     * when the region is unloaded.
+     */
+    private class PackedRegion extends TextureRegion implements Disposable {
+        /** The name of the image in the sheet */
+        final String name;
+        /** The sheet of the region, or null if the region has its own texture */
+        Sheet sheet;
+
+        /**
+         * Creates a region for the given image of a sheet.
+         *
+         * The region has no texture until the sheet is flushed.
+         *
+         * @param name  The name of the image in the sheet
+         * @param sheet The sheet of the region
+         */
+        PackedRegion(String name, Sheet sheet) {
+            this.name = name;
+            this.sheet = sheet;
+            sheet.regions++;
+        }
+
+        /**
+         * Creates a region covering a texture of its own.
+         *
+         * @param name      The name of the image
+         * @param texture   The texture of the region
+         */
+        PackedRegion(String name, Texture texture) {
+            super( texture );
+            this.name = name;
+        }
+
+        /**
+         * Releases the region from its sheet, or disposes its texture
+         */
+        public void dispose() {
+            if (sheet == null) {
+                if (getTexture() != null) {
+                    getTexture().dispose();
+                }
+            } else {
+                release( sheet );
+                sheet = null;
+            }
+        }
+    }
+
+    /**
+     * Creates a new PackedRegionLoader with an internal file resolver
+     */
+    public PackedRegionLoader() {
+        this( new InternalFileHandleResolver() );
+    }
+
+    /**
+     * Creates a new PackedRegionLoader with the given file resolver
+     *
+     * @param resolver    The file resolver
+     */
+    public PackedRegionLoader(FileHandleResolver resolver) {
+        super( resolver );
+    }
+
+    /**
+     * Returns the image file of the given asset name
+     *
+     * If the name is not that of a packed region, it is returned unchanged.
+     *
+     * @param fileName  The name of the asset
+     *
+     * @return the image file of the given asset name
+     */
+    public static String getSource(String fileName) {
+        if (fileName.endsWith( SUFFIX )) {
+            return fileName.substring( 0, fileName.length() - SUFFIX.length() );
+        }
+        return fileName;
+    }
+
+    /**
+     * Starts a new sheet for every pack.
+     *
+     * The regions loaded after this are packed into new pages.  The old pages stay
+     * in memory until every region in them has been unloaded.
+     */
+    public synchronized void startSheets() {
+        for (Sheet sheet : sheets.values()) {
+            sheet.current = false;
+            if (sheet.regions == 0) {
+                sheet.packer.dispose();
+            }
+        }
+        sheets.clear();
+    }
+
+    /**
+     * Uploads the pages of every sheet and gives the new regions their textures.
+     *
+     * This must be called on the main thread, once no region is being loaded.
+     */
+    public synchronized void flush() {
+        if (pending.size == 0) {
+            return;
+        }
+        for (PackedRegion region : pending) {
+            Sheet sheet = region.sheet;
+            if (sheet == null) {
+                continue;   // Unloaded before it was flushed
+            }
+            sheet.packer.updatePageTextures( sheet.params.minFilter, sheet.params.magFilter, false );
+            Rectangle rect = sheet.packer.getRect( region.name );
+            region.setTexture( sheet.packer.getPage( region.name ).getTexture() );
+            region.setRegion( (int)rect.x, (int)rect.y, (int)rect.width, (int)rect.height );
+        }
+        pending.clear();
+    }
+
+    /**
+     * Releases a region from the given sheet, disposing the sheet if it is no longer used.
+     *
+     * @param sheet The sheet of the region
+     */
+    private synchronized void release(Sheet sheet) {
+        sheet.regions--;
+        if (sheet.regions == 0) {
+            if (sheet.current) {
+                sheets.remove( sheet.params.pack );
+            }
+            sheet.packer.dispose();
+        }
+    }
+
+    /**
+     * Loads thread-safe part of the asset and injects any dependencies into the AssetManager.
+     *
+     * This reads the image and copies it into the current sheet of its pack.
+     *
+     * @param manager   The asset manager
+     * @param fileName  The name of the asset to load
+     * @param file      The resolved file to load
+     * @param params    The parameters to use for loading the asset
+     */
+    @Override
+    public void loadAsync(AssetManager manager, String fileName, FileHandle file, PackedRegionParameters params) {
+        String source = getSource( fileName );
+        synchronized (this) {
+            cachedSheet = sheets.get( params.pack );
+            if (cachedSheet == null) {
+                cachedSheet = new Sheet( params );
+                sheets.put( params.pack, cachedSheet );
+            }
+        }
+        cachedPixmap = null;
+        if (cachedSheet.packer.getRect( source ) != null) {
+            return;     // Unloaded and loaded again since the sheet was started
+        }
+
+        Pixmap pixmap = new Pixmap( resolve( source ) );
+        int limit = params.size - 2 * params.padding;
+        if (pixmap.getWidth() > limit || pixmap.getHeight() > limit) {
+            cachedPixmap = pixmap;
+        } else {
+            cachedSheet.packer.pack( source, pixmap );
+            pixmap.dispose();
+        }
+    }
+
+    /**
+     * Loads the main thread part of the asset.
+     *
+     * An image that did not fit in a page gets its texture now.  Any other region
+     * gets its texture on the next {@link #flush}.
+     *
+     * @param manager   The asset manager
+     * @param fileName  The name of the asset to load
+     * @param file      The resolved file to load
+     * @param params    The parameters to use for loading the asset
+     */
+    @Override
+    public TextureRegion loadSync(AssetManager manager, String fileName, FileHandle file, PackedRegionParameters params) {
+        String source = getSource( fileName );
+        PackedRegion region;
+        if (cachedPixmap != null) {
+            Texture texture = new Texture( cachedPixmap );
+            texture.setFilter( params.minFilter, params.magFilter );
+            cachedPixmap.dispose();
+            cachedPixmap = null;
+            region = new PackedRegion( source, texture );
+        } else {
+            synchronized (this) {
+                region = new PackedRegion( source, cachedSheet );
+                pending.add( region );
+            }
+        }
+        cachedSheet = null;
+        return region;
+    }
+
+    /**
+     * Returns the other assets this asset requires to be loaded first.
+     *
+     * This method may be called on a thread other than the GL thread. It may return
+     * null if there are no dependencies.
+     *
+     * @param fileName  The name of the asset to load
+     * @param file      The resolved file to load
+     * @param params parameters for loading the asset
+     *
+     * @return the other assets this asset requires to be loaded first.
+     */
+    @Override
+    public Array<AssetDescriptor> getDependencies(String fileName, FileHandle file, PackedRegionParameters params) {
+        return null;
+    }
+}
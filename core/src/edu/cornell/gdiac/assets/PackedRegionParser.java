@@ -0,0 +1,113 @@
+/*
+ * PackedRegionParser.java
+ *
+ * This is an interface for parsing a JSON entry into a packed TextureRegion asset.
+ * Packed regions are textures that are copied into shared pages when they are loaded.
+ * The packs are defined in a separate "packs" entry of the asset directory, which
+ * lists the key prefixes of the textures in each pack.
+ */
+package edu.cornell.gdiac.assets;
+
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * This class parses a texture entry that belongs to a pack into a {@link TextureRegion}.
+ *
+ * Each pack is an entry of "packs" with the following values, all optional except
+ * for the prefixes:
+ * <pre>
+ *   "prefixes":  the key prefixes of the textures in the pack
+ *   "size":      the width and height of a page (2048)
+ *   "padding":   the pixels between images, filled with their edges (2)
+ *   "minFilter": the minification filter of the pages (linear)
+ *   "magFilter": the magnification filter of the pages (linear)
+ * </pre>
+ * A packed texture is not a {@link Texture} asset.  It has the same key, but must be
+ * looked up as a {@link TextureRegion}.
+ */
+public class PackedRegionParser implements AssetParser<TextureRegion> {
+    /** The current texture entry in the JSON directory */
+    private JsonValue root;
+    /** The JSON representation of the asset directory */
+    private JsonValue directory;
+
+    /**
+     * Returns the asset type generated by this parser
+     *
+     * @return the asset type generated by this parser
+     */
+    public Class<TextureRegion> getType() {
+        return TextureRegion.class;
+    }
+
+    /**
+     * Resets the parser iterator for the given directory.
+     *
+     * The value directory is assumed to be the root of a larger JSON structure.
+     * The individual assets are defined by subtrees in this structure.
+     *
+     * @param directory    The JSON representation of the asset directory
+     */
+    public void reset(JsonValue directory) {
+        this.directory = directory;
+        root = directory.getChild( "textures" );
+        advance();
+    }
+
+    /**
+     * Returns true if there are still assets left to generate
+     *
+     * @return true if there are still assets left to generate
+     */
+    public boolean hasNext() {
+        return root != null;
+    }
+
+    /**
+     * Processes the next packed texture, loading it into the asset manager
+     *
+     * The asset is named by the file of the texture, followed by the suffix
+     * {@link PackedRegionLoader#SUFFIX}.  The key is the key of the texture.
+     *
+     * This method fails silently if there are no available assets to process.
+     *
+     * @param manager	The asset manager to load an asset
+     * @param keymap    The mapping of JSON keys to asset file names
+     */
+    public void processNext(AssetManager manager, ObjectMap<String,String> keymap) {
+        JsonValue pack = ParserUtils.findPack( directory, root );
+        PackedRegionLoader.PackedRegionParameters params = new PackedRegionLoader.PackedRegionParameters( pack.name() );
+        params.size = pack.getInt( "size", params.size );
+        params.padding = pack.getInt( "padding", params.padding );
+        params.minFilter = ParserUtils.parseFilter( pack.get( "minFilter" ), params.minFilter );
+        params.magFilter = ParserUtils.parseFilter( pack.get( "magFilter" ), params.magFilter );
+
+        String region = root.asString()+PackedRegionLoader.SUFFIX;
+        keymap.put( root.name(), region );
+        manager.load( region, TextureRegion.class, params );
+        root = root.next();
+        advance();
+    }
+
+    /**
+     * Returns true if o is another PackedRegionParser
+     *
+     * @return true if o is another PackedRegionParser
+     */
+    public boolean equals(Object o) {
+        return o instanceof PackedRegionParser;
+    }
+
+    /**
+     * Advances to the next texture entry that belongs to a pack
+     */
+    private void advance() {
+        while (root != null && ParserUtils.findPack( directory, root ) == null) {
+            root = root.next();
+        }
+    }
+}
@@ -165,4 +165,35 @@ public class ParserUtils {
         }
         return defaultWrap;
     }
+
+    /**
+     * Returns the pack that the given texture entry belongs to, or null if it is in none
+     *
+     * Packs are defined in the "packs" entry of the asset directory.  Each pack lists
+     * the key prefixes of the textures in it.  Only textures given as a plain file name
+     * are packed, as a packed region cannot have its own texture settings.
+     *
+     * @param directory The JSON representation of the asset directory
+     * @param texture   The texture entry in the directory
+     *
+     * @return the pack that the given texture entry belongs to, or null if it is in none
+     */
+    public static JsonValue findPack(JsonValue directory, JsonValue texture) {
+        JsonValue packs = directory.get( "packs" );
+        if (packs == null || !texture.isString()) {
+            return null;
+        }
+        for (JsonValue pack : packs) {
+            JsonValue prefixes = pack.get( "prefixes" );
+            if (prefixes == null) {
+                continue;
+            }
+            for (JsonValue prefix : prefixes) {
+                if (texture.name().startsWith( prefix.asString() )) {
+                    return pack;
+                }
+            }
+        }
+        return null;
+    }
 }
@@ -31,6 +31,8 @@ import com.badlogic.gdx.utils.ObjectMap;
 public class TextureParser implements AssetParser<Texture> {
     /** The current font entry in the JSON directory */
     private JsonValue root;
+    /** The JSON representation of the asset directory */
+    private JsonValue directory;
 
     /**
      * Returns the asset type generated by this parser
@@ -50,6 +52,7 @@ public class TextureParser implements AssetParser<Texture> {
      * @param directory    The JSON representation of the asset directory
      */
     public void reset(JsonValue directory) {
+        this.directory = directory;
         root = directory;
         root = root.getChild( "textures" );
     }
@@ -71,7 +74,8 @@ public class TextureParser implements AssetParser<Texture> {
      * key will be the name of the font object.
      *
      * If the JSON value is a string and not an object, it will interpret that
-     * string as the file and use the default settings.
+     * string as the file and use the default settings.  Textures that belong to a
+     * pack are skipped, as they are loaded by {@link PackedRegionParser} instead.
      *
      * This method fails silently if there are no available assets to process.
      *
@@ -79,6 +83,10 @@ public class TextureParser implements AssetParser<Texture> {
      * @param keymap    The mapping of JSON keys to asset file names
      */
     public void processNext(AssetManager manager, ObjectMap<String,String> keymap) {
+        if (ParserUtils.findPack( directory, root ) != null) {
+            root = root.next();
+            return;
+        }
         TextureLoader.TextureParameter params = new TextureLoader.TextureParameter();
         if (root.isString()) {
             params.genMipMaps = false;
@@ -0,0 +1,187 @@
+/*
+ * AnimationLibrary.java
+ *
+ * The player, enemy and world animations are stored in texture atlases that are not
+ * part of the asset directory.  Each level used to load its own copy of every atlas,
+ * which re-read and re-uploaded the textures on every level switch and never freed
+ * the old ones.  This library loads each atlas once and shares it, counting the
+ * references so that an atlas is only disposed when nothing is using it.
+ *
+ * The atlases are also packed together by the packAtlases tool, so that the player,
+ * enemies and projectiles share a texture.  The code still names the atlas of each
+ * animation, and this library looks up the packed atlas that holds it.
+ */
+package edu.cornell.gdiac.rabbeat;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/**
+ * A shared, reference counted collection of texture atlases and their animations.
+ *
+ * Every call to acquire() or getAnimation() takes a reference to the atlas, which
+ * must be given back with release() once the caller no longer needs it. Animations
+ * are cached per atlas, so asking for the same animation twice returns the same
+ * object. Animations must therefore not be modified by their users.
+ *
+ * If the packed atlases have been built, the path of an atlas is replaced by the
+ * path of the packed atlas that holds its regions. The atlases packed together are
+ * then loaded once and share their references. If they have not been built, each
+ * atlas is loaded on its own.
+ *
+ * All methods must be called from the render thread.
+ */
+public class AnimationLibrary implements Disposable {
+	/** A loaded atlas and the animations built from it */
+	private static class Entry {
+		/** The loaded atlas */
+		TextureAtlas atlas;
+		/** The number of references to the atlas */
+		int references;
+		/** The animations built from the atlas, keyed by region, duration and play mode */
+		final ObjectMap<String, Animation<TextureRegion>> animations = new ObjectMap<>();
+	}
+
+	/** The index of the packed atlases, written by the packAtlases tool */
+	private static final String PACKED_INDEX = "packed/atlases.json";
+
+	/** The singleton instance of the library */
+	private static AnimationLibrary theLibrary = null;
+
+	/** The loaded atlases, keyed by their internal file path */
+	private final ObjectMap<String, Entry> entries = new ObjectMap<>();
+	/** The packed atlas of each source atlas, by internal file path */
+	private final ObjectMap<String, String> packed = new ObjectMap<>();
+
+	/**
+	 * Returns the singleton instance of the animation library
+	 *
+	 * @return the singleton instance of the animation library
+	 */
+	public static AnimationLibrary getInstance() {
+		if (theLibrary == null) {
+			theLibrary = new AnimationLibrary();
+		}
+		return theLibrary;
+	}
+
+	/**
+	 * Creates an empty library, reading the index of packed atlases if there is one
+	 */
+	private AnimationLibrary() {
+		FileHandle index = Gdx.files.internal(PACKED_INDEX);
+		if (index.exists()) {
+			for (JsonValue entry : new JsonReader().parse(index)) {
+				packed.put(entry.name(), entry.asString());
+			}
+		}
+	}
+
+	/**
+	 * Returns the path of the atlas that holds the regions of the given atlas
+	 *
+	 * @param path The internal file path of an atlas
+	 *
+	 * @return the path of the packed atlas, or the given path if it was not packed
+	 */
+	private String resolve(String path) {
+		return packed.get(path, path);
+	}
+
+	/**
+	 * Returns the atlas at the given path, loading it if this is the first reference.
+	 *
+	 * Each call takes a reference that must be given back with release().
+	 *
+	 * @param path The internal file path of the atlas
+	 *
+	 * @return the atlas at the given path
+	 */
+	public TextureAtlas acquire(String path) {
+		path = resolve(path);
+		Entry entry = entries.get(path);
+		if (entry == null) {
+			entry = new Entry();
+			entry.atlas = new TextureAtlas(Gdx.files.internal(path));
+			entries.put(path, entry);
+		}
+		entry.references++;
+		return entry.atlas;
+	}
+
+	/**
+	 * Returns an animation of the regions with the given name in the atlas at the given path.
+	 *
+	 * Like acquire(), each call takes a reference to the atlas that must be given back
+	 * with release(). The animation is shared with any other caller that asks for the
+	 * same regions, frame duration and play mode.
+	 *
+	 * @param path          The internal file path of the atlas
+	 * @param region        The name of the regions in the atlas
+	 * @param frameDuration The time between frames in seconds
+	 * @param playMode      The play mode of the animation
+	 *
+	 * @return the animation of the given regions
+	 */
+	public Animation<TextureRegion> getAnimation(String path, String region, float frameDuration,
+			Animation.PlayMode playMode) {
+		TextureAtlas atlas = acquire(path);
+		Entry entry = entries.get(resolve(path));
+		String key = region + ":" + Float.floatToIntBits(frameDuration) + ":" + playMode.ordinal();
+		Animation<TextureRegion> animation = entry.animations.get(key);
+		if (animation == null) {
+			animation = new Animation<TextureRegion>(frameDuration, atlas.findRegions(region), playMode);
+			entry.animations.put(key, animation);
+		}
+		return animation;
+	}
+
+	/**
+	 * Gives back a reference to the atlas at the given path.
+	 *
+	 * When the last reference is given back, the atlas and its animations are disposed.
+	 *
+	 * @param path The internal file path of the atlas
+	 */
+	public void release(String path) {
+		path = resolve(path);
+		Entry entry = entries.get(path);
+		if (entry == null) {
+			return;
+		}
+		entry.references--;
+		if (entry.references <= 0) {
+			entries.remove(path);
+			entry.atlas.dispose();
+		}
+	}
+
+	/**
+	 * Returns the number of atlases currently loaded
+	 *
+	 * @return the number of atlases currently loaded
+	 */
+	public int size() {
+		return entries.size;
+	}
+
+	/**
+	 * Disposes every atlas, whether or not it is still referenced.
+	 *
+	 * This should only be called when the application is shutting down.
+	 */
+	@Override
+	public void dispose() {
+		for (Entry entry : entries.values()) {
+			entry.atlas.dispose();
+		}
+		entries.clear();
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * ContactDispatcher.java
+ *
+ * Box2D reports every contact to a single listener, which then has to work out what
+ * kind of objects touched.  Rather than test every object class on every contact,
+ * we look the pair of contact kinds up in a table and call the handler registered
+ * for that pair directly.  Pairs with no handler cost two array lookups.
+ */
+package edu.cornell.gdiac.rabbeat;
+
+import com.badlogic.gdx.physics.box2d.Contact;
+import com.badlogic.gdx.physics.box2d.Fixture;
+import edu.cornell.gdiac.rabbeat.objects.ContactKind;
+import edu.cornell.gdiac.rabbeat.objects.GameObject;
+
+/**
+ * A table of contact handlers keyed on the {@link ContactKind} of both objects.
+ *
+ * Handlers are registered for an ordered pair of kinds, but are called for either
+ * fixture order. The handler always receives the objects in the order it was
+ * registered with. Registering more than one handler for a pair runs them all,
+ * in the order they were registered.
+ */
+public class ContactDispatcher {
+	/** A response to two objects touching */
+	public interface Handler {
+		/**
+		 * Handles a contact between two objects.
+		 *
+		 * @param a  The object of the first registered kind
+		 * @param fa The fixture of the first object
+		 * @param b  The object of the second registered kind
+		 * @param fb The fixture of the second object
+		 */
+		void handle(GameObject a, Fixture fa, GameObject b, Fixture fb);
+	}
+
+	/** The cached kind values (ContactKind.values() allocates each call) */
+	private static final ContactKind[] KINDS = ContactKind.values();
+
+	/** The handler for each pair of kinds, indexed by kind ordinal */
+	private final Handler[][] handlers = new Handler[KINDS.length][KINDS.length];
+
+	/**
+	 * Registers a handler for contacts between the two kinds.
+	 *
+	 * @param first   The kind of the first object passed to the handler
+	 * @param second  The kind of the second object passed to the handler
+	 * @param handler The handler to call
+	 */
+	public void register(ContactKind first, ContactKind second, final Handler handler) {
+		int i = first.ordinal();
+		int j = second.ordinal();
+		handlers[i][j] = chain(handlers[i][j], handler);
+		if (i != j) {
+			handlers[j][i] = chain(handlers[j][i], new Handler() {
+				public void handle(GameObject a, Fixture fa, GameObject b, Fixture fb) {
+					handler.handle(b, fb, a, fa);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Registers a handler for contacts between the given kind and every kind.
+	 *
+	 * @param first   The kind of the first object passed to the handler
+	 * @param handler The handler to call
+	 */
+	public void registerAll(ContactKind first, Handler handler) {
+		for (ContactKind second : KINDS) {
+			register(first, second, handler);
+		}
+	}
+
+	/**
+	 * Calls the handler registered for the two objects in this contact, if any.
+	 *
+	 * @param contact The contact reported by Box2D
+	 */
+	public void dispatch(Contact contact) {
+		Fixture fix1 = contact.getFixtureA();
+		Fixture fix2 = contact.getFixtureB();
+		GameObject bd1 = (GameObject) fix1.getBody().getUserData();
+		GameObject bd2 = (GameObject) fix2.getBody().getUserData();
+
+		Handler handler = handlers[bd1.getContactKind().ordinal()][bd2.getContactKind().ordinal()];
+		if (handler != null) {
+			handler.handle(bd1, fix1, bd2, fix2);
+		}
+	}
+
+	/**
+	 * Returns a handler that runs the first handler (if any) and then the second.
+	 *
+	 * @param first  The existing handler, or null
+	 * @param second The handler to run after it
+	 *
+	 * @return a handler that runs both
+	 */
+	private static Handler chain(final Handler first, final Handler second) {
+		if (first == null) {
+			return second;
+		}
+		return new Handler() {
+			public void handle(GameObject a, Fixture fa, GameObject b, Fixture fb) {
+				first.handle(a, fa, b, fb);
+				second.handle(a, fa, b, fb);
+			}
+		};
+	}
+}
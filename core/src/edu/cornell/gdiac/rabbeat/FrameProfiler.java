@@ -0,0 +1,224 @@
+/*
+ * FrameProfiler.java
+ *
+ * Times each phase of a game frame so that a slow frame can be blamed on the part
+ * of the loop that caused it.  Every phase keeps a ring buffer of its per-frame
+ * times, from which we compute rolling percentiles.  All storage is allocated up
+ * front as primitive arrays, so profiling does not create garbage of its own.
+ */
+package edu.cornell.gdiac.rabbeat;
+
+import java.util.Arrays;
+
+/**
+ * Per-phase frame timer with rolling percentiles.
+ *
+ * A phase may be started and stopped several times in a frame (e.g. one physics
+ * step per fixed step).  The times are summed until endFrame() is called, at which
+ * point the frame total is pushed into that phase's ring buffer.
+ */
+public class FrameProfiler {
+	/** The phases of a frame that we time */
+	public enum Phase {
+		/** InputController.readInput */
+		INPUT("input"),
+		/** SyncController.update */
+		SYNC("sync"),
+		/** SoundController.update */
+		SOUND("sound"),
+		/** Draining the object add queue */
+		ADD_QUEUE("add queue"),
+		/** Putting objects outside the camera view to sleep */
+		ACTIVATION("activation"),
+		/** World.step */
+		PHYSICS("physics"),
+		/** The object update and garbage collection loop */
+		OBJECT_UPDATE("objects"),
+		/** GameCanvas.updateCamera */
+		CAMERA("camera"),
+		/** The level background pass */
+		DRAW_BACKGROUND("draw bg"),
+		/** The game object pass */
+		DRAW_OBJECTS("draw objects"),
+		/** The physics debug pass */
+		DRAW_DEBUG("draw debug"),
+		/** The victory screen pass */
+		DRAW_VICTORY("draw victory"),
+		/** The level name pass */
+		DRAW_LEVEL_NAME("draw name"),
+		/** The genre indicator pass */
+		DRAW_GENRE("draw genre"),
+		/** The start cutscene pass */
+		DRAW_CUTSCENE("draw cutscene"),
+		/** The pause menu pass */
+		DRAW_PAUSE("draw pause");
+
+		/** The short name shown in the overlay */
+		public final String label;
+
+		Phase(String label) {
+			this.label = label;
+		}
+	}
+
+	/** Default number of frames to keep for each phase */
+	public static final int DEFAULT_CAPACITY = 240;
+
+	/** The cached phase values (Phase.values() allocates each call), not to be modified */
+	public static final Phase[] PHASES = Phase.values();
+
+	/** Per-phase ring buffers of frame times in nanoseconds */
+	private final long[][] samples;
+	/** Time accumulated by each phase in the current frame */
+	private final long[] current;
+	/** Time accumulated by each phase since the totals were last reset */
+	private final long[] totals;
+	/** The start time of each running phase */
+	private final long[] starts;
+	/** Scratch space for sorting a ring buffer */
+	private final long[] scratch;
+	/** The next slot to write in every ring buffer */
+	private int cursor;
+	/** The number of valid slots in every ring buffer */
+	private int count;
+
+	/**
+	 * Creates a profiler that keeps the default number of frames
+	 */
+	public FrameProfiler() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a profiler that keeps the given number of frames
+	 *
+	 * @param capacity The number of frames to keep for each phase
+	 */
+	public FrameProfiler(int capacity) {
+		samples = new long[PHASES.length][capacity];
+		current = new long[PHASES.length];
+		totals  = new long[PHASES.length];
+		starts  = new long[PHASES.length];
+		scratch = new long[capacity];
+	}
+
+	/**
+	 * Marks the start of the given phase
+	 *
+	 * @param phase The phase to time
+	 */
+	public void start(Phase phase) {
+		starts[phase.ordinal()] = System.nanoTime();
+	}
+
+	/**
+	 * Marks the end of the given phase, adding the elapsed time to this frame
+	 *
+	 * @param phase The phase being timed
+	 */
+	public void stop(Phase phase) {
+		int i = phase.ordinal();
+		long elapsed = System.nanoTime() - starts[i];
+		current[i] += elapsed;
+		totals[i]  += elapsed;
+	}
+
+	/**
+	 * Pushes this frame's phase times into the ring buffers and starts a new frame
+	 */
+	public void endFrame() {
+		for (int i = 0; i < PHASES.length; i++) {
+			samples[i][cursor] = current[i];
+			current[i] = 0;
+		}
+		cursor = (cursor + 1) % scratch.length;
+		if (count < scratch.length) {
+			count++;
+		}
+	}
+
+	/**
+	 * Returns the given percentile of a phase over the recorded frames
+	 *
+	 * @param phase   The phase to query
+	 * @param percent The percentile in the range 0 to 1 (e.g. 0.95f)
+	 *
+	 * @return the percentile frame time in nanoseconds
+	 */
+	public long percentile(Phase phase, float percent) {
+		if (count == 0) {
+			return 0;
+		}
+		sortSamples(phase);
+		return sortedPercentile(percent);
+	}
+
+	/**
+	 * Stores the 50th, 95th and 99th percentiles of a phase in the given array.
+	 *
+	 * This sorts the recorded frames once for all three, rather than once for each
+	 * call to percentile.
+	 *
+	 * @param phase The phase to query
+	 * @param out   The array to store the percentiles in, in nanoseconds, of length 3 or more
+	 */
+	public void percentiles(Phase phase, long[] out) {
+		if (count == 0) {
+			out[0] = out[1] = out[2] = 0;
+			return;
+		}
+		sortSamples(phase);
+		out[0] = sortedPercentile(0.50f);
+		out[1] = sortedPercentile(0.95f);
+		out[2] = sortedPercentile(0.99f);
+	}
+
+	/**
+	 * Copies the recorded frames of a phase into the scratch space and sorts them
+	 *
+	 * @param phase The phase to sort
+	 */
+	private void sortSamples(Phase phase) {
+		System.arraycopy(samples[phase.ordinal()], 0, scratch, 0, count);
+		Arrays.sort(scratch, 0, count);
+	}
+
+	/**
+	 * Returns the given percentile of the sorted scratch space
+	 *
+	 * @param percent The percentile in the range 0 to 1 (e.g. 0.95f)
+	 *
+	 * @return the percentile frame time in nanoseconds
+	 */
+	private long sortedPercentile(float percent) {
+		int index = (int)Math.ceil(percent * count) - 1;
+		return scratch[Math.max(0, Math.min(count - 1, index))];
+	}
+
+	/**
+	 * Returns the total time spent in a phase since the totals were last reset
+	 *
+	 * @param phase The phase to query
+	 *
+	 * @return the total time in nanoseconds
+	 */
+	public long getTotal(Phase phase) {
+		return totals[phase.ordinal()];
+	}
+
+	/**
+	 * Clears the running totals, but not the ring buffers
+	 */
+	public void resetTotals() {
+		Arrays.fill(totals, 0);
+	}
+
+	/**
+	 * Returns the number of frames currently held in the ring buffers
+	 *
+	 * @return the number of frames currently held in the ring buffers
+	 */
+	public int getFrameCount() {
+		return count;
+	}
+}
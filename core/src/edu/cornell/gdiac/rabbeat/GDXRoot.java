@@ -34,6 +34,8 @@ public class GDXRoot extends Game implements ScreenListener {
 	AssetDirectory directory;
 	/** Drawing context to display graphics (VIEW CLASS) */
 	private GameCanvas canvas;
+	/** Builds the next level in the background during victory screens */
+	private LevelPreloader levelPreloader;
 
 	/** Player mode for the initial loading screen asset (CONTROLLER CLASS) */
 	private LoadingMode initialLoading;
@@ -42,7 +44,7 @@ public class GDXRoot extends Game implements ScreenListener {
 	private LoadingMode loading;
 	/** Player mode for the game proper (CONTROLLER CLASS) */
 	private int current;
-	/** List of all WorldControllers */
+	/** The controller for every level, reused between them */
 	private GameController controller;
 
 	/** Variable that represents the level selector screen */
@@ -106,10 +108,16 @@ public class GDXRoot extends Game implements ScreenListener {
 		// Call dispose on our children
 		setScreen(null);
 		controller.dispose();
+		AnimationLibrary.getInstance().dispose();
 
 		canvas.dispose();
 		canvas = null;
 
+		if (levelPreloader != null) {
+			levelPreloader.dispose();
+			levelPreloader = null;
+		}
+
 		// Unload all of the resources
 		if (directory != null) {
 			directory.unloadAssets();
@@ -145,12 +153,17 @@ public class GDXRoot extends Game implements ScreenListener {
 
 		if(screen == initialLoading || exitCode == GameController.MAIN_MENU) {
 			directory = initialLoading.getAssets();
+			if (levelPreloader == null) {
+				levelPreloader = new LevelPreloader(directory);
+			}
 			mainMenuMusic = directory.getEntry("music:mainmenu", Music.class);
 			Preferences prefs = Gdx.app.getPreferences("MusicVolume");
 			menuMusicVolume = prefs.getInteger("musicVolume", 10);
 			mainMenuMusic.setVolume(menuMusicVolume / 10f);
 
-			controller.gatherAssets(directory);
+			// No level is loaded until one is chosen
+			controller.releaseLevelAssets();
+			controller.gatherMenuAssets(directory);
 			controller.setScreenListener(this);
 			controller.setCanvas(canvas);
 			InputController.getInstance().setPaused(true);
@@ -176,17 +189,23 @@ public class GDXRoot extends Game implements ScreenListener {
 				mainMenuMusic.stop();
 				buttonClicked.play(menuSFXVolume);
 			}
-			controller = new GameController();
+			// Reuse the controller, as its art is already bound
+			controller.clearLevel();
 			InputController.getInstance().setPaused(false);
 			GameController.getInstance().setPaused(false);
 			controller.gatherAssets(directory);
 			controller.setScreenListener(this);
+			controller.setLevelPreloader(levelPreloader);
 			controller.setCanvas(canvas);
 			controller.resume();
 			controller.initialize();
 			levelSelectorScreen.finishedLoadingLevel = true;
 			setScreen(controller);
 		}else if (screen == controller || exitCode == GameController.GO_TO_LEVEL_SELECT) {
+			if (screen == controller) {
+				// The level is loaded again when it is selected
+				controller.releaseLevelAssets();
+			}
 
 			createLevelSelectorScreen();
 			levelSelectorScreen.setCanSwitch(false);
@@ -23,6 +23,10 @@ import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.*;
 import com.badlogic.gdx.graphics.glutils.*;
 import com.badlogic.gdx.physics.box2d.*;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+
+import edu.cornell.gdiac.math.Path2;
 
 /**
  * Primary view class for the game, abstracting the basic graphics calls.
@@ -30,6 +34,12 @@ import com.badlogic.gdx.physics.box2d.*;
  * This version of GameCanvas only supports both rectangular and polygonal Sprite
  * drawing.  It also supports a debug mode that draws polygonal outlines.  However,
  * that mode must be done in a separate begin/end pass.
+ *
+ * Texture draws are not sent to the sprite batch right away.  They are added to a
+ * {@link RenderQueue}, which is sorted by layer and texture when the pass ends, so
+ * that the batch switches textures as little as possible.  Sprites that overlap are
+ * still drawn in the order they were added.  Polygons and text cannot be queued, so
+ * the queue is drawn before them.
  */
 public class GameCanvas {
 	/** Enumeration to track which pass we are in */
@@ -72,6 +82,17 @@ public class GameCanvas {
 	
 	/** The current color blending mode */
 	private BlendState blend;
+	/** The color blending mode the sprite batch is set to */
+	private BlendState batchBlend;
+	/** The blend states, by ordinal */
+	private static final BlendState[] BLEND_STATES = BlendState.values();
+
+	/** The sprites of the current drawing pass, sorted and drawn when it ends */
+	private RenderQueue queue;
+	/** The layer of the sprites drawn, for sorting */
+	private int drawLayer;
+	/** The number of sprites to make room for in the render queue */
+	private static final int QUEUE_CAPACITY = 1024;
 	
 	/** Camera for the underlying SpriteBatch */
 	private OrthographicCamera camera;
@@ -93,6 +114,38 @@ public class GameCanvas {
 	/** Cache object to handle raw textures */
 	private TextureRegion holder;
 
+	/** The baked static tiles of the current level, or null if there are none */
+	private SpriteCache tileCache;
+	/** The cache id of each chunk of static tiles */
+	private IntArray tileChunks;
+	/** The screen area covered by each chunk of static tiles */
+	private Array<Rectangle> tileChunkBounds;
+	/** The static tiles waiting to be baked into the cache */
+	private Array<CachedTile> pendingTiles;
+	/** The size of a chunk of static tiles (in pixels) */
+	private float chunkWidth, chunkHeight;
+	/** The area of the screen visible to the camera */
+	private Rectangle viewBounds;
+
+	/** Whether the area covered by draws is being measured */
+	private boolean measuring;
+	/** Whether textures are only measured, and not drawn */
+	private boolean measureOnly;
+	/** Whether anything has been drawn since the measurement began */
+	private boolean measuredAny;
+	/** The area covered by draws since the measurement began (in screen coordinates) */
+	private Rectangle measured;
+
+	/** A static tile waiting to be baked, with the chunk it belongs to */
+	private static class CachedTile {
+		/** The tile texture */
+		TextureRegion region;
+		/** The bottom left corner of the tile (in pixels) */
+		float x, y;
+		/** The chunk containing the bottom left corner */
+		int chunkX, chunkY;
+	}
+
 	/** Camera movement speed */
 	float CAMERA_SPEED = 7f;
 	/** Camera in-game zoom */
@@ -128,6 +181,15 @@ public class GameCanvas {
 		local  = new Affine2();
 		global = new Matrix4();
 		vertex = new Vector2();
+		tileChunks = new IntArray();
+		tileChunkBounds = new Array<>();
+		pendingTiles = new Array<>();
+		viewBounds = new Rectangle();
+		measured = new Rectangle();
+		queue = new RenderQueue(QUEUE_CAPACITY);
+		// The default blend function of a sprite batch
+		blend = BlendState.NO_PREMULT;
+		batchBlend = BlendState.NO_PREMULT;
 	}
 		
     /**
@@ -140,6 +202,10 @@ public class GameCanvas {
 		}
 		spriteBatch.dispose();
     	spriteBatch = null;
+		if (tileCache != null) {
+			tileCache.dispose();
+			tileCache = null;
+		}
     	local  = null;
     	global = null;
     	vertex = null;
@@ -303,12 +369,27 @@ public class GameCanvas {
 	 * Any texture draw subsequent to this call will use the rules of this blend 
 	 * state to composite with other textures.  Unlike the other setters, if it is 
 	 * perfectly safe to use this setter while  drawing is active (e.g. in-between 
-	 * a begin-end pair).  
+	 * a begin-end pair).  While drawing is active, the blend state is part of the
+	 * sort key of the queued sprites, and only applied when they are drawn.
 	 *
 	 * @param state the color blending rule
 	 */
 	public void setBlendState(BlendState state) {
-		if (state == blend) {
+		blend = state;
+		if (active != DrawPass.STANDARD) {
+			applyBlendState(state);
+		}
+	}
+
+	/**
+	 * Sets the blend function of the sprite batch for the given blend state.
+	 *
+	 * The sprite batch flushes if the blend function changes.
+	 *
+	 * @param state the color blending rule
+	 */
+	private void applyBlendState(BlendState state) {
+		if (state == batchBlend) {
 			return;
 		}
 		switch (state) {
@@ -325,7 +406,20 @@ public class GameCanvas {
 			spriteBatch.setBlendFunction(GL20.GL_ONE,GL20.GL_ZERO);
 			break;
 		}
-		blend = state;
+		batchBlend = state;
+	}
+
+	/**
+	 * Sets the layer of the sprites drawn after this call.
+	 *
+	 * Sprites are drawn in order of their layer, and then grouped by texture within
+	 * a layer, as long as that does not put a sprite under one it overlaps that was
+	 * drawn before it. The layer goes back to 0 at the end of each drawing pass.
+	 *
+	 * @param layer the layer of the sprites, less than {@link RenderQueue#MAX_LAYERS}
+	 */
+	public void setDrawLayer(int layer) {
+		drawLayer = MathUtils.clamp(layer, 0, RenderQueue.MAX_LAYERS - 1);
 	}
 	
 	/**
@@ -394,10 +488,84 @@ public class GameCanvas {
 	 * Ends a drawing sequence, flushing textures to the graphics card.
 	 */
     public void end() {
+		flushQueue();
     	spriteBatch.end();
     	active = DrawPass.INACTIVE;
+		drawLayer = 0;
     }
 
+	/**
+	 * Adds a sprite to the render queue, for a rectangle in place
+	 *
+	 * @param region The texture to draw
+	 * @param tint   The color tint
+	 * @param x 	 The x-coordinate of the bottom left corner
+	 * @param y 	 The y-coordinate of the bottom left corner
+	 * @param width	 The width of the rectangle
+	 * @param height The height of the rectangle
+	 */
+	private void submit(TextureRegion region, Color tint, float x, float y, float width, float height) {
+		local.setToTranslation(x, y);
+		submit(region, tint, width, height, local);
+	}
+
+	/**
+	 * Adds a sprite to the render queue, for a transformed rectangle
+	 *
+	 * Every texture draw goes through this method. The rectangle has its bottom left
+	 * corner at the origin before it is transformed.
+	 *
+	 * @param region    The texture to draw
+	 * @param tint      The color tint
+	 * @param width	    The width of the rectangle
+	 * @param height    The height of the rectangle
+	 * @param transform The transform of the rectangle
+	 */
+	private void submit(TextureRegion region, Color tint, float width, float height, Affine2 transform) {
+		measure(transform, width, height);
+		if (measureOnly) {
+			return;
+		}
+		if (queue.isFull()) {
+			flushQueue();
+		}
+		queue.add(region, tint.toFloatBits(), width, height, transform, drawLayer, blend.ordinal());
+	}
+
+	/**
+	 * Sorts the render queue and draws it to the sprite batch.
+	 *
+	 * This must be called before anything is drawn to the sprite batch directly, so
+	 * that it is drawn over what was queued before it. Afterwards the sprite batch has
+	 * the current blend state.
+	 */
+	private void flushQueue() {
+		if (queue.size() > 0) {
+			queue.sort();
+			float[] vertices = queue.getVertices();
+			for (int ii = 0; ii < queue.size(); ii++) {
+				int sprite = queue.getSprite(ii);
+				applyBlendState(BLEND_STATES[queue.getBlend(ii)]);
+				spriteBatch.draw(queue.getTexture(sprite), vertices, sprite * RenderQueue.SPRITE_SIZE,
+						RenderQueue.SPRITE_SIZE);
+			}
+			queue.clear();
+		}
+		applyBlendState(blend);
+	}
+
+	/**
+	 * Returns the number of times the sprite batch has flushed since it was created.
+	 *
+	 * The batch flushes whenever the texture changes, so the difference between two
+	 * calls is the number of draw calls (and texture binds) in between.
+	 *
+	 * @return the number of times the sprite batch has flushed since it was created.
+	 */
+	public int getRenderCalls() {
+		return spriteBatch.totalRenderCalls;
+	}
+
 	/**
 	 * Draws the tinted texture at the given position.
 	 *
@@ -418,9 +586,9 @@ public class GameCanvas {
 			return;
 		}
 		
-		// Unlike Lab 1, we can shortcut without a master drawing method
-    	spriteBatch.setColor(Color.WHITE);
-		spriteBatch.draw(image, x,  y);
+		// Call the master drawing method (the render queue takes regions)
+		holder.setRegion(image);
+		submit(holder, Color.WHITE, x, y, image.getWidth(), image.getHeight());
 	}
 	
 	/**
@@ -446,9 +614,9 @@ public class GameCanvas {
 			return;
 		}
 		
-		// Unlike Lab 1, we can shortcut without a master drawing method
-    	spriteBatch.setColor(tint);
-		spriteBatch.draw(image, x,  y, width, height);
+		// Call the master drawing method (the render queue takes regions)
+		holder.setRegion(image);
+		submit(holder, tint, x, y, width, height);
 	}
 	
 	/**
@@ -570,9 +738,7 @@ public class GameCanvas {
 			return;
 		}
 		
-		// Unlike Lab 1, we can shortcut without a master drawing method
-    	spriteBatch.setColor(Color.WHITE);
-		spriteBatch.draw(region, x,  y);
+		submit(region, Color.WHITE, x, y, region.getRegionWidth(), region.getRegionHeight());
 	}
 
 	/**
@@ -597,9 +763,7 @@ public class GameCanvas {
 			return;
 		}
 		
-		// Unlike Lab 1, we can shortcut without a master drawing method
-    	spriteBatch.setColor(tint);
-		spriteBatch.draw(region, x,  y, width, height);
+		submit(region, tint, x, y, width, height);
 	}
 	
 	/**
@@ -627,9 +791,7 @@ public class GameCanvas {
 			return;
 		}
 		
-		// Unlike Lab 1, we can shortcut without a master drawing method
-    	spriteBatch.setColor(tint);
-		spriteBatch.draw(region, x-ox, y-oy, width, height);
+		submit(region, tint, x-ox, y-oy, width, height);
 	}
 
 	/**
@@ -669,8 +831,7 @@ public class GameCanvas {
 		// There is a workaround, but it will break if the bug is fixed.
 		// For now, it is better to set the affine transform directly.
 		computeTransform(ox,oy,x,y,angle,sx,sy);
-		spriteBatch.setColor(tint);
-		spriteBatch.draw(region, region.getRegionWidth(), region.getRegionHeight(), local);
+		submit(region, tint, region.getRegionWidth(), region.getRegionHeight(), local);
 	}
 
 	/**
@@ -698,8 +859,7 @@ public class GameCanvas {
 
 		local.set(affine);
 		local.translate(-ox,-oy);				
-		spriteBatch.setColor(tint);
-		spriteBatch.draw(region, region.getRegionWidth(), region.getRegionHeight(), local);
+		submit(region, tint, region.getRegionWidth(), region.getRegionHeight(), local);
 	}
 
 	/**
@@ -728,7 +888,8 @@ public class GameCanvas {
 			return;
 		}
 		
-		// Unlike Lab 1, we can shortcut without a master drawing method
+		// Polygons cannot be queued, so draw everything queued before them first
+		flushQueue();
     	spriteBatch.setColor(Color.WHITE);
 		spriteBatch.draw(region, x,  y);
 	}
@@ -762,7 +923,8 @@ public class GameCanvas {
 			return;
 		}
 		
-		// Unlike Lab 1, we can shortcut without a master drawing method
+		// Polygons cannot be queued, so draw everything queued before them first
+		flushQueue();
     	spriteBatch.setColor(tint);
 		spriteBatch.draw(region, x,  y, width, height);
 	}
@@ -798,7 +960,8 @@ public class GameCanvas {
 			return;
 		}
 		
-		// Unlike Lab 1, we can shortcut without a master drawing method
+		// Polygons cannot be queued, so draw everything queued before them first
+		flushQueue();
     	spriteBatch.setColor(tint);
 		spriteBatch.draw(region, x-ox, y-oy, width, height);
 	}
@@ -836,6 +999,8 @@ public class GameCanvas {
 			return;
 		}
 		
+		// Polygons cannot be queued, so draw everything queued before them first
+		flushQueue();
 		TextureRegion bounds = region.getRegion();
 		spriteBatch.setColor(tint);
 		spriteBatch.draw(region, x, y, ox, oy, 
@@ -871,6 +1036,8 @@ public class GameCanvas {
 		}
 
 		local.set(affine);
+		// Polygons cannot be queued, so draw everything queued before them first
+		flushQueue();
 		local.translate(-ox,-oy);
 		computeVertices(local,region.getVertices());
 
@@ -907,10 +1074,28 @@ public class GameCanvas {
 			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
 			return;
 		}
+		flushQueue();
 		GlyphLayout layout = new GlyphLayout(font,text);
 		font.draw(spriteBatch, layout, x, y);
     }
 
+    /**
+     * Draws text on the screen that has already been laid out.
+     *
+     * @param layout The laid out text
+     * @param font The font the text was laid out with
+     * @param x The x-coordinate of the lower-left corner
+     * @param y The y-coordinate of the lower-left corner
+     */
+    public void drawText(GlyphLayout layout, BitmapFont font, float x, float y) {
+		if (active != DrawPass.STANDARD) {
+			Gdx.app.error("GameCanvas", "Cannot draw without active begin()", new IllegalStateException());
+			return;
+		}
+		flushQueue();
+		font.draw(spriteBatch, layout, x, y);
+    }
+
     /**
      * Draws text centered on the screen.
      *
@@ -924,6 +1109,7 @@ public class GameCanvas {
 			return;
 		}
 		
+		flushQueue();
 		GlyphLayout layout = new GlyphLayout(font,text);
 		float x = (getWidth()  - layout.width) / 2.0f;
 		float y = (getHeight() + layout.height) / 2.0f;
@@ -1148,6 +1334,36 @@ public class GameCanvas {
     	debugRender.ellipse(x0-w, y0-h, 2*w, 2*h, 12);
     }
     
+    /** 
+     * Draws the given path in the specified color
+     *
+     * The path is drawn relative to the given position, and is closed if the path
+     * is closed.
+     * 
+     * @param path  The path to draw
+     * @param color The outline color
+     * @param x  The x-coordinate of the path position
+     * @param y  The y-coordinate of the path position
+     * @param sx The amount to scale the x-axis
+     * @param sx The amount to scale the y-axis
+     */
+    public void drawPhysics(Path2 path, Color color, float x, float y, float sx, float sy) {
+		if (active != DrawPass.DEBUG) {
+			Gdx.app.error("GameCanvas", "Cannot draw without active beginDebug()", new IllegalStateException());
+			return;
+		}
+		
+		float[] vertices = path.vertices;
+		int count = vertices.length/2;
+		int edges = (path.closed ? count : count-1);
+    	debugRender.setColor(color);
+		for(int ii = 0; ii < edges; ii++) {
+			int jj = (ii+1) % count;
+			debugRender.line((x+vertices[2*ii])*sx, (y+vertices[2*ii+1])*sy,
+							 (x+vertices[2*jj])*sx, (y+vertices[2*jj+1])*sy);
+		}
+    }
+    
 	/**
 	 * Compute the affine transform (and store it in local) for this image.
 	 * 
@@ -1166,14 +1382,223 @@ public class GameCanvas {
 		local.translate(-ox,-oy);
 	}
 
+	/**
+	 * Starts collecting static tiles to bake into the tile cache.
+	 *
+	 * Static tiles never move, so rather than drawing them through the sprite batch
+	 * each frame, they are baked once into a SpriteCache. The tiles are grouped into
+	 * chunks the size of the camera view, so that only the few chunks on screen are
+	 * drawn. Any tiles baked for a previous level are discarded by endTileCache.
+	 */
+	public void beginTileCache() {
+		pendingTiles.clear();
+		getCameraBounds(viewBounds);
+		chunkWidth = viewBounds.width;
+		chunkHeight = viewBounds.height;
+	}
+
+	/**
+	 * Adds a static tile to be baked into the tile cache.
+	 *
+	 * This must be called between beginTileCache and endTileCache.
+	 *
+	 * @param region The tile texture
+	 * @param x 	 The x-coordinate of the bottom left corner (in pixels)
+	 * @param y 	 The y-coordinate of the bottom left corner (in pixels)
+	 */
+	public void cacheTile(TextureRegion region, float x, float y) {
+		CachedTile tile = new CachedTile();
+		tile.region = region;
+		tile.x = x;
+		tile.y = y;
+		tile.chunkX = (int)Math.floor(x / chunkWidth);
+		tile.chunkY = (int)Math.floor(y / chunkHeight);
+		pendingTiles.add(tile);
+	}
+
+	/**
+	 * Bakes the tiles added since beginTileCache into the tile cache.
+	 *
+	 * This replaces whatever was in the cache before. Within a chunk the tiles are
+	 * sorted by texture, so each chunk costs one draw call per texture in it.
+	 */
+	public void endTileCache() {
+		if (tileCache != null) {
+			tileCache.dispose();
+			tileCache = null;
+		}
+		tileChunks.clear();
+		tileChunkBounds.clear();
+		if (pendingTiles.size == 0) {
+			return;
+		}
+
+		pendingTiles.sort((a, b) -> {
+			if (a.chunkY != b.chunkY) {
+				return Integer.compare(a.chunkY, b.chunkY);
+			} else if (a.chunkX != b.chunkX) {
+				return Integer.compare(a.chunkX, b.chunkX);
+			}
+			return Integer.compare(a.region.getTexture().hashCode(), b.region.getTexture().hashCode());
+		});
+
+		// Indices are smaller, but only address 8191 sprites
+		tileCache = new SpriteCache(pendingTiles.size, pendingTiles.size <= 8191);
+		int start = 0;
+		while (start < pendingTiles.size) {
+			CachedTile first = pendingTiles.get(start);
+			Rectangle bounds = new Rectangle(first.x, first.y, 0, 0);
+			tileCache.beginCache();
+			int end = start;
+			while (end < pendingTiles.size) {
+				CachedTile tile = pendingTiles.get(end);
+				if (tile.chunkX != first.chunkX || tile.chunkY != first.chunkY) {
+					break;
+				}
+				tileCache.add(tile.region, tile.x, tile.y);
+				bounds.merge(tile.x, tile.y);
+				bounds.merge(tile.x + tile.region.getRegionWidth(), tile.y + tile.region.getRegionHeight());
+				end++;
+			}
+			tileChunks.add(tileCache.endCache());
+			tileChunkBounds.add(bounds);
+			start = end;
+		}
+		pendingTiles.clear();
+	}
+
+	/**
+	 * Draws the chunks of the tile cache that are visible to the camera.
+	 *
+	 * The tile cache has its own vertex data, so this cannot be called between
+	 * begin and end.
+	 */
+	public void drawTileCache() {
+		if (active != DrawPass.INACTIVE) {
+			Gdx.app.error("GameCanvas", "Cannot draw the tile cache while drawing active", new IllegalStateException());
+			return;
+		}
+		if (tileCache == null) {
+			return;
+		}
+
+		getCameraBounds(viewBounds);
+		Gdx.gl.glEnable(GL20.GL_BLEND);
+		Gdx.gl.glBlendFunc(spriteBatch.getBlendSrcFunc(), spriteBatch.getBlendDstFunc());
+		tileCache.setProjectionMatrix(camera.combined);
+		tileCache.begin();
+		for (int ii = 0; ii < tileChunks.size; ii++) {
+			if (tileChunkBounds.get(ii).overlaps(viewBounds)) {
+				tileCache.draw(tileChunks.get(ii));
+			}
+		}
+		tileCache.end();
+	}
+
+	/**
+	 * Starts measuring the area covered by the textures drawn.
+	 *
+	 * This is used to find the bounds of an object by drawing it. Only texture draws
+	 * are measured, not polygons or text.
+	 */
+	public void beginMeasure() {
+		beginMeasure(false);
+	}
+
+	/**
+	 * Starts measuring the area covered by the textures drawn.
+	 *
+	 * If only measuring, texture draws are measured but not drawn. This is used to find the bounds of
+	 * an object before deciding whether it is visible.
+	 *
+	 * @param only Whether to only measure the textures, and not draw them
+	 */
+	public void beginMeasure(boolean only) {
+		measuring = true;
+		measureOnly = only;
+		measuredAny = false;
+	}
+
+	/**
+	 * Stops measuring the area covered by the textures drawn.
+	 *
+	 * @param bounds The rectangle to store the area in (in screen coordinates)
+	 *
+	 * @return true if anything was drawn since beginMeasure
+	 */
+	public boolean endMeasure(Rectangle bounds) {
+		measuring = false;
+		measureOnly = false;
+		if (measuredAny) {
+			bounds.set(measured);
+		}
+		return measuredAny;
+	}
+
+	/**
+	 * Adds a transformed rectangle to the measured area, if measuring
+	 *
+	 * The measured area grows to contain all four corners of the rectangle.
+	 *
+	 * @param transform The transform of the rectangle
+	 * @param width		The width of the rectangle before the transform
+	 * @param height	The height of the rectangle before the transform
+	 */
+	private void measure(Affine2 transform, float width, float height) {
+		if (!measuring) {
+			return;
+		}
+		transform.applyTo(vertex.set(0, 0));
+		measure(vertex);
+		transform.applyTo(vertex.set(width, 0));
+		measure(vertex);
+		transform.applyTo(vertex.set(0, height));
+		measure(vertex);
+		transform.applyTo(vertex.set(width, height));
+		measure(vertex);
+	}
+
+	/**
+	 * Adds a point to the measured area
+	 *
+	 * @param point The point to add
+	 */
+	private void measure(Vector2 point) {
+		if (measuredAny) {
+			measured.merge(point.x, point.y);
+		} else {
+			measured.set(point.x, point.y, 0, 0);
+			measuredAny = true;
+		}
+	}
+
+	/**
+	 * Returns the area of the world visible to the camera, in screen coordinates
+	 *
+	 * Divide by the drawing scale to get Box2D coordinates.
+	 *
+	 * @param bounds The rectangle to store the result in
+	 *
+	 * @return the given rectangle, set to the visible area
+	 */
+	public Rectangle getCameraBounds(Rectangle bounds) {
+		float width  = camera.viewportWidth * camera.zoom;
+		float height = camera.viewportHeight * camera.zoom;
+		return bounds.set(camera.position.x - width / 2, camera.position.y - height / 2, width, height);
+	}
+
 	/**
 	 * Updates the camera position based on the player position
 	 *
+	 * The camera follows the interpolated position the player is drawn at, not the
+	 * position from the last physics step, so that the two stay in step.
+	 *
 	 * @param player      The player object
 	 * @param worldWidth  The width of the world in Box2D units
 	 * @param worldHeight The height of the world in Box2D units
+	 * @param dt          Number of seconds since last animation frame
 	 */
-	protected void updateCamera(Player player, float worldWidth, float worldHeight) {
+	protected void updateCamera(Player player, float worldWidth, float worldHeight, float dt) {
 		float minX = camera.viewportWidth * CAMERA_ZOOM / 2;
 		float maxX = worldWidth * (getWidth()/ GameController.DEFAULT_WIDTH) - camera.viewportWidth * CAMERA_ZOOM / 2;
 		float minY = camera.viewportHeight * CAMERA_ZOOM / 2;
@@ -1181,13 +1606,13 @@ public class GameCanvas {
 
 		// Horizontal movement
 		camera.position.lerp(new Vector3(
-				player.getX() * 65.5f, camera.position.y, 0),
-				CAMERA_SPEED * Gdx.graphics.getDeltaTime()
+				player.getDrawX() * 65.5f, camera.position.y, 0),
+				CAMERA_SPEED * dt
 		);
 		// Vertical movement
 		camera.position.lerp(new Vector3(
-				camera.position.x, player.getY() * 67f, 0),
-				CAMERA_SPEED / 3 * Gdx.graphics.getDeltaTime()
+				camera.position.x, player.getDrawY() * 67f, 0),
+				CAMERA_SPEED / 3 * dt
 		);
 
 		camera.position.x = MathUtils.clamp(camera.position.x, minX, maxX);
@@ -16,20 +16,22 @@
  */
 package edu.cornell.gdiac.rabbeat;
 
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Timer.Task;
 import edu.cornell.gdiac.rabbeat.objects.enemies.Enemy;
 import edu.cornell.gdiac.rabbeat.objects.platforms.MovingPlatform;
 import edu.cornell.gdiac.rabbeat.objects.platforms.WeightedPlatform;
-import edu.cornell.gdiac.rabbeat.objects.projectiles.Bee;
-import edu.cornell.gdiac.rabbeat.objects.projectiles.Bullet;
-import edu.cornell.gdiac.rabbeat.objects.projectiles.Echo;
 import edu.cornell.gdiac.rabbeat.sync.ISynced;
 import edu.cornell.gdiac.rabbeat.sync.SyncController;
+import edu.cornell.gdiac.rabbeat.objects.art.ArtObject;
 import edu.cornell.gdiac.rabbeat.objects.art.GenreUI;
 
+import java.util.Comparator;
 import java.util.Iterator;
 
 import com.badlogic.gdx.*;
@@ -116,6 +118,12 @@ public class GameController implements Screen, ContactListener {
 	 */
 	private static String currentLevel = "level" + currentLevelInt;
 
+	/** The asset directory the level assets are loaded in, or null if none are loaded */
+	private AssetDirectory levelAssets;
+
+	/** The name of the asset group loaded for the level, or null if none is loaded */
+	private String levelGroup;
+
 	/**
 	 * How many frames after winning/losing do we continue?
 	 */
@@ -138,6 +146,28 @@ public class GameController implements Screen, ContactListener {
 	 * Number of position iterations for the constrain solvers
 	 */
 	public static final int WORLD_POSIT = 2;
+	/**
+	 * Maximum number of physics steps taken in a single frame. Any time beyond this
+	 * is dropped so a slow frame cannot snowball into ever longer frames.
+	 */
+	public static final int MAX_STEPS_PER_FRAME = 5;
+	/**
+	 * Longest frame time (in seconds) that is fed into the step accumulator
+	 */
+	public static final float MAX_FRAME_TIME = 0.25f;
+	/**
+	 * Distance (in Box2d units) outside the camera view that objects stay active, when the
+	 * level constants do not give one
+	 */
+	public static final float DEFAULT_ACTIVATION_MARGIN = 4.0f;
+	/**
+	 * System property naming a directory to record a replay of each level to
+	 */
+	public static final String RECORD_PROPERTY = "rabbeat.record";
+	/**
+	 * System property naming a replay file to play back when its level is loaded
+	 */
+	public static final String REPLAY_PROPERTY = "rabbeat.replay";
 	/**
 	 * Width of the screen in Box2d units
 	 */
@@ -166,6 +196,10 @@ public class GameController implements Screen, ContactListener {
 	 * Listener that will update the player mode when we are done
 	 */
 	private ScreenListener listener;
+	/**
+	 * Builds the next level in the background while the victory screen is up (may be null)
+	 */
+	private LevelPreloader levelPreloader;
 
 	/**
 	 * The Box2D world
@@ -229,6 +263,109 @@ public class GameController implements Screen, ContactListener {
 	 * Whether or not debug mode is active
 	 */
 	private boolean debug;
+	/**
+	 * Frame time (in seconds) that has not yet been simulated by a physics step
+	 */
+	private float stepAccumulator;
+	/**
+	 * The genre the level was in when the objects were snapshotted
+	 */
+	private Genre snapshotGenre;
+	/**
+	 * Distance (in Box2d units) outside the camera view that objects stay active
+	 */
+	private float activationMargin = DEFAULT_ACTIVATION_MARGIN;
+	/**
+	 * The region outside of which objects go dormant, in Box2d units
+	 */
+	private final Rectangle activationBounds = new Rectangle();
+	/**
+	 * The objects found in the activation region, reused every frame
+	 */
+	private final Array<GameObject> activationQuery = new Array<>();
+	/**
+	 * The replay being recorded or played back, or null if there is none
+	 */
+	private Replay replay;
+	/**
+	 * The file to save the replay being recorded to
+	 */
+	private FileHandle replayFile;
+	/**
+	 * Whether or not the performance overlay is shown
+	 */
+	private boolean profiling;
+	/**
+	 * Times each phase of the frame for the performance overlay
+	 */
+	private final FrameProfiler profiler = new FrameProfiler();
+	/**
+	 * Reusable text buffer for the performance overlay
+	 */
+	private final StringBuilder profileText = new StringBuilder();
+	/**
+	 * Reusable p50, p95 and p99 of a phase for the performance overlay
+	 */
+	private final long[] profilePercentiles = new long[3];
+	/**
+	 * The values shown in the performance overlay: three percentiles per phase, in hundredths
+	 * of a millisecond, then the six object counts
+	 */
+	private final long[] profileValues = new long[FrameProfiler.PHASES.length * 3 + 6];
+	/**
+	 * The laid out overlay text, rebuilt only when the values shown change
+	 */
+	private final GlyphLayout profileLayout = new GlyphLayout();
+	/**
+	 * The number of sprite batch draw calls for the objects in the last frame
+	 */
+	private int objectRenderCalls;
+	/**
+	 * The number of objects drawn in the last frame
+	 */
+	private int drawnObjects;
+	/**
+	 * The number of objects skipped in the last frame as they were off screen
+	 */
+	private int culledObjects;
+	/**
+	 * The area visible to the camera, in screen coordinates
+	 */
+	private final Rectangle viewBounds = new Rectangle();
+	/**
+	 * The area covered by the last object drawn, in screen coordinates
+	 */
+	private final Rectangle drawnBounds = new Rectangle();
+	/**
+	 * The area searched for objects to draw, in world units
+	 */
+	private final Rectangle drawQueryBounds = new Rectangle();
+	/**
+	 * The objects found around the camera view, reused every frame
+	 */
+	private final Array<GameObject> drawQuery = new Array<>();
+	/**
+	 * The farthest any object in the level has drawn from its position, in screen coordinates
+	 */
+	private float drawMargin;
+	/**
+	 * Orders objects by layer, and then by their drawing order within the layer
+	 */
+	private static final Comparator<GameObject> DRAW_ORDER = new Comparator<GameObject>() {
+		@Override
+		public int compare(GameObject a, GameObject b) {
+			int layer = a.getLayer().compareTo(b.getLayer());
+			return layer != 0 ? layer : Integer.compare(a.getDrawOrder(), b.getDrawOrder());
+		}
+	};
+	/**
+	 * Contact handlers run when two objects start touching
+	 */
+	private final ContactDispatcher beginContacts = new ContactDispatcher();
+	/**
+	 * Contact handlers run when two objects stop touching
+	 */
+	private final ContactDispatcher endContacts = new ContactDispatcher();
 	/**
 	 * Stores the bpm after it's loaded in. Don't use this for anything, use getBPM() instead.
 	 */
@@ -297,9 +434,12 @@ public class GameController implements Screen, ContactListener {
 	private Vector2 respawnPoint = null;
 
 	/**
-	 * Mark set to handle more sophisticated collision callbacks
+	 * The number of contacts between the foot sensor and each ground fixture.
+	 * <p>
+	 * A wall chain is one fixture with a contact per edge, so the sensor may touch the same
+	 * fixture more than once.
 	 */
-	protected ObjectSet<Fixture> sensorFixtures;
+	protected ObjectIntMap<Fixture> sensorFixtures;
 
 	/**
 	 * Jump buffer time
@@ -337,6 +477,33 @@ public class GameController implements Screen, ContactListener {
 		debug = value;
 	}
 
+	/**
+	 * Returns true if the performance overlay is shown.
+	 *
+	 * @return true if the performance overlay is shown.
+	 */
+	public boolean isProfiling() {
+		return profiling;
+	}
+
+	/**
+	 * Sets whether the performance overlay is shown.
+	 *
+	 * @param value whether the performance overlay is shown.
+	 */
+	public void setProfiling(boolean value) {
+		profiling = value;
+	}
+
+	/**
+	 * Returns the profiler that times each phase of the frame.
+	 *
+	 * @return the profiler that times each phase of the frame.
+	 */
+	public FrameProfiler getProfiler() {
+		return profiler;
+	}
+
 	/**
 	 * Returns true if the level is completed.
 	 * <p>
@@ -448,7 +615,7 @@ public class GameController implements Screen, ContactListener {
 	 * The game world is scaled so that the screen coordinates do not agree with the Box2d
 	 * coordinates. The bounds are in terms of the Box2d world, not the screen.
 	 */
-	protected GameController() {
+	public GameController() {
 		this(new Rectangle(0, 0, DEFAULT_WIDTH, DEFAULT_HEIGHT),
 				new Vector2(0, DEFAULT_GRAVITY));
 		setDebug(false);
@@ -458,8 +625,9 @@ public class GameController implements Screen, ContactListener {
 		pauseTintSynthColor = new Color(1, 0, 1, 0.55f);
 		pauseTintJazzColor = new Color(1, 0, 1, 0.55f);
 		world.setContactListener(this);
-		sensorFixtures = new ObjectSet<Fixture>();
+		sensorFixtures = new ObjectIntMap<Fixture>();
 		objectController = new ObjectController();
+		registerContactHandlers();
 		theController = this;
 	}
 
@@ -488,9 +656,9 @@ public class GameController implements Screen, ContactListener {
 	 * Dispose of all (non-static) resources allocated to this mode.
 	 */
 	public void dispose() {
-		for (GameObject obj : objectController.objects) {
-			obj.deactivatePhysics(world);
-		}
+		stopReplay();
+		objectController.clearLevel(world);
+		objectController.dispose();
 		objectController = null;
 		world.dispose();
 		objectController = null;
@@ -511,6 +679,7 @@ public class GameController implements Screen, ContactListener {
 	 * @param directory Reference to global asset manager.
 	 */
 	public void gatherAssets(AssetDirectory directory) {
+		loadLevelAssets(directory);
 		soundController = new SoundController();
 		objectController.gatherAssets(directory);
 		levelBPM = objectController.defaultConstants.get("music").get(getCurrentLevel())
@@ -529,6 +698,53 @@ public class GameController implements Screen, ContactListener {
 		syncController.setSync(synthSoundtrack, jazzSoundtrack);
 	}
 
+	/**
+	 * Gathers the assets that the menus need from this controller.
+	 * <p>
+	 * This only binds the art shared by every level, such as the level select buttons.
+	 * Unlike gatherAssets, it does not load the asset group of any level, so the menus
+	 * do not wait on a level that has not been chosen yet.
+	 *
+	 * @param directory Reference to global asset manager.
+	 */
+	public void gatherMenuAssets(AssetDirectory directory) {
+		objectController.gatherArt(directory);
+	}
+
+	/**
+	 * Loads the asset group of the current level, unloading the group of the last level.
+	 * <p>
+	 * The new group is loaded before the old one is unloaded, so the assets that the
+	 * two levels share are not reloaded. This blocks until the group is loaded.
+	 *
+	 * @param directory Reference to global asset manager.
+	 */
+	private void loadLevelAssets(AssetDirectory directory) {
+		String group = getCurrentLevel();
+		if (directory == levelAssets && group.equals(levelGroup)) {
+			return;
+		}
+		directory.loadGroup(group);
+		directory.finishLoading();
+		releaseLevelAssets();
+		levelAssets = directory;
+		levelGroup = group;
+	}
+
+	/**
+	 * Unloads the asset group of the level, if one is loaded.
+	 * <p>
+	 * This should only be called once the level is no longer shown, such as when
+	 * returning to the level select. The next call to gatherAssets loads it again.
+	 */
+	public void releaseLevelAssets() {
+		if (levelAssets != null) {
+			levelAssets.unloadGroup(levelGroup);
+			levelAssets = null;
+			levelGroup = null;
+		}
+	}
+
 	/**
 	 * Sets the synth and jazz soundtrack to the correct tracks. This function will be significant
 	 * if there are multiple different soundtracks for different levels
@@ -560,55 +776,18 @@ public class GameController implements Screen, ContactListener {
 	 */
 	public void initializeSFX(AssetDirectory directory) {
 		soundController.addSound("genreSwitch", directory.getEntry("sfx:genreSwitch", Sound.class));
-		String checkpointNum; // change this once tracks are finalized to match their key signatures. 1 = lab,
-		// 2 = disco, 3 = penthouse
-		switch (currentLevelInt) {
-			case 1: case 2: case 3: case 4:
-				checkpointNum = "1";
-				break;
-			case 5: case 6: case 7: case 8:
-				checkpointNum = "2";
-				break;
-			case 9: case 10: case 11: case 12:
-				checkpointNum = "3";
-				break;
-			default:
-				checkpointNum = "3";
-				break;
-		}
+		// The checkpoint sound matches the key of the level's music (lab, disco or penthouse)
+		JsonValue levelMusic = objectController.defaultConstants.get("music").get(getCurrentLevel());
 		soundController.addSound("checkpoint",
-				directory.getEntry("sfx:checkpoint" + checkpointNum, Sound.class));
+				directory.getEntry(levelMusic.getString("checkpoint"), Sound.class));
 		soundController.addSound("jump",
 				directory.getEntry("sfx:jump", Sound.class));
 		soundController.addSound("death", directory.getEntry("sfx:death", Sound.class));
 
-		switch (currentLevelInt) {
-			case 1: // JAZZ
-				soundController.addSound("cutscene",
-						directory.getEntry("sfx:jazzCutscene", Sound.class));
-				break;
-			case 4: // ROCK
-				soundController.addSound("cutscene",
-						directory.getEntry("sfx:rockCutscene", Sound.class));
-				break;
-			case 6: // POP
-				soundController.addSound("cutscene",
-						directory.getEntry("sfx:popCutscene", Sound.class));
-				break;
-			case 8: // CLASSICAL
-				soundController.addSound("cutscene",
-						directory.getEntry("sfx:classicalCutscene", Sound.class));
-				break;
-			case 10: // COUNTRY
-				soundController.addSound("cutscene",
-						directory.getEntry("sfx:countryCutscene", Sound.class));
-				break;
-			case 11: // HIP HOP
-				soundController.addSound("cutscene",
-						directory.getEntry("sfx:hiphopCutscene", Sound.class));
-				break;
-			default:
-				break;
+		// Only the levels that unlock a genre have a cutscene
+		String cutscene = levelMusic.getString("cutscene", null);
+		if (cutscene != null) {
+			soundController.addSound("cutscene", directory.getEntry(cutscene, Sound.class));
 		}
 		soundController.addSound("sfxChange", directory.getEntry("sfx:menubutton", Sound.class));
 		soundController.addSound("uiTransition", directory.getEntry("sfx:menutransition", Sound.class));
@@ -640,23 +819,124 @@ public class GameController implements Screen, ContactListener {
 	 * If the object is implements {@link ISynced}, add to the sync. If it is a
 	 * {@link IGenreObject}, add to genreObstacles.
 	 *
-	 * @param object:      The object you are instantiating
-	 * @param insertIndex: Where the object should be placed in the PooledList
+	 * @param object: The object you are instantiating
+	 * @param layer:  The drawing layer the object is added to
+	 */
+	protected void instantiate(GameObject object, Layer layer) {
+		instantiate(object, layer, objectController.nextDrawOrder());
+	}
+
+	/**
+	 * Instantiates an object at the given position in the drawing order of its layer.
+	 * <p>
+	 * The object is inserted after the last object in the layer that comes before it in the
+	 * drawing order. New objects usually come last, so this is normally O(1).
+	 *
+	 * @param object:    The object you are instantiating
+	 * @param layer:     The drawing layer the object is added to
+	 * @param drawOrder: The position of the object in the drawing order of its layer
 	 */
-	protected void instantiate(GameObject object, int insertIndex) {
+	protected void instantiate(GameObject object, Layer layer, int drawOrder) {
 		assert inBounds(object) : "Object is not in bounds";
-		int index = objectController.insertIndexes[insertIndex];
-		objectController.objects.add(index, object);
-		for (int i = insertIndex; i < objectController.insertIndexes.length; i++) {
-			objectController.insertIndexes[i]++;
+		object.setLayer(layer);
+		object.setDrawOrder(drawOrder);
+		PooledList<GameObject> list = objectController.objects.getLayer(layer.ordinal());
+		PooledList<GameObject>.Entry before = list.getTailEntry();
+		while (before != null && before.getValue().getDrawOrder() > drawOrder) {
+			before = before.getPrevious();
 		}
-		if (object instanceof ISynced) {
-			syncController.addSync((ISynced) object);
+		object.setLayerEntry(list.addEntryAfter(before, object));
+		if (object.getSyncHandle() != null) {
+			// A pooled object being reused keeps its handle
+			syncController.addSync(object.getSyncHandle());
+		} else if (object instanceof ISynced) {
+			object.setSyncHandle(syncController.addSync((ISynced) object));
 		}
 		if (object instanceof IGenreObject) {
-			objectController.genreObjects.add((IGenreObject) object);
+			object.setGenreEntry(objectController.genreObjects.addEntry((IGenreObject) object));
+		}
+		if (object.isActivatable()) {
+			objectController.awakeObjects.add(object);
+		}
+		if (canvas != null && !object.hasDrawExtent()) {
+			objectController.unmeasuredObjects.add(object);
+		}
+		if (object.isStateful()) {
+			object.setStateEntry(objectController.statefulObjects.addEntry(object));
+		}
+		if (objectController.index != null) {
+			objectController.index.insert(object);
+		}
+		if (object.getBody() == null) {
+			object.activatePhysics(world);
+		} else {
+			object.setActive(true);
+		}
+	}
+
+	/**
+	 * Removes an object from the object list, the physics world, the spatial index, and the
+	 * sync, genre and stateful object lists.
+	 * <p>
+	 * This is O(1), as the object keeps the handles it was registered with. It is safe to call
+	 * while walking the entries of the object list, as the entry iterators look ahead.
+	 * <p>
+	 * Pooled objects keep their (deactivated) body and their sync handle, and are returned
+	 * to their pool to be instantiated again.
+	 *
+	 * @param object: The object to destroy
+	 */
+	private void destroy(GameObject object) {
+		if (object.getLayerEntry() != null) {
+			object.getLayerEntry().remove();
+			object.setLayerEntry(null);
+		}
+		if (objectController.index != null) {
+			objectController.index.remove(object);
+		}
+		if (object.getStateEntry() != null) {
+			object.getStateEntry().remove();
+			object.setStateEntry(null);
+		}
+		if (object instanceof IPooled) {
+			object.setActive(false);
+			if (object.getSyncHandle() != null) {
+				syncController.removeSync(object.getSyncHandle());
+			}
+			if (object.getGenreEntry() != null) {
+				object.getGenreEntry().remove();
+				object.setGenreEntry(null);
+			}
+			((IPooled) object).free();
+			return;
+		}
+		object.deactivatePhysics(world);
+		if (object.getSyncHandle() != null) {
+			syncController.removeSync(object.getSyncHandle());
+			object.setSyncHandle(null);
+		}
+		if (object.getGenreEntry() != null) {
+			object.getGenreEntry().remove();
+			object.setGenreEntry(null);
+		}
+	}
+
+	/**
+	 * Removes the given objects right away, rather than at the next step.
+	 * <p>
+	 * This is used to release a chunk of streamed objects. Removing them at once means a reset
+	 * before the next step cannot restore them, so they are not built twice when the chunk is
+	 * loaded again. Each object is removed through the entries it keeps, so the cost is that of
+	 * the chunk rather than the whole object list.
+	 *
+	 * @param objects The objects to remove
+	 */
+	public void release(Array<GameObject> objects) {
+		for (GameObject obj : objects) {
+			if (obj.getLayerEntry() != null) {
+				destroy(obj);
+			}
 		}
-		object.activatePhysics(world);
 	}
 
 	/**
@@ -685,12 +965,28 @@ public class GameController implements Screen, ContactListener {
 		}
 		Vector2 gravity = new Vector2(world.getGravity());
 
+		// The bodies of any previous level were destroyed in clearLevel
+		world.dispose();
 		world = new World(gravity, false);
+		stepAccumulator = 0;
+		GameObject.setInterpolation(1.0f);
 		populateLevel();
-		worldWidth = DEFAULT_WIDTH * objectController.levelBackground.getRegionWidth()
-				/ getCanvas().getWidth();
-		worldHeight = DEFAULT_HEIGHT * objectController.levelBackground.getRegionHeight()
-				/ getCanvas().getHeight();
+		saveSnapshot();
+		drawMargin = 0;
+		activationMargin = objectController.defaultConstants.get("defaults")
+				.getFloat("activation_margin", DEFAULT_ACTIVATION_MARGIN);
+		// There is no canvas when simulating headless
+		if (canvas != null) {
+			worldWidth = DEFAULT_WIDTH * objectController.levelBackground.getRegionWidth()
+					/ getCanvas().getWidth();
+			worldHeight = DEFAULT_HEIGHT * objectController.levelBackground.getRegionHeight()
+					/ getCanvas().getHeight();
+			canvas.beginTileCache();
+			for (ArtObject tile : objectController.staticTiles) {
+				tile.cache(canvas);
+			}
+			canvas.endTileCache();
+		}
 		world.setContactListener(this);
 		//soundController.pauseMusic();
 		soundController.resetMusic();
@@ -699,32 +995,170 @@ public class GameController implements Screen, ContactListener {
 		setComplete(false);
 		setFailure(false);
 		setPaused(false);
+		startReplay();
 		syncController.setSyncIntervals();
 	}
 
+	/**
+	 * Clears the current level so that this controller can be reused for the next one.
+	 * <p>
+	 * GDXRoot keeps a single controller for every level, so that the art is only bound
+	 * once. This removes the objects of the level and forgets everything that belongs to
+	 * it, such as the soundtracks and respawn point. It must be followed by gatherAssets
+	 * and initialize.
+	 */
+	public void clearLevel() {
+		stopReplay();
+		objectController.clearLevel(world);
+		sensorFixtures.clear();
+		synthSoundtrack = null;
+		jazzSoundtrack = null;
+		respawnPoint = null;
+		lastCollideWith = null;
+		lastMCollideWith = null;
+		playerCompletedLevel = false;
+		collidedWithCrusher = false;
+		cutscenePlayed = false;
+		calibrateScreen = false;
+		inCalibration = false;
+		pauseItemSelected = 0;
+		victoryScreenItemSelected = 0;
+		readyToGoToNextLevel = false;
+		showFirstVictoryScreen = false;
+		showSecondVictoryScreen = false;
+		showThirdVictoryScreen = false;
+		showFourthVictoryScreen = false;
+		showFifthVictoryScreen = false;
+	}
+
+	/**
+	 * Starts recording or playing back a replay if one was asked for.
+	 * <p>
+	 * A replay is played back if {@link #REPLAY_PROPERTY} names a replay of this level, and
+	 * otherwise recorded if {@link #RECORD_PROPERTY} names a directory. Either way the random
+	 * seed is set, and the input and song position go through the replay. Playing back also
+	 * restores the recorded delays, so the beats land on the same frames.
+	 */
+	private void startReplay() {
+		String replayPath = System.getProperty(REPLAY_PROPERTY);
+		String recordPath = System.getProperty(RECORD_PROPERTY);
+		if (replayPath != null) {
+			try {
+				replay = Replay.load(Gdx.files.local(replayPath));
+				if (replay.getLevel() != currentLevelInt) {
+					replay = null;
+				}
+			} catch (Exception e) {
+				e.printStackTrace();
+				replay = null;
+			}
+			if (replay != null) {
+				// Set these directly, as the delay setters save them to the preferences
+				syncController.audioDelay = replay.getAudioDelay();
+				syncController.visualDelay = replay.getVisualDelay();
+			}
+		}
+		if (replay == null && recordPath != null) {
+			replayFile = Gdx.files.local(recordPath).child(currentLevel + ".replay");
+			replay = Replay.record(currentLevelInt, System.nanoTime(),
+					syncController.audioDelay, syncController.visualDelay, synthSoundtrack);
+		}
+		if (replay != null) {
+			RandomController.setSeed(replay.getSeed());
+			InputController.getInstance().setReplay(replay);
+			syncController.setClock(replay);
+		}
+	}
+
+	/**
+	 * Stops the current replay, saving it if it was being recorded.
+	 * <p>
+	 * The input and song position go back to the devices and the soundtrack.
+	 */
+	private void stopReplay() {
+		if (replay == null) {
+			return;
+		}
+		if (!replay.isPlaying()) {
+			try {
+				replay.save(replayFile);
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
+		InputController.getInstance().setReplay(null);
+		if (syncController != null) {
+			syncController.setClock(null);
+		}
+		replay = null;
+		replayFile = null;
+	}
+
+	/**
+	 * Returns the replay being recorded or played back, or null if there is none
+	 *
+	 * @return the replay being recorded or played back
+	 */
+	public Replay getReplay() {
+		return replay;
+	}
+
 	/**
 	 * Resets the status of the game so that we can play again.
 	 * <p>
-	 * This method disposes of the world and creates a new one.
+	 * This does not rebuild the level. Projectiles are destroyed and every stateful object is
+	 * restored to the snapshot taken when it was loaded, so the cost is proportional to the
+	 * objects that can change rather than the size of the level. The static art, platforms and
+	 * walls are never touched. Checkpoints do not save
+	 * whether they are active, so progress survives a death; restarting the level clears it in
+	 * pauseAction. The player is moved to the respawn point if there is one.
 	 */
 	public void reset() {
-		Vector2 gravity = new Vector2(world.getGravity());
+		// Queued projectiles were never instantiated, so their pooled bodies are still inactive
+		while (!objectController.addQueue.isEmpty()) {
+			GameObject obj = objectController.addQueue.poll();
+			if (obj instanceof IPooled) {
+				((IPooled) obj).free();
+			} else {
+				obj.deactivatePhysics(world);
+			}
+		}
+		Iterator<PooledList<GameObject>.Entry> iterator =
+				objectController.objects.getLayer(Layer.PROJECTILES.ordinal()).entryIterator();
+		while (iterator.hasNext()) {
+			destroy(iterator.next().getValue());
+		}
 
-		for (GameObject obj : objectController.objects) {
-			obj.deactivatePhysics(world);
+		for (GameObject obj : objectController.statefulObjects) {
+			obj.restoreState();
+			objectController.index.update(obj);
 		}
-		objectController.objects.clear();
-		objectController.addQueue.clear();
-		for (int i = 0; i < objectController.insertIndexes.length; i++) {
-			objectController.insertIndexes[i] = 0;
+		if (respawnPoint != null) {
+			objectController.player.setPosition(respawnPoint);
+			objectController.index.update(objectController.player);
+		}
+		updateStreaming();
+		// The restored objects are in the genre the level started in
+		if (genre != snapshotGenre) {
+			for (IGenreObject g : objectController.genreObjects) {
+				g.genreUpdate(genre);
+			}
 		}
-		world.dispose();
 
-		world = new World(gravity, false);
-		world.setContactListener(this);
+		stepAccumulator = 0;
+		GameObject.setInterpolation(1.0f);
 		setComplete(false);
 		setFailure(false);
-		populateLevel();
+	}
+
+	/**
+	 * Records the state of every stateful object so that reset can restore it in place.
+	 */
+	private void saveSnapshot() {
+		for (GameObject obj : objectController.statefulObjects) {
+			obj.saveState();
+		}
+		snapshotGenre = genre;
 	}
 
 	/**
@@ -734,7 +1168,12 @@ public class GameController implements Screen, ContactListener {
 		// world starts with Synth gravity
 		world.setGravity(new Vector2(0,
 				objectController.defaultConstants.get("defaults").getFloat("gravity", 0)));
+		if (levelPreloader != null) {
+			objectController.level = levelPreloader.take(currentLevel);
+		}
 		objectController.populateObjects(genre, scale, respawnPoint);
+		objectController.createProjectilePools(scale, world);
+		updateStreaming();
 	}
 
 	/**
@@ -748,9 +1187,15 @@ public class GameController implements Screen, ContactListener {
 	 */
 	public boolean preUpdate(float dt) {
 		InputController input = InputController.getInstance();
+		profiler.start(FrameProfiler.Phase.INPUT);
 		input.readInput(bounds, scale);
+		profiler.stop(FrameProfiler.Phase.INPUT);
+		profiler.start(FrameProfiler.Phase.SOUND);
 		soundController.update();
+		profiler.stop(FrameProfiler.Phase.SOUND);
+		profiler.start(FrameProfiler.Phase.SYNC);
 		syncController.update(getPaused());
+		profiler.stop(FrameProfiler.Phase.SYNC);
 
 		if(currentLevelInt == 1 && InputController.getInstance().didPressEnter() && !paused) {
 			if(showLevel1FirstCutScene) {
@@ -790,6 +1235,10 @@ public class GameController implements Screen, ContactListener {
 			if (input.didDebug()) {
 				debug = !debug;
 			}
+			// Toggle performance overlay
+			if (input.didProfile()) {
+				profiling = !profiling;
+			}
 
 			// Handle resets
 			if (input.didReset()) {
@@ -928,6 +1377,31 @@ public class GameController implements Screen, ContactListener {
 
 	}
 
+	/**
+	 * Registers the contact handlers for each pair of contact kinds
+	 * <p>
+	 * Box2D calls beginContact and endContact from inside world.step, so these are looked up in a
+	 * table instead of testing every object class on every contact.
+	 */
+	private void registerContactHandlers() {
+		beginContacts.registerAll(ContactKind.PLAYER, this::beginPlayerContact);
+		beginContacts.register(ContactKind.PLAYER, ContactKind.CHECKPOINT, this::reachCheckpoint);
+		beginContacts.register(ContactKind.PLAYER, ContactKind.GOAL, this::reachGoal);
+		beginContacts.register(ContactKind.PLAYER, ContactKind.WEIGHTED_PLATFORM, this::landOnPlatform);
+		beginContacts.register(ContactKind.PLAYER, ContactKind.MOVING_PLATFORM, this::landOnPlatform);
+		for (ContactKind kind : ContactKind.values()) {
+			if (kind != ContactKind.ENEMY && kind != ContactKind.ECHO) {
+				beginContacts.register(ContactKind.BULLET, kind, this::removeBullet);
+			}
+		}
+		beginContacts.register(ContactKind.BEE, ContactKind.WALL, this::removeBee);
+
+		endContacts.registerAll(ContactKind.CRUSHER, this::leaveCrusher);
+		endContacts.registerAll(ContactKind.PLAYER, this::endPlayerContact);
+		endContacts.register(ContactKind.PLAYER, ContactKind.WEIGHTED_PLATFORM, this::leavePlatform);
+		endContacts.register(ContactKind.PLAYER, ContactKind.MOVING_PLATFORM, this::leavePlatform);
+	}
+
 	/**
 	 * Callback method for the start of a collision
 	 * <p>
@@ -939,92 +1413,104 @@ public class GameController implements Screen, ContactListener {
 	 */
 	@Override
 	public void beginContact(Contact contact) {
-		Fixture fix1 = contact.getFixtureA();
-		Fixture fix2 = contact.getFixtureB();
+		try {
+			beginContacts.dispatch(contact);
+		} catch (Exception e) {
+			e.printStackTrace();
+		}
+	}
 
-		Body body1 = fix1.getBody();
-		Body body2 = fix2.getBody();
+	/**
+	 * Handles the player touching anything
+	 * <p>
+	 * Grounds the player if this is the foot sensor, and kills the player on lethal objects or on
+	 * being pushed into a wall by a crusher.
+	 */
+	private void beginPlayerContact(GameObject player, Fixture playerFix, GameObject other, Fixture otherFix) {
+		// Checks whether player is grounded (prevents double jumping)
+		if (playerFix == objectController.player.getSensorFixture()) {
+			objectController.player.setGrounded(true);
+			sensorFixtures.getAndIncrement(otherFix, 0, 1); // Could have more than one ground
+		}
+		if (other.getType() == Type.LETHAL) {
+			killPlayer();
+		}
+		if (other.getType() == Type.CRUSHER) {
+			collidedWithCrusher = true;
+		}
+		if (other.getWall() && collidedWithCrusher) {
+			killPlayer();
+		}
+	}
 
-		Object fd1 = fix1.getUserData();
-		Object fd2 = fix2.getUserData();
+	/**
+	 * Starts the player death, unless it has already started
+	 */
+	private void killPlayer() {
+		if (!getPlayer().getIsDying()) {
+			getPlayer().setDying(true);
+			soundController.playSFX("death");
+		}
+	}
 
-		try {
-			GameObject bd1 = (GameObject) body1.getUserData();
-			GameObject bd2 = (GameObject) body2.getUserData();
-
-			// Checks whether player is grounded (prevents double jumping)
-			if ((objectController.player.getSensorName().equals(fd2)
-					&& objectController.player != bd1) ||
-					(objectController.player.getSensorName().equals(fd1)
-							&& objectController.player != bd2)) {
-				objectController.player.setGrounded(true);
-				sensorFixtures.add(objectController.player == bd1 ? fix2
-						: fix1); // Could have more than one ground
+	/**
+	 * Activates a checkpoint the player touched, making it the new respawn point
+	 */
+	private void reachCheckpoint(GameObject player, Fixture playerFix, GameObject other, Fixture otherFix) {
+		Checkpoint checkpoint = (Checkpoint) other;
+		if (!checkpoint.isActive) {
+			if (checkpoint.getIndex() != 0) {
+				soundController.playSFX("checkpoint");
 			}
-			// Check for win condition
-			if ((bd1 == objectController.player && bd2 == objectController.goalDoor) ||
-					(bd1 == objectController.goalDoor && bd2 == objectController.player)) {
-				setComplete(true);
+			if (getCurrentLevelInt() == 2 && checkpoint.getIndex() == 1) {
+				isGenreSwitchLocked = false;
 			}
+			checkpoint.setActive();
+			respawnPoint = checkpoint.getPosition();
+		}
+	}
 
-			// Bullet and Bee Collision checks
-			if (bd2 instanceof Bullet && !(bd1 instanceof Enemy || bd1 instanceof Echo)) {
-				bd2.markRemoved(true);
-			}
-			if (bd2 instanceof Bee) {
-				assert bd1 != null;
-				if (bd1.getWall()) {
-					bd2.markRemoved(true);
-				}
-			}
+	/**
+	 * Completes the level when the player touches the goal
+	 * <p>
+	 * This also starts building the next level, so it is ready by the time the player leaves the
+	 * victory screen.
+	 */
+	private void reachGoal(GameObject player, Fixture playerFix, GameObject other, Fixture otherFix) {
+		setComplete(true);
+		if (levelPreloader != null && currentLevelInt < numberOfLevels) {
+			levelPreloader.preload("level" + (currentLevelInt + 1));
+		}
+	}
 
-			// player collision checks
-			if (bd1.getType() == Type.Player || bd2.getType() == Type.Player) {
-				if (bd2.getType() == Type.LETHAL || bd1.getType() == Type.LETHAL) {
-					if (!getPlayer().getIsDying()) {
-						getPlayer().setDying(true);
-						soundController.playSFX("death");
-					}
-				}
-				if (bd2.getType() == Type.CRUSHER || bd1.getType() == Type.CRUSHER) {
-					collidedWithCrusher = true;
-				}
-				if (bd2 instanceof WeightedPlatform) {
-					lastCollideWith = (WeightedPlatform) bd1;
-				}
-				if ((bd2.getWall() || bd1.getWall()) && collidedWithCrusher) {
-					if (!getPlayer().getIsDying()) {
-						getPlayer().setDying(true);
-						soundController.playSFX("death");
-					}
-				}
-			}
-			if ((bd1 instanceof WeightedPlatform) && (bd2.getType() == Type.Player)) {
-				lastCollideWith = (WeightedPlatform) bd1;
-			}
-			if ((bd1 instanceof MovingPlatform) && (bd2.getType() == Type.Player)) {
-				lastMCollideWith = (MovingPlatform) bd1;
-			}
-			// Check for collision with checkpoints and set new current checkpoint
-			for (Checkpoint checkpoint : objectController.checkpoints) {
-				if (!checkpoint.isActive && ((bd1 == objectController.player && bd2 == checkpoint)
-						||
-						(bd1 == checkpoint && bd2 == objectController.player))) {
-					if (!checkpoint.isActive && checkpoint.getIndex() != 0) {
-						soundController.playSFX("checkpoint");
-					}
-					if (getCurrentLevelInt() == 2 && checkpoint.getIndex() == 1) {
-						isGenreSwitchLocked = false;
-					}
-					checkpoint.setActive();
-					respawnPoint = checkpoint.getPosition();
-				}
-			}
-		} catch (Exception e) {
-			e.printStackTrace();
+	/**
+	 * Records the platform the player is riding on
+	 */
+	private void landOnPlatform(GameObject player, Fixture playerFix, GameObject other, Fixture otherFix) {
+		if (other instanceof WeightedPlatform) {
+			lastCollideWith = (WeightedPlatform) other;
+		} else {
+			lastMCollideWith = (MovingPlatform) other;
 		}
 	}
 
+	/**
+	 * Removes a bullet that hit something other than an enemy or an echo
+	 */
+	private void removeBullet(GameObject bullet, Fixture bulletFix, GameObject other, Fixture otherFix) {
+		bullet.markRemoved(true);
+		if (other.getContactKind() == ContactKind.BULLET) {
+			other.markRemoved(true);
+		}
+	}
+
+	/**
+	 * Removes a bee that flew into a wall
+	 */
+	private void removeBee(GameObject bee, Fixture beeFix, GameObject wall, Fixture wallFix) {
+		bee.markRemoved(true);
+	}
+
 	/**
 	 * Callback method for the start of a collision
 	 * <p>
@@ -1032,50 +1518,45 @@ public class GameController implements Screen, ContactListener {
 	 * determine when the character is NOT on the ground. This is how we prevent double jumping.
 	 */
 	public void endContact(Contact contact) {
-		Fixture fix1 = contact.getFixtureA();
-		Fixture fix2 = contact.getFixtureB();
-
-		Body body1 = fix1.getBody();
-		Body body2 = fix2.getBody();
-
-		Object fd1 = fix1.getUserData();
-		Object fd2 = fix2.getUserData();
 		try {
-			GameObject bd1 = (GameObject) body1.getUserData();
-			GameObject bd2 = (GameObject) body2.getUserData();
-
-			if (bd1.getType() == Type.CRUSHER || bd2.getType() == Type.CRUSHER) {
-				collidedWithCrusher = false;
-			}
-		}
-		catch (Exception e) {
+			endContacts.dispatch(contact);
+		} catch (Exception e) {
 			e.printStackTrace();
 		}
+	}
 
-		Object bd1 = body1.getUserData();
-		Object bd2 = body2.getUserData();
+	/**
+	 * Clears the crusher flag when anything stops touching a crusher
+	 */
+	private void leaveCrusher(GameObject crusher, Fixture crusherFix, GameObject other, Fixture otherFix) {
+		collidedWithCrusher = false;
+	}
 
-		if ((objectController.player.getSensorName().equals(fd2) && objectController.player != bd1)
-				||
-				(objectController.player.getSensorName().equals(fd1)
-						&& objectController.player != bd2)) {
-			sensorFixtures.remove(objectController.player == bd1 ? fix2 : fix1);
+	/**
+	 * Ungrounds the player when the foot sensor leaves its last ground fixture
+	 */
+	private void endPlayerContact(GameObject player, Fixture playerFix, GameObject other, Fixture otherFix) {
+		if (playerFix == objectController.player.getSensorFixture()) {
+			if (sensorFixtures.getAndIncrement(otherFix, 0, -1) <= 1) {
+				sensorFixtures.remove(otherFix, 0);
+			}
 			if (sensorFixtures.size == 0) {
 				objectController.player.setGrounded(false);
 			}
 		}
-		if ((bd1 instanceof WeightedPlatform) && (bd2 instanceof Player)) {
-			if (bd1 == lastCollideWith) {
-				lastCollideWith = null;
-			}
-			objectController.player.setDisplace(new Vector2(0, 0));
+	}
+
+	/**
+	 * Stops the player riding a platform it stepped off of
+	 */
+	private void leavePlatform(GameObject player, Fixture playerFix, GameObject other, Fixture otherFix) {
+		if (other == lastCollideWith) {
+			lastCollideWith = null;
 		}
-		if ((bd1 instanceof MovingPlatform) && (bd2 instanceof Player)) {
-			if (bd1 == lastMCollideWith) {
-				lastMCollideWith = null;
-			}
-			objectController.player.setDisplace(new Vector2(0, 0));
+		if (other == lastMCollideWith) {
+			lastMCollideWith = null;
 		}
+		objectController.player.setDisplace(new Vector2(0, 0));
 	}
 
 	/**
@@ -1107,43 +1588,152 @@ public class GameController implements Screen, ContactListener {
 	 * Processes physics
 	 * <p>
 	 * Once the update phase is over, but before we draw, we are ready to handle physics. The
-	 * primary method is the step() method in world. This implementation works for all applications
-	 * and should not need to be overwritten.
+	 * primary method is the step() method in world. The world always advances in fixed steps of
+	 * WORLD_STEP, so a frame may take zero or several steps. Leftover time is carried to the next
+	 * frame, and drawing interpolates between the last two steps by the leftover fraction.
 	 *
 	 * @param dt Number of seconds since last animation frame
 	 */
 	public void postUpdate(float dt) {
 		// Add any objects created by actions
+		profiler.start(FrameProfiler.Phase.ADD_QUEUE);
 		while (!objectController.addQueue.isEmpty()) {
-			instantiate(objectController.addQueue.poll(), 0);
+			instantiate(objectController.addQueue.poll(), Layer.PROJECTILES);
+		}
+		profiler.stop(FrameProfiler.Phase.ADD_QUEUE);
+
+		profiler.start(FrameProfiler.Phase.ACTIVATION);
+		updateActivation();
+		removeLostProjectiles();
+		updateStreaming();
+		profiler.stop(FrameProfiler.Phase.ACTIVATION);
+
+		stepAccumulator += Math.min(dt, MAX_FRAME_TIME);
+		int steps = 0;
+		while (stepAccumulator >= WORLD_STEP && steps < MAX_STEPS_PER_FRAME) {
+			step();
+			stepAccumulator -= WORLD_STEP;
+			steps++;
+		}
+		// Drop whatever we could not catch up on rather than spiral
+		if (stepAccumulator >= WORLD_STEP) {
+			stepAccumulator %= WORLD_STEP;
 		}
+		GameObject.setInterpolation(stepAccumulator / WORLD_STEP);
 
-		// Turn the physics engine crank.
-		world.step(WORLD_STEP, WORLD_VELOC, WORLD_POSIT);
-		// set position, then call a world step of zeroz
-		// Garbage collect the deleted objects.
-		// Note how we use the linked list nodes to delete O(1) in place.
-		// This is O(n) without copying.
-		Iterator<PooledList<GameObject>.Entry> iterator = objectController.objects.entryIterator();
+		// Update checkpoints
+		for (Checkpoint checkpoint : objectController.checkpoints) {
+			checkpoint.update(dt);
+		}
+	}
+
+	/**
+	 * Puts objects to sleep or wakes them according to the camera view.
+	 * <p>
+	 * Activatable objects outside the camera view plus the activation margin go dormant, which
+	 * turns off their bodies. Without a canvas (e.g. when simulating headless) everything stays
+	 * active.
+	 * <p>
+	 * Only the awake objects are checked for leaving the region, and the dormant objects that
+	 * entered it are found with the spatial index. So the cost depends on the objects around
+	 * the camera rather than on every activatable object in the level.
+	 */
+	private void updateActivation() {
+		if (canvas == null) {
+			return;
+		}
+		canvas.getCameraBounds(activationBounds);
+		activationBounds.set(activationBounds.x / scale.x - activationMargin,
+				activationBounds.y / scale.y - activationMargin,
+				activationBounds.width / scale.x + 2 * activationMargin,
+				activationBounds.height / scale.y + 2 * activationMargin);
+
+		Iterator<PooledList<GameObject>.Entry> iterator = objectController.awakeObjects.entryIterator();
 		while (iterator.hasNext()) {
 			PooledList<GameObject>.Entry entry = iterator.next();
 			GameObject obj = entry.getValue();
-			if (obj.isRemoved()) {
-				obj.deactivatePhysics(world);
+			if (obj.getSpatialEntry() == null) {
+				entry.remove();		// Destroyed since the last frame
+			} else if (!activationBounds.contains(obj.getX(), obj.getY())) {
+				obj.setDormant(true);
 				entry.remove();
-				for (int i = 0; i < objectController.insertIndexes.length; i++) {
-					objectController.insertIndexes[i]--;
-				}
-			} else {
-				// Note that update is called last!
-				obj.update(dt);
 			}
 		}
+		activationQuery.clear();
+		objectController.index.query(activationBounds, activationQuery);
+		for (GameObject obj : activationQuery) {
+			if (obj.isActivatable() && obj.isDormant()) {
+				obj.setDormant(false);
+				objectController.awakeObjects.add(obj);
+			}
+		}
+	}
 
-		// Update checkpoints
-		for (Checkpoint checkpoint : objectController.checkpoints) {
-			checkpoint.update(dt);
+	/**
+	 * Removes the projectiles that have left the level to the side.
+	 * <p>
+	 * Projectiles fly off screen and back in, so they are not removed at the edge of the
+	 * activation region. Bullets and echoes expire on their own beat count. Bees never do, but
+	 * they only ever fly sideways, so once past the side of the level they never come back.
+	 */
+	private void removeLostProjectiles() {
+		Rectangle level = objectController.levelBounds;
+		for (GameObject obj : objectController.objects.getLayer(Layer.PROJECTILES.ordinal())) {
+			if (obj.getX() < level.x || obj.getX() > level.x + level.width) {
+				obj.markRemoved(true);
+			}
+		}
+	}
+
+	/**
+	 * Builds the chunks of static content around the player, and releases the rest.
+	 * <p>
+	 * Unlike activation, this follows the player rather than the camera, so it works the same
+	 * when simulating headless.
+	 */
+	private void updateStreaming() {
+		if (objectController.player != null) {
+			objectController.updateStreaming(objectController.player.getX(), objectController.player.getY());
+		}
+	}
+
+	/**
+	 * Advances the world by a single fixed physics step of WORLD_STEP seconds.
+	 * <p>
+	 * This records the transforms for interpolation, turns the physics engine crank, and then
+	 * updates (or garbage collects) every object.
+	 */
+	private void step() {
+		for (GameObject obj : objectController.objects) {
+			obj.storePreviousTransform();
+		}
+
+		// Turn the physics engine crank.
+		profiler.start(FrameProfiler.Phase.PHYSICS);
+		world.step(WORLD_STEP, WORLD_VELOC, WORLD_POSIT);
+		profiler.stop(FrameProfiler.Phase.PHYSICS);
+		// Garbage collect the deleted objects.
+		// Note how we use the linked list nodes to delete O(1) in place.
+		// This is O(n) without copying.
+		profiler.start(FrameProfiler.Phase.OBJECT_UPDATE);
+		for (int layer = 0; layer < objectController.objects.getLayerCount(); layer++) {
+			Iterator<PooledList<GameObject>.Entry> iterator =
+					objectController.objects.getLayer(layer).entryIterator();
+			while (iterator.hasNext()) {
+				PooledList<GameObject>.Entry entry = iterator.next();
+				GameObject obj = entry.getValue();
+				if (obj.isRemoved()) {
+					destroy(obj);
+				} else {
+					// Note that update is called last!
+					obj.update(WORLD_STEP);
+					if (obj.isMoving()) {
+						objectController.index.update(obj);
+					}
+				}
+			}
 		}
+		profiler.stop(FrameProfiler.Phase.OBJECT_UPDATE);
 	}
 
 	/** The boolean that represents whether the starting cutscenes in level 1 should be displayed */
@@ -1169,7 +1759,13 @@ public class GameController implements Screen, ContactListener {
 	 * For simple worlds, this method is enough by itself. It will need to be overriden if the world
 	 * needs fancy backgrounds or the like.
 	 * <p>
-	 * The method draws all objects in the order that they were added.
+	 * The method draws the objects layer by layer. Within a layer, the canvas groups the
+	 * objects by texture, except where that would change which of two overlapping objects
+	 * is on top. Only the objects the spatial index finds around the camera view are
+	 * considered, so the cost follows what is near the camera rather than the size of the
+	 * level. Of those, objects whose cached draw extent is outside the view are skipped.
+	 * Each object that is drawn is measured as it draws, so its extent follows its
+	 * animations.
 	 *
 	 * @param dt Number of seconds since last animation frame
 	 */
@@ -1177,22 +1773,57 @@ public class GameController implements Screen, ContactListener {
 		canvas.clear();
 
 		// Draw background unscaled.
+		profiler.start(FrameProfiler.Phase.DRAW_BACKGROUND);
 		canvas.begin(false);
 		canvas.draw(objectController.levelBackground, 0, 0);
 		canvas.end();
+		profiler.stop(FrameProfiler.Phase.DRAW_BACKGROUND);
 
+		profiler.start(FrameProfiler.Phase.DRAW_OBJECTS);
+		int renderCalls = canvas.getRenderCalls();
+		canvas.getCameraBounds(viewBounds);
+		drawnObjects = 0;
 		canvas.begin(false);
-		for (GameObject obj : objectController.objects) {
+		measureObjects();
+		drawQueryBounds.set((viewBounds.x - drawMargin) / scale.x, (viewBounds.y - drawMargin) / scale.y,
+				(viewBounds.width + 2 * drawMargin) / scale.x, (viewBounds.height + 2 * drawMargin) / scale.y);
+		drawQuery.clear();
+		objectController.index.query(drawQueryBounds, drawQuery);
+		drawQuery.sort(DRAW_ORDER);
+		boolean tilesDrawn = false;
+		for (GameObject obj : drawQuery) {
+			if (!tilesDrawn && obj.getLayer().compareTo(Layer.WALLS) >= 0) {
+				// The wall tiles are baked, and drawn in their own pass
+				drawTileCache();
+				tilesDrawn = true;
+			}
+			if (!obj.isVisible(viewBounds)) {
+				continue;
+			}
+			canvas.setDrawLayer(obj.getLayer().ordinal());
+			canvas.beginMeasure();
 			obj.draw(canvas);
+			if (canvas.endMeasure(drawnBounds)) {
+				addDrawExtent(obj, drawnBounds);
+			}
+			drawnObjects++;
+		}
+		if (!tilesDrawn) {
+			drawTileCache();
 		}
 		canvas.end();
+		culledObjects = objectController.objects.size() - drawnObjects;
+		objectRenderCalls = canvas.getRenderCalls() - renderCalls;
+		profiler.stop(FrameProfiler.Phase.DRAW_OBJECTS);
 
 		if (debug) {
+			profiler.start(FrameProfiler.Phase.DRAW_DEBUG);
 			canvas.beginDebug();
 			for (GameObject obj : objectController.objects) {
 				obj.drawDebug(canvas);
 			}
 			canvas.endDebug();
+			profiler.stop(FrameProfiler.Phase.DRAW_DEBUG);
 		}
 
 		// Victory Screen
@@ -1222,7 +1853,9 @@ public class GameController implements Screen, ContactListener {
 
 			playerCompletedLevel = true;
 			objectController.displayFont.setColor(Color.YELLOW);
+			profiler.start(FrameProfiler.Phase.DRAW_VICTORY);
 			drawVictoryScreen();
+			profiler.stop(FrameProfiler.Phase.DRAW_VICTORY);
 			incrementLevelsUnlocked();
 		} else if (failed) {
 			objectController.displayFont.setColor(Color.RED);
@@ -1230,6 +1863,7 @@ public class GameController implements Screen, ContactListener {
 			soundController.USE_INSTANT_SWITCH = false;
 		}
 
+		profiler.start(FrameProfiler.Phase.DRAW_LEVEL_NAME);
 		canvas.begin(true);
 
 		int levelOffset = 120;
@@ -1316,13 +1950,17 @@ public class GameController implements Screen, ContactListener {
 		}
 
 		canvas.end();
+		profiler.stop(FrameProfiler.Phase.DRAW_LEVEL_NAME);
 
 		// Draw genre indicator UI
+		profiler.start(FrameProfiler.Phase.DRAW_GENRE);
 		canvas.begin(true);
 		canvas.draw(objectController.blackGradient, 0, 0);
 		objectController.genreIndicator.draw(canvas, 90, 625);
 		canvas.end();
+		profiler.stop(FrameProfiler.Phase.DRAW_GENRE);
 
+		profiler.start(FrameProfiler.Phase.DRAW_CUTSCENE);
 		canvas.begin(true);
 
 		if(currentLevelInt == 1 && displayStartCutScenes){
@@ -1344,11 +1982,13 @@ public class GameController implements Screen, ContactListener {
 		}
 
 		canvas.end();
+		profiler.stop(FrameProfiler.Phase.DRAW_CUTSCENE);
 
 
 
 		// Put pause screen UI in this if statement
 		if (paused) {
+			profiler.start(FrameProfiler.Phase.DRAW_PAUSE);
 			float pulse = syncController.uiSyncPulse.uiPulseScale;
 			objectController.displayFont.setColor(Color.CYAN);
 			canvas.begin(true);
@@ -1447,10 +2087,149 @@ public class GameController implements Screen, ContactListener {
 			}
 
 			canvas.end();
+			profiler.stop(FrameProfiler.Phase.DRAW_PAUSE);
 		}
 
+		if (profiling) {
+			drawProfile();
+		}
+	}
 
+	/**
+	 * Measures the objects that have not been drawn yet, without drawing them.
+	 * <p>
+	 * An object can only be found by the draw query once the draw margin covers how far it
+	 * draws from its position. Objects that draw nothing are measured again every frame.
+	 */
+	private void measureObjects() {
+		Iterator<PooledList<GameObject>.Entry> iterator = objectController.unmeasuredObjects.entryIterator();
+		while (iterator.hasNext()) {
+			PooledList<GameObject>.Entry entry = iterator.next();
+			GameObject obj = entry.getValue();
+			if (obj.getSpatialEntry() == null) {
+				entry.remove();		// Destroyed since the last frame
+				continue;
+			}
+			canvas.beginMeasure(true);
+			obj.draw(canvas);
+			if (canvas.endMeasure(drawnBounds)) {
+				addDrawExtent(obj, drawnBounds);
+				entry.remove();
+			}
+		}
 	}
+
+	/**
+	 * Grows the draw extent of an object, and the draw margin with it
+	 *
+	 * @param obj   The object that was drawn
+	 * @param drawn The area the object covered, in screen coordinates
+	 */
+	private void addDrawExtent(GameObject obj, Rectangle drawn) {
+		obj.addDrawExtent(drawn);
+		drawMargin = Math.max(drawMargin, obj.getDrawRadius());
+	}
+
+	/**
+	 * Draws the baked wall tiles between the object layers
+	 * <p>
+	 * The canvas must be active, and is left active.
+	 */
+	private void drawTileCache() {
+		canvas.end();
+		canvas.drawTileCache();
+		canvas.begin(false);
+	}
+
+	/**
+	 * Draws the performance overlay
+	 * <p>
+	 * Shows the p50/p95/p99 time of every frame phase, in milliseconds, over the frames held by
+	 * the profiler, and the number of draw calls and objects drawn and culled in the last frame.
+	 * The text is only laid out again when one of these values changes.
+	 */
+	private void drawProfile() {
+		boolean changed = profileLayout.runs.size == 0;
+		int index = 0;
+		for (FrameProfiler.Phase phase : FrameProfiler.PHASES) {
+			profiler.percentiles(phase, profilePercentiles);
+			for (long nanos : profilePercentiles) {
+				changed |= setProfileValue(index++, nanos / 10000);
+			}
+		}
+		changed |= setProfileValue(index++, syncController.getSyncCount());
+		changed |= setProfileValue(index++, objectController.genreObjects.size());
+		changed |= setProfileValue(index++, objectController.objects.size());
+		changed |= setProfileValue(index++, objectRenderCalls);
+		changed |= setProfileValue(index++, drawnObjects);
+		changed |= setProfileValue(index, culledObjects);
+
+		BitmapFont font = objectController.displayFont;
+		float fontScale = font.getData().scaleX;
+		font.getData().setScale(0.5f);
+		font.setColor(Color.GREEN);
+		if (changed) {
+			buildProfileText();
+			profileLayout.setText(font, profileText);
+		}
+		canvas.begin(true);
+		canvas.drawText(profileLayout, font, 20, canvas.getHeight() - 140);
+		canvas.end();
+		font.getData().setScale(fontScale);
+	}
+
+	/**
+	 * Stores a value shown in the performance overlay
+	 *
+	 * @param index The index of the value in the overlay values
+	 * @param value The value to show
+	 *
+	 * @return true if the value differs from the one shown before
+	 */
+	private boolean setProfileValue(int index, long value) {
+		if (profileValues[index] == value) {
+			return false;
+		}
+		profileValues[index] = value;
+		return true;
+	}
+
+	/**
+	 * Writes the performance overlay text from the stored overlay values
+	 */
+	private void buildProfileText() {
+		profileText.setLength(0);
+		profileText.append("phase  p50 / p95 / p99 ms\n");
+		int index = 0;
+		for (FrameProfiler.Phase phase : FrameProfiler.PHASES) {
+			profileText.append(phase.label).append("  ");
+			appendMillis(profileValues[index++]).append(" / ");
+			appendMillis(profileValues[index++]).append(" / ");
+			appendMillis(profileValues[index++]).append('\n');
+		}
+		profileText.append("synced ").append(profileValues[index++])
+				.append("  genre ").append(profileValues[index++])
+				.append("  objects ").append(profileValues[index++]).append('\n');
+		profileText.append("object draw calls ").append(profileValues[index++])
+				.append("  drawn ").append(profileValues[index++])
+				.append("  culled ").append(profileValues[index]).append('\n');
+	}
+
+	/**
+	 * Appends a time to the overlay text as milliseconds with two decimals
+	 *
+	 * @param hundredths The time in hundredths of a millisecond
+	 *
+	 * @return the overlay text buffer
+	 */
+	private StringBuilder appendMillis(long hundredths) {
+		profileText.append(hundredths / 100).append('.');
+		if (hundredths % 100 < 10) {
+			profileText.append('0');
+		}
+		return profileText.append(hundredths % 100);
+	}
+
 	/**
 	 * Called when the Screen is resized.
 	 *
@@ -1475,14 +2254,24 @@ public class GameController implements Screen, ContactListener {
 	 */
 	public void render ( float delta){
 		if (active) {
+			if (replay != null) {
+				if (replay.isFinished()) {
+					stopReplay();
+				} else {
+					delta = replay.frame(delta);
+				}
+			}
 			if (preUpdate(delta) && !paused  && !displayStartCutScenes) {
 				update(delta); // This is the one that must be defined.
 				postUpdate(delta);
 			}
 			if (!paused) {
-				canvas.updateCamera(objectController.player, worldWidth, worldHeight);
+				profiler.start(FrameProfiler.Phase.CAMERA);
+				canvas.updateCamera(objectController.player, worldWidth, worldHeight, delta);
+				profiler.stop(FrameProfiler.Phase.CAMERA);
 			}
 			draw(delta);
+			profiler.endFrame();
 		}
 
 
@@ -1601,6 +2390,15 @@ public class GameController implements Screen, ContactListener {
 		this.listener = listener;
 	}
 
+	/**
+	 * Sets the preloader that builds the next level during the victory screen
+	 *
+	 * @param preloader The level preloader, or null to load every level on the spot
+	 */
+	public void setLevelPreloader (LevelPreloader preloader){
+		this.levelPreloader = preloader;
+	}
+
 	/**
 	 * Switches the genre depending on what the current genre is.
 	 */
@@ -1640,6 +2438,7 @@ public class GameController implements Screen, ContactListener {
 	/** Called when the game screen needs to be exited out of */
 	public void exitScreen ( int exitCode){
 		soundController.wrapUpMusic();
+		stopReplay();
 
 		listener.exitScreen(this, exitCode);
 	}
@@ -1708,6 +2507,11 @@ public class GameController implements Screen, ContactListener {
 		return objectController;
 	}
 
+	/** Returns the physics world of the current level */
+	public World getWorld () {
+		return world;
+	}
+
 
 	/** Boolean that represents whether all the cutscenes have been read and
 	 * whether the next level should be loaded
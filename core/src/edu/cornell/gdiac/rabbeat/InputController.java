@@ -63,6 +63,8 @@ public class InputController {
 	/** Whether the primary action button was pressed. */
 	private boolean primePressed;
 	private boolean primePrevious;
+	/** Whether a primary press is still waiting to be consumed by a physics step. */
+	private boolean primeLatched;
 
 	private boolean backspacePressed;
 
@@ -75,6 +77,9 @@ public class InputController {
 	/** Whether the debug toggle was pressed. */
 	private boolean debugPressed;
 	private boolean debugPrevious;
+	/** Whether the performance overlay toggle was pressed. */
+	private boolean profilePressed;
+	private boolean profilePrevious;
 	/** Whether the exit button was pressed. */
 	private boolean exitPressed;
 	private boolean exitPrevious;
@@ -149,6 +154,9 @@ public class InputController {
 	/** An X-Box controller (if it is connected) */
 	XBoxController xbox;
 
+	/** The replay recording or playing back this input, or null if there is none */
+	private Replay replay;
+
 	/**
 	 * Returns the amount of sideways movement.
 	 *
@@ -198,6 +206,21 @@ public class InputController {
 		return primePressed && !primePrevious;
 	}
 
+	/**
+	 * Returns true if the primary action button was pressed since the last call.
+	 *
+	 * Physics runs at a fixed timestep, so a frame may take no steps at all. This
+	 * latches the one-press button until a step consumes it, so presses are never
+	 * lost on fast displays.
+	 *
+	 * @return true if the primary action button was pressed since the last call.
+	 */
+	public boolean consumePrimary() {
+		boolean pressed = primeLatched;
+		primeLatched = false;
+		return pressed;
+	}
+
 	/**
 	 * Returns true if the secondary action button was pressed.
 	 *
@@ -276,6 +299,15 @@ public class InputController {
 		return debugPressed && !debugPrevious;
 	}
 
+	/**
+	 * Returns true if the player wants to toggle the performance overlay.
+	 *
+	 * @return true if the player wants to toggle the performance overlay.
+	 */
+	public boolean didProfile() {
+		return profilePressed && !profilePrevious;
+	}
+
 	/**
 	 * Returns true if the exit button was pressed.
 	 *
@@ -337,6 +369,7 @@ public class InputController {
 		secondPrevious = secondPressed;
 		resetPrevious  = resetPressed;
 		debugPrevious  = debugPressed;
+		profilePrevious = profilePressed;
 		exitPrevious = exitPressed;
 		nextPrevious = nextPressed;
 		prevPrevious = prevPressed;
@@ -356,12 +389,23 @@ public class InputController {
 			pauseRightPrevious = pauseRightPressed;
 		}
 
-		// Check to see if a GamePad is connected
-		if (xbox != null && xbox.isConnected()) {
-			readGamepad(bounds, scale);
-			readKeyboard(bounds, scale, true); // Read as a back-up
-		} else {
-			readKeyboard(bounds, scale, false);
+		// A replay being played back replaces the devices
+		if (replay == null || !replay.isPlaying()) {
+			// Check to see if a GamePad is connected
+			if (xbox != null && xbox.isConnected()) {
+				readGamepad(bounds, scale);
+				readKeyboard(bounds, scale, true); // Read as a back-up
+			} else {
+				readKeyboard(bounds, scale, false);
+			}
+		}
+		if (replay != null) {
+			replay.input(this);
+		}
+
+		// Hold on to the press until a fixed physics step consumes it
+		if (didPrimary()) {
+			primeLatched = true;
 		}
 	}
 
@@ -417,6 +461,7 @@ public class InputController {
 		// Give priority to gamepad results
 		resetPressed = (secondary && resetPressed) || (Gdx.input.isKeyPressed(Input.Keys.R));
 		debugPressed = (secondary && debugPressed) || (Gdx.input.isKeyPressed(Input.Keys.B));
+		profilePressed = Gdx.input.isKeyPressed(Input.Keys.F3);
 		primePressed = (secondary && primePressed) || (Gdx.input.isKeyPressed(Input.Keys.UP)
 				|| Gdx.input.isKeyPressed(Input.Keys.W));
 		exitPressed = (secondary && exitPressed) || (Gdx.input.isKeyPressed(Input.Keys.ESCAPE));
@@ -558,6 +603,103 @@ public class InputController {
 	}
 
 
+	/**
+	 * Sets the replay that records or plays back this input.
+	 *
+	 * A replay that is playing back replaces the keyboard and gamepad. Passing null
+	 * goes back to reading the devices.
+	 *
+	 * @param replay The replay to record or play back, or null for none
+	 */
+	public void setReplay(Replay replay) {
+		this.replay = replay;
+	}
+
+	/**
+	 * Returns the state of every button as a bit mask.
+	 *
+	 * This includes the genre switch and calibration flags, which are derived from
+	 * the buttons when they are read. Together with the axes and the delay, this is
+	 * everything the game reads from this controller.
+	 *
+	 * @return the state of every button as a bit mask
+	 */
+	int getButtonMask() {
+		int mask = 0;
+		if (resetPressed)       mask |= 1;
+		if (nextPressed)        mask |= 1 << 1;
+		if (prevPressed)        mask |= 1 << 2;
+		if (primePressed)       mask |= 1 << 3;
+		if (backspacePressed)   mask |= 1 << 4;
+		if (secondPressed)      mask |= 1 << 5;
+		if (tertiaryPressed)    mask |= 1 << 6;
+		if (debugPressed)       mask |= 1 << 7;
+		if (profilePressed)     mask |= 1 << 8;
+		if (exitPressed)        mask |= 1 << 9;
+		if (pausePressed)       mask |= 1 << 10;
+		if (enterPressed)       mask |= 1 << 11;
+		if (pauseUpPressed)     mask |= 1 << 12;
+		if (pauseDownPressed)   mask |= 1 << 13;
+		if (pauseRightPressed)  mask |= 1 << 14;
+		if (pauseLeftPressed)   mask |= 1 << 15;
+		if (levelSelectPressed) mask |= 1 << 16;
+		if (calibrationPressed) mask |= 1 << 17;
+		if (calibratePressed)   mask |= 1 << 18;
+		if (delayPressed)       mask |= 1 << 19;
+		if (switchPressed)      mask |= 1 << 20;
+		if (spacePressed)       mask |= 1 << 21;
+		if (genreSwitched)      mask |= 1 << 22;
+		if (switchGenre)        mask |= 1 << 23;
+		if (calibrate)          mask |= 1 << 24;
+		return mask;
+	}
+
+	/**
+	 * Sets the state of every button from a bit mask returned by getButtonMask.
+	 *
+	 * @param mask The state of every button
+	 */
+	void setButtonMask(int mask) {
+		resetPressed       = (mask & 1) != 0;
+		nextPressed        = (mask & 1 << 1) != 0;
+		prevPressed        = (mask & 1 << 2) != 0;
+		primePressed       = (mask & 1 << 3) != 0;
+		backspacePressed   = (mask & 1 << 4) != 0;
+		secondPressed      = (mask & 1 << 5) != 0;
+		tertiaryPressed    = (mask & 1 << 6) != 0;
+		debugPressed       = (mask & 1 << 7) != 0;
+		profilePressed     = (mask & 1 << 8) != 0;
+		exitPressed        = (mask & 1 << 9) != 0;
+		pausePressed       = (mask & 1 << 10) != 0;
+		enterPressed       = (mask & 1 << 11) != 0;
+		pauseUpPressed     = (mask & 1 << 12) != 0;
+		pauseDownPressed   = (mask & 1 << 13) != 0;
+		pauseRightPressed  = (mask & 1 << 14) != 0;
+		pauseLeftPressed   = (mask & 1 << 15) != 0;
+		levelSelectPressed = (mask & 1 << 16) != 0;
+		calibrationPressed = (mask & 1 << 17) != 0;
+		calibratePressed   = (mask & 1 << 18) != 0;
+		delayPressed       = (mask & 1 << 19) != 0;
+		switchPressed      = (mask & 1 << 20) != 0;
+		spacePressed       = (mask & 1 << 21) != 0;
+		genreSwitched      = (mask & 1 << 22) != 0;
+		switchGenre        = (mask & 1 << 23) != 0;
+		calibrate          = (mask & 1 << 24) != 0;
+	}
+
+	/**
+	 * Sets the movement axes and the delay adjustment.
+	 *
+	 * @param horizontal The amount of sideways movement
+	 * @param vertical   The amount of vertical movement
+	 * @param delay      The delay adjustment
+	 */
+	void setAxes(float horizontal, float vertical, float delay) {
+		this.horizontal = horizontal;
+		this.vertical = vertical;
+		this.delay = delay;
+	}
+
 	/** Sets the boolean value for switchGenre */
 	public void setSwitchGenre(boolean switchGenre){
 		this.switchGenre = switchGenre;
@@ -0,0 +1,59 @@
+/*
+ * LevelCompiler.java
+ *
+ * Compiles Tiled levels into the binary level format read by LevelFormat.  This is
+ * run by the compileLevels Gradle task before the game is run or packaged, so that
+ * the game never has to walk the Tiled JSON of a level.
+ */
+package edu.cornell.gdiac.rabbeat;
+
+import java.io.File;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * Command line tool that compiles every Tiled level in the given directories.
+ *
+ * Each ".tmj" file is compiled into a ".rbl" file beside it. Files whose compiled
+ * level is already up to date are skipped. This does not need a running game, so
+ * it only uses the parts of LibGDX that work without a backend.
+ */
+public class LevelCompiler {
+	/** The extension of a Tiled level */
+	private static final String SOURCE_EXTENSION = "tmj";
+
+	/**
+	 * Compiles the Tiled levels in each directory given on the command line
+	 *
+	 * @param args The directories to compile
+	 */
+	public static void main(String[] args) {
+		TiledReader reader = new TiledReader();
+		int compiled = 0;
+		int skipped = 0;
+		for (String arg : args) {
+			FileHandle directory = new FileHandle(new File(arg));
+			if (!directory.isDirectory()) {
+				System.err.println(arg + " is not a directory");
+				System.exit(1);
+			}
+			for (FileHandle tiled : directory.list("." + SOURCE_EXTENSION)) {
+				FileHandle output = LevelFormat.getCompiledFile(tiled);
+				if (output.exists() && output.lastModified() >= tiled.lastModified()) {
+					skipped++;
+					continue;
+				}
+				try {
+					LevelDefinition level = reader.read(tiled);
+					LevelFormat.write(level, output.write(false));
+					compiled++;
+				} catch (Exception e) {
+					System.err.println("Could not compile " + tiled.path());
+					e.printStackTrace();
+					System.exit(1);
+				}
+			}
+		}
+		System.out.println("Compiled " + compiled + " levels (" + skipped + " up to date)");
+	}
+}
@@ -0,0 +1,321 @@
+/*
+ * LevelDefinition.java
+ *
+ * Loading a level has two halves.  Walking the Tiled file to work out what objects
+ * the level has, and where, is plain Java work.  Creating the textures and Box2D
+ * bodies for those objects has to happen on the render thread.  This class is the
+ * result of the first half, so that it can be done ahead of time on another thread
+ * and the level switch only has to do the second.
+ */
+package edu.cornell.gdiac.rabbeat;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * The layers, tilesets and objects of a Tiled level, without any game objects.
+ *
+ * This holds no references to textures or the physics world, so it is safe to build
+ * on any thread. It is read from the Tiled file by TiledReader (or from a compiled
+ * level by LevelFormat), and ObjectController turns it into game objects in
+ * populateObjects.
+ */
+public class LevelDefinition {
+	/** The width of the level in tiles */
+	public int width;
+	/** The height of the level in tiles */
+	public int height;
+	/** The size of a tile in pixels */
+	public int tileSize;
+	/** The first tile id of each tileset, in increasing order */
+	public int[] firstGids;
+	/** The source file of each tileset */
+	public String[] tilesetSources;
+	/** The layers of the level, in the order they appear in the file */
+	public final Array<LayerDefinition> layers = new Array<>();
+	/** The custom properties of every object in the level */
+	public final PropertyTable properties = new PropertyTable();
+
+	/**
+	 * A layer of a Tiled level.
+	 *
+	 * A tile layer has data and no objects, and an object layer has objects and no data.
+	 */
+	public static class LayerDefinition {
+		/** The name of the layer */
+		public String name;
+		/** The width of the layer in tiles */
+		public int width;
+		/** The height of the layer in tiles */
+		public int height;
+		/** The tile id at each position, row by row from the top, or null for an object layer */
+		public int[] data;
+		/** The objects in the layer */
+		public final Array<ObjectDefinition> objects = new Array<>();
+	}
+
+	/**
+	 * The custom properties of every object in a level, stored back to back.
+	 *
+	 * Each object refers to the range of the table that holds its own properties, so
+	 * there is no map per object. Numbers and booleans are stored as numbers, so they
+	 * are converted from text once, when the level is read, rather than each time
+	 * they are looked up.
+	 */
+	public static class PropertyTable {
+		/** The kind of a property whose value is a string */
+		public static final byte STRING = 0;
+		/** The kind of a property whose value is a number */
+		public static final byte NUMBER = 1;
+		/** The kind of a property whose value is a boolean (stored as 1 or 0) */
+		public static final byte BOOLEAN = 2;
+
+		/** The name of each property */
+		private String[] names = new String[64];
+		/** The kind of each property */
+		private byte[] kinds = new byte[64];
+		/** The value of each number or boolean property */
+		private double[] numbers = new double[64];
+		/** The value of each string property, or null for the other kinds */
+		private String[] strings = new String[64];
+		/** The number of properties in the table */
+		private int size;
+
+		/**
+		 * Adds a property to the end of the table.
+		 *
+		 * @param name   The property name
+		 * @param kind   The kind of the property
+		 * @param number The value of a number or boolean property
+		 * @param string The value of a string property, or null for the other kinds
+		 */
+		public void add(String name, byte kind, double number, String string) {
+			if (size == names.length) {
+				int capacity = size * 2;
+				names = Arrays.copyOf(names, capacity);
+				kinds = Arrays.copyOf(kinds, capacity);
+				numbers = Arrays.copyOf(numbers, capacity);
+				strings = Arrays.copyOf(strings, capacity);
+			}
+			names[size] = name;
+			kinds[size] = kind;
+			numbers[size] = number;
+			strings[size] = string;
+			size++;
+		}
+
+		/**
+		 * Returns the number of properties in the table
+		 *
+		 * @return the number of properties in the table
+		 */
+		public int size() {
+			return size;
+		}
+
+		/**
+		 * Returns the name of a property
+		 *
+		 * @param index The index of the property in the table
+		 *
+		 * @return the name of a property
+		 */
+		public String getName(int index) {
+			return names[index];
+		}
+
+		/**
+		 * Returns the kind of a property
+		 *
+		 * @param index The index of the property in the table
+		 *
+		 * @return the kind of a property
+		 */
+		public byte getKind(int index) {
+			return kinds[index];
+		}
+
+		/**
+		 * Returns the value of a number or boolean property
+		 *
+		 * @param index The index of the property in the table
+		 *
+		 * @return the value of a number or boolean property
+		 */
+		public double getNumber(int index) {
+			return numbers[index];
+		}
+
+		/**
+		 * Returns the value of a string property, or null for the other kinds
+		 *
+		 * @param index The index of the property in the table
+		 *
+		 * @return the value of a string property
+		 */
+		public String getString(int index) {
+			return strings[index];
+		}
+	}
+
+	/**
+	 * An object in a Tiled object layer.
+	 *
+	 * The custom properties are looked up by name in the range of the property table
+	 * that belongs to the object. An object only has a handful of properties, so the
+	 * search is a short scan.
+	 */
+	public static class ObjectDefinition {
+		/** The type (class) of the object */
+		public String type = "";
+		/** The x-coordinate of the object, in pixels */
+		public float x;
+		/** The y-coordinate of the object, in pixels */
+		public float y;
+		/** The width of the object, in pixels */
+		public float width;
+		/** The height of the object, in pixels */
+		public float height;
+		/** The table holding the custom properties, or null if the object has none */
+		public PropertyTable properties;
+		/** The index of the first custom property in the table */
+		public int firstProperty;
+		/** The number of custom properties */
+		public int propertyCount;
+		/** The beats of the beatList property, or null if the object has none */
+		public int[] beatList;
+
+		/**
+		 * Returns the index in the property table of the property with the given name
+		 *
+		 * @param name The property name
+		 *
+		 * @return the index of the property, or -1 if there is no such property
+		 */
+		private int find(String name) {
+			for (int i = firstProperty; i < firstProperty + propertyCount; i++) {
+				if (name.equals(properties.getName(i))) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		/**
+		 * Returns true if the object has a property with the given name
+		 *
+		 * @param name The property name
+		 *
+		 * @return true if the object has a property with the given name
+		 */
+		public boolean has(String name) {
+			return find(name) >= 0;
+		}
+
+		/**
+		 * Returns the property with the given name as a string
+		 *
+		 * Numbers and booleans are written out as Tiled writes them.
+		 *
+		 * @param name         The property name
+		 * @param defaultValue The value if there is no such property
+		 *
+		 * @return the property with the given name as a string
+		 */
+		public String getString(String name, String defaultValue) {
+			int i = find(name);
+			if (i < 0) {
+				return defaultValue;
+			}
+			switch (properties.getKind(i)) {
+				case PropertyTable.STRING:
+					return properties.getString(i);
+				case PropertyTable.BOOLEAN:
+					return properties.getNumber(i) != 0 ? "true" : "false";
+				default:
+					double value = properties.getNumber(i);
+					return value == (long) value ? Long.toString((long) value) : Double.toString(value);
+			}
+		}
+
+		/**
+		 * Returns the property with the given name as an int
+		 *
+		 * @param name         The property name
+		 * @param defaultValue The value if there is no such property
+		 *
+		 * @return the property with the given name as an int
+		 */
+		public int getInt(String name, int defaultValue) {
+			int i = find(name);
+			if (i < 0) {
+				return defaultValue;
+			}
+			if (properties.getKind(i) == PropertyTable.STRING) {
+				return (int) Double.parseDouble(properties.getString(i));
+			}
+			return (int) properties.getNumber(i);
+		}
+
+		/**
+		 * Returns the property with the given name as a float
+		 *
+		 * @param name         The property name
+		 * @param defaultValue The value if there is no such property
+		 *
+		 * @return the property with the given name as a float
+		 */
+		public float getFloat(String name, float defaultValue) {
+			int i = find(name);
+			if (i < 0) {
+				return defaultValue;
+			}
+			if (properties.getKind(i) == PropertyTable.STRING) {
+				return Float.parseFloat(properties.getString(i));
+			}
+			return (float) properties.getNumber(i);
+		}
+
+		/**
+		 * Returns the property with the given name as a boolean
+		 *
+		 * @param name         The property name
+		 * @param defaultValue The value if there is no such property
+		 *
+		 * @return the property with the given name as a boolean
+		 */
+		public boolean getBoolean(String name, boolean defaultValue) {
+			int i = find(name);
+			if (i < 0) {
+				return defaultValue;
+			}
+			switch (properties.getKind(i)) {
+				case PropertyTable.STRING:
+					return Boolean.parseBoolean(properties.getString(i));
+				case PropertyTable.BOOLEAN:
+					return properties.getNumber(i) != 0;
+				default:
+					return false;
+			}
+		}
+	}
+
+	/**
+	 * Converts a Tiled beat list, which is a string of single digit beats, into an array.
+	 *
+	 * @param beatList The beat list from Tiled
+	 *
+	 * @return the beats in the list, or null if the list is empty
+	 */
+	static int[] parseBeatList(String beatList) {
+		if (beatList.isEmpty()) {
+			return null;
+		}
+		int[] result = new int[beatList.length()];
+		for (int i = 0; i < result.length; i++) {
+			result[i] = Integer.parseInt(beatList.substring(i, i + 1));
+		}
+		return result;
+	}
+}
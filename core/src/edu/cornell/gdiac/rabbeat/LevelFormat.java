@@ -0,0 +1,326 @@
+/*
+ * LevelFormat.java
+ *
+ * Tiled saves levels as JSON, which is convenient to edit but slow to load: every
+ * tile id and property has to be tokenized and converted from text.  We compile each
+ * level ahead of time into a compact binary file that holds the same LevelDefinition.
+ * Tile layers are stored as packed int arrays, strings are stored once in a table,
+ * and beat lists are already parsed.  At runtime the file is mapped into memory and
+ * read straight into the definition.
+ *
+ * The compiled file sits next to the Tiled file, with the extension ".rbl".  If it is
+ * missing or older than the Tiled file we fall back to the JSON, so a level that was
+ * just edited in Tiled still loads without recompiling.
+ */
+package edu.cornell.gdiac.rabbeat;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+import com.badlogic.gdx.Files;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectIntMap;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/**
+ * Reads and writes level definitions in the compiled binary level format.
+ *
+ * The file is big-endian, and laid out as follows:
+ * <pre>
+ *   int    magic ("RBLV"), byte version
+ *   int    width, height, tile size
+ *   int    string count, then each string as (int length, UTF-8 bytes)
+ *   int    tileset count, then each tileset as (int first gid, int source string)
+ *   int    layer count, then each layer as
+ *            int name string, int width, int height
+ *            int data length (-1 for an object layer), then the tile ids
+ *            int object count, then each object as
+ *              int type string, float x, y, width, height
+ *              int beat list length (-1 for none), then one byte per beat
+ *              int property count, then each property as
+ *                int name string, byte kind
+ *                int value string for a string, or double value for a number or boolean
+ * </pre>
+ * Strings are referred to by their index in the string table. The kinds are those of
+ * {@link LevelDefinition.PropertyTable}.
+ */
+public class LevelFormat {
+	/** The first four bytes of every compiled level ("RBLV") */
+	private static final int MAGIC = 0x52424C56;
+	/** The version of the file format */
+	private static final int VERSION = 2;
+	/** The extension of a compiled level */
+	public static final String EXTENSION = "rbl";
+
+	/**
+	 * Returns the definition of the level whose Tiled file is at the given path.
+	 *
+	 * The compiled level is used if it exists and is at least as new as the Tiled
+	 * file. Otherwise the Tiled file is read with a TiledReader. This reads no
+	 * global state, so it may be called from any thread.
+	 *
+	 * @param source The internal path of the Tiled file
+	 *
+	 * @return the definition of the level
+	 */
+	public static LevelDefinition load(String source) {
+		FileHandle tiled = Gdx.files.internal(source);
+		FileHandle compiled = getCompiledFile(tiled);
+		if (compiled.exists() && compiled.lastModified() >= tiled.lastModified()) {
+			try {
+				return read(compiled);
+			} catch (Exception e) {
+				// Fall back to the Tiled file if the compiled level is unreadable
+				e.printStackTrace();
+			}
+		}
+		return new TiledReader().read(tiled);
+	}
+
+	/**
+	 * Returns the compiled level file for the given Tiled file
+	 *
+	 * @param tiled The Tiled file
+	 *
+	 * @return the compiled level file for the given Tiled file
+	 */
+	public static FileHandle getCompiledFile(FileHandle tiled) {
+		return tiled.sibling(tiled.nameWithoutExtension() + "." + EXTENSION);
+	}
+
+	/**
+	 * Reads a compiled level.
+	 *
+	 * If the file is on disk, it is mapped into memory rather than copied. Files that
+	 * are only on the classpath (such as in a jar) are read into memory instead.
+	 *
+	 * @param file The compiled level
+	 *
+	 * @return the definition of the level
+	 */
+	public static LevelDefinition read(FileHandle file) {
+		File disk = file.file();
+		if (file.type() != Files.FileType.Classpath && disk.isFile()) {
+			try (FileChannel channel = FileChannel.open(disk.toPath(), StandardOpenOption.READ)) {
+				return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file.path());
+			} catch (IOException e) {
+				throw new GdxRuntimeException("Error reading compiled level " + file.path(), e);
+			}
+		}
+		return read(ByteBuffer.wrap(file.readBytes()), file.path());
+	}
+
+	/**
+	 * Reads a compiled level from a buffer
+	 *
+	 * @param buffer The contents of the compiled level
+	 * @param path   The path of the level, for error messages
+	 *
+	 * @return the definition of the level
+	 */
+	private static LevelDefinition read(ByteBuffer buffer, String path) {
+		if (buffer.remaining() < 5 || buffer.getInt() != MAGIC) {
+			throw new GdxRuntimeException(path + " is not a compiled level");
+		}
+		int version = buffer.get();
+		if (version != VERSION) {
+			throw new GdxRuntimeException(path + " has unsupported level version " + version);
+		}
+
+		LevelDefinition level = new LevelDefinition();
+		level.width = buffer.getInt();
+		level.height = buffer.getInt();
+		level.tileSize = buffer.getInt();
+
+		String[] strings = new String[buffer.getInt()];
+		byte[] bytes = new byte[64];
+		for (int i = 0; i < strings.length; i++) {
+			int length = buffer.getInt();
+			if (length > bytes.length) {
+				bytes = new byte[length];
+			}
+			buffer.get(bytes, 0, length);
+			strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+		}
+
+		int tilesets = buffer.getInt();
+		level.firstGids = new int[tilesets];
+		level.tilesetSources = new String[tilesets];
+		for (int i = 0; i < tilesets; i++) {
+			level.firstGids[i] = buffer.getInt();
+			level.tilesetSources[i] = strings[buffer.getInt()];
+		}
+
+		int layers = buffer.getInt();
+		for (int i = 0; i < layers; i++) {
+			LevelDefinition.LayerDefinition layer = new LevelDefinition.LayerDefinition();
+			layer.name = strings[buffer.getInt()];
+			layer.width = buffer.getInt();
+			layer.height = buffer.getInt();
+			int length = buffer.getInt();
+			if (length >= 0) {
+				// Copy the packed tile ids in one go
+				layer.data = new int[length];
+				IntBuffer ints = buffer.asIntBuffer();
+				ints.get(layer.data);
+				buffer.position(buffer.position() + length * 4);
+			}
+
+			int objects = buffer.getInt();
+			layer.objects.ensureCapacity(objects);
+			for (int j = 0; j < objects; j++) {
+				LevelDefinition.ObjectDefinition object = new LevelDefinition.ObjectDefinition();
+				object.type = strings[buffer.getInt()];
+				object.x = buffer.getFloat();
+				object.y = buffer.getFloat();
+				object.width = buffer.getFloat();
+				object.height = buffer.getFloat();
+				int beats = buffer.getInt();
+				if (beats >= 0) {
+					object.beatList = new int[beats];
+					for (int k = 0; k < beats; k++) {
+						object.beatList[k] = buffer.get();
+					}
+				}
+				object.properties = level.properties;
+				object.firstProperty = level.properties.size();
+				object.propertyCount = buffer.getInt();
+				for (int k = 0; k < object.propertyCount; k++) {
+					String name = strings[buffer.getInt()];
+					byte kind = buffer.get();
+					if (kind == LevelDefinition.PropertyTable.STRING) {
+						level.properties.add(name, kind, 0, strings[buffer.getInt()]);
+					} else {
+						level.properties.add(name, kind, buffer.getDouble(), null);
+					}
+				}
+				layer.objects.add(object);
+			}
+			level.layers.add(layer);
+		}
+		return level;
+	}
+
+	/**
+	 * Writes a level definition in the compiled level format.
+	 *
+	 * The stream is closed when done.
+	 *
+	 * @param level  The level definition
+	 * @param stream The stream to write to
+	 */
+	public static void write(LevelDefinition level, OutputStream stream) {
+		// Gather the strings first, so each is written once
+		Array<String> strings = new Array<>();
+		ObjectIntMap<String> indices = new ObjectIntMap<>();
+		for (String source : level.tilesetSources) {
+			intern(source, strings, indices);
+		}
+		for (LevelDefinition.LayerDefinition layer : level.layers) {
+			intern(layer.name, strings, indices);
+			for (LevelDefinition.ObjectDefinition object : layer.objects) {
+				intern(object.type, strings, indices);
+				for (int i = object.firstProperty; i < object.firstProperty + object.propertyCount; i++) {
+					intern(object.properties.getName(i), strings, indices);
+					if (object.properties.getKind(i) == LevelDefinition.PropertyTable.STRING) {
+						intern(object.properties.getString(i), strings, indices);
+					}
+				}
+			}
+		}
+
+		DataOutputStream out = new DataOutputStream(stream);
+		try {
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			out.writeInt(level.width);
+			out.writeInt(level.height);
+			out.writeInt(level.tileSize);
+
+			out.writeInt(strings.size);
+			for (String s : strings) {
+				byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+
+			out.writeInt(level.firstGids.length);
+			for (int i = 0; i < level.firstGids.length; i++) {
+				out.writeInt(level.firstGids[i]);
+				out.writeInt(indices.get(level.tilesetSources[i], 0));
+			}
+
+			out.writeInt(level.layers.size);
+			for (LevelDefinition.LayerDefinition layer : level.layers) {
+				out.writeInt(indices.get(layer.name, 0));
+				out.writeInt(layer.width);
+				out.writeInt(layer.height);
+				if (layer.data == null) {
+					out.writeInt(-1);
+				} else {
+					out.writeInt(layer.data.length);
+					for (int gid : layer.data) {
+						out.writeInt(gid);
+					}
+				}
+
+				out.writeInt(layer.objects.size);
+				for (LevelDefinition.ObjectDefinition object : layer.objects) {
+					out.writeInt(indices.get(object.type, 0));
+					out.writeFloat(object.x);
+					out.writeFloat(object.y);
+					out.writeFloat(object.width);
+					out.writeFloat(object.height);
+					if (object.beatList == null) {
+						out.writeInt(-1);
+					} else {
+						out.writeInt(object.beatList.length);
+						for (int beat : object.beatList) {
+							out.writeByte(beat);
+						}
+					}
+					out.writeInt(object.propertyCount);
+					for (int i = object.firstProperty; i < object.firstProperty + object.propertyCount; i++) {
+						byte kind = object.properties.getKind(i);
+						out.writeInt(indices.get(object.properties.getName(i), 0));
+						out.writeByte(kind);
+						if (kind == LevelDefinition.PropertyTable.STRING) {
+							out.writeInt(indices.get(object.properties.getString(i), 0));
+						} else {
+							out.writeDouble(object.properties.getNumber(i));
+						}
+					}
+				}
+			}
+			out.flush();
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Error writing compiled level", e);
+		} finally {
+			StreamUtils.closeQuietly(out);
+		}
+	}
+
+	/**
+	 * Adds a string to the string table if it is not already there
+	 *
+	 * @param s       The string to add
+	 * @param strings The string table
+	 * @param indices The index of each string in the table
+	 */
+	private static void intern(String s, Array<String> strings, ObjectIntMap<String> indices) {
+		if (!indices.containsKey(s)) {
+			indices.put(s, strings.size);
+			strings.add(s);
+		}
+	}
+}
@@ -0,0 +1,202 @@
+/*
+ * LevelManifestBuilder.java
+ *
+ * Generates the asset groups read by AssetDirectory, one for each level.  Without
+ * them, every texture, song and sound in the asset directory is loaded at startup,
+ * although a level only uses one background, one pair of songs and a few dozen
+ * pieces of art.  This is run by the buildManifests Gradle task before the game is
+ * run or packaged, so the groups always match the levels.
+ */
+package edu.cornell.gdiac.rabbeat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.OrderedSet;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/**
+ * Command line tool that writes the asset manifest for every level.
+ *
+ * The only argument is the assets directory. The levels, and the art, screens and
+ * audio each level names, are read from the default constants. The textures and audio
+ * are written as the files of their directory keys, as that is what the asset
+ * directory defers. The atlases of the animated art are listed as well, although
+ * they are loaded by the {@link AnimationLibrary} as the level is populated.
+ *
+ * The manifest is written to the file named by the "groups" entry of the asset
+ * directory. This does not need a running game, so it only uses the parts of
+ * LibGDX that work without a backend.
+ */
+public class LevelManifestBuilder {
+	/** The art used when a level names art that does not exist */
+	private static final String DEFAULT_ART = "light";
+	/** The object layers whose objects name their art */
+	private static final String[] ART_LAYERS = { "background", "wallArt", "decals", "backgroundArt", "goal" };
+
+	/** The asset directory */
+	private final JsonValue directory;
+	/** The directory keys of the art textures, by asset name */
+	private final JsonValue art;
+	/** The atlases of the animated art, by asset name */
+	private final JsonValue animatedArt;
+
+	/**
+	 * Writes the asset manifest for the assets directory given on the command line
+	 *
+	 * @param args The assets directory
+	 */
+	public static void main(String[] args) {
+		if (args.length != 1 || !new File(args[0]).isDirectory()) {
+			System.err.println("Usage: LevelManifestBuilder <assets directory>");
+			System.exit(1);
+		}
+		File root = new File(args[0]);
+		JsonReader reader = new JsonReader();
+		JsonValue directory = reader.parse(new FileHandle(new File(root, "assets.json")));
+		JsonValue constants = reader.parse(new FileHandle(new File(root, "defaultConstants.json")));
+		FileHandle output = new FileHandle(new File(root, directory.getString("groups")));
+
+		LevelManifestBuilder builder = new LevelManifestBuilder(directory, constants);
+		Writer writer = output.writer(false, "UTF-8");
+		try {
+			builder.write(constants, root, new JsonWriter(writer));
+		} catch (Exception e) {
+			System.err.println("Could not write " + output.path());
+			e.printStackTrace();
+			System.exit(1);
+		} finally {
+			StreamUtils.closeQuietly(writer);
+		}
+		System.out.println("Wrote the asset manifest of " + constants.get("levels").size + " levels");
+	}
+
+	/**
+	 * Creates a builder for the given asset directory
+	 *
+	 * @param directory The asset directory
+	 * @param constants The default constants, which map asset names to assets
+	 */
+	public LevelManifestBuilder(JsonValue directory, JsonValue constants) {
+		this.directory = directory;
+		this.art = constants.get("art");
+		this.animatedArt = constants.get("animatedArt");
+	}
+
+	/**
+	 * Writes the group of every level in the default constants
+	 *
+	 * @param constants The default constants
+	 * @param root      The assets directory, which the level paths are relative to
+	 * @param json      The writer for the manifest
+	 */
+	private void write(JsonValue constants, File root, JsonWriter json) throws IOException {
+		TiledReader reader = new TiledReader();
+		json.setOutputType(JsonWriter.OutputType.json);
+		json.object();
+		for (JsonValue entry : constants.get("levels")) {
+			LevelDefinition level = reader.read(new FileHandle(new File(root, entry.asString())));
+			JsonValue music = constants.get("music").get(entry.name());
+
+			OrderedSet<String> textures = new OrderedSet<>();
+			OrderedSet<String> atlases = new OrderedSet<>();
+			for (LevelDefinition.LayerDefinition layer : level.layers) {
+				if (!isArtLayer(layer.name)) {
+					continue;
+				}
+				for (LevelDefinition.ObjectDefinition object : layer.objects) {
+					String name = object.getString("assetName", "");
+					if (object.has("animated")) {
+						if (animatedArt.has(name)) {
+							atlases.add(animatedArt.getString(name));
+						}
+					} else if (art.has(name)) {
+						textures.add(getFile("textures", art.getString(name)));
+					} else if (!layer.name.equals("background") && !layer.name.equals("goal")) {
+						textures.add(getFile("textures", art.getString(DEFAULT_ART)));
+					}
+				}
+			}
+
+			JsonValue screens = constants.get("screens").get(entry.name());
+			if (screens != null) {
+				for (JsonValue group : screens) {
+					for (JsonValue screen : group) {
+						textures.add(getFile("textures", screen.asString()));
+					}
+				}
+			}
+
+			OrderedSet<String> songs = new OrderedSet<>();
+			songs.add(getFile("music", music.getString("synth")));
+			songs.add(getFile("music", music.getString("jazz")));
+			OrderedSet<String> sounds = new OrderedSet<>();
+			sounds.add(getFile("sounds", music.getString("checkpoint")));
+			if (music.has("cutscene")) {
+				sounds.add(getFile("sounds", music.getString("cutscene")));
+			}
+
+			json.object(entry.name());
+			writeFiles(json, "textures", textures);
+			writeFiles(json, "atlases", atlases);
+			writeFiles(json, "music", songs);
+			writeFiles(json, "sounds", sounds);
+			json.pop();
+		}
+		json.pop();
+	}
+
+	/**
+	 * Returns true if the objects of the given layer name their art
+	 *
+	 * @param name The name of the layer
+	 *
+	 * @return true if the objects of the given layer name their art
+	 */
+	private static boolean isArtLayer(String name) {
+		for (String layer : ART_LAYERS) {
+			if (layer.equals(name)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the file of the given directory key
+	 *
+	 * @param category The category of the asset in the directory
+	 * @param key      The directory key
+	 *
+	 * @return the file of the given directory key
+	 */
+	private String getFile(String category, String key) {
+		JsonValue entry = directory.get(category).get(key);
+		if (entry == null) {
+			throw new GdxRuntimeException("No " + category + " entry for " + key);
+		}
+		return entry.isString() ? entry.asString() : entry.getString("file");
+	}
+
+	/**
+	 * Writes a list of files as an array of the current group
+	 *
+	 * @param json     The writer for the manifest
+	 * @param category The name of the array
+	 * @param files    The files to write
+	 */
+	private static void writeFiles(JsonWriter json, String category, OrderedSet<String> files)
+			throws IOException {
+		json.array(category);
+		for (String file : files) {
+			json.value(file);
+		}
+		json.pop();
+	}
+}
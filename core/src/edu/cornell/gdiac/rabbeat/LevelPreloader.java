@@ -0,0 +1,103 @@
+/*
+ * LevelPreloader.java
+ *
+ * Switching levels used to read the whole next level on the render thread, which
+ * shows up as a hitch right as the new level starts.  The victory screens give us
+ * several seconds with nothing to do, so we use that time to build the next level's
+ * definition on a worker thread.  The switch then only creates the game objects.
+ */
+package edu.cornell.gdiac.rabbeat;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import edu.cornell.gdiac.assets.AssetDirectory;
+
+/**
+ * Builds the definition of one level at a time in the background.
+ *
+ * All methods must be called from the render thread. Only the definition itself is
+ * built on the worker thread.
+ */
+public class LevelPreloader implements Disposable {
+	/** The worker thread that builds definitions */
+	private final AsyncExecutor executor = new AsyncExecutor(1, "LevelPreloader");
+	/** The asset directory with the level list */
+	private final AssetDirectory directory;
+	/** The level being preloaded, or null if there is none */
+	private String pendingLevel;
+	/** The definition being built for the pending level */
+	private AsyncResult<LevelDefinition> pending;
+
+	/**
+	 * Creates a new preloader for levels in the given directory
+	 *
+	 * @param directory The asset directory with the level list
+	 */
+	public LevelPreloader(AssetDirectory directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Starts building the definition of the given level, if it is not already.
+	 *
+	 * Any other level that was being preloaded is dropped.
+	 *
+	 * @param level The name of the level (e.g. "level3")
+	 */
+	public void preload(String level) {
+		if (level.equals(pendingLevel)) {
+			return;
+		}
+		String path = null;
+		try {
+			JsonValue levels = directory.getEntry("defaultConstants", JsonValue.class).get("levels");
+			path = levels.getString(level, null);
+		} catch (Exception e) {
+			// Nothing to preload (such as after the last level)
+		}
+		if (path == null) {
+			pendingLevel = null;
+			pending = null;
+			return;
+		}
+		final String source = path;
+		pendingLevel = level;
+		pending = executor.submit(() -> LevelFormat.load(source));
+	}
+
+	/**
+	 * Returns the preloaded definition of the given level, or null if there is none.
+	 *
+	 * If the definition is still being built, this waits for it to finish. Either way
+	 * the preloader is cleared, so a definition is only ever taken once.
+	 *
+	 * @param level The name of the level
+	 *
+	 * @return the preloaded definition of the level, or null if there is none
+	 */
+	public LevelDefinition take(String level) {
+		if (pending == null || !level.equals(pendingLevel)) {
+			return null;
+		}
+		LevelDefinition result = null;
+		try {
+			result = pending.get();
+		} catch (Exception e) {
+			// Fall back to building it on the render thread
+			e.printStackTrace();
+		}
+		pending = null;
+		pendingLevel = null;
+		return result;
+	}
+
+	/**
+	 * Stops the worker thread.
+	 */
+	@Override
+	public void dispose() {
+		executor.dispose();
+	}
+}
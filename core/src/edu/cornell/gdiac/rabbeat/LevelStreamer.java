@@ -0,0 +1,185 @@
+/*
+ * LevelStreamer.java
+ *
+ * Every object in a level used to be created when the level loaded, and kept until
+ * the level ended.  For the static platforms and art, which make up most of a level,
+ * that means the memory and update cost grows with the length of the level, even
+ * though only what is near the player matters.  This class divides the level into
+ * square chunks, and keeps track of which chunks should be built around the player.
+ */
+package edu.cornell.gdiac.rabbeat;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntArray;
+import edu.cornell.gdiac.rabbeat.objects.GameObject;
+
+/**
+ * The bookkeeping for streaming the static content of a level in chunks.
+ *
+ * Each chunk keeps the definitions of the objects in it for as long as the level is
+ * loaded, so it can be rebuilt any number of times. The objects are only built while
+ * the chunk is within a given radius of the center (the player). This class only
+ * decides which chunks are in range; ObjectController builds and releases them.
+ */
+public class LevelStreamer {
+	/** A square area of the level */
+	public static class Chunk {
+		/** The column of the chunk */
+		public final int column;
+		/** The row of the chunk, from the bottom */
+		public final int row;
+		/** The layer each definition came from */
+		public final Array<String> layers = new Array<>();
+		/** The definitions of the objects in the chunk */
+		public final Array<LevelDefinition.ObjectDefinition> definitions = new Array<>();
+		/** The drawing order of each definition, from its place in the level file */
+		public final IntArray drawOrders = new IntArray();
+		/** The objects built for the chunk, if it is loaded */
+		public final Array<GameObject> objects = new Array<>();
+		/** Whether the objects of the chunk are currently built */
+		public boolean loaded;
+
+		/**
+		 * Creates an empty chunk
+		 *
+		 * @param column The column of the chunk
+		 * @param row    The row of the chunk, from the bottom
+		 */
+		Chunk(int column, int row) {
+			this.column = column;
+			this.row = row;
+		}
+	}
+
+	/** The size of a chunk (in world units) */
+	private final float chunkSize;
+	/** The number of chunks in each direction to keep around the center */
+	private final int radius;
+	/** The number of chunk columns */
+	private final int columns;
+	/** The number of chunk rows */
+	private final int rows;
+	/** The chunks, row by row from the bottom */
+	private final Chunk[] chunks;
+	/** The column of the chunk at the center, or -1 if there is no center yet */
+	private int centerColumn = -1;
+	/** The row of the chunk at the center, or -1 if there is no center yet */
+	private int centerRow = -1;
+
+	/**
+	 * Creates a streamer for a level of the given size.
+	 *
+	 * @param width     The width of the level (in world units)
+	 * @param height    The height of the level (in world units)
+	 * @param chunkSize The size of a chunk (in world units)
+	 * @param radius    The number of chunks in each direction to keep around the center
+	 */
+	public LevelStreamer(float width, float height, float chunkSize, int radius) {
+		this.chunkSize = chunkSize;
+		this.radius = radius;
+		columns = Math.max(1, MathUtils.ceil(width / chunkSize));
+		rows = Math.max(1, MathUtils.ceil(height / chunkSize));
+		chunks = new Chunk[columns * rows];
+		for (int ii = 0; ii < chunks.length; ii++) {
+			chunks[ii] = new Chunk(ii % columns, ii / columns);
+		}
+	}
+
+	/**
+	 * Adds the definition of an object to the chunk containing the given position.
+	 *
+	 * Positions outside of the level are put in the nearest chunk.
+	 *
+	 * @param layer      The layer the definition came from
+	 * @param definition The definition of the object
+	 * @param drawOrder  The drawing order of the definition, from its place in the level file
+	 * @param x          The x-coordinate of the object (in world units)
+	 * @param y          The y-coordinate of the object (in world units)
+	 */
+	public void add(String layer, LevelDefinition.ObjectDefinition definition, int drawOrder, float x, float y) {
+		Chunk chunk = chunks[getRow(y) * columns + getColumn(x)];
+		chunk.layers.add(layer);
+		chunk.definitions.add(definition);
+		chunk.drawOrders.add(drawOrder);
+	}
+
+	/**
+	 * Moves the center of the loaded area to the given position.
+	 *
+	 * @param x The x-coordinate of the center (in world units)
+	 * @param y The y-coordinate of the center (in world units)
+	 *
+	 * @return true if the center moved to a different chunk
+	 */
+	public boolean setCenter(float x, float y) {
+		int column = getColumn(x);
+		int row = getRow(y);
+		if (column == centerColumn && row == centerRow) {
+			return false;
+		}
+		centerColumn = column;
+		centerRow = row;
+		return true;
+	}
+
+	/**
+	 * Returns true if the given chunk should be loaded
+	 *
+	 * @param chunk The chunk to check
+	 *
+	 * @return true if the given chunk is within the radius of the center
+	 */
+	public boolean inRange(Chunk chunk) {
+		return centerColumn >= 0 && Math.abs(chunk.column - centerColumn) <= radius
+				&& Math.abs(chunk.row - centerRow) <= radius;
+	}
+
+	/**
+	 * Returns the chunks of the level, row by row from the bottom
+	 *
+	 * This method returns a reference to the array, which should not be modified.
+	 *
+	 * @return the chunks of the level
+	 */
+	public Chunk[] getChunks() {
+		return chunks;
+	}
+
+	/**
+	 * Returns the number of chunks whose objects are currently built
+	 *
+	 * @return the number of chunks whose objects are currently built
+	 */
+	public int getLoadedCount() {
+		int count = 0;
+		for (Chunk chunk : chunks) {
+			if (chunk.loaded) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the column containing the given x-coordinate, clamped to the level
+	 *
+	 * @param x The x-coordinate (in world units)
+	 *
+	 * @return the column containing the given x-coordinate
+	 */
+	private int getColumn(float x) {
+		return MathUtils.clamp(MathUtils.floor(x / chunkSize), 0, columns - 1);
+	}
+
+	/**
+	 * Returns the row containing the given y-coordinate, clamped to the level
+	 *
+	 * @param y The y-coordinate (in world units)
+	 *
+	 * @return the row containing the given y-coordinate
+	 */
+	private int getRow(float y) {
+		return MathUtils.clamp(MathUtils.floor(y / chunkSize), 0, rows - 1);
+	}
+}
@@ -1,19 +1,21 @@
 package edu.cornell.gdiac.rabbeat;
 
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation.PlayMode;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.BodyDef;
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.JsonValue;
 
 import edu.cornell.gdiac.assets.AssetDirectory;
+import edu.cornell.gdiac.math.Path2;
 import edu.cornell.gdiac.rabbeat.objects.*;
 
 import com.badlogic.gdx.graphics.g2d.Animation;
-import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import edu.cornell.gdiac.rabbeat.objects.art.ArtObject;
 import edu.cornell.gdiac.rabbeat.objects.art.AnimatedArtObject;
 import edu.cornell.gdiac.rabbeat.objects.art.PulsingArtObject;
@@ -24,7 +26,11 @@ import edu.cornell.gdiac.rabbeat.objects.enemies.BeeHive;
 import edu.cornell.gdiac.rabbeat.objects.enemies.HedgehogEnemy;
 import edu.cornell.gdiac.rabbeat.objects.platforms.MovingPlatform;
 import edu.cornell.gdiac.rabbeat.objects.platforms.WeightedPlatform;
+import edu.cornell.gdiac.rabbeat.objects.projectiles.BeePool;
+import edu.cornell.gdiac.rabbeat.objects.projectiles.BulletPool;
+import edu.cornell.gdiac.rabbeat.objects.projectiles.EchoPool;
 import edu.cornell.gdiac.rabbeat.objects.art.GenreUI;
+import edu.cornell.gdiac.util.LayeredList;
 import edu.cornell.gdiac.util.PooledList;
 
 import java.util.ArrayList;
@@ -40,23 +46,52 @@ public class ObjectController {
      * update the game logic of
      * each GameObject in the game.
      */
-    /** All the objects in the world. */
-    public PooledList<GameObject> objects = new PooledList<>();
+    /** All the objects in the world, in drawing order. Each list is a {@link Layer}. */
+    public LayeredList<GameObject> objects = new LayeredList<>(Layer.values().length);
     /** All objects that are genre-dependent */
     public PooledList<IGenreObject> genreObjects = new PooledList<>();
-    /**
-     * indexes to insert objects into the objects pooled list. Each index represent
-     * the layer the object
-     * will be placed into
-     * Layer 0: Where most objects are placed
-     * Layer 1: Objects that should be drawn on top of other objects
-     * Layer 2: The Player
-     * Layer 3: Foreground objects that are drawn over the player
-     * Layer 4: UI elements that are drawn over everything on screen
-     */
-    public int[] insertIndexes = { 0, 0, 0, 0, 0 };
+    /** The objects that go dormant outside the activation region, and are currently awake */
+    public PooledList<GameObject> awakeObjects = new PooledList<>();
+    /** The objects that have not been drawn yet, and so cannot be culled */
+    public PooledList<GameObject> unmeasuredObjects = new PooledList<>();
+    /** The objects with state that a reset must restore */
+    public PooledList<GameObject> statefulObjects = new PooledList<>();
     /** Queue for adding objects */
     public PooledList<GameObject> addQueue = new PooledList<>();
+    /** Wall tile art, which is baked into the canvas tile cache rather than drawn as objects */
+    public Array<ArtObject> staticTiles = new Array<>();
+    /** The chunks of static content in the level, or null if no level is populated */
+    public LevelStreamer streamer;
+    /** The instantiated objects of the level by position, or null if no level is populated */
+    public SpatialIndex index;
+    /** The area covered by the level (in world units) */
+    public final Rectangle levelBounds = new Rectangle();
+    /** The draw scale the level was populated with, for building chunks */
+    private Vector2 streamScale;
+    /** The height of the level in tiles, for building chunks */
+    private int streamLevelHeight;
+    /** The list that placed objects are added to while building a chunk, or null if none */
+    private Array<GameObject> spawnTarget;
+    /** The drawing order of the definition being built for a chunk */
+    private int spawnDrawOrder;
+    /** The drawing order given to the next object, counting from the start of the level file */
+    private int drawOrder;
+
+    /** Number of bullets to create ahead of time for each bear */
+    private static final int BULLETS_PER_BEAR = 3;
+    /** Number of bees to create ahead of time for each hive */
+    private static final int BEES_PER_HIVE = 3;
+    /** Number of echoes to create ahead of time for each bat (two per attack) */
+    private static final int ECHOES_PER_BAT = 4;
+
+    /** The pool of bullets fired by bears */
+    public BulletPool bulletPool;
+    /** The pool of bees released by hives */
+    public BeePool beePool;
+    /** The pool of echoes sent out by bats in synth */
+    public EchoPool synthEchoPool;
+    /** The pool of echoes sent out by bats in jazz */
+    public EchoPool jazzEchoPool;
 
     /** Reference to the character avatar */
     public Player player;
@@ -74,8 +109,21 @@ public class ObjectController {
      * class does not care
      */
     public JsonValue defaultConstants;
-    /** The Json data for the level, generated by Tiled */
-    public JsonValue levelJson;
+    /** The internal path of the level's Tiled file, used to find its compiled level */
+    public String levelFile;
+    /** The objects in the level, or null if they have not been read from levelFile yet */
+    public LevelDefinition level;
+
+    /** The asset directory the art was bound from, or null if it has not been bound */
+    private AssetDirectory boundDirectory;
+    /** The atlas paths this controller holds a reference to in the animation library */
+    private final Array<String> atlasReferences = new Array<>();
+    /** The atlas paths the animated art of the current level holds a reference to */
+    private final Array<String> levelAtlasReferences = new Array<>();
+    /** The directory key of each art texture, by the asset name used in Tiled */
+    private JsonValue artKeys;
+    /** The atlas of each animated art, by the asset name used in Tiled */
+    private JsonValue animatedArtAtlases;
 
     /** The font for giving messages to the player */
     protected BitmapFont displayFont;
@@ -155,12 +203,8 @@ public class ObjectController {
     private TextureRegion batTexture;
     /** The texture for the echo */
     public TextureRegion echoTexture;
-    /** The atlas for the synth echo animation */
-    public TextureAtlas echoSynthAtlas;
     /** The synth echo animation */
     public Animation<TextureRegion> echoSynthAnimation;
-    /** The atlas for the jazz echo animation */
-    public TextureAtlas echoJazzAtlas;
     /** The jazz echo animation */
     public Animation<TextureRegion> echoJazzAnimation;
     /** The texture for bees */
@@ -177,16 +221,10 @@ public class ObjectController {
     private TextureRegion checkpointTexture;
     /** The texture ofr the goal */
     protected TextureRegion goalTile;
-    /** The inactive atlas for a checkpoint */
-    protected TextureAtlas checkpointInactiveAtlas;
     /** The inactive animation for a checkpoint */
     protected Animation<TextureRegion> checkpointInactiveAnimation;
-    /** The active atlas for a checkpoint */
-    protected TextureAtlas checkpointActiveAtlas;
     /** The active animation for a checkpoint */
     protected Animation<TextureRegion> checkpointActiveAnimation;
-    /** The rise atlas for a checkpoint */
-    protected TextureAtlas checkpointRiseAtlas;
     /** The rise animation for a checkpoint */
     protected Animation<TextureRegion> checkpointRiseAnimation;
 
@@ -295,12 +333,6 @@ public class ObjectController {
 
     // Backgrounds
     public TextureRegion levelBackground;
-    /** The texture for the lab background */
-    public TextureRegion labBgTexture;
-    /** The texture for the disco background */
-    public TextureRegion discoBgTexture;
-    /** The texture for the house background */
-    public TextureRegion houseBgTexture;
     /** The texture for the options button */
     public Texture optionsButton;
 
@@ -353,12 +385,8 @@ public class ObjectController {
     private TextureRegion synthIndicatorTexture;
     /** The texture for the genre indicator in Jazz mode */
     private TextureRegion jazzIndicatorTexture;
-    /** The synth genre atlas for the genre indicator */
-    public TextureAtlas synthCDAtlas;
     /** The synth animation for the genre indicator */
     private Animation<TextureRegion> synthCDAnimation;
-    /** The jazz genre atlas for the genre indicator */
-    public TextureAtlas jazzCDAtlas;
     /** The jazz animation for the genre indicator */
     private Animation<TextureRegion> jazzCDAnimation;
     /** The genre indicator UI */
@@ -367,18 +395,18 @@ public class ObjectController {
     public TextureRegion blackGradient;
 
     public TextureRegion victoryScreenBackground;
+    /** The victory screens of the current level, by name (see bindLevelScreens) */
     public HashMap<String, TextureRegion> victoryScreens = new HashMap<>();
+    /** The start screens of the current level, by name (see bindLevelScreens) */
     public HashMap<String, TextureRegion> startScreens = new HashMap<>();
 
     // HashMaps
+    /** The art of the current level, by the asset name used in Tiled (see getArt) */
     private HashMap<String, TextureRegion> assets = new HashMap<>();
-    private HashMap<String, TextureAtlas> animatedArtAtlas = new HashMap<>();
+    /** The animated art of the current level, by the asset name used in Tiled (see getAnimatedArt) */
     private HashMap<String, Animation<TextureRegion>> animatedArtAnimation = new HashMap<>();
-    // Tilesets
-    private HashMap<Integer, TextureRegion> wallsTileset = new HashMap<>();
-    private HashMap<Integer, TextureRegion> rabbeatTileset = new HashMap<>();
-    private HashMap<Integer, TextureRegion> discoTileset = new HashMap<>();
-    private HashMap<Integer, TextureRegion> houseTileset = new HashMap<>();
+    /** The regions of the wall tiles, read from the Tiled tileset files */
+    private TilesetRegistry tilesets;
 
     /** Reference to the goalDoor (for collision detection) */
     public BoxGameObject goalDoor;
@@ -396,106 +424,58 @@ public class ObjectController {
     // PLAYER ANIMATIONS
 
     // SYNTH
-    /** The synth genre idle atlas for the player */
-    public TextureAtlas synthIdleAtlas;
     /** The synth genre idle animation for the player */
     public Animation<TextureRegion> synthIdleAnimation;
-    /** The synth genre walking atlas for the player */
-    public TextureAtlas synthWalkAtlas;
     /** The synth genre walking animation for the player */
     public Animation<TextureRegion> synthWalkAnimation;
-    /** The synth genre jumping atlas for the player */
-    public TextureAtlas synthJumpAtlas;
     /** The synth genre jumping animation for the player */
     public Animation<TextureRegion> synthJumpAnimation;
-    /** The synth genre fall atlas for the player */
-    public TextureAtlas synthFallAtlas;
     /** The synth genre fall animation for the player */
     public Animation<TextureRegion> synthFallAnimation;
-    /** The synth genre death atlas for the player */
-    public TextureAtlas synthDeathAtlas;
     /** The synth genre death animation for the player */
     public Animation<TextureRegion> synthDeathAnimation;
 
     // JAZZ
-    /** The jazz genre idle atlas for the player */
-    public TextureAtlas jazzIdleAtlas;
     /** The jazz genre idle animation for the player */
     public Animation<TextureRegion> jazzIdleAnimation;
-    /** The jazz genre walking atlas for the player */
-    public TextureAtlas jazzWalkAtlas;
     /** The jazz genre walking animation for the player */
     public Animation<TextureRegion> jazzWalkAnimation;
-    /** The jazz genre jumping atlas for the player */
-    public TextureAtlas jazzJumpAtlas;
     /** The jazz genre jumping animation for the player */
     public Animation<TextureRegion> jazzJumpAnimation;
-    /** The jazz genre fall atlas for the player */
-    public TextureAtlas jazzFallAtlas;
     /** The jazz genre fall animation for the player */
     public Animation<TextureRegion> jazzFallAnimation;
-    /** The jazz genre death atlas for the player */
-    public TextureAtlas jazzDeathAtlas;
     /** The jazz genre death animation for the player */
     public Animation<TextureRegion> jazzDeathAnimation;
 
-    /** The transform atlas for the player */
-    public TextureAtlas transformAtlas;
     /** The transform animation for the player */
     public Animation<TextureRegion> transformAnimation;
 
     // ENEMY ANIMATIONS
-    /** The idle atlas for jazz bullets */
-    public TextureAtlas bulletJazzAtlas;
     /** The animation for jazz bullets */
     public Animation<TextureRegion> bulletJazzAnimation;
-    /** The idle atlas for synth bullets */
-    public TextureAtlas bulletSynthAtlas;
     /** The animation for synth bullets */
     public Animation<TextureRegion> bulletSynthAnimation;
-    /** The idle atlas for the bear enemy */
-    public TextureAtlas bearIdleAtlas;
     /** The idle animation for the bear enemy */
     public Animation<TextureRegion> bearIdleAnimation;
-    /** The anticipation atlas for the bear enemy */
-    public TextureAtlas bearAntiAtlas;
     /** The anticipation animation for the bear enemy */
     public Animation<TextureRegion> bearAntiAnimation;
-    /** The attack atlas for the bear enemy */
-    public TextureAtlas bearAttackAtlas;
     /** The attack animation for the bear enemy */
     public Animation<TextureRegion> bearAttackAnimation;
-    /** The idle atlas for the bat enemy */
-    public TextureAtlas batIdleAtlas;
     /** The idle animation for the bat enemy */
     public Animation<TextureRegion> batIdleAnimation;
-    /** The anticipation atlas for the bat enemy */
-    public TextureAtlas batAntiAtlas;
     /** The anticipation animation for the bat enemy */
     public Animation<TextureRegion> batAntiAnimation;
-    /** The attack atlas for the bat enemy */
-    public TextureAtlas batAttackAtlas;
     /** The attack animation for the bat enemy */
     public Animation<TextureRegion> batAttackAnimation;
-    /** The idle atlas for the bee enemy */
-    public TextureAtlas beeSynthAtlas;
-    /** The idle atlas for the bee enemy */
-    public TextureAtlas beeJazzAtlas;
     /** The idle animation for the bee enemy */
     public Animation<TextureRegion> beeSynthAnimation;
     /** The idle animation for the bee enemy */
     public Animation<TextureRegion> beeJazzAnimation;
-    /** The idle atlas for the beehive */
-    public TextureAtlas beehiveIdleAtlas;
     /** The idle animation for the beehive */
     public Animation<TextureRegion> beehiveIdleAnimation;
 
-    /** The idle atlas for the hedgehog enemy */
-    public TextureAtlas hedgehogIdleAtlas;
     /** The idle animation for the hedgehog enemy */
     public Animation<TextureRegion> hedgehogIdleAnimation;
-    /** The attack atlas for the hedgehog enemy */
-    public TextureAtlas hedgehogAttackAtlas;
     /** The attack animation for the hedgehog enemy */
     public Animation<TextureRegion> hedgehogAttackAnimation;
 
@@ -519,14 +499,94 @@ public class ObjectController {
      * Gather the assets for this controller.
      *
      * This method extracts the asset variables from the given asset directory. It
-     * should only be called after the asset directory is completed.
+     * should only be called after the asset directory is completed. The level file
+     * and its start and victory screens are looked up on every call, but the rest of
+     * the art is only bound the first time. The level itself is not read until
+     * populateObjects.
+     *
+     * The asset group of the current level must already be loaded.
      *
      * @param directory Reference to global asset manager.
      */
     public void gatherAssets(AssetDirectory directory) {
-        levelJson = directory.getEntry(GameController.getInstance().getCurrentLevel(), JsonValue.class);
-        tileSize = levelJson.getInt("tileheight");
+        gatherArt(directory);
+        bindLevelScreens(directory);
+    }
 
+    /**
+     * Gathers the art that every level and menu shares.
+     *
+     * This binds everything that gatherAssets does except the screens of the level,
+     * so it does not need the asset group of any level to be loaded.
+     *
+     * @param directory Reference to global asset manager.
+     */
+    public void gatherArt(AssetDirectory directory) {
+        defaultConstants = directory.getEntry("defaultConstants", JsonValue.class);
+        tileSize = defaultConstants.get("defaults").getInt("tile_size");
+        levelFile = defaultConstants.get("levels").getString(GameController.getInstance().getCurrentLevel());
+        artKeys = defaultConstants.get("art");
+        animatedArtAtlases = defaultConstants.get("animatedArt");
+        if (boundDirectory != directory) {
+            Array<String> previous = new Array<>(atlasReferences);
+            atlasReferences.clear();
+            bindArt(directory);
+            if (tilesets != null) {
+                tilesets.dispose();
+            }
+            tilesets = new TilesetRegistry(directory);
+            // Release the old references last, so shared atlases are not reloaded
+            for (String path : previous) {
+                AnimationLibrary.getInstance().release(path);
+            }
+            boundDirectory = directory;
+        }
+    }
+
+    /**
+     * Binds the start and victory screens of the current level.
+     *
+     * The screens of each level are named by the "screens" entry of the default
+     * constants. They belong to the asset group of the level, so only the screens of
+     * the current level are bound.
+     *
+     * @param directory Reference to global asset manager.
+     */
+    private void bindLevelScreens(AssetDirectory directory) {
+        victoryScreens.clear();
+        startScreens.clear();
+        JsonValue screens = defaultConstants.get("screens").get(GameController.getInstance().getCurrentLevel());
+        if (screens != null) {
+            bindScreens(directory, screens.get("start"), startScreens);
+            bindScreens(directory, screens.get("victory"), victoryScreens);
+        }
+    }
+
+    /**
+     * Binds each screen in a map of screen names to directory keys.
+     *
+     * @param directory Reference to global asset manager.
+     * @param keys      The directory key of each screen, by name (may be null)
+     * @param screens   The map to put the screens in
+     */
+    private void bindScreens(AssetDirectory directory, JsonValue keys, HashMap<String, TextureRegion> screens) {
+        if (keys == null) {
+            return;
+        }
+        for (JsonValue entry : keys) {
+            screens.put(entry.name(), new TextureRegion(directory.getEntry(entry.asString(), Texture.class)));
+        }
+    }
+
+    /**
+     * Binds the textures and animations that do not depend on the level.
+     *
+     * This is only done once per asset directory, as the controller is reused for
+     * every level. The animations come from the shared {@link AnimationLibrary}.
+     *
+     * @param directory Reference to global asset manager.
+     */
+    private void bindArt(AssetDirectory directory) {
         nextLevelText = new TextureRegion(directory.getEntry("ui:victory:nextLevelText", Texture.class));
         levelSelectText = new TextureRegion(directory.getEntry("ui:victory:levelSelectText", Texture.class));
         victoryLogo = new TextureRegion(directory.getEntry("ui:victory:victoryLogo", Texture.class));
@@ -616,32 +676,10 @@ public class ObjectController {
         creditsScreen = directory.getEntry("ui:credits:creditsScreen", Texture.class);
 
         victoryScreenBackground = new TextureRegion(directory.getEntry("ui:victoryScreen", Texture.class));
-        victoryScreens.put("level1VS-1", new TextureRegion(directory.getEntry("ui:lvl1VS-1", Texture.class)));
-        victoryScreens.put("level1VS-2", new TextureRegion(directory.getEntry("ui:lvl1VS-2", Texture.class)));
-        victoryScreens.put("level4VS", new TextureRegion(directory.getEntry("ui:lvl4VS", Texture.class)));
-        victoryScreens.put("level6VS", new TextureRegion(directory.getEntry("ui:lvl6VS", Texture.class)));
-        victoryScreens.put("level8VS", new TextureRegion(directory.getEntry("ui:lvl8VS", Texture.class)));
-        victoryScreens.put("level10VS", new TextureRegion(directory.getEntry("ui:lvl10VS", Texture.class)));
-        victoryScreens.put("level11VS", new TextureRegion(directory.getEntry("ui:lvl11VS", Texture.class)));
-        victoryScreens.put("level12VS-1", new TextureRegion(directory.getEntry("ui:lvl12VS-1", Texture.class)));
-        victoryScreens.put("level12VS-2", new TextureRegion(directory.getEntry("ui:lvl12VS-2", Texture.class)));
-        victoryScreens.put("level12VS-3", new TextureRegion(directory.getEntry("ui:lvl12VS-3", Texture.class)));
-        victoryScreens.put("level12VS-4", new TextureRegion(directory.getEntry("ui:lvl12VS-4", Texture.class)));
-        victoryScreens.put("level12VS-5", new TextureRegion(directory.getEntry("ui:lvl12VS-5", Texture.class)));
-
-        startScreens.put("lvl1Start-1", new TextureRegion(directory.getEntry("ui:lvl1Start-1", Texture.class)));
-        startScreens.put("lvl1Start-2", new TextureRegion(directory.getEntry("ui:lvl1Start-2", Texture.class)));
-        startScreens.put("lvl1Start-3", new TextureRegion(directory.getEntry("ui:lvl1Start-3", Texture.class)));
-        startScreens.put("lvl1Start-4", new TextureRegion(directory.getEntry("ui:lvl1Start-4", Texture.class)));
-        startScreens.put("lvl9Start-1", new TextureRegion(directory.getEntry("ui:lvl9Start-1", Texture.class)));
-        startScreens.put("lvl9Start-2", new TextureRegion(directory.getEntry("ui:lvl9Start-2", Texture.class)));
 
         levelSelectBackground = directory.getEntry("backgrounds:levelSelectBackground", Texture.class);
         blurredBackground = directory.getEntry("backgrounds:blurredBackground", Texture.class);
 
-        labBgTexture = new TextureRegion(directory.getEntry("backgrounds:labBg", Texture.class));
-        discoBgTexture = new TextureRegion(directory.getEntry("backgrounds:discoBg", Texture.class));
-        houseBgTexture = new TextureRegion(directory.getEntry("backgrounds:houseBg", Texture.class));
         pauseWhiteOverlayTexture = new TextureRegion(directory.getEntry("backgrounds:pauseTint", Texture.class));
         exitLevelTexture = new TextureRegion(directory.getEntry("ui:pause:exitLevel", Texture.class));
         hoverLowerSoundTexture = new TextureRegion(directory.getEntry("ui:pause:hoverLowerSound", Texture.class));
@@ -678,22 +716,14 @@ public class ObjectController {
         // Allocate genre indicator UI
         synthIndicatorTexture = new TextureRegion(directory.getEntry("ui:synthIndicator", Texture.class));
         jazzIndicatorTexture = new TextureRegion(directory.getEntry("ui:jazzIndicator", Texture.class));
-        synthCDAtlas = new TextureAtlas(Gdx.files.internal("ui/synthCD.atlas"));
-        synthCDAnimation = new Animation<TextureRegion>(1f, synthCDAtlas.findRegions("synthCD"),
-                Animation.PlayMode.LOOP);
-        jazzCDAtlas = new TextureAtlas(Gdx.files.internal("ui/jazzCD.atlas"));
-        jazzCDAnimation = new Animation<TextureRegion>(1f, jazzCDAtlas.findRegions("jazzCD"), Animation.PlayMode.LOOP);
+        synthCDAnimation = animation("ui/synthCD.atlas", "synthCD", 1f, Animation.PlayMode.LOOP);
+        jazzCDAnimation = animation("ui/jazzCD.atlas", "jazzCD", 1f, Animation.PlayMode.LOOP);
 
         // Bullet Animations
-        bulletJazzAtlas = new TextureAtlas(Gdx.files.internal("enemies/jazzBullet.atlas"));
-        bulletJazzAnimation = new Animation<TextureRegion>(1f, bulletJazzAtlas.findRegions("jazzBullet"),
-                Animation.PlayMode.LOOP);
-        bulletSynthAtlas = new TextureAtlas(Gdx.files.internal("enemies/synthBullet.atlas"));
-        bulletSynthAnimation = new Animation<TextureRegion>(1f, bulletSynthAtlas.findRegions("synthBullet"),
-                Animation.PlayMode.LOOP);
+        bulletJazzAnimation = animation("enemies/jazzBullet.atlas", "jazzBullet", 1f, Animation.PlayMode.LOOP);
+        bulletSynthAnimation = animation("enemies/synthBullet.atlas", "synthBullet", 1f, Animation.PlayMode.LOOP);
         blackGradient = new TextureRegion(directory.getEntry("ui:blackGradient", Texture.class));
 
-        defaultConstants = directory.getEntry("defaultConstants", JsonValue.class);
         synthSpeed = defaultConstants.get("player").get("max_speed").getFloat("synth");
         jazzSpeed = defaultConstants.get("player").get("max_speed").getFloat("jazz");
         synthDefaultTexture = new TextureRegion(directory.getEntry("player:synth", Texture.class));
@@ -702,100 +732,53 @@ public class ObjectController {
         // Allocating player animations
         // Synth
         // Note: For animations, frame durations must be 1 for AnimationSync to work
-        synthIdleAtlas = new TextureAtlas(Gdx.files.internal("player/synthIdle.atlas"));
-        synthIdleAnimation = new Animation<TextureRegion>(1f, synthIdleAtlas.findRegions("synthIdle"),
-                Animation.PlayMode.LOOP);
+        synthIdleAnimation = animation("player/synthIdle.atlas", "synthIdle", 1f, Animation.PlayMode.LOOP);
 
-        synthWalkAtlas = new TextureAtlas(Gdx.files.internal("player/synthWalk.atlas"));
-        synthWalkAnimation = new Animation<TextureRegion>(1f, synthWalkAtlas.findRegions("synthWalk"),
-                Animation.PlayMode.LOOP);
+        synthWalkAnimation = animation("player/synthWalk.atlas", "synthWalk", 1f, Animation.PlayMode.LOOP);
 
-        synthJumpAtlas = new TextureAtlas(Gdx.files.internal("player/synthJump.atlas"));
-        synthJumpAnimation = new Animation<TextureRegion>(1f, synthJumpAtlas.findRegions("synthJump"),
-                Animation.PlayMode.NORMAL);
+        synthJumpAnimation = animation("player/synthJump.atlas", "synthJump", 1f, Animation.PlayMode.NORMAL);
 
-        synthFallAtlas = new TextureAtlas(Gdx.files.internal("player/synthFall.atlas"));
-        synthFallAnimation = new Animation<TextureRegion>(1f, synthFallAtlas.findRegions("synthFall"),
-                Animation.PlayMode.LOOP);
+        synthFallAnimation = animation("player/synthFall.atlas", "synthFall", 1f, Animation.PlayMode.LOOP);
 
-        synthDeathAtlas = new TextureAtlas(Gdx.files.internal("player/synthDeath.atlas"));
-        synthDeathAnimation = new Animation<TextureRegion>(1f, synthDeathAtlas.findRegions("synthDeath"),
-                Animation.PlayMode.NORMAL);
+        synthDeathAnimation = animation("player/synthDeath.atlas", "synthDeath", 1f, Animation.PlayMode.NORMAL);
 
         // Jazz
-        jazzIdleAtlas = new TextureAtlas(Gdx.files.internal("player/jazzIdle.atlas"));
-        jazzIdleAnimation = new Animation<TextureRegion>(1f, jazzIdleAtlas.findRegions("jazzIdle"),
-                Animation.PlayMode.LOOP);
+        jazzIdleAnimation = animation("player/jazzIdle.atlas", "jazzIdle", 1f, Animation.PlayMode.LOOP);
 
-        jazzWalkAtlas = new TextureAtlas(Gdx.files.internal("player/jazzWalk.atlas"));
-        jazzWalkAnimation = new Animation<TextureRegion>(1f, jazzWalkAtlas.findRegions("jazzWalk"),
-                Animation.PlayMode.LOOP);
+        jazzWalkAnimation = animation("player/jazzWalk.atlas", "jazzWalk", 1f, Animation.PlayMode.LOOP);
 
-        jazzJumpAtlas = new TextureAtlas(Gdx.files.internal("player/jazzJump.atlas"));
-        jazzJumpAnimation = new Animation<TextureRegion>(1f, jazzJumpAtlas.findRegions("jazzJump"),
-                Animation.PlayMode.NORMAL);
+        jazzJumpAnimation = animation("player/jazzJump.atlas", "jazzJump", 1f, Animation.PlayMode.NORMAL);
 
-        jazzFallAtlas = new TextureAtlas(Gdx.files.internal("player/jazzFall.atlas"));
-        jazzFallAnimation = new Animation<TextureRegion>(1f, jazzFallAtlas.findRegions("jazzFall"),
-                Animation.PlayMode.LOOP);
+        jazzFallAnimation = animation("player/jazzFall.atlas", "jazzFall", 1f, Animation.PlayMode.LOOP);
 
-        jazzDeathAtlas = new TextureAtlas(Gdx.files.internal("player/jazzDeath.atlas"));
-        jazzDeathAnimation = new Animation<TextureRegion>(1f, jazzDeathAtlas.findRegions("jazzDeath"),
-                Animation.PlayMode.NORMAL);
+        jazzDeathAnimation = animation("player/jazzDeath.atlas", "jazzDeath", 1f, Animation.PlayMode.NORMAL);
 
         // Transform
-        transformAtlas = new TextureAtlas(Gdx.files.internal("player/transform.atlas"));
-        transformAnimation = new Animation<TextureRegion>(1f, transformAtlas.findRegions("transform"),
-                Animation.PlayMode.NORMAL);
+        transformAnimation = animation("player/transform.atlas", "transform", 1f, Animation.PlayMode.NORMAL);
 
         // Allocating enemy animations
         // Bear
-        bearIdleAtlas = new TextureAtlas(Gdx.files.internal("enemies/bearIdle.atlas"));
-        bearIdleAnimation = new Animation<TextureRegion>(1f, bearIdleAtlas.findRegions("bearIdle"),
-                Animation.PlayMode.LOOP);
-        bearAntiAtlas = new TextureAtlas(Gdx.files.internal("enemies/bearAnti.atlas"));
-        bearAntiAnimation = new Animation<TextureRegion>(1f, bearAntiAtlas.findRegions("bearAnti"),
-                Animation.PlayMode.LOOP);
-        bearAttackAtlas = new TextureAtlas(Gdx.files.internal("enemies/bearAttack.atlas"));
-        bearAttackAnimation = new Animation<TextureRegion>(1f, bearAttackAtlas.findRegions("bearAttack"),
-                Animation.PlayMode.LOOP);
+        bearIdleAnimation = animation("enemies/bearIdle.atlas", "bearIdle", 1f, Animation.PlayMode.LOOP);
+        bearAntiAnimation = animation("enemies/bearAnti.atlas", "bearAnti", 1f, Animation.PlayMode.LOOP);
+        bearAttackAnimation = animation("enemies/bearAttack.atlas", "bearAttack", 1f, Animation.PlayMode.LOOP);
         // Bat
-        batIdleAtlas = new TextureAtlas(Gdx.files.internal("enemies/batIdle.atlas"));
-        batIdleAnimation = new Animation<TextureRegion>(1f, batIdleAtlas.findRegions("batIdle"),
-                Animation.PlayMode.LOOP);
-        batAntiAtlas = new TextureAtlas(Gdx.files.internal("enemies/batAnti.atlas"));
-        batAntiAnimation = new Animation<TextureRegion>(1f, batAntiAtlas.findRegions("batAnti"),
-                Animation.PlayMode.LOOP);
-        batAttackAtlas = new TextureAtlas(Gdx.files.internal("enemies/batAttack.atlas"));
-        batAttackAnimation = new Animation<TextureRegion>(1f, batAttackAtlas.findRegions("batAttack"),
-                Animation.PlayMode.LOOP);
-        echoSynthAtlas = new TextureAtlas(Gdx.files.internal("enemies/synthWave.atlas"));
-        echoSynthAnimation = new Animation<TextureRegion>(1f, echoSynthAtlas.findRegions("synthWave"),
-                Animation.PlayMode.LOOP);
-        echoJazzAtlas = new TextureAtlas(Gdx.files.internal("enemies/jazzWave.atlas"));
-        echoJazzAnimation = new Animation<TextureRegion>(1f, echoJazzAtlas.findRegions("jazzWave"),
-                Animation.PlayMode.LOOP);
+        batIdleAnimation = animation("enemies/batIdle.atlas", "batIdle", 1f, Animation.PlayMode.LOOP);
+        batAntiAnimation = animation("enemies/batAnti.atlas", "batAnti", 1f, Animation.PlayMode.LOOP);
+        batAttackAnimation = animation("enemies/batAttack.atlas", "batAttack", 1f, Animation.PlayMode.LOOP);
+        echoSynthAnimation = animation("enemies/synthWave.atlas", "synthWave", 1f, Animation.PlayMode.LOOP);
+        echoJazzAnimation = animation("enemies/jazzWave.atlas", "jazzWave", 1f, Animation.PlayMode.LOOP);
         echoTexture = new TextureRegion(directory.getEntry("enemies:echoStill", Texture.class));
 
         // Bee
-        beeSynthAtlas = new TextureAtlas(Gdx.files.internal("enemies/beeSynth.atlas"));
-        beeSynthAnimation = new Animation<TextureRegion>(0.25f, beeSynthAtlas.findRegions("beeSynth"),
-                Animation.PlayMode.LOOP);
+        beeSynthAnimation = animation("enemies/beeSynth.atlas", "beeSynth", 0.25f, Animation.PlayMode.LOOP);
 
-        beeJazzAtlas = new TextureAtlas(Gdx.files.internal("enemies/beeJazz.atlas"));
-        beeJazzAnimation = new Animation<TextureRegion>(0.25f, beeJazzAtlas.findRegions("beeJazz"),
-                Animation.PlayMode.LOOP);
+        beeJazzAnimation = animation("enemies/beeJazz.atlas", "beeJazz", 0.25f, Animation.PlayMode.LOOP);
 
-        beehiveIdleAtlas = new TextureAtlas(Gdx.files.internal("enemies/beehiveIdle.atlas"));
-        beehiveIdleAnimation = new Animation<TextureRegion>(1, beehiveIdleAtlas.findRegions("beehiveIdle"),
-                Animation.PlayMode.LOOP);
+        beehiveIdleAnimation = animation("enemies/beehiveIdle.atlas", "beehiveIdle", 1, Animation.PlayMode.LOOP);
         // Hedgehog
-        hedgehogIdleAtlas = new TextureAtlas(Gdx.files.internal("enemies/bearIdle.atlas"));
-        hedgehogIdleAnimation = new Animation<TextureRegion>(5 / 3f, bearIdleAtlas.findRegions("bearIdle"),
-                Animation.PlayMode.LOOP);
-        hedgehogAttackAtlas = new TextureAtlas(Gdx.files.internal("enemies/hedgehogAttack.atlas"));
-        hedgehogAttackAnimation = new Animation<TextureRegion>(1.5f, hedgehogAttackAtlas.findRegions("hedgehogAttack"),
-                Animation.PlayMode.LOOP);
+        hedgehogIdleAnimation = animation("enemies/bearIdle.atlas", "bearIdle", 5 / 3f, Animation.PlayMode.LOOP);
+        hedgehogAttackAnimation = animation("enemies/hedgehogAttack.atlas",
+                "hedgehogAttack", 1.5f, Animation.PlayMode.LOOP);
 
         // Allocate the tiles
         blackTile = new TextureRegion(directory.getEntry("world:platforms:blackTile", Texture.class));
@@ -823,353 +806,156 @@ public class ObjectController {
         movingSynth = new TextureRegion((directory.getEntry("world:platforms:movingSynth", Texture.class)));
         movingJazz = new TextureRegion((directory.getEntry("world:platforms:movingJazz", Texture.class)));
 
-        assets.put("bearpod1", new TextureRegion(directory.getEntry("world:pods:bearpod1", Texture.class)));
-        assets.put("bearpod2", new TextureRegion(directory.getEntry("world:pods:bearpod2", Texture.class)));
-        assets.put("bgpod1", new TextureRegion(directory.getEntry("world:pods:bgpod1", Texture.class)));
-        assets.put("bgpod2", new TextureRegion(directory.getEntry("world:pods:bgpod2", Texture.class)));
-        assets.put("dolpod1", new TextureRegion(directory.getEntry("world:pods:dolpod1", Texture.class)));
-        assets.put("dolpod2", new TextureRegion(directory.getEntry("world:pods:dolpod2", Texture.class)));
-        assets.put("octpod1", new TextureRegion(directory.getEntry("world:pods:octpod1", Texture.class)));
-        assets.put("emptypod4", new TextureRegion(directory.getEntry("world:pods:emptypod4", Texture.class)));
-        assets.put("wolfpod1", new TextureRegion(directory.getEntry("world:pods:wolfpod1", Texture.class)));
-        assets.put("pod", new TextureRegion(directory.getEntry("world:pods:pod", Texture.class)));
-        assets.put("brokenPod", new TextureRegion(directory.getEntry("world:pods:brokenPod", Texture.class)));
-
-        assets.put("shelf1", new TextureRegion(directory.getEntry("world:shelves:shelf1", Texture.class)));
-        assets.put("shelf2", new TextureRegion(directory.getEntry("world:shelves:shelf2", Texture.class)));
-        assets.put("shelf3", new TextureRegion(directory.getEntry("world:shelves:shelf3", Texture.class)));
-        assets.put("shelf4", new TextureRegion(directory.getEntry("world:shelves:shelf4", Texture.class)));
-        assets.put("shelf5", new TextureRegion(directory.getEntry("world:shelves:shelf5", Texture.class)));
-
-        assets.put("pipeposter", new TextureRegion(directory.getEntry("world:pipes:pipeposter", Texture.class)));
-        assets.put("piperight", new TextureRegion(directory.getEntry("world:pipes:piperight", Texture.class)));
-        assets.put("piperightskinny",
-                new TextureRegion(directory.getEntry("world:pipes:piperightskinny", Texture.class)));
-        assets.put("pipestraight", new TextureRegion(directory.getEntry("world:pipes:pipestraight", Texture.class)));
-        assets.put("pipestraightskinny",
-                new TextureRegion(directory.getEntry("world:pipes:pipestraightskinny", Texture.class)));
-        assets.put("pipeleftskinny",
-                new TextureRegion(directory.getEntry("world:pipes:pipeleftskinny", Texture.class)));
-        assets.put("bgpipe", new TextureRegion(directory.getEntry("world:pipes:bgpipe", Texture.class)));
-        assets.put("bigpipe", new TextureRegion(directory.getEntry("world:pipes:bigpipe", Texture.class)));
-        assets.put("bigpipetv", new TextureRegion(directory.getEntry("world:pipes:bigpipetv", Texture.class)));
-
-        assets.put("bigwire", new TextureRegion(directory.getEntry("world:wires:bigwire", Texture.class)));
-        assets.put("wires1", new TextureRegion(directory.getEntry("world:wires:wires1", Texture.class)));
-        assets.put("wires2", new TextureRegion(directory.getEntry("world:wires:wires2", Texture.class)));
-        assets.put("goldWire_0", new TextureRegion(directory.getEntry("world:wires:goldWire_0", Texture.class)));
-        assets.put("goldWire_1", new TextureRegion(directory.getEntry("world:wires:goldWire_1", Texture.class)));
-
-        assets.put("grafiti_0", new TextureRegion(directory.getEntry("world:grafiti:grafiti_0", Texture.class)));
-        assets.put("caution_0", new TextureRegion(directory.getEntry("world:grafiti:caution_0", Texture.class)));
-
-        // Decals
-        assets.put("decal_0", new TextureRegion(directory.getEntry("world:decals:decal_0", Texture.class)));
-        assets.put("decal_1", new TextureRegion(directory.getEntry("world:decals:decal_1", Texture.class)));
-        assets.put("decal_2", new TextureRegion(directory.getEntry("world:decals:decal_2", Texture.class)));
-        assets.put("decal_3", new TextureRegion(directory.getEntry("world:decals:decal_3", Texture.class)));
-        assets.put("decal_4", new TextureRegion(directory.getEntry("world:decals:decal_4", Texture.class)));
-        assets.put("decal_5", new TextureRegion(directory.getEntry("world:decals:decal_5", Texture.class)));
-        assets.put("decal_6", new TextureRegion(directory.getEntry("world:decals:decal_6", Texture.class)));
-        assets.put("decal_7", new TextureRegion(directory.getEntry("world:decals:decal_7", Texture.class)));
-        assets.put("decal_8", new TextureRegion(directory.getEntry("world:decals:decal_8", Texture.class)));
-        assets.put("decal_9", new TextureRegion(directory.getEntry("world:decals:decal_9", Texture.class)));
-        assets.put("decal_10", new TextureRegion(directory.getEntry("world:decals:decal_10", Texture.class)));
-        assets.put("discoDecal_0", new TextureRegion(directory.getEntry("world:decals:discoDecal_0", Texture.class)));
-        assets.put("discoDecal_1", new TextureRegion(directory.getEntry("world:decals:discoDecal_1", Texture.class)));
-        assets.put("discoDecal_2", new TextureRegion(directory.getEntry("world:decals:discoDecal_2", Texture.class)));
-        assets.put("discoDecal_3", new TextureRegion(directory.getEntry("world:decals:discoDecal_3", Texture.class)));
-
-        // Cracks
-        assets.put("crack_0", new TextureRegion(directory.getEntry("world:cracks:crack_0", Texture.class)));
-        assets.put("crack_1", new TextureRegion(directory.getEntry("world:cracks:crack_1", Texture.class)));
-        assets.put("crack_2", new TextureRegion(directory.getEntry("world:cracks:crack_2", Texture.class)));
-        assets.put("crack_3", new TextureRegion(directory.getEntry("world:cracks:crack_3", Texture.class)));
-        assets.put("crack_4", new TextureRegion(directory.getEntry("world:cracks:crack_4", Texture.class)));
-        assets.put("crack_5", new TextureRegion(directory.getEntry("world:cracks:crack_5", Texture.class)));
-        assets.put("crack_6", new TextureRegion(directory.getEntry("world:cracks:crack_6", Texture.class)));
-        assets.put("crack_7", new TextureRegion(directory.getEntry("world:cracks:crack_7", Texture.class)));
-        assets.put("crack_8", new TextureRegion(directory.getEntry("world:cracks:crack_8", Texture.class)));
-
-        // Spots
-        assets.put("spot_0", new TextureRegion(directory.getEntry("world:spots:spot_0", Texture.class)));
-        assets.put("spot_1", new TextureRegion(directory.getEntry("world:spots:spot_1", Texture.class)));
-        assets.put("spot_2", new TextureRegion(directory.getEntry("world:spots:spot_2", Texture.class)));
-        assets.put("spot_3", new TextureRegion(directory.getEntry("world:spots:spot_3", Texture.class)));
-        assets.put("spot_4", new TextureRegion(directory.getEntry("world:spots:spot_4", Texture.class)));
-        assets.put("spot_5", new TextureRegion(directory.getEntry("world:spots:spot_5", Texture.class)));
-        assets.put("spot_6", new TextureRegion(directory.getEntry("world:spots:spot_6", Texture.class)));
-        assets.put("spot_7", new TextureRegion(directory.getEntry("world:spots:spot_7", Texture.class)));
-        assets.put("texture_0", new TextureRegion(directory.getEntry("world:spots:texture_0", Texture.class)));
-        assets.put("texture_1", new TextureRegion(directory.getEntry("world:spots:texture_1", Texture.class)));
-        assets.put("laserOverlay", new TextureRegion(directory.getEntry("world:laserOverlay", Texture.class)));
-        assets.put("laserGlow", new TextureRegion(directory.getEntry("world:laserGlow", Texture.class)));
-
-        // Signs
-        assets.put("pole_0", new TextureRegion(directory.getEntry("world:signs:pole_0", Texture.class)));
-        assets.put("pole_1", new TextureRegion(directory.getEntry("world:signs:pole_1", Texture.class)));
-        assets.put("pole_2", new TextureRegion(directory.getEntry("world:signs:pole_2", Texture.class)));
-        assets.put("stop_0", new TextureRegion(directory.getEntry("world:signs:stop_0", Texture.class)));
-        assets.put("stop_1", new TextureRegion(directory.getEntry("world:signs:stop_1", Texture.class)));
-        assets.put("stop_2", new TextureRegion(directory.getEntry("world:signs:stop_2", Texture.class)));
-        assets.put("stop_3", new TextureRegion(directory.getEntry("world:signs:stop_3", Texture.class)));
-        assets.put("yield_0", new TextureRegion(directory.getEntry("world:signs:yield_0", Texture.class)));
-        assets.put("yield_1", new TextureRegion(directory.getEntry("world:signs:yield_1", Texture.class)));
-        assets.put("dead_0", new TextureRegion(directory.getEntry("world:signs:dead_0", Texture.class)));
-        assets.put("dead_1", new TextureRegion(directory.getEntry("world:signs:dead_1", Texture.class)));
-        assets.put("dead_2", new TextureRegion(directory.getEntry("world:signs:dead_2", Texture.class)));
-        assets.put("exit_0", new TextureRegion(directory.getEntry("world:signs:exit_0", Texture.class)));
-
-        // Tutorial UI
-        assets.put("arrowLeft", new TextureRegion(directory.getEntry("world:tutorial:arrowLeft", Texture.class)));
-        assets.put("arrowUp", new TextureRegion(directory.getEntry("world:tutorial:arrowUp", Texture.class)));
-        assets.put("arrowRight", new TextureRegion(directory.getEntry("world:tutorial:arrowRight", Texture.class)));
-        assets.put("shift", new TextureRegion(directory.getEntry("world:tutorial:shift", Texture.class)));
-        assets.put("tutorialText1",
-                new TextureRegion(directory.getEntry("world:tutorial:tutorialText1", Texture.class)));
-        assets.put("tutorialText2",
-                new TextureRegion(directory.getEntry("world:tutorial:tutorialText2", Texture.class)));
-        assets.put("tutorialText3",
-                new TextureRegion(directory.getEntry("world:tutorial:tutorialText3", Texture.class)));
-        assets.put("tutorialText4",
-                new TextureRegion(directory.getEntry("world:tutorial:tutorialText4", Texture.class)));
-        assets.put("tutorialText5",
-                new TextureRegion(directory.getEntry("world:tutorial:tutorialText5", Texture.class)));
-        assets.put("tutorialText6",
-                new TextureRegion(directory.getEntry("world:tutorial:tutorialText6", Texture.class)));
-        assets.put("tutorialText7",
-                new TextureRegion(directory.getEntry("world:tutorial:tutorialText7", Texture.class)));
-        assets.put("tutorialText8",
-                new TextureRegion(directory.getEntry("world:tutorial:tutorialText8", Texture.class)));
-
-        // Speakers
-        assets.put("speaker_0", new TextureRegion(directory.getEntry("world:speakers:speaker_0", Texture.class)));
-        assets.put("speaker_1", new TextureRegion(directory.getEntry("world:speakers:speaker_1", Texture.class)));
-        assets.put("speaker_2", new TextureRegion(directory.getEntry("world:speakers:speaker_2", Texture.class)));
-        assets.put("speaker_3", new TextureRegion(directory.getEntry("world:speakers:speaker_3", Texture.class)));
-        assets.put("speaker_4", new TextureRegion(directory.getEntry("world:speakers:speaker_4", Texture.class)));
-        assets.put("speaker_5", new TextureRegion(directory.getEntry("world:speakers:speaker_5", Texture.class)));
-        assets.put("speaker_6", new TextureRegion(directory.getEntry("world:speakers:speaker_6", Texture.class)));
-
-        // Lights
-        assets.put("light", new TextureRegion(directory.getEntry("world:lights:light", Texture.class)));
-        assets.put("spotlight_0", new TextureRegion(directory.getEntry("world:lights:spotlight_0", Texture.class)));
-        assets.put("spotlight_1", new TextureRegion(directory.getEntry("world:lights:spotlight_1", Texture.class)));
-        assets.put("spotlight_2", new TextureRegion(directory.getEntry("world:lights:spotlight_2", Texture.class)));
-        assets.put("spotlight_3", new TextureRegion(directory.getEntry("world:lights:spotlight_3", Texture.class)));
-        assets.put("spotlight_4", new TextureRegion(directory.getEntry("world:lights:spotlight_4", Texture.class)));
-        assets.put("spotlight_5", new TextureRegion(directory.getEntry("world:lights:spotlight_5", Texture.class)));
-        assets.put("spotlight_6", new TextureRegion(directory.getEntry("world:lights:spotlight_6", Texture.class)));
-        assets.put("spotlight_7", new TextureRegion(directory.getEntry("world:lights:spotlight_7", Texture.class)));
-        assets.put("showlight_0", new TextureRegion(directory.getEntry("world:lights:showlight_0", Texture.class)));
-        assets.put("showlight_1", new TextureRegion(directory.getEntry("world:lights:showlight_1", Texture.class)));
-        assets.put("showlight_2", new TextureRegion(directory.getEntry("world:lights:showlight_2", Texture.class)));
-        assets.put("showlight_3", new TextureRegion(directory.getEntry("world:lights:showlight_3", Texture.class)));
-        assets.put("showlight_4", new TextureRegion(directory.getEntry("world:lights:showlight_4", Texture.class)));
-        assets.put("barLight", new TextureRegion(directory.getEntry("world:lights:barLight", Texture.class)));
-        assets.put("barLightGlow", new TextureRegion(directory.getEntry("world:lights:barLightGlow", Texture.class)));
-
-        // Neon Lights
-        assets.put("neon_0", new TextureRegion(directory.getEntry("world:neonLights:neon_0", Texture.class)));
-        assets.put("neon_1", new TextureRegion(directory.getEntry("world:neonLights:neon_1", Texture.class)));
-        assets.put("neon_2", new TextureRegion(directory.getEntry("world:neonLights:neon_2", Texture.class)));
-        assets.put("neon_3", new TextureRegion(directory.getEntry("world:neonLights:neon_3", Texture.class)));
-        assets.put("neon_4", new TextureRegion(directory.getEntry("world:neonLights:neon_4", Texture.class)));
-        assets.put("neon_5", new TextureRegion(directory.getEntry("world:neonLights:neon_5", Texture.class)));
-        assets.put("neon_6", new TextureRegion(directory.getEntry("world:neonLights:neon_6", Texture.class)));
-        assets.put("neon_7", new TextureRegion(directory.getEntry("world:neonLights:neon_7", Texture.class)));
-        assets.put("neon_8", new TextureRegion(directory.getEntry("world:neonLights:neon_8", Texture.class)));
-        assets.put("neon_9", new TextureRegion(directory.getEntry("world:neonLights:neon_9", Texture.class)));
-        assets.put("neon_10", new TextureRegion(directory.getEntry("world:neonLights:neon_10", Texture.class)));
-        assets.put("neon_11", new TextureRegion(directory.getEntry("world:neonLights:neon_11", Texture.class)));
-
-        // Lights
-        assets.put("arrow_0", new TextureRegion(directory.getEntry("world:arrows:arrow_0", Texture.class)));
-        assets.put("arrow_1", new TextureRegion(directory.getEntry("world:arrows:arrow_1", Texture.class)));
-        assets.put("arrow_2", new TextureRegion(directory.getEntry("world:arrows:arrow_2", Texture.class)));
-        assets.put("arrow_3", new TextureRegion(directory.getEntry("world:arrows:arrow_3", Texture.class)));
-        assets.put("arrow_4", new TextureRegion(directory.getEntry("world:arrows:arrow_4", Texture.class)));
-        assets.put("arrow_5", new TextureRegion(directory.getEntry("world:arrows:arrow_5", Texture.class)));
-        assets.put("arrow_6", new TextureRegion(directory.getEntry("world:arrows:arrow_6", Texture.class)));
-        assets.put("arrow_7", new TextureRegion(directory.getEntry("world:arrows:arrow_7", Texture.class)));
-        assets.put("arrow_8", new TextureRegion(directory.getEntry("world:arrows:arrow_8", Texture.class)));
-        assets.put("arrow_9", new TextureRegion(directory.getEntry("world:arrows:arrow_9", Texture.class)));
-        assets.put("arrow_10", new TextureRegion(directory.getEntry("world:arrows:arrow_10", Texture.class)));
-        assets.put("arrow_11", new TextureRegion(directory.getEntry("world:arrows:arrow_11", Texture.class)));
-        assets.put("arrow_12", new TextureRegion(directory.getEntry("world:arrows:arrow_12", Texture.class)));
-        assets.put("arrow_13", new TextureRegion(directory.getEntry("world:arrows:arrow_13", Texture.class)));
-        assets.put("arrow_14", new TextureRegion(directory.getEntry("world:arrows:arrow_14", Texture.class)));
-        assets.put("arrow_15", new TextureRegion(directory.getEntry("world:arrows:arrow_15", Texture.class)));
-
-        // Bar
-        assets.put("bar_0", new TextureRegion(directory.getEntry("world:bar:bar_0", Texture.class)));
-        assets.put("bar_1", new TextureRegion(directory.getEntry("world:bar:bar_1", Texture.class)));
-        assets.put("bar_2", new TextureRegion(directory.getEntry("world:bar:bar_2", Texture.class)));
-        assets.put("bar_3", new TextureRegion(directory.getEntry("world:bar:bar_3", Texture.class)));
-        assets.put("bar_4", new TextureRegion(directory.getEntry("world:bar:bar_4", Texture.class)));
-        assets.put("bar_5", new TextureRegion(directory.getEntry("world:bar:bar_5", Texture.class)));
-        assets.put("bar_6", new TextureRegion(directory.getEntry("world:bar:bar_6", Texture.class)));
-        assets.put("barNeon_0", new TextureRegion(directory.getEntry("world:bar:barNeon_0", Texture.class)));
-        assets.put("barNeon_1", new TextureRegion(directory.getEntry("world:bar:barNeon_1", Texture.class)));
-
-        // Other
-        assets.put("tv", new TextureRegion(directory.getEntry("world:other:tv", Texture.class)));
-        assets.put("tvs", new TextureRegion(directory.getEntry("world:other:tvs", Texture.class)));
-        assets.put("cam_0", new TextureRegion(directory.getEntry("world:other:cam_0", Texture.class)));
-        assets.put("cam_1", new TextureRegion(directory.getEntry("world:other:cam_1", Texture.class)));
-        assets.put("cam_2", new TextureRegion(directory.getEntry("world:other:cam_2", Texture.class)));
-        assets.put("fan_0", new TextureRegion(directory.getEntry("world:other:fan_0", Texture.class)));
-        assets.put("fan_1", new TextureRegion(directory.getEntry("world:other:fan_1", Texture.class)));
-        assets.put("windows_0", new TextureRegion(directory.getEntry("world:other:windows_0", Texture.class)));
-        assets.put("windows_1", new TextureRegion(directory.getEntry("world:other:windows_1", Texture.class)));
-        assets.put("windows_2", new TextureRegion(directory.getEntry("world:other:windows_2", Texture.class)));
-        assets.put("ceilingCamera", new TextureRegion(directory.getEntry("world:other:ceilingCamera", Texture.class)));
-        assets.put("trash_0", new TextureRegion(directory.getEntry("world:other:trash_0", Texture.class)));
-        assets.put("trash_1", new TextureRegion(directory.getEntry("world:other:trash_1", Texture.class)));
-        assets.put("trash_2", new TextureRegion(directory.getEntry("world:other:trash_2", Texture.class)));
-        assets.put("trash_3", new TextureRegion(directory.getEntry("world:other:trash_3", Texture.class)));
-        assets.put("discoBall_0", new TextureRegion(directory.getEntry("world:other:discoBall_0", Texture.class)));
-        assets.put("discoBall_1", new TextureRegion(directory.getEntry("world:other:discoBall_1", Texture.class)));
-        assets.put("cup_0", new TextureRegion(directory.getEntry("world:other:cup_0", Texture.class)));
-        assets.put("cup_1", new TextureRegion(directory.getEntry("world:other:cup_1", Texture.class)));
-        assets.put("cup_2", new TextureRegion(directory.getEntry("world:other:cup_2", Texture.class)));
-        assets.put("boombox", new TextureRegion(directory.getEntry("world:other:boombox", Texture.class)));
-        assets.put("mic", new TextureRegion(directory.getEntry("world:other:mic", Texture.class)));
-        assets.put("trophy_0", new TextureRegion(directory.getEntry("world:other:trophy_0", Texture.class)));
-        assets.put("trophy_1", new TextureRegion(directory.getEntry("world:other:trophy_1", Texture.class)));
-        assets.put("vinyl_0", new TextureRegion(directory.getEntry("world:other:vinyl_0", Texture.class)));
-        assets.put("vinyl_1", new TextureRegion(directory.getEntry("world:other:vinyl_1", Texture.class)));
-        assets.put("vinyl_2", new TextureRegion(directory.getEntry("world:other:vinyl_2", Texture.class)));
-        assets.put("vinyl_3", new TextureRegion(directory.getEntry("world:other:vinyl_3", Texture.class)));
-        assets.put("vinyl_4", new TextureRegion(directory.getEntry("world:other:vinyl_4", Texture.class)));
-        assets.put("vinyl_5", new TextureRegion(directory.getEntry("world:other:vinyl_5", Texture.class)));
-        assets.put("vinyl_6", new TextureRegion(directory.getEntry("world:other:vinyl_6", Texture.class)));
-        assets.put("vinyl_7", new TextureRegion(directory.getEntry("world:other:vinyl_7", Texture.class)));
-        assets.put("vinyl_8", new TextureRegion(directory.getEntry("world:other:vinyl_8", Texture.class)));
-        assets.put("vinyl_9", new TextureRegion(directory.getEntry("world:other:vinyl_9", Texture.class)));
-        assets.put("vinyl_10", new TextureRegion(directory.getEntry("world:other:vinyl_10", Texture.class)));
-        assets.put("vinyl_11", new TextureRegion(directory.getEntry("world:other:vinyl_11", Texture.class)));
-        assets.put("album_0", new TextureRegion(directory.getEntry("world:other:album_0", Texture.class)));
-        assets.put("album_1", new TextureRegion(directory.getEntry("world:other:album_1", Texture.class)));
-        assets.put("album_2", new TextureRegion(directory.getEntry("world:other:album_2", Texture.class)));
-        assets.put("album_3", new TextureRegion(directory.getEntry("world:other:album_3", Texture.class)));
-        assets.put("chand_0", new TextureRegion(directory.getEntry("world:other:chand_0", Texture.class)));
-        assets.put("chand_1", new TextureRegion(directory.getEntry("world:other:chand_1", Texture.class)));
-        assets.put("jazzDeath", new TextureRegion(directory.getEntry("world:other:jazzDeath", Texture.class)));
-        assets.put("couch_0", new TextureRegion(directory.getEntry("world:other:couch_0", Texture.class)));
-        assets.put("plant_0", new TextureRegion(directory.getEntry("world:other:plant_0", Texture.class)));
-        assets.put("plant_1", new TextureRegion(directory.getEntry("world:other:plant_1", Texture.class)));
-        assets.put("houseWindow", new TextureRegion(directory.getEntry("world:other:houseWindow", Texture.class)));
-        assets.put("toxic_0", new TextureRegion(directory.getEntry("world:other:toxic_0", Texture.class)));
-        assets.put("toxic_1", new TextureRegion(directory.getEntry("world:other:toxic_1", Texture.class)));
-        assets.put("toxic_2", new TextureRegion(directory.getEntry("world:other:toxic_2", Texture.class)));
-        assets.put("barricade", new TextureRegion(directory.getEntry("world:other:barricade", Texture.class)));
-        assets.put("hydrant", new TextureRegion(directory.getEntry("world:other:hydrant", Texture.class)));
-
-        // Animated art
-        animatedArtAtlas.put("sparkle", new TextureAtlas(Gdx.files.internal("world/animatedArt/sparkle.atlas")));
-        animatedArtAnimation.put("sparkle", new Animation<TextureRegion>(1f,
-                animatedArtAtlas.get("sparkle").findRegions("sparkle"), Animation.PlayMode.LOOP));
-        animatedArtAtlas.put("sparkleTwo", new TextureAtlas(Gdx.files.internal("world/animatedArt/sparkleTwo.atlas")));
-        animatedArtAnimation.put("sparkleTwo", new Animation<TextureRegion>(1f,
-                animatedArtAtlas.get("sparkleTwo").findRegions("sparkleTwo"), Animation.PlayMode.LOOP));
-        animatedArtAtlas.put("laser", new TextureAtlas(Gdx.files.internal("world/animatedArt/laser.atlas")));
-        animatedArtAnimation.put("laser", new Animation<TextureRegion>(1f,
-                animatedArtAtlas.get("laser").findRegions("laser"), Animation.PlayMode.LOOP));
-        animatedArtAtlas.put("smallPod", new TextureAtlas(Gdx.files.internal("world/animatedArt/smallPod.atlas")));
-        animatedArtAnimation.put("smallPod", new Animation<TextureRegion>(1f,
-                animatedArtAtlas.get("smallPod").findRegions("smallPod"), Animation.PlayMode.LOOP));
-        animatedArtAtlas.put("houseWindow", new TextureAtlas(Gdx.files.internal("world/animatedArt/houseWindow.atlas")));
-        animatedArtAnimation.put("houseWindow", new Animation<TextureRegion>(1f,
-                animatedArtAtlas.get("houseWindow").findRegions("houseWindow"), Animation.PlayMode.LOOP));
-
-        // Tilesets
-        wallsTileset.put(0, new TextureRegion(directory.getEntry("world:tilesets:wallsTileset:0", Texture.class)));
-        wallsTileset.put(1, new TextureRegion(directory.getEntry("world:tilesets:wallsTileset:1", Texture.class)));
-        wallsTileset.put(2, new TextureRegion(directory.getEntry("world:tilesets:wallsTileset:2", Texture.class)));
-        wallsTileset.put(3, new TextureRegion(directory.getEntry("world:tilesets:wallsTileset:3", Texture.class)));
-        wallsTileset.put(4, new TextureRegion(directory.getEntry("world:tilesets:wallsTileset:4", Texture.class)));
-        wallsTileset.put(5, new TextureRegion(directory.getEntry("world:tilesets:wallsTileset:5", Texture.class)));
-        wallsTileset.put(6, new TextureRegion(directory.getEntry("world:tilesets:wallsTileset:6", Texture.class)));
-        wallsTileset.put(7, new TextureRegion(directory.getEntry("world:tilesets:wallsTileset:7", Texture.class)));
-        wallsTileset.put(8, new TextureRegion(directory.getEntry("world:tilesets:wallsTileset:8", Texture.class)));
-        wallsTileset.put(9, new TextureRegion(directory.getEntry("world:tilesets:wallsTileset:9", Texture.class)));
-        wallsTileset.put(10, new TextureRegion(directory.getEntry("world:tilesets:wallsTileset:10", Texture.class)));
-        wallsTileset.put(11, new TextureRegion(directory.getEntry("world:tilesets:wallsTileset:11", Texture.class)));
-
-        rabbeatTileset.put(0, new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:0", Texture.class)));
-        rabbeatTileset.put(1, new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:1", Texture.class)));
-        rabbeatTileset.put(2, new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:2", Texture.class)));
-        rabbeatTileset.put(3, new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:3", Texture.class)));
-        rabbeatTileset.put(4, new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:4", Texture.class)));
-        rabbeatTileset.put(5, new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:5", Texture.class)));
-        rabbeatTileset.put(6, new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:6", Texture.class)));
-        rabbeatTileset.put(7, new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:7", Texture.class)));
-        rabbeatTileset.put(8, new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:8", Texture.class)));
-        rabbeatTileset.put(9, new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:9", Texture.class)));
-        rabbeatTileset.put(10,
-                new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:10", Texture.class)));
-        rabbeatTileset.put(11,
-                new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:11", Texture.class)));
-        rabbeatTileset.put(12,
-                new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:12", Texture.class)));
-        rabbeatTileset.put(13,
-                new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:13", Texture.class)));
-        rabbeatTileset.put(14,
-                new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:14", Texture.class)));
-        rabbeatTileset.put(15,
-                new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:15", Texture.class)));
-        rabbeatTileset.put(16,
-                new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:16", Texture.class)));
-        rabbeatTileset.put(17,
-                new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:17", Texture.class)));
-        rabbeatTileset.put(18,
-                new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:18", Texture.class)));
-        rabbeatTileset.put(19,
-                new TextureRegion(directory.getEntry("world:tilesets:rabbeatTileset:19", Texture.class)));
-
-        discoTileset.put(0, new TextureRegion(directory.getEntry("world:tilesets:discoTileset:0", Texture.class)));
-        discoTileset.put(1, new TextureRegion(directory.getEntry("world:tilesets:discoTileset:1", Texture.class)));
-        discoTileset.put(2, new TextureRegion(directory.getEntry("world:tilesets:discoTileset:2", Texture.class)));
-        discoTileset.put(3, new TextureRegion(directory.getEntry("world:tilesets:discoTileset:3", Texture.class)));
-        discoTileset.put(4, new TextureRegion(directory.getEntry("world:tilesets:discoTileset:4", Texture.class)));
-
-        houseTileset.put(0, new TextureRegion(directory.getEntry("world:tilesets:houseTileset:0", Texture.class)));
-        houseTileset.put(1, new TextureRegion(directory.getEntry("world:tilesets:houseTileset:1", Texture.class)));
-        houseTileset.put(2, new TextureRegion(directory.getEntry("world:tilesets:houseTileset:2", Texture.class)));
-        houseTileset.put(3, new TextureRegion(directory.getEntry("world:tilesets:houseTileset:3", Texture.class)));
-        houseTileset.put(4, new TextureRegion(directory.getEntry("world:tilesets:houseTileset:4", Texture.class)));
-        houseTileset.put(5, new TextureRegion(directory.getEntry("world:tilesets:houseTileset:5", Texture.class)));
-        houseTileset.put(6, new TextureRegion(directory.getEntry("world:tilesets:houseTileset:6", Texture.class)));
-        houseTileset.put(7, new TextureRegion(directory.getEntry("world:tilesets:houseTileset:7", Texture.class)));
-        houseTileset.put(8, new TextureRegion(directory.getEntry("world:tilesets:houseTileset:8", Texture.class)));
-        houseTileset.put(9, new TextureRegion(directory.getEntry("world:tilesets:houseTileset:9", Texture.class)));
-        houseTileset.put(10, new TextureRegion(directory.getEntry("world:tilesets:houseTileset:10", Texture.class)));
-        houseTileset.put(11, new TextureRegion(directory.getEntry("world:tilesets:houseTileset:11", Texture.class)));
-        houseTileset.put(12, new TextureRegion(directory.getEntry("world:tilesets:houseTileset:12", Texture.class)));
-        houseTileset.put(13, new TextureRegion(directory.getEntry("world:tilesets:houseTileset:13", Texture.class)));
-        houseTileset.put(14, new TextureRegion(directory.getEntry("world:tilesets:houseTileset:14", Texture.class)));
-
         bulletTexture = new TextureRegion(directory.getEntry("world:bullet", Texture.class));
         checkpointTexture = new TextureRegion(directory.getEntry("world:checkpoints:checkpointTile", Texture.class));
         goalTile = new TextureRegion(directory.getEntry("world:goal", Texture.class));
         displayFont = directory.getEntry("fonts:retro", BitmapFont.class);
 
         // Checkpoint
-        checkpointInactiveAtlas = new TextureAtlas(Gdx.files.internal("world/checkpoints/checkpointInactive.atlas"));
-        checkpointInactiveAnimation = new Animation<TextureRegion>(1f,
-                checkpointInactiveAtlas.findRegions("checkpointInactive"), Animation.PlayMode.LOOP);
-        checkpointActiveAtlas = new TextureAtlas(Gdx.files.internal("world/checkpoints/checkpointActive.atlas"));
-        checkpointActiveAnimation = new Animation<TextureRegion>(1f,
-                checkpointActiveAtlas.findRegions("checkpointActive"), Animation.PlayMode.LOOP);
-        checkpointRiseAtlas = new TextureAtlas(Gdx.files.internal("world/checkpoints/checkpointRise.atlas"));
-        checkpointRiseAnimation = new Animation<TextureRegion>(1f, checkpointRiseAtlas.findRegions("checkpointRise"),
-                Animation.PlayMode.LOOP);
+        checkpointInactiveAnimation = animation("world/checkpoints/checkpointInactive.atlas",
+                "checkpointInactive", 1f, Animation.PlayMode.LOOP);
+        checkpointActiveAnimation = animation("world/checkpoints/checkpointActive.atlas",
+                "checkpointActive", 1f, Animation.PlayMode.LOOP);
+        checkpointRiseAnimation = animation("world/checkpoints/checkpointRise.atlas",
+                "checkpointRise", 1f, Animation.PlayMode.LOOP);
+    }
+
+    /**
+     * Returns a shared animation from the animation library, keeping a reference to its atlas.
+     *
+     * @param path          The internal file path of the atlas
+     * @param region        The name of the regions in the atlas
+     * @param frameDuration The time between frames in seconds
+     * @param playMode      The play mode of the animation
+     *
+     * @return the shared animation
+     */
+    private Animation<TextureRegion> animation(String path, String region, float frameDuration,
+            PlayMode playMode) {
+        atlasReferences.add(path);
+        return AnimationLibrary.getInstance().getAnimation(path, region, frameDuration, playMode);
+    }
+
+    /**
+     * Returns the art with the given asset name, as used in Tiled.
+     *
+     * The names are mapped to directory keys by the "art" entry of the default
+     * constants. The texture is only looked up the first time it is used in a level,
+     * as it belongs to the asset group of the level, which is not loaded until then.
+     * Most art is packed into shared pages by the asset directory, and so is a region
+     * rather than a texture of its own.
+     *
+     * @param name The asset name of the art
+     *
+     * @return the art with the given asset name, or null if there is none
+     */
+    private TextureRegion getArt(String name) {
+        TextureRegion region = assets.get(name);
+        if (region == null && artKeys.has(name)) {
+            String key = artKeys.getString(name);
+            TextureRegion packed = boundDirectory.getEntry(key, TextureRegion.class);
+            if (packed != null) {
+                region = new TextureRegion(packed);
+            } else {
+                region = new TextureRegion(boundDirectory.getEntry(key, Texture.class));
+            }
+            assets.put(name, region);
+        }
+        return region;
+    }
+
+    /**
+     * Returns the animated art with the given asset name, as used in Tiled.
+     *
+     * The names are mapped to atlases by the "animatedArt" entry of the default
+     * constants. The atlas is referenced until the next level is populated, so only
+     * the atlases of the current level stay in memory.
+     *
+     * @param name The asset name of the animated art
+     *
+     * @return the animated art with the given asset name, or null if there is none
+     */
+    private Animation<TextureRegion> getAnimatedArt(String name) {
+        Animation<TextureRegion> animation = animatedArtAnimation.get(name);
+        if (animation == null && animatedArtAtlases.has(name)) {
+            String path = animatedArtAtlases.getString(name);
+            levelAtlasReferences.add(path);
+            animation = AnimationLibrary.getInstance().getAnimation(path, name, 1f, PlayMode.LOOP);
+            animatedArtAnimation.put(name, animation);
+        }
+        return animation;
+    }
+
+    /**
+     * Removes every object of the current level, so that another level can be populated.
+     *
+     * The bodies are destroyed in the given world, but the world itself is not disposed.
+     * The bound art is kept.
+     *
+     * @param world The Box2D world the objects were created in
+     */
+    public void clearLevel(World world) {
+        for (GameObject obj : objects) {
+            obj.deactivatePhysics(world);
+        }
+        for (GameObject obj : addQueue) {
+            obj.deactivatePhysics(world);
+        }
+        objects.clear();
+        genreObjects.clear();
+        awakeObjects.clear();
+        unmeasuredObjects.clear();
+        statefulObjects.clear();
+        addQueue.clear();
+        checkpoints.clear();
+        staticTiles.clear();
+        assets.clear();
+        animatedArtAnimation.clear();
+        streamer = null;
+        index = null;
+        streamScale = null;
+        spawnTarget = null;
+        bulletPool = null;
+        beePool = null;
+        synthEchoPool = null;
+        jazzEchoPool = null;
+        player = null;
+        goalDoor = null;
+        genreIndicator = null;
+        level = null;
+    }
+
+    /**
+     * Releases the animations held by this controller.
+     *
+     * Atlases that no other controller is using are disposed by the animation library.
+     */
+    public void dispose() {
+        for (String path : atlasReferences) {
+            AnimationLibrary.getInstance().release(path);
+        }
+        atlasReferences.clear();
+        for (String path : levelAtlasReferences) {
+            AnimationLibrary.getInstance().release(path);
+        }
+        levelAtlasReferences.clear();
+        if (tilesets != null) {
+            tilesets.dispose();
+            tilesets = null;
+        }
+        boundDirectory = null;
     }
 
     /**
      * Populates all objects into the game.
      *
+     * The objects are read from the level definition, if one was prepared ahead of
+     * time. Otherwise it is read from the compiled level, or streamed from the Tiled
+     * file if there is no up to date compiled level.
+     *
+     * Static platforms and art are not built here. They are divided into chunks, and
+     * built around the player by updateStreaming.
+     *
      * @param genre The genre the world is currently in
      * @param scale The draw scale
      * @param respawnPoint the respawnpoint of the player
@@ -1178,374 +964,321 @@ public class ObjectController {
         // Populate in-game UI elements
 //        createGUI(scale, genre);
 
-        if (levelJson.has("layers")) {
-
-            // Get level height
-            int levelHeight = levelJson.getInt("height");
-
-            // Process layers
-            for (JsonValue layer : levelJson.get("layers")) {
-                String layerName = layer.getString("name", "");
-                switch (layerName) {
-                    case "background":
-                        String bgName = "";
-                        for (JsonValue b : layer.get("objects")) {
-                            if (b.get("properties") != null) {
-                                for (JsonValue prop : b.get("properties")) {
-                                    if (prop.getString("name").equals("assetName")) {
-                                        bgName = prop.getString("value");
-                                    }
-                                }
-                            }
+        if (level == null) {
+            level = LevelFormat.load(levelFile);
+        }
+
+        // Get level height
+        int levelHeight = level.height;
+
+        JsonValue defaults = defaultConstants.get("defaults");
+        streamer = new LevelStreamer(level.width, level.height, defaults.getInt("stream_chunk_size", 32),
+                defaults.getInt("stream_radius", 1));
+        index = new SpatialIndex(level.width, level.height, defaults.getFloat("index_cell_size", 8.0f));
+        levelBounds.set(0, 0, level.width, level.height);
+        drawOrder = 0;
+        streamScale = scale;
+        streamLevelHeight = levelHeight;
+
+        // Keep the atlases of the last level until this level has taken its references
+        Array<String> previousAtlases = new Array<>(levelAtlasReferences);
+        levelAtlasReferences.clear();
+
+        // Process layers
+        for (LevelDefinition.LayerDefinition layer : level.layers) {
+            switch (layer.name) {
+                case "background":
+                    String bgName = "";
+                    for (LevelDefinition.ObjectDefinition b : layer.objects) {
+                        bgName = b.getString("assetName", bgName);
+                    }
+                    TextureRegion background = getArt(bgName);
+                    if (background != null) {
+                        levelBackground = background;
+                    }
+                    break;
+                case "walls":
+                    tilesets.bind(level, levelFile);
+                    int[] data = layer.data;
+                    int width = layer.width;
+                    int height = layer.height;
+                    for (int i = 0; i < data.length; i++) {
+                        int tileTypeID = data[i];
+                        // tileTypeID == 0 means there is no tile there
+                        if (tileTypeID != 0) {
+                            // Get x and y coordinates from where it is in the array
+                            int x = i % width;
+                            int y = height - (i / width) - 1;
+
+                            createWallArt(scale, x, y, tilesets.getRegion(tileTypeID), tileSize);
                         }
-                        switch (bgName) {
-                            case "labBg":
-                                levelBackground = labBgTexture;
-                                break;
-                            case "discoBg":
-                                levelBackground = discoBgTexture;
+                    }
+                    createWalls(scale, data, width, height);
+                    break;
+                case "weightedPlatforms":
+                    // Sort the synth/jazz weighted platform coordinates into arrays corresponding
+                    // to the num value
+                    // The index is used to identify a specific platform's synth and jazz position
+                    // and its speed
+                    int count = layer.objects.size;
+                    float[][] synthCoord = new float[count][2];
+                    float[][] jazzCoord = new float[count][2];
+                    int[] wpPlatformInterval = new int[count];
+                    int[] wpWait = new int[count];
+                    int[] wpMove = new int[count];
+                    Vector2[] wpDimensions = new Vector2[count];
+                    for (LevelDefinition.ObjectDefinition wp : layer.objects) {
+                        int num = wp.getInt("num", 0);
+                        String genrePlat = wp.getString("genre", "");
+                        int platformInterval = wp.getInt("platformInterval", 1);
+                        int waitTime = wp.getInt("waitTIme", 1);
+                        int moveTime = wp.getInt("moveTime", 0);
+                        switch (genrePlat) {
+                            case "synth":
+                                synthCoord[num] = new float[] { wp.x, wp.y };
                                 break;
-                            case "houseBg":
-                                levelBackground = houseBgTexture;
+                            case "jazz":
+                                jazzCoord[num] = new float[] { wp.x, wp.y };
                                 break;
                         }
-                        break;
-                    case "walls":
-                        int[] data = layer.get("data").asIntArray();
-                        int width = layer.getInt("width");
-                        int height = layer.getInt("height");
-                        for (int i = 0; i < data.length; i++) {
-                            int tileTypeID = data[i];
-                            // tileTypeID == 0 means there is no tile there
-                            if (tileTypeID != 0) {
-                                // Get x and y coordinates from where it is in the array
-                                int x = i % width;
-                                int y = height - (i / width) - 1;
-
-                                Tileset tileset = getTileset(tileTypeID);
-
-                                createWall(scale, x, y, tileTypeID - tileset.firstGID, tileSize, tileset.tilesetSource);
-                            }
-                        }
-                        break;
-                    case "weightedPlatforms":
-                        // Sort the synth/jazz weighted platform coordinates into arrays corresponding
-                        // to the num value
-                        // The index is used to identify a specific platform's synth and jazz position
-                        // and its speed
-                        float[][] synthCoord = new float[layer.get("objects").size][2];
-                        float[][] jazzCoord = new float[layer.get("objects").size][2];
-                        int[] wpPlatformInterval = new int[layer.get("objects").size];
-                        int[] wpWait = new int[layer.get("objects").size];
-                        int[] wpMove = new int[layer.get("objects").size];
-                        Vector2[] wpDimensions = new Vector2[layer.get("objects").size];
-                        for (JsonValue wp : layer.get("objects")) {
-                            int num = 0;
-                            String genrePlat = "";
-                            int platformInterval = 1;
-                            int waitTime = 1;
-                            int moveTime = 0;
-                            for (JsonValue prop : wp.get("properties")) {
-                                switch (prop.getString("name")) {
-                                    case "num":
-                                        num = prop.getInt("value");
-                                        break;
-                                    case "genre":
-                                        genrePlat = prop.getString("value");
-                                        break;
-                                    case "platformInterval":
-                                        platformInterval = prop.getInt("value");
-                                        break;
-                                    case "moveTime":
-                                        moveTime = prop.getInt("value");
-
-                                        break;
-                                    case "waitTIme":
-                                        waitTime = prop.getInt("value");
-                                        break;
-                                }
-                            }
-                            switch (genrePlat) {
-                                case "synth":
-                                    synthCoord[num] = new float[] { wp.getFloat("x"), wp.getFloat("y") };
-                                    break;
-                                case "jazz":
-                                    jazzCoord[num] = new float[] { wp.getFloat("x"), wp.getFloat("y") };
-                                    break;
-                            }
-                            wpPlatformInterval[num] = platformInterval;
-                            wpMove[num] = moveTime;
-                            wpWait[num] = waitTime;
-                            wpDimensions[num] = new Vector2(wp.getFloat("width"), wp.getFloat("height"));
-                        }
-                        // Now actually create weighted platforms using synthCoord, jazzCoord, wpSpeed
-                        for (int i = 0; i < layer.get("objects").size / 2; i++) {
-                            createWeightedPlatform(scale, synthCoord[i], jazzCoord[i],
-                                    wpPlatformInterval[i], wpMove[i], wpWait[i], wpDimensions[i],
-                                    levelHeight, tileSize, genre);
-                        }
-                        break;
-                    case "movingPlatforms":
-                        HashMap<Integer, Vector2[]> positionNodes = new HashMap<>();
-                        HashMap<Integer, Integer> mpWait = new HashMap<>();
-                        HashMap<Integer, Integer> mpMove = new HashMap<>();
-                        HashMap<Integer, Vector2> dimensions = new HashMap<>();
-                        HashMap<Integer, Boolean> mpCrush = new HashMap<>();
-                        for (JsonValue mp : layer.get("objects")) {
-                            int num = 0;
-                            int pos = 0;
-                            int wait = 1;
-                            int move = 0;
-                            boolean crushEnable = false;
-                            int totalPos = 1; // number of positions in this moving platform
-                            for (JsonValue prop : mp.get("properties")) {
-                                switch (prop.getString("name")) {
-                                    case "num":
-                                        num = prop.getInt("value");
-                                        break;
-                                    case "pos":
-                                        pos = prop.getInt("value");
-                                        break;
-                                    case "waitTime":
-                                        wait = prop.getInt("value");
-                                        break;
-                                    case "moveTime":
-                                        move = prop.getInt("value");
-                                        break;
-                                    case "totalPos":
-                                        totalPos = prop.getInt("value");
-                                        break;
-                                    case "crushEnable":
-                                        crushEnable = prop.getBoolean("value");
-                                        break;
-                                }
-                            }
-                            // Store coordinates
-                            final int numOfNodes = totalPos; // need to be final to be used in computeIfAbsent
-                            positionNodes.computeIfAbsent(num, key -> new Vector2[numOfNodes]);
-                            Vector2 coord = new Vector2(mp.getFloat("x"), mp.getFloat("y"));
-                            Vector2 dim = new Vector2(mp.getFloat("width"), mp.getFloat("height"));
-                            positionNodes.get(num)[pos] = coord;
-
-                            // Store nodewaitTime
-                            mpWait.put(num, wait);
-                            // store Movespeed
-                            mpMove.put(num, move);
-                            // Store dimensions
-                            dimensions.put(num, dim);
-                            //store crushing properties
-                            mpCrush.put(num, crushEnable);
-                        }
-                        // Now actually create moving platforms
-                        for (int i = 0; i < positionNodes.size(); i++) {
-                            createMovingPlatform(scale, positionNodes.get(i),
-                                    mpWait.get(i), mpMove.get(i), dimensions.get(i),
-                                    levelHeight, tileSize, mpCrush.get(i));
-                        }
-                        break;
-                    case "platforms":
-                        for (JsonValue platform : layer.get("objects")) {
-                            float x = platform.getFloat("x");
-                            float y = platform.getFloat("y");
-                            Vector2 dim = new Vector2(platform.getFloat("width"), platform.getFloat("height"));
-                            String align = "";
-                            boolean lethal = false;
-                            if (platform.getString("type").equals("laser")) {
-                                lethal = true;
-                            }
-                            if (platform.get("properties") != null) {
-                                for (JsonValue prop : platform.get("properties")) {
-                                    if (prop.getString("name").equals("align")) {
-                                        align = prop.getString("value");
-                                    }
-                                }
-                            }
-
-                            createPlatform(scale, align, x, y, dim, levelHeight, tileSize, lethal);
-                        }
-                        break;
-                    case "platformArt":
-                        for (JsonValue a : layer.get("objects")) {
-                            float x = a.getFloat("x");
-                            float y = a.getFloat("y");
-                            Vector2 dim = new Vector2(a.getFloat("width"), a.getFloat("height"));
-                            createPlatformArt(scale, a.getString("type"), x, y, dim, levelHeight, tileSize);
-                        }
-                        break;
-                    case "player":
-                        if (layer.get("objects").size > 0) {
-                            JsonValue player = layer.get("objects").get(0);
-                            float x = player.getInt("x");
-                            float y = player.getInt("y");
-                            Vector2 dim = new Vector2(player.getFloat("width"), player.getFloat("height"));
-                            createPlayer(scale, x, y, dim, levelHeight, tileSize, genre, respawnPoint);
-                        }
-                        break;
-                    case "enemies":
-                        // TODO: Read the beatlist actions from Tiled
-                        for (JsonValue enemy : layer.get("objects")) {
-                            String enemyType = enemy.getString("type");
-                            String beatListString = "";
-                            int color = 0;
-                            boolean faceRight = false;
-                            boolean flipVertical = false;
-                            float beeBeat = 0.0f;
-                            for (JsonValue prop : enemy.get("properties")) {
-                                if (prop.getString("name").equals("beatList")) {
-                                    beatListString = prop.getString("value");
-                                }
-                                if (prop.getString("name").equals("isRight")) {
-                                    faceRight = prop.getBoolean("value");
-                                }
-                                if (prop.getString("name").equals("flipVertical")) {
-                                    flipVertical = prop.getBoolean("value");
-                                }
-                                if (prop.getString("name").equals("beeBeat")) {
-                                    beeBeat = prop.getFloat("value");
-                                }
-                            }
-                            switch (enemyType) {
-                                case "Bear":
-                                    float x = enemy.getFloat("x");
-                                    float y = enemy.getFloat("y");
-                                    Vector2 dim = new Vector2(enemy.getFloat("width"), enemy.getFloat("height"));
-                                    createEnemyBear(scale, x, y, dim, levelHeight,
-                                            tileSize, convertTiledbeatList(beatListString), genre);
-                                    break;
-                                case "Beehive":
-                                    x = enemy.getFloat("x");
-                                    y = enemy.getFloat("y");
-                                    dim = new Vector2(enemy.getFloat("width"), enemy.getFloat("height"));
-                                    createEnemyBeehive(scale, x, y, dim, levelHeight, tileSize,
-                                            convertTiledbeatList(beatListString), faceRight, beeBeat, genre);
-                                    break;
-                                case "Hedgehog":
-                                    x = enemy.getFloat("x");
-                                    y = enemy.getFloat("y");
-                                    dim = new Vector2(enemy.getFloat("width"), enemy.getFloat("height"));
-                                    int rollingDistance = 0;
-                                    for (JsonValue prop : enemy.get("properties")) {
-                                        if (prop.getString("name").equals("rollingDistance")) {
-                                            rollingDistance = prop.getInt("value");
-                                        }
-                                    }
-                                    createEnemyHedgehog(scale, x, y, dim, rollingDistance,
-                                            levelHeight, tileSize,
-                                            convertTiledbeatList(beatListString), genre);
-                                    break;
-                                case "Bat":
-                                    x = enemy.getFloat("x");
-                                    y = enemy.getFloat("y");
-                                    dim = new Vector2(enemy.getFloat("width"), enemy.getFloat("height"));
-                                    createEnemyBat(scale, x, y, dim, levelHeight, tileSize,
-                                            convertTiledbeatList(beatListString), flipVertical, genre);
-                                    break;
-                            }
-                        }
-                        break;
-                    case "checkpoints":
-                        for (JsonValue checkpoint : layer.get("objects")) {
-                            float x = checkpoint.getFloat("x");
-                            float y = checkpoint.getFloat("y");
-                            Vector2 dim = new Vector2(checkpoint.getFloat("width"), checkpoint.getFloat("height"));
-                            int id = 0;
-                            for (JsonValue prop : checkpoint.get("properties")) {
-                                if (prop.getString("name").equals("num")) {
-                                    id = prop.getInt("value");
-                                }
-                            }
-                            createCheckpoint(scale, x, y, dim, id, levelHeight, tileSize);
-                        }
-                        break;
-                    case "goal":
-                        if (layer.get("objects").size > 0) {
-                            JsonValue goal = layer.get("objects").get(0);
-                            float x = goal.getInt("x");
-                            float y = goal.getInt("y");
-                            Vector2 dim = new Vector2(goal.getFloat("width"), goal.getFloat("height"));
-                            String assetName = "goal";
-                            if (goal.get("properties") != null) {
-                                for (JsonValue prop : goal.get("properties")) {
-                                    if (prop.getString("name").equals("assetName")) {
-                                        assetName = prop.getString("value");
-                                    }
-                                }
-                            }
-                            createGoal(scale, x, y, dim, levelHeight, tileSize, assetName);
-                        }
-                        break;
-                    case "wallArt":
-                        for (JsonValue a : layer.get("objects")) {
-                            float x = a.getFloat("x");
-                            float y = a.getFloat("y");
-                            Vector2 dim = new Vector2(a.getFloat("width"), a.getFloat("height"));
-
-                            String assetName = "";
-                            boolean animated = false;
-
-                            if (a.get("properties") != null) {
-                                for (JsonValue prop : a.get("properties")) {
-                                    if (prop.getString("name").equals("assetName")) {
-                                        assetName = prop.getString("value");
-                                    } else if (prop.getString("name").equals("animated")) {
-                                        animated = true;
-                                    }
-                                }
-                            }
-                            createGroundArt(scale, assetName, x, y, dim, levelHeight, tileSize, "foreground",
-                                    a, animated);
-                        }
-                        break;
-                    case "decals":
-                        for (JsonValue a : layer.get("objects")) {
-                            float x = a.getFloat("x");
-                            float y = a.getFloat("y");
-                            Vector2 dim = new Vector2(a.getFloat("width"), a.getFloat("height"));
-
-                            String assetName = "";
-                            boolean animated = false;
-
-                            if (a.get("properties") != null) {
-                                for (JsonValue prop : a.get("properties")) {
-                                    if (prop.getString("name").equals("assetName")) {
-                                        assetName = prop.getString("value");
-                                    } else if (prop.getString("name").equals("animated")) {
-                                        animated = true;
-                                    }
-                                }
-                            }
-                            createGroundArt(scale, assetName, x, y, dim, levelHeight, tileSize, "background",
-                                    a, animated);
+                        wpPlatformInterval[num] = platformInterval;
+                        wpMove[num] = moveTime;
+                        wpWait[num] = waitTime;
+                        wpDimensions[num] = new Vector2(wp.width, wp.height);
+                    }
+                    // Now actually create weighted platforms using synthCoord, jazzCoord, wpSpeed
+                    for (int i = 0; i < count / 2; i++) {
+                        createWeightedPlatform(scale, synthCoord[i], jazzCoord[i],
+                                wpPlatformInterval[i], wpMove[i], wpWait[i], wpDimensions[i],
+                                levelHeight, tileSize, genre);
+                    }
+                    break;
+                case "movingPlatforms":
+                    HashMap<Integer, Vector2[]> positionNodes = new HashMap<>();
+                    HashMap<Integer, Integer> mpWait = new HashMap<>();
+                    HashMap<Integer, Integer> mpMove = new HashMap<>();
+                    HashMap<Integer, Vector2> dimensions = new HashMap<>();
+                    HashMap<Integer, Boolean> mpCrush = new HashMap<>();
+                    for (LevelDefinition.ObjectDefinition mp : layer.objects) {
+                        int num = mp.getInt("num", 0);
+                        int pos = mp.getInt("pos", 0);
+                        int wait = mp.getInt("waitTime", 1);
+                        int move = mp.getInt("moveTime", 0);
+                        boolean crushEnable = mp.getBoolean("crushEnable", false);
+                        int totalPos = mp.getInt("totalPos", 1); // number of positions in this moving platform
+                        // Store coordinates
+                        final int numOfNodes = totalPos; // need to be final to be used in computeIfAbsent
+                        positionNodes.computeIfAbsent(num, key -> new Vector2[numOfNodes]);
+                        Vector2 coord = new Vector2(mp.x, mp.y);
+                        Vector2 dim = new Vector2(mp.width, mp.height);
+                        positionNodes.get(num)[pos] = coord;
+
+                        // Store nodewaitTime
+                        mpWait.put(num, wait);
+                        // store Movespeed
+                        mpMove.put(num, move);
+                        // Store dimensions
+                        dimensions.put(num, dim);
+                        //store crushing properties
+                        mpCrush.put(num, crushEnable);
+                    }
+                    // Now actually create moving platforms
+                    for (int i = 0; i < positionNodes.size(); i++) {
+                        createMovingPlatform(scale, positionNodes.get(i),
+                                mpWait.get(i), mpMove.get(i), dimensions.get(i),
+                                levelHeight, tileSize, mpCrush.get(i));
+                    }
+                    break;
+                case "platforms":
+                case "platformArt":
+                case "wallArt":
+                case "decals":
+                case "backgroundArt":
+                    // Static content is built by chunk in updateStreaming
+                    for (LevelDefinition.ObjectDefinition o : layer.objects) {
+                        Vector2 position = convertTiledCoord(o.x, o.y, o.width, o.height, levelHeight, tileSize);
+                        streamer.add(layer.name, o, nextDrawOrder(), position.x, position.y);
+                        if (o.has("animated")) {
+                            // Read the atlas now, rather than when the chunk is first built
+                            getAnimatedArt(o.getString("assetName", ""));
                         }
-                        break;
-                    case "backgroundArt": {
-                        for (JsonValue a : layer.get("objects")) {
-                            float x = a.getFloat("x");
-                            float y = a.getFloat("y");
-                            Vector2 dim = new Vector2(a.getFloat("width"), a.getFloat("height"));
-
-                            String assetName = "";
-                            boolean animated = false;
-
-                            if (a.get("properties") != null) {
-                                for (JsonValue prop : a.get("properties")) {
-                                    if (prop.getString("name").equals("assetName")) {
-                                        assetName = prop.getString("value");
-                                    } else if (prop.getString("name").equals("animated")) {
-                                        animated = true;
-                                    }
-                                }
-                            }
-                            createGroundArt(scale, assetName, x, y, dim, levelHeight, tileSize, "background",
-                                    a, animated);
+                    }
+                    break;
+                case "player":
+                    if (layer.objects.size > 0) {
+                        LevelDefinition.ObjectDefinition player = layer.objects.get(0);
+                        // The player is placed on whole pixels
+                        float x = (int) player.x;
+                        float y = (int) player.y;
+                        Vector2 dim = new Vector2(player.width, player.height);
+                        createPlayer(scale, x, y, dim, levelHeight, tileSize, genre, respawnPoint);
+                    }
+                    break;
+                case "enemies":
+                    // TODO: Read the beatlist actions from Tiled
+                    for (LevelDefinition.ObjectDefinition enemy : layer.objects) {
+                        boolean faceRight = enemy.getBoolean("isRight", false);
+                        boolean flipVertical = enemy.getBoolean("flipVertical", false);
+                        float beeBeat = enemy.getFloat("beeBeat", 0.0f);
+                        float x = enemy.x;
+                        float y = enemy.y;
+                        Vector2 dim = new Vector2(enemy.width, enemy.height);
+                        switch (enemy.type) {
+                            case "Bear":
+                                createEnemyBear(scale, x, y, dim, levelHeight,
+                                        tileSize, getBeatList(enemy), genre);
+                                break;
+                            case "Beehive":
+                                createEnemyBeehive(scale, x, y, dim, levelHeight, tileSize,
+                                        getBeatList(enemy), faceRight, beeBeat, genre);
+                                break;
+                            case "Hedgehog":
+                                int rollingDistance = enemy.getInt("rollingDistance", 0);
+                                createEnemyHedgehog(scale, x, y, dim, rollingDistance,
+                                        levelHeight, tileSize,
+                                        getBeatList(enemy), genre);
+                                break;
+                            case "Bat":
+                                createEnemyBat(scale, x, y, dim, levelHeight, tileSize,
+                                        getBeatList(enemy), flipVertical, genre);
+                                break;
                         }
                     }
-                        break;
-                }
-
+                    break;
+                case "checkpoints":
+                    for (LevelDefinition.ObjectDefinition checkpoint : layer.objects) {
+                        Vector2 dim = new Vector2(checkpoint.width, checkpoint.height);
+                        int id = checkpoint.getInt("num", 0);
+                        createCheckpoint(scale, checkpoint.x, checkpoint.y, dim, id, levelHeight, tileSize);
+                    }
+                    break;
+                case "goal":
+                    if (layer.objects.size > 0) {
+                        LevelDefinition.ObjectDefinition goal = layer.objects.get(0);
+                        // The goal is placed on whole pixels
+                        float x = (int) goal.x;
+                        float y = (int) goal.y;
+                        Vector2 dim = new Vector2(goal.width, goal.height);
+                        String assetName = goal.getString("assetName", "goal");
+                        createGoal(scale, x, y, dim, levelHeight, tileSize, assetName);
+                    }
+                    break;
             }
         }
         createGUI(scale, genre);
+
+        for (String path : previousAtlases) {
+            AnimationLibrary.getInstance().release(path);
+        }
+    }
+
+    /**
+     * Builds and releases chunks of static content around the given position.
+     *
+     * Chunks within the stream radius of the position are built from their retained
+     * definitions, and chunks outside of it are released. This only does work when the
+     * position moves into a different chunk.
+     *
+     * @param x The x-coordinate of the center (in world units)
+     * @param y The y-coordinate of the center (in world units)
+     */
+    public void updateStreaming(float x, float y) {
+        if (streamer == null || !streamer.setCenter(x, y)) {
+            return;
+        }
+        for (LevelStreamer.Chunk chunk : streamer.getChunks()) {
+            boolean inRange = streamer.inRange(chunk);
+            if (inRange && !chunk.loaded) {
+                loadChunk(chunk);
+            } else if (!inRange && chunk.loaded) {
+                GameController.getInstance().release(chunk.objects);
+                chunk.objects.clear();
+                chunk.loaded = false;
+            }
+        }
+    }
+
+    /**
+     * Builds the objects of a chunk from its definitions.
+     *
+     * The state of the stateful objects is saved as soon as they are built. That way
+     * a reset restores them just like the objects built when the level loaded.
+     *
+     * @param chunk The chunk to build
+     */
+    private void loadChunk(LevelStreamer.Chunk chunk) {
+        spawnTarget = chunk.objects;
+        for (int i = 0; i < chunk.definitions.size; i++) {
+            spawnDrawOrder = chunk.drawOrders.get(i);
+            createStreamed(chunk.layers.get(i), chunk.definitions.get(i));
+        }
+        spawnTarget = null;
+        for (GameObject obj : chunk.objects) {
+            if (obj.getStateEntry() != null) {
+                obj.saveState();
+            }
+        }
+        chunk.loaded = true;
+    }
+
+    /**
+     * Builds the object for a definition in one of the streamed layers
+     *
+     * @param layer      The name of the layer the definition came from
+     * @param definition The definition of the object
+     */
+    private void createStreamed(String layer, LevelDefinition.ObjectDefinition definition) {
+        Vector2 scale = streamScale;
+        int levelHeight = streamLevelHeight;
+        Vector2 dim = new Vector2(definition.width, definition.height);
+        switch (layer) {
+            case "platforms":
+                boolean lethal = definition.type.equals("laser");
+                String align = definition.getString("align", "");
+                createPlatform(scale, align, definition.x, definition.y, dim, levelHeight, tileSize, lethal);
+                break;
+            case "platformArt":
+                createPlatformArt(scale, definition.type, definition.x, definition.y, dim, levelHeight, tileSize);
+                break;
+            case "wallArt":
+                createGroundArt(scale, definition.getString("assetName", ""), definition.x, definition.y, dim,
+                        levelHeight, tileSize, "foreground", definition, definition.has("animated"));
+                break;
+            case "decals":
+            case "backgroundArt":
+                createGroundArt(scale, definition.getString("assetName", ""), definition.x, definition.y, dim,
+                        levelHeight, tileSize, "background", definition, definition.has("animated"));
+                break;
+        }
+    }
+
+    /**
+     * Instantiates a streamed object, adding it to the chunk being built
+     *
+     * The object takes the drawing order of its definition, so it is drawn in the order
+     * of the level file no matter which chunk was built last.
+     *
+     * @param obj   The object to instantiate
+     * @param layer The drawing layer of the object
+     */
+    private void place(GameObject obj, Layer layer) {
+        if (spawnTarget != null) {
+            GameController.getInstance().instantiate(obj, layer, spawnDrawOrder);
+            spawnTarget.add(obj);
+        } else {
+            GameController.getInstance().instantiate(obj, layer);
+        }
+    }
+
+    /**
+     * Returns the drawing order for the next object, and advances it
+     *
+     * Objects are numbered as they are read from the level file, or made during play.
+     *
+     * @return the drawing order for the next object
+     */
+    public int nextDrawOrder() {
+        return drawOrder++;
     }
 
     /**
@@ -1567,21 +1300,13 @@ public class ObjectController {
     }
 
     /**
-     * Converts Tiled beat list String into an int[] value
-     * 
-     * @param beatListString the string representation of the beat list from Tiled
-     * @return
+     * Returns the beat list of an enemy, or the default beat list if it has none
+     *
+     * @param enemy The definition of the enemy
+     * @return the beat list of the enemy
      */
-    private int[] convertTiledbeatList(String beatListString) {
-        int listLen = beatListString.length();
-        if (listLen == 0) {
-            return defaultBeatList;
-        }
-        int[] result = new int[listLen];
-        for (int i = 0; i < beatListString.length(); i++) {
-            result[i] = Integer.parseInt(beatListString.substring(i, i + 1));
-        }
-        return result;
+    private int[] getBeatList(LevelDefinition.ObjectDefinition enemy) {
+        return enemy.beatList == null ? defaultBeatList : enemy.beatList;
     }
 
     /**
@@ -1610,84 +1335,64 @@ public class ObjectController {
         obj.setSensor(true);
         obj.setDrawScale(scale);
         obj.setTexture(checkpointTexture);
-        GameController.getInstance().instantiate(obj, 0);
+        GameController.getInstance().instantiate(obj, Layer.ACTORS);
         checkpoints.add(obj);
     }
 
     /**
-     * Create wall tiles
+     * Create the art for a wall tile
+     *
+     * The tile has no body of its own, as it is covered by the wall outlines made in
+     * createWalls. It is not instantiated either, as walls never move. Instead it is
+     * added to staticTiles to be baked into the canvas tile cache.
      *
-     * @param scale Scale to draw
-     * @param x     x coordinate (world coordinates) of tile
-     * @param y     y coordinate (world coordinates) of tile
+     * @param scale         Scale to draw
+     * @param x             x coordinate (world coordinates) of tile
+     * @param y             y coordinate (world coordinates) of tile
+     * @param textureRegion The region of the tile, from the tileset registry
+     * @param tileSize      Size of a tile in pixels
      */
-    private void createWall(Vector2 scale, float x, float y, int tileId, int tileSize, String tilesetSource) {
-        // Set texture
-        TextureRegion textureRegion = null;
-        if (tilesetSource.contains("rabbeatTileset")) {
-            textureRegion = rabbeatTileset.get(tileId);
-        } else if (tilesetSource.contains("walls")) {
-            textureRegion = wallsTileset.get(tileId);
-        } else if (tilesetSource.contains("discoTileset")) {
-            textureRegion = discoTileset.get(tileId);
-        } else if (tilesetSource.contains("houseTileset")) {
-            textureRegion = houseTileset.get(tileId);
+    private void createWallArt(Vector2 scale, float x, float y, TextureRegion textureRegion, int tileSize) {
+        if (textureRegion == null) {
+            // The tile is not from a tileset image, so it only has a collider
+            return;
         }
 
-        String wname = "wall";
-        JsonValue defaults = defaultConstants.get("defaults");
-        BoxGameObject obj;
-        float dwidth = textureRegion.getRegionWidth() / scale.x;
-        float dheight = textureRegion.getRegionHeight() / scale.y;
-
         // Adjust coordinate to be center of tile
         float convertedX = x + ((float) textureRegion.getRegionWidth() / (tileSize * 2));
         float convertedY = y + ((float) textureRegion.getRegionHeight() / (tileSize * 2));
 
-        obj = new BoxGameObject(convertedX, convertedY, dwidth, dheight);
-        obj.setBodyType(BodyDef.BodyType.StaticBody);
-        obj.setDensity(defaults.getFloat("density", 0.0f));
-        obj.setFriction(defaults.getFloat("friction", 0.0f));
-        obj.setRestitution(defaults.getFloat("restitution", 0.0f));
-        obj.setDrawScale(scale);
-        obj.setTexture(textureRegion);
-        obj.setName(wname);
-        obj.setWall(true);
-        GameController.getInstance().instantiate(obj, 0);
-    }
-
-    /**
-     * Class for Tileset objects with the tileset's firstGID and tilesetSource.
-     */
-    static class Tileset {
-        public int firstGID;
-        public String tilesetSource;
-
-        public Tileset(int firstGID, String tilesetSource) {
-            this.firstGID = firstGID;
-            this.tilesetSource = tilesetSource;
-        }
+        ArtObject art = new ArtObject(textureRegion, convertedX, convertedY);
+        art.setBodyType(BodyDef.BodyType.StaticBody);
+        art.setDrawScale(scale);
+        staticTiles.add(art);
     }
 
     /**
-     * Takes in the GID of a tile and returns the info of the tileset that the tile
-     * is in.
-     * 
-     * @param gid The GID of the tile.
-     * @return The Pair object with firstGID and tilesetName of the tileset that the
-     *         tile is in.
+     * Create the wall bodies for the walls layer.
+     *
+     * Rather than a box per tile, the outline of each group of touching tiles is
+     * traced and made into a single chain. This gives the same collision surface
+     * with a small fraction of the bodies, and without seams between tiles.
+     *
+     * @param scale  Scale to draw
+     * @param data   The tile id at each position of the layer
+     * @param width  The width of the layer in tiles
+     * @param height The height of the layer in tiles
      */
-    private Tileset getTileset(int gid) {
-        Tileset tileset = new Tileset(0, "");
-        for (JsonValue t : levelJson.get("tilesets")) {
-            if (gid < t.getInt("firstgid")) {
-                break;
-            } else {
-                tileset.firstGID = t.getInt("firstgid");
-                tileset.tilesetSource = t.getString("source");
-            }
+    private void createWalls(Vector2 scale, int[] data, int width, int height) {
+        JsonValue defaults = defaultConstants.get("defaults");
+        for (Path2 outline : WallTracer.trace(data, width, height)) {
+            ChainGameObject obj = new ChainGameObject(outline);
+            obj.setBodyType(BodyDef.BodyType.StaticBody);
+            obj.setDensity(defaults.getFloat("density", 0.0f));
+            obj.setFriction(defaults.getFloat("friction", 0.0f));
+            obj.setRestitution(defaults.getFloat("restitution", 0.0f));
+            obj.setDrawScale(scale);
+            obj.setName("wall");
+            obj.setWall(true);
+            GameController.getInstance().instantiate(obj, Layer.WALLS);
         }
-        return tileset;
     }
 
     /**
@@ -1763,7 +1468,7 @@ public class ObjectController {
         } else {
             platform.setType(Type.NONE);
         }
-        GameController.getInstance().instantiate(platform, 0);
+        place(platform, Layer.PLATFORMS);
     }
 
     /**
@@ -1795,7 +1500,7 @@ public class ObjectController {
         ArtObject platformArt = new ArtObject(textureRegion, convertedCoord.x, convertedCoord.y);
         platformArt.setBodyType(BodyDef.BodyType.StaticBody);
         platformArt.setDrawScale(scale);
-        GameController.getInstance().instantiate(platformArt, 0);
+        place(platformArt, Layer.PLATFORMS);
     }
 
     /**
@@ -1828,6 +1533,9 @@ public class ObjectController {
         BoxGameObject crushBody = new BoxGameObject(convertedSynthCoord.x, convertedSynthCoord.y,
                 dwidth * 0.8f, dheight * 0.2f);
         crushBody.setType(Type.CRUSHER);
+        crushBody.setContactKind(ContactKind.CRUSHER);
+        crushBody.setActivatable(true);
+        crushBody.setMoving(true);
         crushBody.setBodyType(BodyDef.BodyType.StaticBody);
         crushBody.setPosition(convertedSynthCoord);
         crushBody.setDrawScale(scale);
@@ -1840,12 +1548,13 @@ public class ObjectController {
                 platformIntervals, waitTime, moveTime,
                 weightedSynth, weightedJazz, genre, crushBody);
         weightedPlatform.setBodyType(BodyDef.BodyType.StaticBody);
+        weightedPlatform.setMoving(true);
         weightedPlatform.setDensity(defaults.getFloat("density", 0.0f));
         weightedPlatform.setFriction(defaults.getFloat("friction", 0.0f));
         weightedPlatform.setRestitution(defaults.getFloat("restitution", 0.0f));
         weightedPlatform.setDrawScale(scale);
-        GameController.getInstance().instantiate(weightedPlatform, 0);
-        GameController.getInstance().instantiate(crushBody, 0);
+        GameController.getInstance().instantiate(weightedPlatform, Layer.PLATFORMS);
+        GameController.getInstance().instantiate(crushBody, Layer.PLATFORMS);
     }
 
     private void createMovingPlatform(Vector2 scale, Vector2[] positionNodes, int waitTime, int beatMoveTime,
@@ -1865,6 +1574,9 @@ public class ObjectController {
         BoxGameObject crushBody = new BoxGameObject(positionNodes[0].x, positionNodes[0].y,
                 dwidth * 0.8f, dheight * 0.2f);
         crushBody.setType(Type.CRUSHER);
+        crushBody.setContactKind(ContactKind.CRUSHER);
+        crushBody.setActivatable(true);
+        crushBody.setMoving(true);
         crushBody.setBodyType(BodyDef.BodyType.StaticBody);
         crushBody.setPosition(new Vector2(positionNodes[0].x, positionNodes[0].y));
         crushBody.setDrawScale(scale);
@@ -1872,12 +1584,13 @@ public class ObjectController {
         movingPlatform = new MovingPlatform(dwidth, dheight, convertedPos, waitTime, beatMoveTime, platformTile,
                 crushBody, crushSpeedEnable);
         movingPlatform.setBodyType(BodyDef.BodyType.StaticBody);
+        movingPlatform.setMoving(true);
         movingPlatform.setDensity(defaults.getFloat("density", 0.0f));
         movingPlatform.setFriction(defaults.getFloat("friction", 0.0f));
         movingPlatform.setRestitution(defaults.getFloat("restitution", 0.0f));
         movingPlatform.setDrawScale(scale);
-        GameController.getInstance().instantiate(movingPlatform, 0);
-        GameController.getInstance().instantiate(crushBody, 0);
+        GameController.getInstance().instantiate(movingPlatform, Layer.PLATFORMS);
+        GameController.getInstance().instantiate(crushBody, Layer.PLATFORMS);
     }
 
     /**
@@ -1922,7 +1635,7 @@ public class ObjectController {
         player.synthSpeed = synthSpeed;
         player.jazzSpeed = jazzSpeed;
         player.setTexture(synthDefaultTexture);
-        GameController.getInstance().instantiate(player, 2);
+        GameController.getInstance().instantiate(player, Layer.PLAYER);
         if(respawnPoint != null){
             player.setPosition(respawnPoint);
         }
@@ -1947,10 +1660,11 @@ public class ObjectController {
         if (assetName == "goal") {
             goalDoor.setTexture(goalTile);
         } else {
-            goalDoor.setTexture(assets.get(assetName));
+            goalDoor.setTexture(getArt(assetName));
         }
         goalDoor.setName("goal");
-        GameController.getInstance().instantiate(goalDoor, 0);
+        goalDoor.setContactKind(ContactKind.GOAL);
+        GameController.getInstance().instantiate(goalDoor, Layer.ACTORS);
     }
 
     /**
@@ -1979,7 +1693,7 @@ public class ObjectController {
         bear.setBodyType(BodyDef.BodyType.StaticBody);
         bear.setDrawScale(scale);
         bear.setTexture(bearTexture);
-        GameController.getInstance().instantiate(bear, 1);
+        GameController.getInstance().instantiate(bear, Layer.FRONT);
     }
 
     /**
@@ -2009,7 +1723,7 @@ public class ObjectController {
         beehive.setBodyType(BodyDef.BodyType.StaticBody);
         beehive.setDrawScale(scale);
         beehive.setTexture(beehiveTexture);
-        GameController.getInstance().instantiate(beehive, 0);
+        GameController.getInstance().instantiate(beehive, Layer.ACTORS);
     }
 
     /**
@@ -2038,9 +1752,10 @@ public class ObjectController {
         hedgehog.attackSynthAnimation = hedgehogAttackAnimation;
         hedgehog.setAnimation(hedgehogAttackAnimation);
         hedgehog.setBodyType(BodyDef.BodyType.StaticBody);
+        hedgehog.setMoving(true);
         hedgehog.setDrawScale(scale);
         hedgehog.setTexture(hedgehogTexture);
-        GameController.getInstance().instantiate(hedgehog, 0);
+        GameController.getInstance().instantiate(hedgehog, Layer.ACTORS);
     }
 
     /**
@@ -2072,11 +1787,11 @@ public class ObjectController {
         bat.setTexture(batTexture);
         bat.echoSynthAnimation = echoSynthAnimation;
         bat.echoJazzAnimation = echoJazzAnimation;
-        GameController.getInstance().instantiate(bat, 0);
+        GameController.getInstance().instantiate(bat, Layer.ACTORS);
     }
 
     private void createGroundArt(Vector2 scale, String type, float x, float y, Vector2 dimensions, int levelHeight,
-            int tileSize, String groundLevel, JsonValue artJson, boolean animated) {
+            int tileSize, String groundLevel, LevelDefinition.ObjectDefinition definition, boolean animated) {
         // Adjust coordinates + Convert coordinates to world coordinates
         Vector2 convertedCoord = convertTiledCoord(x, y, dimensions.x, dimensions.y, levelHeight, tileSize);
         convertedCoord.set(convertedCoord.x, convertedCoord.y);
@@ -2084,83 +1799,56 @@ public class ObjectController {
         // Create Animated Art Object
         // Animated art objects will never also be pulse art objects
         if (animated) {
-            Animation<TextureRegion> animation = animatedArtAnimation.get(type);
+            Animation<TextureRegion> animation = getAnimatedArt(type);
             // TODO: Add default null
             AnimatedArtObject art = new AnimatedArtObject(animation, convertedCoord.x, convertedCoord.y);
             art.setBodyType(BodyDef.BodyType.StaticBody);
             art.setDrawScale(scale);
             if (groundLevel.equals("foreground")) {
-                GameController.getInstance().instantiate(art, 3);
+                place(art, Layer.FOREGROUND);
             } else {
-                GameController.getInstance().instantiate(art, 0);
+                place(art, Layer.BACKGROUND_ART);
             }
         } else {
 
             // Set texture region
-            TextureRegion textureRegion = assets.get(type);
+            TextureRegion textureRegion = getArt(type);
             if (textureRegion == null) {
-                textureRegion = assets.get("light");
+                textureRegion = getArt("light");
             }
 
-            switch (artJson.getString("type")) {
+            switch (definition.type) {
                 case "Pulse": {
-                    float pulsePerBeat = 0;
-                    float pulseScale = 0;
-                    float shrinkRate = 0;
-                    for (JsonValue prop : artJson.get("properties")) {
-                        switch (prop.getString("name")) {
-                            case "pulsePerBeat":
-                                pulsePerBeat = prop.getFloat("value");
-                                break;
-                            case "pulseScale":
-                                pulseScale = prop.getFloat("value");
-                            case "shrinkRate":
-                                shrinkRate = prop.getFloat("value");
-
-                        }
-                    }
+                    float pulsePerBeat = definition.getFloat("pulsePerBeat", 0);
+                    float pulseScale = definition.getFloat("pulseScale", 0);
+                    // Levels without a shrink rate have always shrunk at the pulse scale
+                    float shrinkRate = definition.getFloat("shrinkRate", pulseScale);
                     PulsingArtObject pulseArt = new PulsingArtObject(textureRegion, convertedCoord.x,
                             convertedCoord.y,
                             pulsePerBeat, pulseScale, shrinkRate);
                     pulseArt.setBodyType(BodyDef.BodyType.StaticBody);
                     pulseArt.setDrawScale(scale);
                     if (groundLevel.equals("foreground")) {
-                        GameController.getInstance().instantiate(pulseArt, 3);
+                        place(pulseArt, Layer.FOREGROUND);
                     } else {
-                        GameController.getInstance().instantiate(pulseArt, 0);
+                        place(pulseArt, Layer.BACKGROUND_ART);
                     }
 
                     break;
                 }
                 case "Stretch": {
-                    float pulsePerBeat = 0;
-                    float horizontalGrowRate = 0;
-                    float verticalGrowRate = 0;
-                    for (JsonValue prop : artJson.get("properties")) {
-                        switch (prop.getString("name")) {
-                            case "pulsePerBeat": {
-                                pulsePerBeat = prop.getFloat("value");
-                                break;
-                            }
-                            case "verticalGrowRate": {
-                                verticalGrowRate = prop.getFloat("value");
-                                break;
-                            }
-                            case "horizontalGrowRate": {
-                                horizontalGrowRate = prop.getFloat("value");
-                                break;
-                            }
-                        }
-                    }
+                    float pulsePerBeat = definition.getFloat("pulsePerBeat", 0);
+                    float horizontalGrowRate = definition.getFloat("horizontalGrowRate", 0);
+                    float verticalGrowRate = definition.getFloat("verticalGrowRate", 0);
                     StretchingArtObject stretchArt = new StretchingArtObject(textureRegion,
                             convertedCoord.x, convertedCoord.y,
                             pulsePerBeat, horizontalGrowRate, verticalGrowRate);
                     stretchArt.setBodyType(BodyDef.BodyType.StaticBody);
                     stretchArt.setDrawScale(scale);
                     if (groundLevel.equals("foreground")) {
-                        GameController.getInstance().instantiate(stretchArt, 3);
+                        place(stretchArt, Layer.FOREGROUND);
                     } else {
-                        GameController.getInstance().instantiate(stretchArt, 0);
+                        place(stretchArt, Layer.BACKGROUND_ART);
                     }
                     break;
                 }
@@ -2169,15 +1857,49 @@ public class ObjectController {
                     art.setBodyType(BodyDef.BodyType.StaticBody);
                     art.setDrawScale(scale);
                     if (groundLevel.equals("foreground")) {
-                        GameController.getInstance().instantiate(art, 3);
+                        place(art, Layer.FOREGROUND);
                     } else {
-                        GameController.getInstance().instantiate(art, 0);
+                        place(art, Layer.BACKGROUND_ART);
                     }
                 }
             }
         }
     }
 
+    /**
+     * Creates the projectile pools for this level and fills them ahead of time.
+     *
+     * Each pool is filled in proportion to the number of enemies that use it, so
+     * that the first attacks do not have to create new bodies.  This must be called
+     * after populateObjects.
+     *
+     * @param scale The draw scale
+     * @param world The Box2D world to create the projectile bodies in
+     */
+    public void createProjectilePools(Vector2 scale, World world) {
+        int bears = 0;
+        int hives = 0;
+        int bats = 0;
+        for (GameObject obj : objects) {
+            if (obj instanceof BearEnemy) {
+                bears++;
+            } else if (obj instanceof BeeHive) {
+                hives++;
+            } else if (obj instanceof BatEnemy) {
+                bats++;
+            }
+        }
+
+        bulletPool = new BulletPool(this, scale);
+        beePool = new BeePool(this, scale);
+        synthEchoPool = new EchoPool(this, scale, Genre.SYNTH);
+        jazzEchoPool = new EchoPool(this, scale, Genre.JAZZ);
+        bulletPool.prewarm(world, bears * BULLETS_PER_BEAR);
+        beePool.prewarm(world, hives * BEES_PER_HIVE);
+        synthEchoPool.prewarm(world, bats * ECHOES_PER_BAT);
+        jazzEchoPool.prewarm(world, bats * ECHOES_PER_BAT);
+    }
+
     /**
      * Creates the in-game UI elements and adds them to the genre/synced objects.
      */
@@ -2187,7 +1909,7 @@ public class ObjectController {
         100, 1f, 1.25f, .005f, synthIndicatorTexture, jazzIndicatorTexture, genre);
         genreIndicator.setBodyType(BodyDef.BodyType.StaticBody);
         genreIndicator.setDrawScale(scale);
-        GameController.getInstance().instantiate(genreIndicator, 4);
+        GameController.getInstance().instantiate(genreIndicator, Layer.UI);
     }
 
     /**
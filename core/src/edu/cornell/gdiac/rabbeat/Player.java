@@ -66,6 +66,8 @@ public class Player extends RoundedRectGameObject implements ISyncedAnimated, IG
 	private boolean isDying;
 	/** Identifier to allow us to track the sensor in ContactListener */
 	private final String sensorName;
+	/** The ground sensor fixture, once the body exists */
+	private Fixture sensorFixture;
 
 	/** The physics shape of this object */
 	private PolygonShape sensorShape;
@@ -111,6 +113,17 @@ public class Player extends RoundedRectGameObject implements ISyncedAnimated, IG
 
 	boolean spawning = true;
 
+	/** The genre when the state was saved */
+	private Genre savedGenre;
+	/** The maximum speed when the state was saved */
+	private float savedMaxSpeed;
+	/** The jump force when the state was saved */
+	private float savedJumpForce;
+	/** The facing direction when the state was saved */
+	private boolean savedFaceRight;
+	/** The animation when the state was saved */
+	private Animation<TextureRegion> savedAnimation;
+
 	/**
 	 * Returns left/right movement of this character.
 	 * 
@@ -186,6 +199,17 @@ public class Player extends RoundedRectGameObject implements ISyncedAnimated, IG
 		return sensorName;
 	}
 
+	/**
+	 * Returns the ground sensor fixture
+	 *
+	 * This is used by ContactListener
+	 *
+	 * @return the ground sensor fixture
+	 */
+	public Fixture getSensorFixture() {
+		return sensorFixture;
+	}
+
 
 	/**
 	 * Sets whether the dude is on the ground.
@@ -296,6 +320,7 @@ public class Player extends RoundedRectGameObject implements ISyncedAnimated, IG
 
 		jumpCooldown = 0;
 		setType(Type.Player);
+		setContactKind(ContactKind.PLAYER);
 		sensorName = "SynthGroundSensor";
 	}
 
@@ -333,7 +358,7 @@ public class Player extends RoundedRectGameObject implements ISyncedAnimated, IG
 		sensorDef.shape = sensorShape;
 
 		// Ground sensor to represent our feet
-		Fixture sensorFixture = body.createFixture( sensorDef );
+		sensorFixture = body.createFixture( sensorDef );
 		sensorFixture.setUserData(getSensorName());
 		
 		return true;
@@ -381,6 +406,7 @@ public class Player extends RoundedRectGameObject implements ISyncedAnimated, IG
 	 * @param dt	Number of seconds since last animation frame
 	 */
 	public void update(float dt) {
+		boolean jumpPressed = InputController.getInstance().consumePrimary();
 		if(spawning){
 			if(playerAnimFinished()){
 				spawning = false;
@@ -395,7 +421,7 @@ public class Player extends RoundedRectGameObject implements ISyncedAnimated, IG
 		if(!isDying){
 			setWalking(InputController.getInstance().getHorizontal() != 0 && !isJumping);
 			setMovement(InputController.getInstance().getHorizontal() * getForce());
-			setJumping(InputController.getInstance().didPrimary());
+			setJumping(jumpPressed);
 			applyForce();
 		}
 		// Apply cooldowns
@@ -418,7 +444,7 @@ public class Player extends RoundedRectGameObject implements ISyncedAnimated, IG
 	public void draw(GameCanvas canvas) {
 		float effect = faceRight ? 1.0f : -1.0f;
 		TextureRegion currentFrame = animation.getKeyFrame(stateTime, true);
-		canvas.draw(currentFrame, Color.WHITE,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(),
+		canvas.draw(currentFrame, Color.WHITE,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),
 				playerScale*effect,playerScale);
 	}
 	
@@ -560,6 +586,44 @@ public class Player extends RoundedRectGameObject implements ISyncedAnimated, IG
 
 	}
 
+	@Override
+	public void saveState() {
+		super.saveState();
+		savedGenre = genre;
+		savedMaxSpeed = maxspeed;
+		savedJumpForce = jumpForce;
+		savedFaceRight = faceRight;
+		savedAnimation = animation;
+	}
+
+	/**
+	 * Returns the player to its saved state, alive and playing the spawn animation.
+	 *
+	 * Whether the player is grounded is left alone, as that is tracked by the live
+	 * sensor contacts.
+	 */
+	@Override
+	public void restoreState() {
+		super.restoreState();
+		genre = savedGenre;
+		maxspeed = savedMaxSpeed;
+		jumpForce = savedJumpForce;
+		faceRight = savedFaceRight;
+		animation = savedAnimation;
+		movement = 0;
+		jumpCooldown = 0;
+		isWalking = false;
+		isJumping = false;
+		isDying = false;
+		stateTime = 0;
+		animationIsJumping = false;
+		animationIsDying = false;
+		spawning = true;
+		genreSwitchCooldown = false;
+		displacement = new Vector2(0, 0);
+		setFriction(data.getFloat("friction", 0));
+	}
+
 	public boolean playerAnimFinished(){
 		return animation.isAnimationFinished(stateTime);
 	}
@@ -0,0 +1,368 @@
+/*
+ * RenderQueue.java
+ *
+ * Drawing straight to the sprite batch means it flushes every time the texture
+ * changes, and a level mixes tiles, decals, enemies and projectiles that each have
+ * textures of their own.  This class holds the sprites of a drawing pass instead,
+ * so that they can be sorted by texture before they are sent to the batch.
+ *
+ * Sorting may only reorder sprites that do not overlap, or the art of a level would
+ * no longer be drawn in the order it was placed in.  The queue splits a pass into
+ * runs for this, and only sorts by texture inside of a run.
+ */
+package edu.cornell.gdiac.rabbeat;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Affine2;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/**
+ * A queue of sprites that is sorted by layer, run and texture.
+ *
+ * Each sprite is stored as the vertices the sprite batch expects, along with a sort
+ * key. The key packs, from the highest bits down, the layer, the run, the blend
+ * state, an id for the texture in its run, and the order the sprite was added in.
+ * Sorting the keys groups the sprites of a run by texture, while sprites with the
+ * same key prefix stay in the order they were added.
+ *
+ * A run is a stretch of sprites added one after another to the same layer, with the
+ * same blend state. Texture ids are given out in order of first use in a run, so a
+ * sprite is drawn after every sprite of its run with a lower id. A sprite that
+ * overlaps an earlier sprite with a higher id would be drawn under it, so it starts
+ * a new run instead. The overlap test uses the bounding box of each texture in the
+ * run, which may split runs that did not need it, but never keeps one that did.
+ *
+ * The keys are sorted with a radix sort. The order the sprites were added in is
+ * already sorted, so only the bits above it need sorting, and any byte that is the
+ * same in every key is skipped. Nothing is allocated once the arrays have grown to
+ * the largest pass.
+ */
+public class RenderQueue {
+	/** The number of floats in the vertices of a sprite */
+	public static final int SPRITE_SIZE = 20;
+	/** The number of layers a key can hold */
+	public static final int MAX_LAYERS = 32;
+
+	/** The number of sprites a pass can hold */
+	public static final int MAX_SPRITES = 1 << 20;
+	/** The number of textures a run can hold */
+	private static final int MAX_TEXTURES = 1 << 12;
+
+	/** The bit position of the texture id in a key, above the order added */
+	private static final int TEXTURE_SHIFT = 20;
+	/** The bit position of the blend state in a key */
+	private static final int BLEND_SHIFT = 32;
+	/** The bit position of the run in a key */
+	private static final int RUN_SHIFT = 34;
+	/** The bit position of the layer in a key */
+	private static final int LAYER_SHIFT = 54;
+	/** The number of bits of the layer in a key */
+	private static final int LAYER_BITS = 5;
+	/** The mask of the order added in a key */
+	private static final long SPRITE_MASK = MAX_SPRITES - 1;
+	/** The number of bits sorted in each pass of the radix sort */
+	private static final int RADIX_BITS = 8;
+	/** The number of buckets in each pass of the radix sort */
+	private static final int RADIX = 1 << RADIX_BITS;
+
+	/** The sort key of each sprite */
+	private long[] keys;
+	/** The keys being sorted into */
+	private long[] scratch;
+	/** The texture of each sprite, in the order added */
+	private Texture[] textures;
+	/** The vertices of each sprite, in the order added */
+	private float[] vertices;
+	/** The bucket counts of a radix sort pass */
+	private final int[] counts = new int[RADIX];
+	/** The id of each texture in the current run, by order of first use */
+	private final ObjectIntMap<Texture> textureIds = new ObjectIntMap<>();
+	/** The bounding box of each texture in the current run, as left, bottom, right, top */
+	private final float[] textureBounds = new float[MAX_TEXTURES * 4];
+	/** The number of sprites in the queue */
+	private int size;
+	/** The current run */
+	private int run;
+	/** The layer of the current run */
+	private int runLayer;
+	/** The blend state of the current run */
+	private int runBlend;
+
+	/**
+	 * Creates an empty queue with room for the given number of sprites.
+	 *
+	 * The queue grows as needed.
+	 *
+	 * @param capacity The number of sprites to make room for
+	 */
+	public RenderQueue(int capacity) {
+		capacity = Math.max(1, capacity);
+		keys = new long[capacity];
+		scratch = new long[capacity];
+		textures = new Texture[capacity];
+		vertices = new float[capacity * SPRITE_SIZE];
+	}
+
+	/**
+	 * Adds a sprite to the queue.
+	 *
+	 * The sprite is a rectangle of the given size, with its bottom left corner at the
+	 * origin, put in place by the transform. This is the same as the sprite batch
+	 * method that takes a transform.
+	 *
+	 * The queue must not be full.
+	 *
+	 * @param region    The texture region to draw
+	 * @param color     The packed color tint
+	 * @param width     The width of the rectangle
+	 * @param height    The height of the rectangle
+	 * @param transform The transform of the rectangle
+	 * @param layer     The layer of the sprite, less than {@link #MAX_LAYERS}
+	 * @param blend     The blend state of the sprite, as an ordinal
+	 */
+	public void add(TextureRegion region, float color, float width, float height, Affine2 transform,
+					int layer, int blend) {
+		if (size == keys.length) {
+			grow();
+		}
+		float x1 = transform.m02;
+		float y1 = transform.m12;
+		float x2 = transform.m01 * height + transform.m02;
+		float y2 = transform.m11 * height + transform.m12;
+		float x3 = transform.m00 * width + transform.m01 * height + transform.m02;
+		float y3 = transform.m10 * width + transform.m11 * height + transform.m12;
+		float x4 = transform.m00 * width + transform.m02;
+		float y4 = transform.m10 * width + transform.m12;
+		float u = region.getU();
+		float v = region.getV2();
+		float u2 = region.getU2();
+		float v2 = region.getV();
+
+		float left = Math.min(Math.min(x1, x2), Math.min(x3, x4));
+		float bottom = Math.min(Math.min(y1, y2), Math.min(y3, y4));
+		float right = Math.max(Math.max(x1, x2), Math.max(x3, x4));
+		float top = Math.max(Math.max(y1, y2), Math.max(y3, y4));
+
+		Texture texture = region.getTexture();
+		if (size == 0 || layer != runLayer || blend != runBlend) {
+			startRun(layer, blend);
+		}
+		int id = textureIds.get(texture, -1);
+		if (id >= 0 && overlapsAfter(id, left, bottom, right, top)) {
+			startRun(layer, blend);
+			id = -1;
+		}
+		if (id < 0) {
+			if (textureIds.size == MAX_TEXTURES) {
+				startRun(layer, blend);
+			}
+			id = textureIds.size;
+			textureIds.put(texture, id);
+			textureBounds[id * 4] = left;
+			textureBounds[id * 4 + 1] = bottom;
+			textureBounds[id * 4 + 2] = right;
+			textureBounds[id * 4 + 3] = top;
+		} else {
+			int box = id * 4;
+			textureBounds[box] = Math.min(textureBounds[box], left);
+			textureBounds[box + 1] = Math.min(textureBounds[box + 1], bottom);
+			textureBounds[box + 2] = Math.max(textureBounds[box + 2], right);
+			textureBounds[box + 3] = Math.max(textureBounds[box + 3], top);
+		}
+		keys[size] = ((long) layer << LAYER_SHIFT) | ((long) run << RUN_SHIFT)
+				| ((long) blend << BLEND_SHIFT) | ((long) id << TEXTURE_SHIFT) | size;
+		textures[size] = texture;
+
+		int idx = size * SPRITE_SIZE;
+		vertices[idx++] = x1;
+		vertices[idx++] = y1;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+
+		vertices[idx++] = x2;
+		vertices[idx++] = y2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = x3;
+		vertices[idx++] = y3;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = x4;
+		vertices[idx++] = y4;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx] = v;
+		size++;
+	}
+
+	/**
+	 * Returns true if the queue cannot hold another sprite.
+	 *
+	 * The queue must be drawn and cleared before more sprites are added.
+	 *
+	 * @return true if the queue cannot hold another sprite
+	 */
+	public boolean isFull() {
+		return size == MAX_SPRITES;
+	}
+
+	/**
+	 * Returns the number of sprites in the queue
+	 *
+	 * @return the number of sprites in the queue
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Sorts the sprites by layer, run and texture.
+	 *
+	 * After this, the i-th sprite to draw is given by {@link #getSprite}.
+	 */
+	public void sort() {
+		for (int shift = TEXTURE_SHIFT; shift < LAYER_SHIFT + LAYER_BITS; shift += RADIX_BITS) {
+			Arrays.fill(counts, 0);
+			for (int ii = 0; ii < size; ii++) {
+				counts[(int) (keys[ii] >>> shift) & (RADIX - 1)]++;
+			}
+			if (counts[(int) (keys[0] >>> shift) & (RADIX - 1)] == size) {
+				continue;   // Every key has the same byte here
+			}
+			int total = 0;
+			for (int ii = 0; ii < RADIX; ii++) {
+				int count = counts[ii];
+				counts[ii] = total;
+				total += count;
+			}
+			for (int ii = 0; ii < size; ii++) {
+				long key = keys[ii];
+				scratch[counts[(int) (key >>> shift) & (RADIX - 1)]++] = key;
+			}
+			long[] temp = keys;
+			keys = scratch;
+			scratch = temp;
+		}
+	}
+
+	/**
+	 * Returns the sprite at the given position in the sorted order.
+	 *
+	 * The sprite is the order it was added in, which indexes its texture and vertices.
+	 *
+	 * @param index The position in the sorted order
+	 *
+	 * @return the sprite at the given position in the sorted order
+	 */
+	public int getSprite(int index) {
+		return (int) (keys[index] & SPRITE_MASK);
+	}
+
+	/**
+	 * Returns the blend state ordinal at the given position in the sorted order.
+	 *
+	 * @param index The position in the sorted order
+	 *
+	 * @return the blend state ordinal at the given position in the sorted order
+	 */
+	public int getBlend(int index) {
+		return (int) (keys[index] >>> BLEND_SHIFT) & ((1 << (RUN_SHIFT - BLEND_SHIFT)) - 1);
+	}
+
+	/**
+	 * Returns the texture of a sprite
+	 *
+	 * @param sprite The order the sprite was added in
+	 *
+	 * @return the texture of a sprite
+	 */
+	public Texture getTexture(int sprite) {
+		return textures[sprite];
+	}
+
+	/**
+	 * Returns the vertices of every sprite, in the order they were added.
+	 *
+	 * The vertices of a sprite start at its order times {@link #SPRITE_SIZE}. This
+	 * method returns a reference to the array, which should not be modified.
+	 *
+	 * @return the vertices of every sprite
+	 */
+	public float[] getVertices() {
+		return vertices;
+	}
+
+	/**
+	 * Removes every sprite from the queue.
+	 *
+	 * The texture references are cleared, so the queue does not keep them alive.
+	 */
+	public void clear() {
+		Arrays.fill(textures, 0, size, null);
+		textureIds.clear();
+		size = 0;
+		run = 0;
+	}
+
+	/**
+	 * Ends the current run and starts a new one, with no textures.
+	 *
+	 * The first sprite of a pass starts run 0. There are never more runs than sprites,
+	 * so the run always fits in the key.
+	 *
+	 * @param layer The layer of the new run
+	 * @param blend The blend state of the new run
+	 */
+	private void startRun(int layer, int blend) {
+		if (size > 0) {
+			run++;
+		}
+		runLayer = layer;
+		runBlend = blend;
+		textureIds.clear();
+	}
+
+	/**
+	 * Returns true if a box overlaps a texture of the current run with a higher id.
+	 *
+	 * Those textures are drawn after the given one, so a sprite in the box would be
+	 * drawn under them, even though it was added after.
+	 *
+	 * @param id     The id of the texture of the sprite
+	 * @param left   The left edge of the box
+	 * @param bottom The bottom edge of the box
+	 * @param right  The right edge of the box
+	 * @param top    The top edge of the box
+	 *
+	 * @return true if a box overlaps a texture of the current run with a higher id
+	 */
+	private boolean overlapsAfter(int id, float left, float bottom, float right, float top) {
+		for (int ii = id + 1; ii < textureIds.size; ii++) {
+			int box = ii * 4;
+			if (left < textureBounds[box + 2] && textureBounds[box] < right
+					&& bottom < textureBounds[box + 3] && textureBounds[box + 1] < top) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Doubles the number of sprites the queue has room for
+	 */
+	private void grow() {
+		int capacity = keys.length * 2;
+		keys = Arrays.copyOf(keys, capacity);
+		scratch = new long[capacity];
+		textures = Arrays.copyOf(textures, capacity);
+		vertices = Arrays.copyOf(vertices, capacity * SPRITE_SIZE);
+	}
+}
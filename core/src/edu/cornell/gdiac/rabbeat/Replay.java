@@ -0,0 +1,405 @@
+/*
+ * Replay.java
+ *
+ * The simulation only reads three things from outside each frame: the frame time,
+ * the input, and the position of the song.  If we save those and feed them back,
+ * the fixed timestep replays the session exactly.  That lets us reproduce reported
+ * stutters, and gives us identical sessions to time before and after a change.
+ *
+ * Most frames change very little, so the file is delta encoded.  Times and song
+ * positions are stored as the difference of their float bits from the previous
+ * frame (which is small for nearby positive floats), and the input is only stored
+ * when it changes.
+ */
+package edu.cornell.gdiac.rabbeat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import edu.cornell.gdiac.rabbeat.sync.SyncClock;
+
+/**
+ * A recording of the frame times, input and song positions of one level.
+ *
+ * A replay either records or plays back. GameController gets the frame time from
+ * frame(), InputController passes itself to input() after each read, and the
+ * SyncController reads the song position through getPosition(). These must be
+ * called in that order once per frame, which the game loop already does.
+ *
+ * The header also stores the level, the random seed and the audio and visual
+ * delays, as the simulation depends on each of them.
+ */
+public class Replay implements SyncClock {
+	/** The first four bytes of every replay file ("RBRP") */
+	private static final int MAGIC = 0x52425250;
+	/** The version of the file format */
+	private static final int VERSION = 1;
+
+	/** Frame flag set if the buttons changed since the last frame */
+	private static final int BUTTONS_CHANGED = 1;
+	/** Frame flag set if the horizontal axis changed since the last frame */
+	private static final int HORIZONTAL_CHANGED = 1 << 1;
+	/** Frame flag set if the vertical axis changed since the last frame */
+	private static final int VERTICAL_CHANGED = 1 << 2;
+	/** Frame flag set if the delay adjustment changed since the last frame */
+	private static final int DELAY_CHANGED = 1 << 3;
+
+	/** The level this replay was recorded in */
+	private final int level;
+	/** The seed of the random number generator */
+	private final long seed;
+	/** The audio delay when this replay was recorded */
+	private final float audioDelay;
+	/** The visual delay when this replay was recorded */
+	private final float visualDelay;
+
+	/** The song to read positions from when recording (null when playing back) */
+	private final Music music;
+	/** The encoded frames when recording (null when playing back) */
+	private final ByteArrayOutputStream output;
+	/** The encoded frames when playing back (null when recording) */
+	private final ByteBuffer input;
+
+	/** The float bits of the last frame time */
+	private int lastTime;
+	/** The float bits of the last song position */
+	private int lastPosition;
+	/** The last button mask */
+	private int lastButtons;
+	/** The last horizontal axis */
+	private float lastHorizontal;
+	/** The last vertical axis */
+	private float lastVertical;
+	/** The last delay adjustment */
+	private float lastDelay;
+	/** The number of frames recorded or played back so far */
+	private int frames;
+
+	/**
+	 * Creates a new replay that records a level.
+	 *
+	 * @param level       The level being recorded
+	 * @param seed        The seed of the random number generator
+	 * @param audioDelay  The current audio delay
+	 * @param visualDelay The current visual delay
+	 * @param music       The song to read positions from
+	 *
+	 * @return a new replay that records a level
+	 */
+	public static Replay record(int level, long seed, float audioDelay, float visualDelay, Music music) {
+		return new Replay(level, seed, audioDelay, visualDelay, music);
+	}
+
+	/**
+	 * Loads a replay to play back from a file.
+	 *
+	 * @param file The file saved by a recording
+	 *
+	 * @return a replay that plays back the file
+	 */
+	public static Replay load(FileHandle file) {
+		ByteBuffer buffer = ByteBuffer.wrap(file.readBytes());
+		if (buffer.remaining() < 4 || buffer.getInt() != MAGIC) {
+			throw new GdxRuntimeException(file.path() + " is not a replay");
+		}
+		int version = buffer.get();
+		if (version != VERSION) {
+			throw new GdxRuntimeException(file.path() + " has unsupported replay version " + version);
+		}
+		return new Replay(buffer);
+	}
+
+	/**
+	 * Creates a new replay that records a level.
+	 *
+	 * @param level       The level being recorded
+	 * @param seed        The seed of the random number generator
+	 * @param audioDelay  The current audio delay
+	 * @param visualDelay The current visual delay
+	 * @param music       The song to read positions from
+	 */
+	private Replay(int level, long seed, float audioDelay, float visualDelay, Music music) {
+		this.level = level;
+		this.seed = seed;
+		this.audioDelay = audioDelay;
+		this.visualDelay = visualDelay;
+		this.music = music;
+		this.input = null;
+		output = new ByteArrayOutputStream();
+		writeInt(MAGIC);
+		output.write(VERSION);
+		writeInt(level);
+		writeInt((int) (seed >>> 32));
+		writeInt((int) seed);
+		writeInt(Float.floatToIntBits(audioDelay));
+		writeInt(Float.floatToIntBits(visualDelay));
+	}
+
+	/**
+	 * Creates a replay that plays back the given frames.
+	 *
+	 * @param buffer The replay file, positioned after the version
+	 */
+	private Replay(ByteBuffer buffer) {
+		input = buffer;
+		level = buffer.getInt();
+		seed = buffer.getLong();
+		audioDelay = Float.intBitsToFloat(buffer.getInt());
+		visualDelay = Float.intBitsToFloat(buffer.getInt());
+		music = null;
+		output = null;
+	}
+
+	/**
+	 * Returns true if this replay is playing back rather than recording
+	 *
+	 * @return true if this replay is playing back rather than recording
+	 */
+	public boolean isPlaying() {
+		return input != null;
+	}
+
+	/**
+	 * Returns true if this replay is playing back and has no frames left
+	 *
+	 * @return true if this replay is playing back and has no frames left
+	 */
+	public boolean isFinished() {
+		return input != null && !input.hasRemaining();
+	}
+
+	/**
+	 * Returns the level this replay was recorded in
+	 *
+	 * @return the level this replay was recorded in
+	 */
+	public int getLevel() {
+		return level;
+	}
+
+	/**
+	 * Returns the seed of the random number generator
+	 *
+	 * @return the seed of the random number generator
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Returns the audio delay when this replay was recorded
+	 *
+	 * @return the audio delay when this replay was recorded
+	 */
+	public float getAudioDelay() {
+		return audioDelay;
+	}
+
+	/**
+	 * Returns the visual delay when this replay was recorded
+	 *
+	 * @return the visual delay when this replay was recorded
+	 */
+	public float getVisualDelay() {
+		return visualDelay;
+	}
+
+	/**
+	 * Returns the number of frames recorded or played back so far
+	 *
+	 * @return the number of frames recorded or played back so far
+	 */
+	public int getFrameCount() {
+		return frames;
+	}
+
+	/**
+	 * Starts a new frame, returning the frame time to simulate.
+	 *
+	 * When recording, this saves the given time and returns it. When playing back,
+	 * it ignores the given time and returns the recorded one.
+	 *
+	 * @param dt Number of seconds since last animation frame
+	 *
+	 * @return the number of seconds to simulate this frame
+	 */
+	public float frame(float dt) {
+		frames++;
+		int bits;
+		if (input != null) {
+			bits = readDelta(lastTime);
+		} else {
+			bits = Float.floatToIntBits(dt);
+			writeDelta(lastTime, bits);
+		}
+		lastTime = bits;
+		return Float.intBitsToFloat(bits);
+	}
+
+	/**
+	 * Records or plays back the input for this frame.
+	 *
+	 * When recording, this saves the state the controller just read. When playing
+	 * back, it sets the controller to the recorded state instead.
+	 *
+	 * @param controller The input controller
+	 */
+	public void input(InputController controller) {
+		if (input != null) {
+			int flags = input.get();
+			if ((flags & BUTTONS_CHANGED) != 0) {
+				lastButtons = readVarInt();
+			}
+			if ((flags & HORIZONTAL_CHANGED) != 0) {
+				lastHorizontal = Float.intBitsToFloat(input.getInt());
+			}
+			if ((flags & VERTICAL_CHANGED) != 0) {
+				lastVertical = Float.intBitsToFloat(input.getInt());
+			}
+			if ((flags & DELAY_CHANGED) != 0) {
+				lastDelay = Float.intBitsToFloat(input.getInt());
+			}
+			controller.setButtonMask(lastButtons);
+			controller.setAxes(lastHorizontal, lastVertical, lastDelay);
+			return;
+		}
+
+		int buttons = controller.getButtonMask();
+		float horizontal = controller.getHorizontal();
+		float vertical = controller.getVertical();
+		float delay = controller.getDelay();
+		int flags = 0;
+		if (buttons != lastButtons) {
+			flags |= BUTTONS_CHANGED;
+		}
+		if (Float.floatToIntBits(horizontal) != Float.floatToIntBits(lastHorizontal)) {
+			flags |= HORIZONTAL_CHANGED;
+		}
+		if (Float.floatToIntBits(vertical) != Float.floatToIntBits(lastVertical)) {
+			flags |= VERTICAL_CHANGED;
+		}
+		if (Float.floatToIntBits(delay) != Float.floatToIntBits(lastDelay)) {
+			flags |= DELAY_CHANGED;
+		}
+		output.write(flags);
+		if ((flags & BUTTONS_CHANGED) != 0) {
+			writeVarInt(buttons);
+		}
+		if ((flags & HORIZONTAL_CHANGED) != 0) {
+			writeInt(Float.floatToIntBits(horizontal));
+		}
+		if ((flags & VERTICAL_CHANGED) != 0) {
+			writeInt(Float.floatToIntBits(vertical));
+		}
+		if ((flags & DELAY_CHANGED) != 0) {
+			writeInt(Float.floatToIntBits(delay));
+		}
+		lastButtons = buttons;
+		lastHorizontal = horizontal;
+		lastVertical = vertical;
+		lastDelay = delay;
+	}
+
+	/**
+	 * Returns the position in the song for this frame, in seconds.
+	 *
+	 * When recording, this reads the song and saves the position. When playing back,
+	 * it returns the recorded position.
+	 *
+	 * @return the position in the song for this frame, in seconds
+	 */
+	@Override
+	public float getPosition() {
+		int bits;
+		if (input != null) {
+			bits = readDelta(lastPosition);
+		} else {
+			bits = Float.floatToIntBits(music.getPosition());
+			writeDelta(lastPosition, bits);
+		}
+		lastPosition = bits;
+		return Float.intBitsToFloat(bits);
+	}
+
+	/**
+	 * Writes the recording to a file.
+	 *
+	 * @param file The file to write to
+	 */
+	public void save(FileHandle file) {
+		if (output == null) {
+			throw new IllegalStateException("Only a recording can be saved");
+		}
+		file.writeBytes(output.toByteArray(), false);
+	}
+
+	/**
+	 * Writes a big-endian int to the recording
+	 *
+	 * @param value The value to write
+	 */
+	private void writeInt(int value) {
+		output.write(value >>> 24);
+		output.write(value >>> 16);
+		output.write(value >>> 8);
+		output.write(value);
+	}
+
+	/**
+	 * Writes an unsigned int to the recording, seven bits per byte
+	 *
+	 * @param value The value to write
+	 */
+	private void writeVarInt(int value) {
+		while ((value & ~0x7F) != 0) {
+			output.write((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		output.write(value);
+	}
+
+	/**
+	 * Reads an unsigned int written by writeVarInt
+	 *
+	 * @return the value read
+	 */
+	private int readVarInt() {
+		int value = 0;
+		int shift = 0;
+		int b;
+		do {
+			b = input.get();
+			value |= (b & 0x7F) << shift;
+			shift += 7;
+		} while ((b & 0x80) != 0);
+		return value;
+	}
+
+	/**
+	 * Writes the signed difference between two values to the recording
+	 *
+	 * The difference is zigzag encoded so that small negative values are short too.
+	 *
+	 * @param previous The previous value
+	 * @param current  The current value
+	 */
+	private void writeDelta(int previous, int current) {
+		int delta = current - previous;
+		writeVarInt((delta << 1) ^ (delta >> 31));
+	}
+
+	/**
+	 * Reads a value written by writeDelta
+	 *
+	 * @param previous The previous value
+	 *
+	 * @return the current value
+	 */
+	private int readDelta(int previous) {
+		int zigzag = readVarInt();
+		return previous + ((zigzag >>> 1) ^ -(zigzag & 1));
+	}
+}
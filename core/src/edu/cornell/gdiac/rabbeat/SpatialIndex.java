@@ -0,0 +1,222 @@
+/*
+ * SpatialIndex.java
+ *
+ * Finding the objects near a point used to take a pass over every object in the
+ * level, so the cost grew with the length of the level even though only the objects
+ * around the camera or the player matter.  This class divides the level into a
+ * uniform grid, and keeps the objects of each cell in a list, so that a search only
+ * looks at the cells it overlaps.
+ */
+package edu.cornell.gdiac.rabbeat;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.utils.Array;
+import edu.cornell.gdiac.rabbeat.objects.GameObject;
+import edu.cornell.gdiac.util.PooledList;
+
+/**
+ * A uniform grid of the objects in a level, by position.
+ *
+ * Every object is in the cell containing its position, and positions outside of the
+ * level are put in the nearest cell. ObjectController keeps the index: an object is
+ * inserted when it is instantiated and removed when it is destroyed. Objects that
+ * never move, like the static platforms and art, stay in the cell they were inserted
+ * in. Objects that move must be updated after they do, which only does work when
+ * they cross into another cell.
+ *
+ * Each object keeps its entry in its cell, so inserting, removing and updating are
+ * all O(1). The cells reuse their entries, and the queries add to an array owned by
+ * the caller, so none of these allocate once the cells have warmed up.
+ *
+ * The index only knows the position of an object, not its size. A query finds the
+ * objects whose position is in the area, so callers that care about the extent of
+ * an object must grow the area by it.
+ */
+public class SpatialIndex {
+	/** The size of a cell (in world units) */
+	private final float cellSize;
+	/** The number of cell columns */
+	private final int columns;
+	/** The number of cell rows */
+	private final int rows;
+	/** The objects in each cell, row by row from the bottom */
+	private final PooledList<GameObject>[] cells;
+	/** The number of objects in the index */
+	private int size;
+
+	/**
+	 * Creates an empty index for a level of the given size.
+	 *
+	 * @param width    The width of the level (in world units)
+	 * @param height   The height of the level (in world units)
+	 * @param cellSize The size of a cell (in world units)
+	 */
+	@SuppressWarnings("unchecked")
+	public SpatialIndex(float width, float height, float cellSize) {
+		this.cellSize = cellSize;
+		columns = Math.max(1, MathUtils.ceil(width / cellSize));
+		rows = Math.max(1, MathUtils.ceil(height / cellSize));
+		cells = new PooledList[columns * rows];
+		for (int ii = 0; ii < cells.length; ii++) {
+			cells[ii] = new PooledList<>();
+		}
+	}
+
+	/**
+	 * Adds an object to the cell containing its position.
+	 *
+	 * If the object is already in the index, this is the same as {@link #update}.
+	 *
+	 * @param obj The object to add
+	 */
+	public void insert(GameObject obj) {
+		if (obj.getSpatialEntry() != null) {
+			update(obj);
+			return;
+		}
+		int cell = getCell(obj.getX(), obj.getY());
+		obj.setSpatialEntry(cells[cell].addEntry(obj));
+		obj.setSpatialCell(cell);
+		size++;
+	}
+
+	/**
+	 * Removes an object from the index.
+	 *
+	 * This does nothing if the object is not in the index.
+	 *
+	 * @param obj The object to remove
+	 */
+	public void remove(GameObject obj) {
+		if (obj.getSpatialEntry() == null) {
+			return;
+		}
+		obj.getSpatialEntry().remove();
+		obj.setSpatialEntry(null);
+		obj.setSpatialCell(-1);
+		size--;
+	}
+
+	/**
+	 * Moves an object to the cell containing its current position.
+	 *
+	 * This does nothing if the object is still in the same cell, or is not in the index.
+	 *
+	 * @param obj The object that may have moved
+	 */
+	public void update(GameObject obj) {
+		if (obj.getSpatialEntry() == null) {
+			return;
+		}
+		int cell = getCell(obj.getX(), obj.getY());
+		if (cell == obj.getSpatialCell()) {
+			return;
+		}
+		obj.getSpatialEntry().remove();
+		obj.setSpatialEntry(cells[cell].addEntry(obj));
+		obj.setSpatialCell(cell);
+	}
+
+	/**
+	 * Adds the objects whose position is in the given area to an array.
+	 *
+	 * The array is not cleared first. The objects are in no particular order.
+	 *
+	 * @param area The area to search (in world units)
+	 * @param out  The array to add the objects to
+	 *
+	 * @return the given array, for chaining
+	 */
+	public Array<GameObject> query(Rectangle area, Array<GameObject> out) {
+		int left = getColumn(area.x);
+		int right = getColumn(area.x + area.width);
+		int bottom = getRow(area.y);
+		int top = getRow(area.y + area.height);
+		for (int row = bottom; row <= top; row++) {
+			for (int column = left; column <= right; column++) {
+				for (GameObject obj : cells[row * columns + column]) {
+					if (area.contains(obj.getX(), obj.getY())) {
+						out.add(obj);
+					}
+				}
+			}
+		}
+		return out;
+	}
+
+	/**
+	 * Adds the objects whose position is within a radius of a point to an array.
+	 *
+	 * The array is not cleared first. The objects are in no particular order.
+	 *
+	 * @param x      The x-coordinate of the center (in world units)
+	 * @param y      The y-coordinate of the center (in world units)
+	 * @param radius The radius to search (in world units)
+	 * @param out    The array to add the objects to
+	 *
+	 * @return the given array, for chaining
+	 */
+	public Array<GameObject> query(float x, float y, float radius, Array<GameObject> out) {
+		int left = getColumn(x - radius);
+		int right = getColumn(x + radius);
+		int bottom = getRow(y - radius);
+		int top = getRow(y + radius);
+		float radius2 = radius * radius;
+		for (int row = bottom; row <= top; row++) {
+			for (int column = left; column <= right; column++) {
+				for (GameObject obj : cells[row * columns + column]) {
+					float dx = obj.getX() - x;
+					float dy = obj.getY() - y;
+					if (dx * dx + dy * dy <= radius2) {
+						out.add(obj);
+					}
+				}
+			}
+		}
+		return out;
+	}
+
+	/**
+	 * Returns the number of objects in the index
+	 *
+	 * @return the number of objects in the index
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the cell containing the given position, clamped to the level
+	 *
+	 * @param x The x-coordinate (in world units)
+	 * @param y The y-coordinate (in world units)
+	 *
+	 * @return the cell containing the given position
+	 */
+	private int getCell(float x, float y) {
+		return getRow(y) * columns + getColumn(x);
+	}
+
+	/**
+	 * Returns the column containing the given x-coordinate, clamped to the level
+	 *
+	 * @param x The x-coordinate (in world units)
+	 *
+	 * @return the column containing the given x-coordinate
+	 */
+	private int getColumn(float x) {
+		return MathUtils.clamp(MathUtils.floor(x / cellSize), 0, columns - 1);
+	}
+
+	/**
+	 * Returns the row containing the given y-coordinate, clamped to the level
+	 *
+	 * @param y The y-coordinate (in world units)
+	 *
+	 * @return the row containing the given y-coordinate
+	 */
+	private int getRow(float y) {
+		return MathUtils.clamp(MathUtils.floor(y / cellSize), 0, rows - 1);
+	}
+}
@@ -0,0 +1,675 @@
+/*
+ * TiledReader.java
+ *
+ * A Tiled level can be over 200 KB of JSON, most of it tile ids and object
+ * properties.  Parsing it with JsonReader builds a JsonValue node for every number
+ * and string in the file before we look at any of it, which is several times the
+ * size of the level itself and all garbage once the level is built.  This reader
+ * pulls tokens from the file one at a time instead, and writes them straight into
+ * a LevelDefinition.  Keys are matched in place, numbers are converted as they are
+ * read, and each distinct piece of text in the level becomes a single string.
+ */
+package edu.cornell.gdiac.rabbeat;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/**
+ * A pull reader that builds a {@link LevelDefinition} from a Tiled JSON file.
+ *
+ * Only the fields the game uses are kept, and everything else is skipped without
+ * being stored. Every token is read into a reused buffer. Keys are compared against
+ * the known keys in that buffer, so they never become strings. The tile data of each
+ * layer is read into a reused array. Object properties are added to the property
+ * table of the definition with their numbers already converted, and the names and
+ * string values are interned, so a name used by a thousand objects is one string.
+ *
+ * A reader is not thread-safe, but separate readers may be used on separate threads.
+ */
+public class TiledReader {
+	/** The size of the character buffer */
+	private static final int BUFFER_SIZE = 8192;
+	/** The size of the table of interned strings, a power of two */
+	private static final int INTERN_SIZE = 1024;
+	/** The powers of ten that a double holds exactly */
+	private static final double[] POWERS_OF_TEN = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	/** The keys the reader looks for, indexed by the KEY constants */
+	private static final String[] KEYS = {
+			"width", "height", "tileheight", "layers", "tilesets", "firstgid", "source",
+			"name", "data", "objects", "type", "x", "y", "properties", "value"
+	};
+	/** Any key that is not in KEYS */
+	private static final int KEY_OTHER = -1;
+	private static final int KEY_WIDTH = 0;
+	private static final int KEY_HEIGHT = 1;
+	private static final int KEY_TILEHEIGHT = 2;
+	private static final int KEY_LAYERS = 3;
+	private static final int KEY_TILESETS = 4;
+	private static final int KEY_FIRSTGID = 5;
+	private static final int KEY_SOURCE = 6;
+	private static final int KEY_NAME = 7;
+	private static final int KEY_DATA = 8;
+	private static final int KEY_OBJECTS = 9;
+	private static final int KEY_TYPE = 10;
+	private static final int KEY_X = 11;
+	private static final int KEY_Y = 12;
+	private static final int KEY_PROPERTIES = 13;
+	private static final int KEY_VALUE = 14;
+
+	/** The source of characters */
+	private Reader reader;
+	/** The characters read from the source */
+	private final char[] buffer = new char[BUFFER_SIZE];
+	/** The position of the next character in the buffer */
+	private int position;
+	/** The number of characters in the buffer */
+	private int limit;
+	/** The path of the file being read, for error messages */
+	private String path;
+
+	/** The text of the last string or literal read */
+	private final StringBuilder text = new StringBuilder();
+	/** The strings read so far, by the hash of their text */
+	private final String[] interned = new String[INTERN_SIZE];
+	/** The number of strings in the interned table */
+	private int internedCount;
+	/** The property table of the level being read */
+	private LevelDefinition.PropertyTable properties;
+	/** The tile ids of the layer being read */
+	private final IntArray tiles = new IntArray(4096);
+	/** The first tile id of each tileset read so far */
+	private final IntArray firstGids = new IntArray();
+	/** The source of each tileset read so far */
+	private final Array<String> tilesetSources = new Array<>();
+
+	/**
+	 * Reads the definition of a level from a Tiled JSON file.
+	 *
+	 * @param file The Tiled file
+	 *
+	 * @return the definition of the level
+	 */
+	public LevelDefinition read(FileHandle file) {
+		reader = file.reader("UTF-8");
+		path = file.path();
+		position = 0;
+		limit = 0;
+		try {
+			return readLevel();
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Error reading level " + path, e);
+		} finally {
+			StreamUtils.closeQuietly(reader);
+			reader = null;
+		}
+	}
+
+	/**
+	 * Reads the top level object of the file
+	 *
+	 * @return the definition of the level
+	 */
+	private LevelDefinition readLevel() throws IOException {
+		LevelDefinition level = new LevelDefinition();
+		properties = level.properties;
+		firstGids.clear();
+		tilesetSources.clear();
+		expect('{');
+		while (nextKey()) {
+			switch (readKey()) {
+				case KEY_WIDTH:
+					level.width = readInt();
+					break;
+				case KEY_HEIGHT:
+					level.height = readInt();
+					break;
+				case KEY_TILEHEIGHT:
+					level.tileSize = readInt();
+					break;
+				case KEY_LAYERS:
+					expect('[');
+					while (nextElement(']')) {
+						level.layers.add(readLayer());
+					}
+					break;
+				case KEY_TILESETS:
+					expect('[');
+					while (nextElement(']')) {
+						readTileset();
+					}
+					break;
+				default:
+					skipValue();
+					break;
+			}
+		}
+		level.firstGids = firstGids.toArray();
+		level.tilesetSources = tilesetSources.toArray(String.class);
+		return level;
+	}
+
+	/**
+	 * Reads a tileset reference, adding it to the tileset lists
+	 */
+	private void readTileset() throws IOException {
+		int firstGid = 0;
+		String source = "";
+		expect('{');
+		while (nextKey()) {
+			switch (readKey()) {
+				case KEY_FIRSTGID:
+					firstGid = readInt();
+					break;
+				case KEY_SOURCE:
+					source = readString();
+					break;
+				default:
+					skipValue();
+					break;
+			}
+		}
+		firstGids.add(firstGid);
+		tilesetSources.add(source);
+	}
+
+	/**
+	 * Reads a layer
+	 *
+	 * @return the definition of the layer
+	 */
+	private LevelDefinition.LayerDefinition readLayer() throws IOException {
+		LevelDefinition.LayerDefinition layer = new LevelDefinition.LayerDefinition();
+		layer.name = "";
+		expect('{');
+		while (nextKey()) {
+			switch (readKey()) {
+				case KEY_NAME:
+					layer.name = readString();
+					break;
+				case KEY_WIDTH:
+					layer.width = readInt();
+					break;
+				case KEY_HEIGHT:
+					layer.height = readInt();
+					break;
+				case KEY_DATA:
+					tiles.clear();
+					expect('[');
+					while (nextElement(']')) {
+						tiles.add(readInt());
+					}
+					layer.data = tiles.toArray();
+					break;
+				case KEY_OBJECTS:
+					expect('[');
+					while (nextElement(']')) {
+						layer.objects.add(readObject());
+					}
+					break;
+				default:
+					skipValue();
+					break;
+			}
+		}
+		return layer;
+	}
+
+	/**
+	 * Reads an object in an object layer
+	 *
+	 * @return the definition of the object
+	 */
+	private LevelDefinition.ObjectDefinition readObject() throws IOException {
+		LevelDefinition.ObjectDefinition object = new LevelDefinition.ObjectDefinition();
+		object.properties = properties;
+		expect('{');
+		while (nextKey()) {
+			switch (readKey()) {
+				case KEY_TYPE:
+					object.type = readString();
+					break;
+				case KEY_X:
+					object.x = readFloat();
+					break;
+				case KEY_Y:
+					object.y = readFloat();
+					break;
+				case KEY_WIDTH:
+					object.width = readFloat();
+					break;
+				case KEY_HEIGHT:
+					object.height = readFloat();
+					break;
+				case KEY_PROPERTIES:
+					// The properties of an object are listed once, so they are back to back
+					object.firstProperty = properties.size();
+					expect('[');
+					while (nextElement(']')) {
+						readProperty();
+					}
+					object.propertyCount = properties.size() - object.firstProperty;
+					break;
+				default:
+					skipValue();
+					break;
+			}
+		}
+		object.beatList = LevelDefinition.parseBeatList(object.getString("beatList", ""));
+		return object;
+	}
+
+	/**
+	 * Reads a custom property, adding it to the end of the property table.
+	 *
+	 * The kind of the property comes from its JSON value, so a quoted value is a
+	 * string, true and false are booleans, and anything else is a number.
+	 */
+	private void readProperty() throws IOException {
+		String name = "";
+		byte kind = LevelDefinition.PropertyTable.STRING;
+		double number = 0;
+		String string = "";
+		expect('{');
+		while (nextKey()) {
+			switch (readKey()) {
+				case KEY_NAME:
+					name = readString();
+					break;
+				case KEY_VALUE:
+					int first = peek();
+					text.setLength(0);
+					readValue(text);
+					if (first == '"' || first == 'n') {
+						// A string, or a null that we keep as its text
+						kind = LevelDefinition.PropertyTable.STRING;
+						string = intern(text);
+					} else if (matches("true") || matches("false")) {
+						kind = LevelDefinition.PropertyTable.BOOLEAN;
+						number = text.charAt(0) == 't' ? 1 : 0;
+						string = null;
+					} else {
+						kind = LevelDefinition.PropertyTable.NUMBER;
+						number = parseNumber();
+						string = null;
+					}
+					break;
+				default:
+					skipValue();
+					break;
+			}
+		}
+		properties.add(name, kind, number, string);
+	}
+
+	/**
+	 * Moves to the next key of an object, returning false at the end of the object.
+	 *
+	 * This consumes the comma between entries and the closing brace.
+	 *
+	 * @return true if there is another key in the object
+	 */
+	private boolean nextKey() throws IOException {
+		return nextElement('}');
+	}
+
+	/**
+	 * Moves to the next element of an array or object, returning false at its end.
+	 *
+	 * This consumes the comma between elements and the closing bracket.
+	 *
+	 * @param close The character that closes the array or object
+	 *
+	 * @return true if there is another element
+	 */
+	private boolean nextElement(char close) throws IOException {
+		int c = peek();
+		if (c == ',') {
+			position++;
+			c = peek();
+		}
+		if (c == close) {
+			position++;
+			return false;
+		}
+		if (c < 0) {
+			throw error("Unexpected end of file");
+		}
+		return true;
+	}
+
+	/**
+	 * Reads the key of an object entry and the colon after it.
+	 *
+	 * The key is compared against the known keys in the text buffer, so no string is
+	 * made for it.
+	 *
+	 * @return the KEY constant of the key, or KEY_OTHER if it is not one we read
+	 */
+	private int readKey() throws IOException {
+		text.setLength(0);
+		readValue(text);
+		expect(':');
+		for (int i = 0; i < KEYS.length; i++) {
+			if (matches(KEYS[i])) {
+				return i;
+			}
+		}
+		return KEY_OTHER;
+	}
+
+	/**
+	 * Returns true if the text buffer holds the given string
+	 *
+	 * @param s The string to compare against
+	 *
+	 * @return true if the text buffer holds the given string
+	 */
+	private boolean matches(String s) {
+		if (text.length() != s.length()) {
+			return false;
+		}
+		for (int i = 0; i < s.length(); i++) {
+			if (text.charAt(i) != s.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads a string value
+	 *
+	 * @return the string, interned
+	 */
+	private String readString() throws IOException {
+		text.setLength(0);
+		readValue(text);
+		return intern(text);
+	}
+
+	/**
+	 * Returns the string with the same text as the given buffer.
+	 *
+	 * A string is only made the first time its text is read. Once the table is three
+	 * quarters full new text is no longer interned, and gets a string of its own.
+	 *
+	 * @param chars The text to intern
+	 *
+	 * @return the string with the same text as the given buffer
+	 */
+	private String intern(StringBuilder chars) {
+		int hash = 0;
+		for (int i = 0; i < chars.length(); i++) {
+			hash = 31 * hash + chars.charAt(i);
+		}
+		int mask = INTERN_SIZE - 1;
+		int slot = (hash ^ (hash >>> 16)) & mask;
+		String s;
+		while ((s = interned[slot]) != null) {
+			if (s.hashCode() == hash && s.contentEquals(chars)) {
+				return s;
+			}
+			slot = (slot + 1) & mask;
+		}
+		s = chars.toString();
+		if (internedCount < INTERN_SIZE * 3 / 4) {
+			interned[slot] = s;
+			internedCount++;
+		}
+		return s;
+	}
+
+	/**
+	 * Reads a number value as an int
+	 *
+	 * @return the number, truncated to an int
+	 */
+	private int readInt() throws IOException {
+		text.setLength(0);
+		readValue(text);
+		long value = 0;
+		boolean negative = false;
+		int i = 0;
+		if (text.length() > 0 && text.charAt(0) == '-') {
+			negative = true;
+			i = 1;
+		}
+		for (; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c < '0' || c > '9') {
+				// Not a plain integer (such as 1.5 or 1e3)
+				return (int) parseNumber();
+			}
+			value = value * 10 + (c - '0');
+		}
+		return (int) (negative ? -value : value);
+	}
+
+	/**
+	 * Reads a number value as a float
+	 *
+	 * @return the number
+	 */
+	private float readFloat() throws IOException {
+		text.setLength(0);
+		readValue(text);
+		return (float) parseNumber();
+	}
+
+	/**
+	 * Returns the number in the text buffer.
+	 *
+	 * Tiled writes short decimals, whose digits and power of ten a double holds
+	 * exactly, so one multiply or divide gives the same value as Double.parseDouble.
+	 * Anything else is left to Double.parseDouble.
+	 *
+	 * @return the number in the text buffer
+	 */
+	private double parseNumber() {
+		int length = text.length();
+		int i = 0;
+		boolean negative = i < length && text.charAt(i) == '-';
+		if (negative) {
+			i++;
+		}
+		long mantissa = 0;
+		int digits = 0;
+		int scale = 0;
+		boolean fraction = false;
+		boolean any = false;
+		for (; i < length; i++) {
+			char c = text.charAt(i);
+			if (c >= '0' && c <= '9') {
+				if (digits == 15) {
+					return Double.parseDouble(text.toString());
+				}
+				mantissa = mantissa * 10 + (c - '0');
+				if (mantissa > 0) {
+					digits++;
+				}
+				if (fraction) {
+					scale++;
+				}
+				any = true;
+			} else if (c == '.' && !fraction) {
+				fraction = true;
+			} else {
+				break;
+			}
+		}
+		int exponent = 0;
+		if (any && i < length && (text.charAt(i) == 'e' || text.charAt(i) == 'E')) {
+			i++;
+			boolean negativeExponent = i < length && text.charAt(i) == '-';
+			if (i < length && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+				i++;
+			}
+			int start = i;
+			for (; i < length && i - start < 4; i++) {
+				char c = text.charAt(i);
+				if (c < '0' || c > '9') {
+					break;
+				}
+				exponent = exponent * 10 + (c - '0');
+			}
+			if (i == start) {
+				any = false;
+			}
+			exponent = negativeExponent ? -exponent : exponent;
+		}
+		int power = exponent - scale;
+		if (!any || i < length || Math.abs(power) >= POWERS_OF_TEN.length) {
+			// Not a short decimal, or not a number at all
+			return Double.parseDouble(text.toString());
+		}
+		double value = power >= 0 ? mantissa * POWERS_OF_TEN[power] : mantissa / POWERS_OF_TEN[-power];
+		return negative ? -value : value;
+	}
+
+	/**
+	 * Reads a string, number or literal into the given buffer.
+	 *
+	 * Strings are unescaped, and numbers and literals are copied as written.
+	 *
+	 * @param out The buffer to append the value to
+	 */
+	private void readValue(StringBuilder out) throws IOException {
+		int c = peek();
+		if (c == '"') {
+			position++;
+			while ((c = read()) != '"') {
+				if (c < 0) {
+					throw error("Unterminated string");
+				}
+				if (c == '\\') {
+					c = read();
+					switch (c) {
+						case 'b': out.append('\b'); break;
+						case 'f': out.append('\f'); break;
+						case 'n': out.append('\n'); break;
+						case 'r': out.append('\r'); break;
+						case 't': out.append('\t'); break;
+						case 'u':
+							int code = 0;
+							for (int i = 0; i < 4; i++) {
+								code = code * 16 + Character.digit(read(), 16);
+							}
+							out.append((char) code);
+							break;
+						default:
+							out.append((char) c);
+							break;
+					}
+				} else {
+					out.append((char) c);
+				}
+			}
+		} else if (c == '{' || c == '[') {
+			throw error("Expected a value but found '" + (char) c + "'");
+		} else {
+			// A number or a literal runs until the next delimiter
+			while (c >= 0 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+				out.append((char) c);
+				position++;
+				c = fill() ? buffer[position] : -1;
+			}
+		}
+	}
+
+	/**
+	 * Skips over a value of any type, including nested arrays and objects
+	 */
+	private void skipValue() throws IOException {
+		int c = peek();
+		if (c == '{' || c == '[') {
+			char close = (c == '{' ? '}' : ']');
+			position++;
+			while (nextElement(close)) {
+				if (close == '}') {
+					readKey();
+				}
+				skipValue();
+			}
+		} else {
+			text.setLength(0);
+			readValue(text);
+		}
+	}
+
+	/**
+	 * Consumes the given character, skipping any whitespace before it
+	 *
+	 * @param expected The character to consume
+	 */
+	private void expect(char expected) throws IOException {
+		int c = peek();
+		if (c != expected) {
+			throw error("Expected '" + expected + "' but found " + (c < 0 ? "end of file" : "'" + (char) c + "'"));
+		}
+		position++;
+	}
+
+	/**
+	 * Returns the next character that is not whitespace, without consuming it
+	 *
+	 * @return the next character, or -1 at the end of the file
+	 */
+	private int peek() throws IOException {
+		while (fill()) {
+			char c = buffer[position];
+			if (!Character.isWhitespace(c)) {
+				return c;
+			}
+			position++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Consumes and returns the next character, including whitespace
+	 *
+	 * @return the next character, or -1 at the end of the file
+	 */
+	private int read() throws IOException {
+		return fill() ? buffer[position++] : -1;
+	}
+
+	/**
+	 * Refills the buffer if it is empty, returning false at the end of the file
+	 *
+	 * @return true if there is a character at the current position
+	 */
+	private boolean fill() throws IOException {
+		if (position < limit) {
+			return true;
+		}
+		limit = reader.read(buffer, 0, buffer.length);
+		position = 0;
+		if (limit <= 0) {
+			limit = 0;
+			return false;
+		}
+		return true;
+	}
+
+	/**
+	 * Returns an exception for a malformed file
+	 *
+	 * @param message The description of the problem
+	 *
+	 * @return an exception for a malformed file
+	 */
+	private GdxRuntimeException error(String message) {
+		return new GdxRuntimeException(message + " in level " + path);
+	}
+}
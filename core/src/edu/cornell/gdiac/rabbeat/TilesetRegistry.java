@@ -0,0 +1,342 @@
+/*
+ * TilesetRegistry.java
+ *
+ * The wall tiles used to be bound by hand, one asset per tile and one map per
+ * tileset, and the tileset of each tile was found by scanning the tilesets of the
+ * level and checking the name of its file.  Every new tile or tileset meant more code.
+ * Tiled already describes each tileset in a .tsx file, so this class reads those
+ * instead, and gives every tile id of a level its region in a single array.
+ */
+package edu.cornell.gdiac.rabbeat;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.XmlReader;
+import edu.cornell.gdiac.assets.AssetDirectory;
+import edu.cornell.gdiac.assets.PackedRegionLoader;
+
+/**
+ * Resolves the tile ids of a level to texture regions.
+ *
+ * Each tileset file is read the first time a level uses it. If the tileset has a
+ * "tiles" property, that names a directory with the game art of each tile, one
+ * image per tile id, and each image is loaded as the region of its tile. The images
+ * are packed into shared pages, so that a chunk of the tile cache draws from a single
+ * texture. The sheet Tiled shows is only a preview of that art, and a tile with no
+ * image has no region.
+ * Otherwise, if the tileset is a single image, that image is loaded through the
+ * asset manager and split into a region per tile, using the tile size, margin and
+ * spacing in the file. Tilesets
+ * made of separate images (the art and object tilesets) have no regions, as those
+ * tiles are only placed as objects, which name their own assets.
+ *
+ * Only the tilesets of the current level are kept. A tileset the next level shares
+ * keeps its textures, and the others are unloaded when the next level is bound. The
+ * regions of the current level are in a flat array indexed by tile id, so looking
+ * up a tile is a single array access.
+ */
+public class TilesetRegistry {
+	/** The bits of a tile id that are the id, and not the Tiled flip flags */
+	private static final int GID_MASK = 0x1FFFFFFF;
+	/** The pack that the images of individual tiles are copied into */
+	private static final PackedRegionLoader.PackedRegionParameters TILE_PACK =
+			new PackedRegionLoader.PackedRegionParameters("tiles");
+
+	/** The asset directory that loads the tileset images */
+	private final AssetDirectory assets;
+	/** The parser for the tileset files */
+	private final XmlReader xml = new XmlReader();
+	/** The regions of each tileset read so far, by the path of the tileset file */
+	private final ObjectMap<String, TextureRegion[]> tilesets = new ObjectMap<>();
+	/** The images this registry loaded for each tileset, by the path of the tileset file */
+	private final ObjectMap<String, Array<String>> textures = new ObjectMap<>();
+	/** The region of each tile id of the current level */
+	private TextureRegion[] regions = new TextureRegion[0];
+
+	/**
+	 * Creates an empty registry that loads images with the given asset directory
+	 *
+	 * @param assets The asset directory that loads the tileset images
+	 */
+	public TilesetRegistry(AssetDirectory assets) {
+		this.assets = assets;
+	}
+
+	/**
+	 * Makes the given level the current level, resolving the ids of its tilesets.
+	 *
+	 * Any tileset the level uses that has not been read yet is read now, and any
+	 * tileset it does not use is released.
+	 *
+	 * @param level     The definition of the level
+	 * @param levelFile The path of the level, which the tileset sources are relative to
+	 */
+	public void bind(LevelDefinition level, String levelFile) {
+		String directory = getDirectory(levelFile);
+		String[] paths = new String[level.firstGids.length];
+		TextureRegion[][] sets = new TextureRegion[paths.length][];
+		int size = 1;
+		for (int i = 0; i < sets.length; i++) {
+			paths[i] = resolve(directory, level.tilesetSources[i]);
+			sets[i] = getTileset(paths[i]);
+			size = Math.max(size, level.firstGids[i] + sets[i].length);
+		}
+
+		// Release the tilesets that this level does not use
+		Array<String> unused = tilesets.keys().toArray();
+		for (String path : paths) {
+			unused.removeValue(path, false);
+		}
+		for (String path : unused) {
+			release(path);
+		}
+
+		regions = new TextureRegion[size];
+		for (int i = 0; i < sets.length; i++) {
+			System.arraycopy(sets[i], 0, regions, level.firstGids[i], sets[i].length);
+		}
+	}
+
+	/**
+	 * Returns the region of the given tile id in the current level
+	 *
+	 * @param gid The tile id, as it appears in the layer data
+	 *
+	 * @return the region of the tile, or null if the tile has no region
+	 */
+	public TextureRegion getRegion(int gid) {
+		gid &= GID_MASK;
+		return gid < regions.length ? regions[gid] : null;
+	}
+
+	/**
+	 * Unloads the tileset images and forgets every tileset
+	 */
+	public void dispose() {
+		for (String path : tilesets.keys().toArray()) {
+			release(path);
+		}
+		regions = new TextureRegion[0];
+	}
+
+	/**
+	 * Forgets the given tileset, unloading the images this registry loaded for it
+	 *
+	 * @param path The internal path of the tileset file
+	 */
+	private void release(String path) {
+		tilesets.remove(path);
+		Array<String> images = textures.remove(path);
+		if (images == null) {
+			return;
+		}
+		for (String image : images) {
+			if (assets.isLoaded(image)) {
+				assets.unload(image);
+			}
+		}
+	}
+
+	/**
+	 * Returns the regions of the given tileset file, reading it if necessary.
+	 *
+	 * @param path The internal path of the tileset file
+	 *
+	 * @return the region of each tile in the tileset, by local tile id
+	 */
+	private TextureRegion[] getTileset(String path) {
+		TextureRegion[] result = tilesets.get(path);
+		if (result != null) {
+			return result;
+		}
+
+		FileHandle file = Gdx.files.internal(path);
+		XmlReader.Element root;
+		try {
+			root = xml.parse(file);
+		} catch (Exception e) {
+			throw new GdxRuntimeException("Error reading tileset " + path, e);
+		}
+
+		XmlReader.Element image = root.getChildByName("image");
+		String tiles = getProperty(root, "tiles");
+		if (tiles != null) {
+			result = loadTiles(path, resolve(getDirectory(path), tiles), root);
+		} else if (image == null) {
+			// A collection of images, which are only ever placed as objects
+			result = new TextureRegion[0];
+		} else {
+			String source = resolve(getDirectory(path), image.get("source"));
+			result = split(getTexture(path, source), root);
+		}
+		tilesets.put(path, result);
+		return result;
+	}
+
+	/**
+	 * Returns a region for each tile id with an image in the given directory.
+	 *
+	 * The image of a tile is the file named by its local id. Ids with no image are
+	 * left without a region. The images are packed, and are all loaded before this
+	 * returns, as the pages only get their textures once loading has finished.
+	 *
+	 * @param path      The internal path of the tileset file
+	 * @param directory The internal path of the directory of tile images
+	 * @param root      The root element of the tileset file
+	 *
+	 * @return the region of each tile in the tileset, by local tile id
+	 */
+	private TextureRegion[] loadTiles(String path, String directory, XmlReader.Element root) {
+		String[] sources = new String[root.getIntAttribute("tilecount")];
+		for (int id = 0; id < sources.length; id++) {
+			String source = directory + "/" + id + ".png";
+			if (Gdx.files.internal(source).exists()) {
+				sources[id] = source + PackedRegionLoader.SUFFIX;
+				if (!assets.isLoaded(sources[id], TextureRegion.class)) {
+					assets.load(sources[id], TextureRegion.class, TILE_PACK);
+					record(path, sources[id]);
+				}
+			}
+		}
+		assets.finishLoading();
+
+		TextureRegion[] result = new TextureRegion[sources.length];
+		for (int id = 0; id < sources.length; id++) {
+			if (sources[id] != null) {
+				result[id] = assets.get(sources[id], TextureRegion.class);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the given image of a tileset, loading it if necessary.
+	 *
+	 * An image this registry loads is recorded against the tileset, so that it is
+	 * unloaded when the tileset is released.
+	 *
+	 * @param path   The internal path of the tileset file
+	 * @param source The internal path of the image
+	 *
+	 * @return the loaded image
+	 */
+	private Texture getTexture(String path, String source) {
+		if (!assets.isLoaded(source, Texture.class)) {
+			assets.load(source, Texture.class);
+			assets.finishLoadingAsset(source);
+			record(path, source);
+		}
+		return assets.get(source, Texture.class);
+	}
+
+	/**
+	 * Records an image this registry loaded against a tileset
+	 *
+	 * The image is unloaded when the tileset is released.
+	 *
+	 * @param path   The internal path of the tileset file
+	 * @param source The asset name of the image
+	 */
+	private void record(String path, String source) {
+		Array<String> images = textures.get(path);
+		if (images == null) {
+			images = new Array<>();
+			textures.put(path, images);
+		}
+		images.add(source);
+	}
+
+	/**
+	 * Returns the value of a custom property of a tileset
+	 *
+	 * @param root The root element of the tileset file
+	 * @param name The name of the property
+	 *
+	 * @return the value of the property, or null if the tileset does not have it
+	 */
+	private static String getProperty(XmlReader.Element root, String name) {
+		XmlReader.Element properties = root.getChildByName("properties");
+		if (properties == null) {
+			return null;
+		}
+		for (XmlReader.Element property : properties.getChildrenByName("property")) {
+			if (name.equals(property.get("name", null))) {
+				return property.get("value", null);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Splits a tileset image into a region per tile, row by row from the top.
+	 *
+	 * @param texture The tileset image
+	 * @param root    The root element of the tileset file
+	 *
+	 * @return the region of each tile in the tileset, by local tile id
+	 */
+	private static TextureRegion[] split(Texture texture, XmlReader.Element root) {
+		int tileWidth = root.getIntAttribute("tilewidth");
+		int tileHeight = root.getIntAttribute("tileheight");
+		int margin = root.getIntAttribute("margin", 0);
+		int spacing = root.getIntAttribute("spacing", 0);
+		int columns = root.getIntAttribute("columns",
+				(texture.getWidth() - 2 * margin + spacing) / (tileWidth + spacing));
+		int count = root.getIntAttribute("tilecount", columns
+				* ((texture.getHeight() - 2 * margin + spacing) / (tileHeight + spacing)));
+
+		TextureRegion[] result = new TextureRegion[count];
+		for (int id = 0; id < count; id++) {
+			int x = margin + (id % columns) * (tileWidth + spacing);
+			int y = margin + (id / columns) * (tileHeight + spacing);
+			result[id] = new TextureRegion(texture, x, y, tileWidth, tileHeight);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the directory of the given path, ending in a separator
+	 *
+	 * @param path An internal file path
+	 *
+	 * @return the directory of the given path, or the empty string for the root
+	 */
+	private static String getDirectory(String path) {
+		return path.substring(0, path.lastIndexOf('/') + 1);
+	}
+
+	/**
+	 * Returns the internal path of a file given relative to a directory.
+	 *
+	 * Any ".." in the relative path is removed, as internal files may be read from
+	 * the classpath, which does not understand them.
+	 *
+	 * @param directory The directory, ending in a separator
+	 * @param relative  The path relative to the directory
+	 *
+	 * @return the internal path of the file
+	 */
+	private static String resolve(String directory, String relative) {
+		Array<String> parts = new Array<>();
+		for (String part : (directory + relative).split("/")) {
+			if (part.equals("..") && parts.size > 0 && !parts.peek().equals("..")) {
+				parts.pop();
+			} else if (!part.isEmpty() && !part.equals(".")) {
+				parts.add(part);
+			}
+		}
+		StringBuilder result = new StringBuilder();
+		for (String part : parts) {
+			if (result.length() > 0) {
+				result.append('/');
+			}
+			result.append(part);
+		}
+		return result.toString();
+	}
+}
@@ -0,0 +1,189 @@
+/*
+ * WallTracer.java
+ *
+ * Walls used to be one static box per tile, which is thousands of bodies on the
+ * larger levels.  Every one of them sits in the broadphase and gets its own contacts,
+ * even though the player can only ever touch the outside of a wall.  This class
+ * traces the outline of each group of wall tiles instead, so that each group can be
+ * a single chain shape.
+ */
+package edu.cornell.gdiac.rabbeat;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.IntArray;
+import edu.cornell.gdiac.math.Path2;
+import edu.cornell.gdiac.math.PathSmoother;
+
+/**
+ * Traces the outlines of the solid tiles in a tile layer.
+ *
+ * Each outline is a closed path along the tile edges. Following the convention of
+ * Path2, the solid tiles are always on the left. Outer boundaries are therefore
+ * counter-clockwise and holes are clockwise. Tiles that only touch at a corner are
+ * given separate outlines, just as they were separate boxes before.
+ *
+ * The coordinates are in tiles, with the origin at the bottom left of the layer.
+ * This matches the world coordinates of the walls, since the draw scale is the tile
+ * size.
+ */
+public class WallTracer {
+	/** The vertex offset of each direction (+x, +y, -x, -y) */
+	private static final int[] STEP_X = { 1, 0, -1, 0 };
+	/** The vertex offset of each direction (+x, +y, -x, -y) */
+	private static final int[] STEP_Y = { 0, 1, 0, -1 };
+
+	/**
+	 * Returns the outlines of the non-zero tiles in the given layer data.
+	 *
+	 * The data is in Tiled order, row by row from the top.
+	 *
+	 * @param data   The tile id at each position
+	 * @param width  The width of the layer in tiles
+	 * @param height The height of the layer in tiles
+	 *
+	 * @return the closed outline of each group of tiles
+	 */
+	public static Array<Path2> trace(int[] data, int width, int height) {
+		// The outgoing boundary edges of each tile corner, one bit per direction
+		int stride = width + 1;
+		byte[] edges = new byte[stride * (height + 1)];
+		for (int row = 0; row < height; row++) {
+			int y = height - row - 1;
+			for (int x = 0; x < width; x++) {
+				if (!isSolid(data, width, height, x, y)) {
+					continue;
+				}
+				if (!isSolid(data, width, height, x, y - 1)) {
+					edges[y * stride + x] |= 1;
+				}
+				if (!isSolid(data, width, height, x + 1, y)) {
+					edges[y * stride + x + 1] |= 2;
+				}
+				if (!isSolid(data, width, height, x, y + 1)) {
+					edges[(y + 1) * stride + x + 1] |= 4;
+				}
+				if (!isSolid(data, width, height, x - 1, y)) {
+					edges[(y + 1) * stride + x] |= 8;
+				}
+			}
+		}
+
+		Array<Path2> result = new Array<>();
+		PathSmoother smoother = new PathSmoother();
+		smoother.setEpsilon(0.01f);
+		IntArray corners = new IntArray();
+		IntArray directions = new IntArray();
+		FloatArray points = new FloatArray();
+		for (int start = 0; start < edges.length; start++) {
+			while (edges[start] != 0) {
+				corners.clear();
+				directions.clear();
+				traceLoop(edges, stride, start, corners, directions);
+
+				// Start at a turn, so the ends of the open path are real corners
+				int size = corners.size;
+				int first = 0;
+				for (int i = 0; i < size; i++) {
+					if (directions.get(i) != directions.get((i + size - 1) % size)) {
+						first = i;
+						break;
+					}
+				}
+				points.clear();
+				for (int i = 0; i < size; i++) {
+					int corner = corners.get((first + i) % size);
+					points.add(corner % stride);
+					points.add(corner / stride);
+				}
+
+				// Drop the points in the middle of straight edges
+				smoother.set(points.toArray());
+				smoother.calculate();
+				float[] vertices = smoother.getPoints();
+				int n = vertices.length;
+				if (n >= 6 && isCollinear(vertices, n - 4, n - 2, 0)) {
+					float[] trimmed = new float[n - 2];
+					System.arraycopy(vertices, 0, trimmed, 0, n - 2);
+					vertices = trimmed;
+				}
+				Path2 path = new Path2(vertices);
+				path.closed = true;
+				result.add(path);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Follows one loop of boundary edges, clearing each edge as it is used.
+	 *
+	 * Where two edges leave the same corner (two tiles touching diagonally), the
+	 * left turn is taken, which keeps the two tiles in separate loops.
+	 *
+	 * @param edges      The outgoing edges of each corner
+	 * @param stride     The number of corners in a row
+	 * @param start      The corner to start from, which must have an outgoing edge
+	 * @param corners    The list to add each corner of the loop to
+	 * @param directions The list to add the direction leaving each corner to
+	 */
+	private static void traceLoop(byte[] edges, int stride, int start, IntArray corners, IntArray directions) {
+		int first = Integer.numberOfTrailingZeros(edges[start]);
+		int corner = start;
+		int direction = first;
+		do {
+			corners.add(corner);
+			directions.add(direction);
+			edges[corner] &= ~(1 << direction);
+			corner += STEP_Y[direction] * stride + STEP_X[direction];
+
+			// Prefer left, then straight, then right
+			int available = edges[corner];
+			if (corner == start) {
+				available |= (1 << first);
+			}
+			int left = (direction + 1) & 3;
+			if ((available & (1 << left)) != 0) {
+				direction = left;
+			} else if ((available & (1 << direction)) == 0) {
+				direction = (direction + 3) & 3;
+			}
+		} while (corner != start || direction != first);
+	}
+
+	/**
+	 * Returns true if the tile at the given position is solid
+	 *
+	 * @param data   The tile id at each position
+	 * @param width  The width of the layer in tiles
+	 * @param height The height of the layer in tiles
+	 * @param x      The column of the tile
+	 * @param y      The row of the tile, from the bottom
+	 *
+	 * @return true if the tile at the given position is solid
+	 */
+	private static boolean isSolid(int[] data, int width, int height, int x, int y) {
+		if (x < 0 || y < 0 || x >= width || y >= height) {
+			return false;
+		}
+		return data[(height - y - 1) * width + x] != 0;
+	}
+
+	/**
+	 * Returns true if the three given vertices are on one line
+	 *
+	 * @param vertices The vertices, as x and y pairs
+	 * @param a        The offset of the first vertex
+	 * @param b        The offset of the second vertex
+	 * @param c        The offset of the third vertex
+	 *
+	 * @return true if the three given vertices are on one line
+	 */
+	private static boolean isCollinear(float[] vertices, int a, int b, int c) {
+		float ux = vertices[b] - vertices[a];
+		float uy = vertices[b + 1] - vertices[a + 1];
+		float vx = vertices[c] - vertices[b];
+		float vy = vertices[c + 1] - vertices[b + 1];
+		return ux * vy - uy * vx == 0;
+	}
+}
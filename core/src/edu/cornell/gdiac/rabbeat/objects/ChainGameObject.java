@@ -0,0 +1,117 @@
+/*
+ * ChainGameObject.java
+ *
+ * A static outline made of a Box2D chain shape.  Unlike a polygon, a chain can have
+ * any number of vertices and may be concave, so a whole group of wall tiles can be
+ * one body.  A chain only collides along its edges, which is all the walls need.
+ */
+package edu.cornell.gdiac.rabbeat.objects;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.physics.box2d.*;
+
+import edu.cornell.gdiac.math.Path2;
+import edu.cornell.gdiac.rabbeat.GameCanvas;
+
+/**
+ * Chain-shaped model to support collisions.
+ *
+ * The body is placed at the center of the bounding box of the path, and the path is
+ * stored relative to that. If the path is closed, the chain is a loop.
+ *
+ * This object has no texture. Anything drawn for it should be a separate art object.
+ */
+public class ChainGameObject extends SimpleGameObject {
+	/** The outline of the chain, relative to the body position */
+	private Path2 path;
+	/** A cache value for the fixture (for resizing) */
+	private Fixture geometry;
+
+	/**
+	 * Creates a new chain object along the given path.
+	 *
+	 * The path is expressed in physics units NOT pixels, and is in world coordinates.
+	 * This object takes ownership of the path, and moves its vertices to be relative
+	 * to the body position.
+	 *
+	 * @param path  The outline of the chain
+	 */
+	public ChainGameObject(Path2 path) {
+		super(0, 0);
+		float minX = Float.MAX_VALUE;
+		float minY = Float.MAX_VALUE;
+		float maxX = -Float.MAX_VALUE;
+		float maxY = -Float.MAX_VALUE;
+		for (int i = 0; i < path.vertices.length; i += 2) {
+			minX = Math.min(minX, path.vertices[i]);
+			maxX = Math.max(maxX, path.vertices[i]);
+			minY = Math.min(minY, path.vertices[i+1]);
+			maxY = Math.max(maxY, path.vertices[i+1]);
+		}
+		Vector2 center = new Vector2((minX+maxX)/2.0f, (minY+maxY)/2.0f);
+		this.path = path.sub(center);
+		setPosition(center);
+		geometry = null;
+	}
+
+	/**
+	 * Returns the outline of the chain, relative to the body position
+	 *
+	 * This method returns a reference to the path, which should not be modified.
+	 *
+	 * @return the outline of the chain, relative to the body position
+	 */
+	public Path2 getPath() {
+		return path;
+	}
+
+	/**
+	 * Create new fixtures for this body, defining the shape
+	 *
+	 * This is the primary method to override for custom physics objects
+	 */
+	protected void createFixtures() {
+		if (body == null) {
+			return;
+		}
+
+		releaseFixtures();
+
+		// Box2D copies the chain into the fixture, so the shape is only needed here
+		ChainShape shape = new ChainShape();
+		if (path.closed) {
+			shape.createLoop(path.vertices);
+		} else {
+			shape.createChain(path.vertices);
+		}
+		fixture.shape = shape;
+		geometry = body.createFixture(fixture);
+		fixture.shape = null;
+		shape.dispose();
+		markDirty(false);
+	}
+
+	/**
+	 * Release the fixtures for this body, reseting the shape
+	 *
+	 * This is the primary method to override for custom physics objects
+	 */
+	protected void releaseFixtures() {
+		if (geometry != null) {
+			body.destroyFixture(geometry);
+			geometry = null;
+		}
+	}
+
+	/**
+	 * Draws the outline of the physics body.
+	 *
+	 * This method can be helpful for understanding issues with collisions.
+	 *
+	 * @param canvas Drawing context
+	 */
+	public void drawDebug(GameCanvas canvas) {
+		canvas.drawPhysics(path,Color.YELLOW,getX(),getY(),drawScale.x,drawScale.y);
+	}
+}
@@ -47,6 +47,7 @@ public class Checkpoint extends BoxGameObject implements ISyncedAnimated {
      */
     public Checkpoint(int index, Animation<TextureRegion> inactiveAnimation, Animation<TextureRegion> activeAnimation, Animation<TextureRegion> riseAnimation, float x, float y, float width, float height) {
         super(x, y, width, height);
+        setContactKind(ContactKind.CHECKPOINT);
         this.index = index;
         isActive = false;
         this.inactiveAnimation = inactiveAnimation;
@@ -79,7 +80,7 @@ public class Checkpoint extends BoxGameObject implements ISyncedAnimated {
 
     public void draw(GameCanvas canvas) {
         TextureRegion currentFrame = animation.getKeyFrame(stateTime, true);
-        canvas.draw(currentFrame, Color.WHITE,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(),
+        canvas.draw(currentFrame, Color.WHITE,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(),
                 1,1);
     }
 
@@ -0,0 +1,29 @@
+package edu.cornell.gdiac.rabbeat.objects;
+
+/** Enum kind that determines which contact handlers run when the object touches another */
+public enum ContactKind {
+    /** The player */
+    PLAYER,
+    /** A wall tile */
+    WALL,
+    /** The crush body that rides along with a platform */
+    CRUSHER,
+    /** A platform that moves between genre positions */
+    WEIGHTED_PLATFORM,
+    /** A platform that moves along a path */
+    MOVING_PLATFORM,
+    /** A checkpoint */
+    CHECKPOINT,
+    /** The level goal */
+    GOAL,
+    /** Any enemy */
+    ENEMY,
+    /** A bullet fired by a bear */
+    BULLET,
+    /** A bee released by a beehive */
+    BEE,
+    /** An echo released by a bat */
+    ECHO,
+    /** Anything else */
+    OTHER
+}
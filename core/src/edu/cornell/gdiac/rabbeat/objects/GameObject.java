@@ -22,6 +22,8 @@ import com.badlogic.gdx.physics.box2d.*;
 import com.badlogic.gdx.physics.box2d.BodyDef.BodyType;
 
 import edu.cornell.gdiac.rabbeat.*;  // For GameCanvas
+import edu.cornell.gdiac.rabbeat.sync.SyncHandle;
+import edu.cornell.gdiac.util.PooledList;
 
 /**
  * Base model class to support collisions.
@@ -66,10 +68,66 @@ public abstract class GameObject {
 	protected Vector2 centroidCache = new Vector2();
 	/** A cache value for when the user wants to access the drawing scale */
 	protected Vector2 scaleCache = new Vector2();
+
+	/// Interpolation state
+	/** How far (0 to 1) the current frame is between the last two physics steps */
+	private static float interpolation = 1.0f;
+	/** The position of this object before the most recent physics step */
+	protected Vector2 previousPosition = new Vector2();
+	/** The angle of this object before the most recent physics step */
+	protected float previousAngle;
+	/** Whether a transform has been recorded since the object was created */
+	private boolean hasPrevious;
 	/** The type the GameObject is*/
 	private Type type;
 	/** Identifies whether object is a wall or not */
 	private boolean isWall = false;
+	/** Which contact handlers run when this object touches another */
+	private ContactKind contactKind = ContactKind.OTHER;
+
+	/// Activation state
+	/** Whether this object goes dormant when it is outside the activation region */
+	private boolean activatable;
+	/** Whether this object is currently outside the activation region */
+	private boolean dormant;
+
+	/// Registration state
+	/** The entry for this object in its layer of the object list, or null if it is not in one */
+	private PooledList<GameObject>.Entry layerEntry;
+	/** The layer this object is drawn in */
+	private Layer layer = Layer.BACKGROUND_ART;
+	/** The position of this object in the drawing order of its layer */
+	private int drawOrder;
+	/** The handle for this object's beat registration, or null if it is not synced */
+	private SyncHandle syncHandle;
+	/** The entry for this object in the genre object list, or null if there is none */
+	private PooledList<IGenreObject>.Entry genreEntry;
+	/** The entry for this object in the spatial index, or null if it is not indexed */
+	private PooledList<GameObject>.Entry spatialEntry;
+	/** The cell of the spatial index this object is in, or -1 if it is not indexed */
+	private int spatialCell = -1;
+	/** Whether this object is moved by its own code, even though its body is static */
+	private boolean moving;
+	/** The entry for this object in the stateful object list, or null if it is not stateful */
+	private PooledList<GameObject>.Entry stateEntry;
+
+	/// Culling state
+	/** The farthest this object has drawn from its draw position (in screen coordinates) */
+	private float drawRadius;
+	/** Whether this object has been drawn, and so has a draw extent */
+	private boolean hasDrawExtent;
+
+	/// Snapshot state
+	/** The position recorded by the last call to saveState */
+	private final Vector2 savedPosition = new Vector2();
+	/** The angle recorded by the last call to saveState */
+	private float savedAngle;
+	/** The linear velocity recorded by the last call to saveState */
+	private final Vector2 savedVelocity = new Vector2();
+	/** The angular velocity recorded by the last call to saveState */
+	private float savedAngularVelocity;
+	/** The type recorded by the last call to saveState */
+	private Type savedType;
 
 	/**
 	 * Sets whether this object is a wall or not.
@@ -78,6 +136,9 @@ public abstract class GameObject {
 	 */
 	public void setWall(boolean wall){
 		isWall = wall;
+		if (wall) {
+			contactKind = ContactKind.WALL;
+		}
 	}
 
 	/**
@@ -867,6 +928,427 @@ public abstract class GameObject {
     public void setDrawScale(float x, float y) {
     	drawScale.set(x,y);
     }
+
+	/**
+	 * Sets how far the current frame is between the last two physics steps.
+	 *
+	 * Physics runs at a fixed timestep, so a frame is generally drawn part way
+	 * between two steps.  This value is shared by all objects, and is used by
+	 * the draw methods to blend the previous and current transforms.
+	 *
+	 * @param alpha  the interpolation factor between 0 and 1
+	 */
+	public static void setInterpolation(float alpha) {
+		interpolation = alpha;
+	}
+
+	/**
+	 * Records the current transform as the previous transform.
+	 *
+	 * This should be called immediately before every physics step.
+	 */
+	public void storePreviousTransform() {
+		previousPosition.set(getX(), getY());
+		previousAngle = getAngle();
+		hasPrevious = true;
+	}
+
+	/**
+	 * Returns the x-coordinate to draw this object at
+	 *
+	 * This is interpolated between the previous and current physics step.
+	 *
+	 * @return the x-coordinate to draw this object at
+	 */
+	public float getDrawX() {
+		return hasPrevious ? MathUtils.lerp(previousPosition.x, getX(), interpolation) : getX();
+	}
+
+	/**
+	 * Returns the y-coordinate to draw this object at
+	 *
+	 * This is interpolated between the previous and current physics step.
+	 *
+	 * @return the y-coordinate to draw this object at
+	 */
+	public float getDrawY() {
+		return hasPrevious ? MathUtils.lerp(previousPosition.y, getY(), interpolation) : getY();
+	}
+
+	/**
+	 * Returns the angle to draw this object at (in radians)
+	 *
+	 * This is interpolated between the previous and current physics step.
+	 *
+	 * @return the angle to draw this object at
+	 */
+	public float getDrawAngle() {
+		return hasPrevious ? MathUtils.lerp(previousAngle, getAngle(), interpolation) : getAngle();
+	}
+
+	/// Registration Methods
+	/**
+	 * Returns the handle for this object's beat registration
+	 *
+	 * This is null if the object is not synced (or has been unregistered).
+	 *
+	 * @return the handle for this object's beat registration
+	 */
+	public SyncHandle getSyncHandle() {
+		return syncHandle;
+	}
+
+	/**
+	 * Sets the handle for this object's beat registration
+	 *
+	 * @param value  the handle returned by SyncController.addSync
+	 */
+	public void setSyncHandle(SyncHandle value) {
+		syncHandle = value;
+	}
+
+	/**
+	 * Returns the entry for this object in the genre object list
+	 *
+	 * This is null if the object is not genre dependent (or has been unregistered).
+	 *
+	 * @return the entry for this object in the genre object list
+	 */
+	public PooledList<IGenreObject>.Entry getGenreEntry() {
+		return genreEntry;
+	}
+
+	/**
+	 * Sets the entry for this object in the genre object list
+	 *
+	 * @param value  the entry for this object in the genre object list
+	 */
+	public void setGenreEntry(PooledList<IGenreObject>.Entry value) {
+		genreEntry = value;
+	}
+
+	/**
+	 * Returns the entry for this object in its layer of the object list
+	 *
+	 * This is null if the object is not in the object list.
+	 *
+	 * @return the entry for this object in its layer of the object list
+	 */
+	public PooledList<GameObject>.Entry getLayerEntry() {
+		return layerEntry;
+	}
+
+	/**
+	 * Sets the entry for this object in its layer of the object list
+	 *
+	 * @param value  the entry for this object in its layer of the object list
+	 */
+	public void setLayerEntry(PooledList<GameObject>.Entry value) {
+		layerEntry = value;
+	}
+
+	/**
+	 * Returns the layer this object is drawn in
+	 *
+	 * @return the layer this object is drawn in
+	 */
+	public Layer getLayer() {
+		return layer;
+	}
+
+	/**
+	 * Sets the layer this object is drawn in
+	 *
+	 * This is set when the object is instantiated.
+	 *
+	 * @param value  the layer this object is drawn in
+	 */
+	public void setLayer(Layer value) {
+		layer = value;
+	}
+
+	/**
+	 * Returns the position of this object in the drawing order of its layer
+	 *
+	 * Objects from the level file are numbered in the order they appear in it, and
+	 * objects made later are numbered after them.  Objects with a lower number are
+	 * drawn first.
+	 *
+	 * @return the position of this object in the drawing order of its layer
+	 */
+	public int getDrawOrder() {
+		return drawOrder;
+	}
+
+	/**
+	 * Sets the position of this object in the drawing order of its layer
+	 *
+	 * This must be set before the object is instantiated.
+	 *
+	 * @param value  the position of this object in the drawing order of its layer
+	 */
+	public void setDrawOrder(int value) {
+		drawOrder = value;
+	}
+
+	/**
+	 * Returns the entry for this object in the spatial index
+	 *
+	 * This is null if the object is not in the index.
+	 *
+	 * @return the entry for this object in the spatial index
+	 */
+	public PooledList<GameObject>.Entry getSpatialEntry() {
+		return spatialEntry;
+	}
+
+	/**
+	 * Sets the entry for this object in the spatial index
+	 *
+	 * @param value  the entry for this object in the spatial index
+	 */
+	public void setSpatialEntry(PooledList<GameObject>.Entry value) {
+		spatialEntry = value;
+	}
+
+	/**
+	 * Returns the cell of the spatial index this object is in
+	 *
+	 * This is -1 if the object is not in the index.
+	 *
+	 * @return the cell of the spatial index this object is in
+	 */
+	public int getSpatialCell() {
+		return spatialCell;
+	}
+
+	/**
+	 * Sets the cell of the spatial index this object is in
+	 *
+	 * @param value  the cell of the spatial index this object is in
+	 */
+	public void setSpatialCell(int value) {
+		spatialCell = value;
+	}
+
+	/**
+	 * Returns true if this object can move after it is instantiated.
+	 *
+	 * Objects with a kinematic or dynamic body move with the physics.  Objects with
+	 * a static body only move if they are marked as moving, like the moving platforms
+	 * and the enemies that roll, which set their own position.  Moving objects must
+	 * be kept up to date in the spatial index.
+	 *
+	 * @return true if this object can move after it is instantiated
+	 */
+	public boolean isMoving() {
+		return moving || getBodyType() != BodyType.StaticBody;
+	}
+
+	/**
+	 * Sets whether this object moves itself, even though its body is static.
+	 *
+	 * This must be set before the object is instantiated.
+	 *
+	 * @param value  whether this object moves itself
+	 */
+	public void setMoving(boolean value) {
+		moving = value;
+	}
+
+	/**
+	 * Returns true if this object has state that a reset must restore.
+	 *
+	 * Every object that can move has to be put back where it started. Subclasses
+	 * with game state of their own, like the enemies, should override this to
+	 * return true. Everything else, checkpoints included, is only snapshotted once
+	 * and never touched by a reset.
+	 *
+	 * @return true if this object has state that a reset must restore
+	 */
+	public boolean isStateful() {
+		return isMoving();
+	}
+
+	/**
+	 * Returns the entry for this object in the stateful object list
+	 *
+	 * This is null if the object is not in the list.
+	 *
+	 * @return the entry for this object in the stateful object list
+	 */
+	public PooledList<GameObject>.Entry getStateEntry() {
+		return stateEntry;
+	}
+
+	/**
+	 * Sets the entry for this object in the stateful object list
+	 *
+	 * @param value  the entry for this object in the stateful object list
+	 */
+	public void setStateEntry(PooledList<GameObject>.Entry value) {
+		stateEntry = value;
+	}
+
+	/// Activation Methods
+	/**
+	 * Returns true if this object goes dormant outside the activation region.
+	 *
+	 * The activation region is the camera view plus a margin.  Objects that are not
+	 * activatable (walls, art, the player) are always simulated.
+	 *
+	 * @return true if this object goes dormant outside the activation region
+	 */
+	public boolean isActivatable() {
+		return activatable;
+	}
+
+	/**
+	 * Sets whether this object goes dormant outside the activation region.
+	 *
+	 * This must be set before the object is instantiated.
+	 *
+	 * @param value  whether this object goes dormant outside the activation region
+	 */
+	public void setActivatable(boolean value) {
+		activatable = value;
+	}
+
+	/**
+	 * Returns true if this object is outside the activation region.
+	 *
+	 * @return true if this object is outside the activation region
+	 */
+	public boolean isDormant() {
+		return dormant;
+	}
+
+	/**
+	 * Sets whether this object is outside the activation region.
+	 *
+	 * A dormant object has its body deactivated, so Box2D neither moves it nor tests it
+	 * for collisions.  Subclasses may skip further work while dormant, but anything that
+	 * keeps time with the beat must carry on so the object is in step when it returns.
+	 *
+	 * This must not be called during a physics step.
+	 *
+	 * @param value  whether this object is outside the activation region
+	 */
+	public void setDormant(boolean value) {
+		dormant = value;
+		setActive(!value);
+	}
+
+	/// Culling Methods
+	/**
+	 * Returns true if this object may be visible in the given area.
+	 *
+	 * The test uses a square around the current draw position, reaching as far as this
+	 * object has ever drawn from it. As the square is the same on every side, it still
+	 * holds when the object flips or turns. An object that has never been drawn is
+	 * always visible, so that it can be measured.
+	 *
+	 * @param view  the area to test against (in screen coordinates)
+	 *
+	 * @return true if this object may be visible in the given area
+	 */
+	public boolean isVisible(Rectangle view) {
+		if (!hasDrawExtent) {
+			return true;
+		}
+		float x = getDrawX() * drawScale.x;
+		float y = getDrawY() * drawScale.y;
+		return x - drawRadius < view.x + view.width && view.x < x + drawRadius
+				&& y - drawRadius < view.y + view.height && view.y < y + drawRadius;
+	}
+
+	/**
+	 * Grows the cached draw extent of this object to include the given area.
+	 *
+	 * The area is what the object covered when it was last drawn. Only its farthest
+	 * corner from the draw position is kept, so the extent moves with the object. The
+	 * extent only ever grows, so animations and scaling are covered once they have been
+	 * seen.
+	 *
+	 * @param drawn  the area covered by the last draw (in screen coordinates)
+	 */
+	public void addDrawExtent(Rectangle drawn) {
+		float left = drawn.x - getDrawX() * drawScale.x;
+		float bottom = drawn.y - getDrawY() * drawScale.y;
+		float dx = Math.max(Math.abs(left), Math.abs(left + drawn.width));
+		float dy = Math.max(Math.abs(bottom), Math.abs(bottom + drawn.height));
+		drawRadius = Math.max(hasDrawExtent ? drawRadius : 0, (float) Math.sqrt(dx * dx + dy * dy));
+		hasDrawExtent = true;
+	}
+
+	/**
+	 * Returns true if this object has been drawn since its draw extent was cleared
+	 *
+	 * @return true if this object has a draw extent
+	 */
+	public boolean hasDrawExtent() {
+		return hasDrawExtent;
+	}
+
+	/**
+	 * Returns the farthest this object has drawn from its draw position
+	 *
+	 * This is 0 if the object has no draw extent.
+	 *
+	 * @return the farthest this object has drawn from its draw position (in screen coordinates)
+	 */
+	public float getDrawRadius() {
+		return hasDrawExtent ? drawRadius : 0;
+	}
+
+	/**
+	 * Forgets the draw extent of this object, so that it is measured again.
+	 *
+	 * Pooled objects call this when they are reused, as they may be drawn differently.
+	 */
+	public void clearDrawExtent() {
+		hasDrawExtent = false;
+		drawRadius = 0;
+	}
+
+	/// Snapshot Methods
+	/**
+	 * Records the current state of this object so that it can be restored later.
+	 *
+	 * This is called once, right after the level is loaded.  Subclasses with game
+	 * state of their own should override this (and restoreState), calling the
+	 * super method first.
+	 */
+	public void saveState() {
+		savedPosition.set(getX(), getY());
+		savedAngle = getAngle();
+		savedVelocity.set(getLinearVelocity());
+		savedAngularVelocity = getAngularVelocity();
+		savedType = type;
+	}
+
+	/**
+	 * Returns this object to the state recorded by saveState.
+	 *
+	 * The body is moved in place rather than recreated, so this is much cheaper
+	 * than rebuilding the level. A static body that is still where it was saved is
+	 * left alone, as moving it would resynchronize its fixtures for nothing.
+	 */
+	public void restoreState() {
+		if (getBodyType() != BodyType.StaticBody || getX() != savedPosition.x
+				|| getY() != savedPosition.y || getAngle() != savedAngle) {
+			setPosition(savedPosition);
+			setAngle(savedAngle);
+			setLinearVelocity(savedVelocity);
+			setAngularVelocity(savedAngularVelocity);
+		}
+		if (getBodyType() == BodyType.DynamicBody) {
+			setAwake(true);
+		}
+		type = savedType;
+		toRemove = false;
+		hasPrevious = false;
+	}
     	
 	/// DEBUG METHODS
 	/**
@@ -938,6 +1420,26 @@ public abstract class GameObject {
 		type = _type;
 	}
 
+	/**
+	 * Returns the contact kind of this object
+	 *
+	 * The contact kinds of two touching objects pick the handlers that run.
+	 *
+	 * @return the contact kind of this object
+	 */
+	public ContactKind getContactKind() {
+		return contactKind;
+	}
+
+	/**
+	 * Sets the contact kind of this object
+	 *
+	 * @param kind  the contact kind of this object
+	 */
+	public void setContactKind(ContactKind kind){
+		contactKind = kind;
+	}
+
 	/// Abstract Methods
 	/**
 	 * Creates the physics Body(s) for this object, adding them to the world.
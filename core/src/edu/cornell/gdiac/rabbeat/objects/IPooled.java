@@ -0,0 +1,13 @@
+package edu.cornell.gdiac.rabbeat.objects;
+
+import com.badlogic.gdx.utils.Pool;
+
+public interface IPooled extends Pool.Poolable {
+    /**
+     * Returns this object to the pool it was obtained from. This is called by
+     * {@link edu.cornell.gdiac.rabbeat.GameController} in place of destroying the object,
+     * after its body has been deactivated.
+     */
+    public abstract void free();
+
+}
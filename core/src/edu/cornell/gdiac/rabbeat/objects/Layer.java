@@ -0,0 +1,23 @@
+package edu.cornell.gdiac.rabbeat.objects;
+
+/** The layers objects are drawn in, from back to front */
+public enum Layer {
+    /** Decals and background art */
+    BACKGROUND_ART,
+    /** Wall tiles */
+    WALLS,
+    /** Platforms, platform art and their crush bodies */
+    PLATFORMS,
+    /** Most enemies, checkpoints and the goal */
+    ACTORS,
+    /** Bullets, bees and echoes */
+    PROJECTILES,
+    /** Objects that should be drawn on top of other objects (bears) */
+    FRONT,
+    /** The player */
+    PLAYER,
+    /** Foreground objects that are drawn over the player */
+    FOREGROUND,
+    /** UI elements that are drawn over everything on screen */
+    UI
+}
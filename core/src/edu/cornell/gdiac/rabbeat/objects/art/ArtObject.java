@@ -34,6 +34,24 @@ public class ArtObject extends GameObject {
         origin = new Vector2(textureRegion.getRegionWidth()/2.0f, textureRegion.getRegionHeight()/2.0f);
     }
 
+    /**
+     * Returns the region this art object draws, which is the current frame if it is animated.
+     *
+     * @return the region this art object draws
+     */
+    public TextureRegion getTextureRegion() {
+        return textureRegion;
+    }
+
+    /**
+     * Returns the texture origin for drawing, which is the center of the region.
+     *
+     * @return the texture origin for drawing
+     */
+    public Vector2 getOrigin() {
+        return origin;
+    }
+
     @Override
     public boolean activatePhysics(World world) {
         return true;
@@ -45,7 +63,21 @@ public class ArtObject extends GameObject {
     @Override
     public void draw(GameCanvas canvas) {
         if (textureRegion != null) {
-            canvas.draw(textureRegion,Color.WHITE,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.x,getAngle(),1,1);
+            canvas.draw(textureRegion,Color.WHITE,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.x,getDrawAngle(),1,1);
+        }
+    }
+
+    /**
+     * Adds this art to the static tile cache of the canvas, instead of drawing it.
+     *
+     * This is only for art that never moves, and must be called between
+     * beginTileCache and endTileCache.
+     *
+     * @param canvas Drawing context
+     */
+    public void cache(GameCanvas canvas) {
+        if (textureRegion != null) {
+            canvas.cacheTile(textureRegion, getX()*drawScale.x-origin.x, getY()*drawScale.x-origin.y);
         }
     }
 
@@ -57,8 +57,8 @@ public class PulsingArtObject extends ArtObject implements ISynced {
     public void draw(GameCanvas canvas) {
         if (textureRegion != null) {
             canvas.draw(textureRegion, Color.WHITE,origin.x,origin.y,
-                    getX()*drawScale.x ,
-                    getY()*drawScale.x ,getAngle(), pulseScaleAmount,pulseScaleAmount);
+                    getDrawX()*drawScale.x ,
+                    getDrawY()*drawScale.x ,getDrawAngle(), pulseScaleAmount,pulseScaleAmount);
         }
     }
 }
@@ -59,8 +59,8 @@ public class StretchingArtObject extends ArtObject implements ISynced {
     public void draw(GameCanvas canvas) {
         if (textureRegion != null) {
             canvas.draw(textureRegion, Color.WHITE,origin.x,origin.y,
-                    getX()*drawScale.x ,
-                    getY()*drawScale.x ,getAngle(), horizontalScaleAmount, verticalScaleAmount);
+                    getDrawX()*drawScale.x ,
+                    getDrawY()*drawScale.x ,getDrawAngle(), horizontalScaleAmount, verticalScaleAmount);
         }
     }
 }
@@ -8,6 +8,7 @@ import edu.cornell.gdiac.rabbeat.GameController;
 import edu.cornell.gdiac.rabbeat.Genre;
 import edu.cornell.gdiac.rabbeat.ObjectController;
 import edu.cornell.gdiac.rabbeat.objects.projectiles.Echo;
+import edu.cornell.gdiac.rabbeat.objects.projectiles.EchoPool;
 
 /**
  * Bat enemy avatar for the platform game.
@@ -82,27 +83,17 @@ public class BatEnemy extends Enemy {
 
     /** Creates a bullet in front of the bear */
     public void makeEcho() {
-
         ObjectController oc = GameController.getInstance().objectController;
-        float offset = oc.defaultConstants.get("echo").getFloat("offset", 0);
+        EchoPool pool = (genre == Genre.SYNTH ? oc.synthEchoPool : oc.jazzEchoPool);
+        float offset = pool.getOffset();
         offset *= (isFaceRight() ? 1 : -1);
         for(int i = 0; i < 2; i++){
             if(genre == Genre.SYNTH){
-                echo = new Echo(getX() + offset, getY(),
-                        2, .75f,  echoSynthAnimation);
+                echo = pool.send(getX() + offset, getY(), i == 1);
             }
             else{
-                echo = new Echo(getX(), getY()+ offset,
-                        .75f, 2.5f,  echoJazzAnimation);
-                echo.vertical = true;
+                echo = pool.send(getX(), getY() + offset, i == 1);
             }
-            if(i == 1) echo.flipX = !echo.flipX;
-            echo.setSensor(true);
-            echo.setDensity(oc.defaultConstants.get("echo").getFloat("density", 0));
-            echo.setDrawScale(scale);
-            echo.setTexture(oc.echoTexture);
-            echo.setGravityScale(0);
-            GameController.getInstance().instantiateQueue(echo);
             offset *= -1;
         }
 
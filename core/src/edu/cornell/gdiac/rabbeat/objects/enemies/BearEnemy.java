@@ -72,39 +72,8 @@ public class BearEnemy extends Enemy {
     /** Creates a bullet in front of the bear */
     public void makeBullet() {
         ObjectController oc = GameController.getInstance().objectController;
-        float offset = oc.defaultConstants.get("bullet").getFloat("offset", 0);
-        offset *= (isFaceRight() ? 1 : -1);
-        float radius = (genre == Genre.SYNTH ?
-                (oc.bulletTexture.getRegionWidth() / (0.3f * scale.x)) :
-                (oc.bulletTexture.getRegionWidth() / (0.24f * scale.x)));
-        float width  = oc.bulletTexture.getRegionWidth()*0.1f;
-        float height = oc.bulletTexture.getRegionHeight()*0.05f;
-        bullet = new Bullet(getX()+offset, getY()+0.1f, width, height,
-                oc.defaultConstants.get("bullet").getFloat("synth speed", 0),
-                oc.defaultConstants.get("bullet").getFloat("jazz speed", 0), isFaceRight(),
-                genre);
-
-        bullet.setDensity(oc.defaultConstants.get("bullet").getFloat("density", 0));
-        bullet.setDrawScale(scale);
-        //bullet.setTexture(oc.bulletTexture);
-        bullet.setGravityScale(0);
-        bullet.setAnimation(genre == Genre.SYNTH ? oc.bulletSynthAnimation : oc.bulletJazzAnimation);
         shotDirection = isFaceRight();
-        int beatcount;
-
-        // Compute position and velocity
-        float speed;
-        if (genre == Genre.SYNTH) {
-            speed = oc.defaultConstants.get("bullet").getFloat("synth speed", 0);
-            beatcount = oc.defaultConstants.get("bullet").getInt("synth bullet time", 0);
-        } else {
-            speed = oc.defaultConstants.get("bullet").getFloat("jazz speed", 0);
-            beatcount = oc.defaultConstants.get("bullet").getInt("jazz bullet time", 0);
-        }
-        speed *= (isFaceRight() ? 1 : -1);
-        bullet.setVX(speed);
-        bullet.beatCount = beatcount;
-        GameController.getInstance().instantiateQueue(bullet);
+        bullet = oc.bulletPool.fire(getX(), getY(), isFaceRight(), genre);
     }
 
     public void beatAction() {
@@ -7,7 +7,6 @@ import com.badlogic.gdx.utils.JsonValue;
 import edu.cornell.gdiac.rabbeat.GameController;
 import edu.cornell.gdiac.rabbeat.Genre;
 import edu.cornell.gdiac.rabbeat.ObjectController;
-import edu.cornell.gdiac.rabbeat.objects.projectiles.Bee;
 
 public class BeeHive extends Enemy {
 
@@ -53,36 +52,8 @@ public class BeeHive extends Enemy {
 
     /** Creates a bee in front of the hive */
     public void makeBee() {
-        // TODO: create a bullet using object controller default values. instantiate the
-        // copy using gamecontroller
-
-        float offset = oc.defaultConstants.get("bullet").getFloat("offset", 0);
-        offset *= (isFaceRight() ? 1 : -1);
-        float radius = oc.beeTexture.getRegionWidth() / (7.0f * scale.x);
-        Animation<TextureRegion> beeAnimation;
-        if (genre == Genre.SYNTH){
-            beeAnimation = beeSynthAnimation;
-        }
-        else{
-            beeAnimation = beeJazzAnimation;
-        }
-        Bee bee = new Bee(getX() + offset, getY(), radius, genre, isFaceRight(), beeAnimation, beeBeat);
-
-        bee.setName(getName() + "_bee");
-        bee.setDensity(oc.defaultConstants.get("bullet").getFloat("density", 0));
-        bee.setDrawScale(scale);
-
-        bee.setSensor(true);
-        bee.setTexture(oc.beeTexture);
-        bee.setGravityScale(0);
-
-        // Compute position and velocity
-        float speed = 2.5f;
-        float vSpeed = -4;
-        speed *= (isFaceRight() ? 1 : -1);
-        bee.setVX(speed);
-        bee.setVY(vSpeed);
-        GameController.getInstance().instantiateQueue(bee);
+        oc.beePool.release(getX(), getY(), isFaceRight(), genre,
+                genre == Genre.SYNTH ? beeSynthAnimation : beeJazzAnimation, beeBeat);
     }
 
     @Override
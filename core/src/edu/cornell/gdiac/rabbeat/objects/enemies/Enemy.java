@@ -11,6 +11,7 @@ import com.badlogic.gdx.graphics.*;
 
 import com.badlogic.gdx.utils.JsonValue;
 import edu.cornell.gdiac.rabbeat.objects.IGenreObject;
+import edu.cornell.gdiac.rabbeat.objects.ContactKind;
 import edu.cornell.gdiac.rabbeat.objects.Type;
 import edu.cornell.gdiac.rabbeat.sync.Beat;
 import edu.cornell.gdiac.rabbeat.sync.ISyncedAnimated;
@@ -77,6 +78,17 @@ public abstract class Enemy extends CapsuleGameObject implements ISyncedAnimated
     /** The index to cycle through beatList */
     public int beatListIndex;
 
+    /** The direction the enemy was facing when its state was saved */
+    private boolean savedFaceRight;
+    /** The enemy state when its state was saved */
+    private EnemyState savedEnemyState;
+    /** The animation state when its state was saved */
+    private AnimationState savedAnimationState;
+    /** The animation when its state was saved */
+    private Animation<TextureRegion> savedAnimation;
+    /** The genre when its state was saved */
+    private Genre savedGenre;
+
     /**
      * Creates a new enemy avatar with the given physics data
      *
@@ -106,6 +118,8 @@ public abstract class Enemy extends CapsuleGameObject implements ISyncedAnimated
         this.enemyScale = enemyScale;
         this.beatList = beatList;
         setType(Type.LETHAL);
+        setContactKind(ContactKind.ENEMY);
+        setActivatable(true);
         setName("enemy");
         this.genre = genre;
         enemyState = EnemyState.ATTACKING;
@@ -122,7 +136,8 @@ public abstract class Enemy extends CapsuleGameObject implements ISyncedAnimated
     /**
      * Updates the object's physics state (NOT GAME LOGIC).
      *
-     * We use this method to reset cooldowns.
+     * We use this method to reset cooldowns. Dormant enemies are still updated, as what
+     * they do keeps time with the beat.
      *
      * @param dt Number of seconds since last animation frame
      */
@@ -141,8 +156,8 @@ public abstract class Enemy extends CapsuleGameObject implements ISyncedAnimated
         float verticalEffect = (flipVertical && isFlippable) ? -1.0f : 1.0f;
         TextureRegion currentFrame = animation.getKeyFrame(stateTime, true);
 
-        canvas.draw(currentFrame, Color.WHITE, origin.x, origin.y, getX() * drawScale.x, getY() * drawScale.y,
-                getAngle(), enemyScale * horizontalEffect, enemyScale * verticalEffect);
+        canvas.draw(currentFrame, Color.WHITE, origin.x, origin.y, getDrawX() * drawScale.x, getDrawY() * drawScale.y,
+                getDrawAngle(), enemyScale * horizontalEffect, enemyScale * verticalEffect);
     }
 
     /** Sets the direction that the enemy is facing in */
@@ -198,6 +213,7 @@ public abstract class Enemy extends CapsuleGameObject implements ISyncedAnimated
         if (beatList[beatListIndex] == beatCount.getBeatCount()) {
             animationState = AnimationState.ATTACK;
             if (enemyState == EnemyState.ATTACKING) {
+                // Dormant enemies attack too, so that shots fired off screen still fly in
                 Attack();
                 beatListIndex++;
                 if (beatListIndex >= beatList.length) {
@@ -219,6 +235,39 @@ public abstract class Enemy extends CapsuleGameObject implements ISyncedAnimated
         }
     }
 
+    /**
+     * Returns true, as an enemy always has state that a reset must restore.
+     */
+    @Override
+    public boolean isStateful() {
+        return true;
+    }
+
+    @Override
+    public void saveState() {
+        super.saveState();
+        savedFaceRight = faceRight;
+        savedEnemyState = enemyState;
+        savedAnimationState = animationState;
+        savedAnimation = animation;
+        savedGenre = genre;
+    }
+
+    /**
+     * Returns the enemy to its saved state, starting its beat list over.
+     */
+    @Override
+    public void restoreState() {
+        super.restoreState();
+        faceRight = savedFaceRight;
+        enemyState = savedEnemyState;
+        animationState = savedAnimationState;
+        animation = savedAnimation;
+        genre = savedGenre;
+        stateTime = 0;
+        beatListIndex = 0;
+    }
+
     /** The function called whenever the enemy is supposed to attack */
     public abstract void Attack();
 
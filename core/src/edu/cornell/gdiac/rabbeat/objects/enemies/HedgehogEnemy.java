@@ -69,6 +69,13 @@ public class HedgehogEnemy extends Enemy implements ISynced, IGenreObject {
         }
     }
 
+    /**
+     * Rolls the hedgehog along its path.
+     *
+     * The roll keeps time with the beat, so it carries on while the hedgehog is dormant.
+     *
+     * @param dt Number of seconds since last animation frame
+     */
     @Override
     public void update(float dt) {
         super.update(dt);
@@ -103,4 +110,15 @@ public class HedgehogEnemy extends Enemy implements ISynced, IGenreObject {
         roll = true;
     }
 
+    /**
+     * Returns the hedgehog to its saved state, at rest in its starting position.
+     */
+    @Override
+    public void restoreState() {
+        super.restoreState();
+        rollingRight = false;
+        roll = false;
+        distance = genre == Genre.SYNTH ? 0.1f : 0.05f;
+    }
+
 }
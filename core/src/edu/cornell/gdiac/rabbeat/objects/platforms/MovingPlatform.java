@@ -6,6 +6,7 @@ import edu.cornell.gdiac.rabbeat.GameController;
 import edu.cornell.gdiac.rabbeat.Genre;
 import edu.cornell.gdiac.rabbeat.objects.BoxGameObject;
 import edu.cornell.gdiac.rabbeat.objects.IGenreObject;
+import edu.cornell.gdiac.rabbeat.objects.ContactKind;
 import edu.cornell.gdiac.rabbeat.objects.Type;
 import edu.cornell.gdiac.rabbeat.sync.ISynced;
 
@@ -48,6 +49,17 @@ public class MovingPlatform extends BoxGameObject implements IGenreObject, ISync
     private float SPEEDBEAT8 = (float) 2*6 /10;
     private BoxGameObject crusher;
 
+    /** The destination node when the state was saved */
+    private int savedDestination;
+    /** The home node when the state was saved */
+    private int savedHome;
+    /** Whether the platform was moving when the state was saved */
+    private boolean savedMoving;
+    /** The beat the platform was on when the state was saved */
+    private int savedBeat;
+    /** The speed of the platform when the state was saved */
+    private float savedSpeed;
+
     /**
      * Creates a new moving platform with the given physics data and current genre.
      *
@@ -61,6 +73,8 @@ public class MovingPlatform extends BoxGameObject implements IGenreObject, ISync
     public MovingPlatform(float width, float height, Vector2[] nodes, int beatWaitTime, int beatMoveTime,
                           TextureRegion texture, BoxGameObject crushBody, boolean crushSpeedEnable) {
         super(nodes[0].x, nodes[0].y, width, height);
+        setContactKind(ContactKind.MOVING_PLATFORM);
+        setActivatable(true);
         beatWait = beatWaitTime;
         positionNodes = nodes;
         destination = 1;
@@ -153,6 +167,27 @@ public class MovingPlatform extends BoxGameObject implements IGenreObject, ISync
             return new Vector2(velocity.x*-1*currentSpeed, velocity.y*-1*currentSpeed);
         }
     }
+    @Override
+    public void saveState() {
+        super.saveState();
+        savedDestination = destination;
+        savedHome = home;
+        savedMoving = moving;
+        savedBeat = beat;
+        savedSpeed = currentSpeed;
+    }
+
+    /** Returns the platform to the saved node and phase of its beat cycle */
+    @Override
+    public void restoreState() {
+        super.restoreState();
+        destination = savedDestination;
+        home = savedHome;
+        moving = savedMoving;
+        beat = savedBeat;
+        currentSpeed = savedSpeed;
+        velocity = direction(positionNodes[home], positionNodes[destination], 2);
+    }
     /**iMPLEMENTS THE syncing for the platforms */
     @Override
     public float getBeat() {
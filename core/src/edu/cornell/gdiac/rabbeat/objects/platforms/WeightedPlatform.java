@@ -6,6 +6,7 @@ import edu.cornell.gdiac.rabbeat.GameController;
 import edu.cornell.gdiac.rabbeat.Genre;
 import edu.cornell.gdiac.rabbeat.objects.BoxGameObject;
 import edu.cornell.gdiac.rabbeat.objects.IGenreObject;
+import edu.cornell.gdiac.rabbeat.objects.ContactKind;
 import edu.cornell.gdiac.rabbeat.objects.Type;
 import edu.cornell.gdiac.rabbeat.sync.ISynced;
 
@@ -54,6 +55,17 @@ public class WeightedPlatform extends BoxGameObject implements IGenreObject, ISy
     private float SPEEDBEAT8 = (float) 2*6 /10;
 
     Genre genre;
+
+    /** Whether the platform was moving when the state was saved */
+    private boolean savedMoving;
+    /** The speed of the platform when the state was saved */
+    private float savedSpeed;
+    /** The beat the platform was on when the state was saved */
+    private int savedBeat;
+    /** The genre of the platform when the state was saved */
+    private Genre savedGenre;
+    /** The texture of the platform when the state was saved */
+    private TextureRegion savedTexture;
     /**
      * Creates a new weighted platform with the given physics data and current genre.
      *
@@ -73,6 +85,8 @@ public class WeightedPlatform extends BoxGameObject implements IGenreObject, ISy
                             TextureRegion jazzTexture, Genre genre, BoxGameObject crushBody) {
         super((genre == Genre.SYNTH)? synthPos[0] : synthPos[0],
                 (genre == Genre.SYNTH)? synthPos[1] : jazzPos[1], width, height);
+        setContactKind(ContactKind.WEIGHTED_PLATFORM);
+        setActivatable(true);
 
         jazzPosition = new Vector2(jazzPos[0], jazzPos[1]);
         synthPosition = new Vector2(synthPos[0], synthPos[1]);
@@ -180,6 +194,27 @@ public class WeightedPlatform extends BoxGameObject implements IGenreObject, ISy
             beat = 0;
         }
     }
+    @Override
+    public void saveState() {
+        super.saveState();
+        savedMoving = moving;
+        savedSpeed = currentSpeed;
+        savedBeat = beat;
+        savedGenre = genre;
+        savedTexture = getTexture();
+    }
+
+    /** Returns the platform to its saved position and phase of its beat cycle */
+    @Override
+    public void restoreState() {
+        super.restoreState();
+        moving = savedMoving;
+        currentSpeed = savedSpeed;
+        beat = savedBeat;
+        genre = savedGenre;
+        setTexture(savedTexture);
+    }
+
     @Override
     public void genreUpdate(Genre genre) {
         this.genre = genre;
@@ -5,13 +5,16 @@ import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import edu.cornell.gdiac.rabbeat.GameCanvas;
 import edu.cornell.gdiac.rabbeat.Genre;
+import com.badlogic.gdx.utils.Pool;
 import edu.cornell.gdiac.rabbeat.objects.IGenreObject;
+import edu.cornell.gdiac.rabbeat.objects.IPooled;
+import edu.cornell.gdiac.rabbeat.objects.ContactKind;
 import edu.cornell.gdiac.rabbeat.objects.Type;
 import edu.cornell.gdiac.rabbeat.objects.WheelGameObject;
 import edu.cornell.gdiac.rabbeat.sync.ISyncedAnimated;
 
 
-public class Bee extends WheelGameObject implements ISyncedAnimated, IGenreObject {
+public class Bee extends WheelGameObject implements ISyncedAnimated, IGenreObject, IPooled {
 
     public int beatCount = 0;
     private Genre hiveGenre;
@@ -20,6 +23,8 @@ public class Bee extends WheelGameObject implements ISyncedAnimated, IGenreObjec
     private float beeBeat;
     /** The elapsed time for animationUpdate */
     private float stateTime = 0;
+    /** The pool this bee returns to when it is destroyed */
+    private Pool<Bee> pool;
 
     public Bee(float x, float y, float radius, Genre genre, boolean faceRight, Animation<TextureRegion> beeAttackAnimation, float beet) {
         super(x, y, radius);
@@ -27,9 +32,47 @@ public class Bee extends WheelGameObject implements ISyncedAnimated, IGenreObjec
         isFaceRight = faceRight;
         setAnimation(beeAttackAnimation);
         setType(Type.LETHAL);
+        setContactKind(ContactKind.BEE);
         setSensor(true);
         beeBeat = beet;
     }
+    /**
+     * Sets up this bee to fly out of a hive.
+     *
+     * This is used when reusing a bee from the pool, and sets everything the
+     * constructor does that depends on the hive.
+     *
+     * @param genre     The genre of the hive
+     * @param faceRight Whether the hive faces right
+     * @param animation The animation for the hive's genre
+     * @param beet      How often the bee changes direction
+     */
+    public void launch(Genre genre, boolean faceRight, Animation<TextureRegion> animation, float beet) {
+        hiveGenre = genre;
+        isFaceRight = faceRight;
+        setAnimation(animation);
+        beeBeat = beet;
+    }
+
+    /** Sets the pool this bee returns to when it is destroyed */
+    public void setPool(Pool<Bee> pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void free() {
+        pool.free(this);
+    }
+
+    /** Clears the state of a used bee so that it can be fired again */
+    @Override
+    public void reset() {
+        markRemoved(false);
+        beatCount = 0;
+        stateTime = 0;
+        clearDrawExtent();
+    }
+
     public void update(float dt) {
         stateTime += dt;
         super.update(dt);
@@ -65,6 +108,6 @@ public class Bee extends WheelGameObject implements ISyncedAnimated, IGenreObjec
     public void draw(GameCanvas canvas) {
         float effect = (isFaceRight) ? -1.0f : 1.0f;
         TextureRegion currentFrame = animation.getKeyFrame(stateTime, true);
-        canvas.draw(currentFrame, Color.WHITE,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,getAngle(), 0.4f * effect,0.4f);
+        canvas.draw(currentFrame, Color.WHITE,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(), 0.4f * effect,0.4f);
     }
 }
@@ -0,0 +1,85 @@
+package edu.cornell.gdiac.rabbeat.objects.projectiles;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.JsonValue;
+import edu.cornell.gdiac.rabbeat.GameController;
+import edu.cornell.gdiac.rabbeat.Genre;
+import edu.cornell.gdiac.rabbeat.ObjectController;
+
+/**
+ * The pool of bees released by bee hives.
+ */
+public class BeePool extends ProjectilePool<Bee> {
+    /** The horizontal speed of a bee */
+    private static final float SPEED = 2.5f;
+    /** The initial vertical speed of a bee */
+    private static final float VERTICAL_SPEED = -4;
+
+    /** The distance in front of the hive that bees appear */
+    private final float offset;
+    /** The density of a bee */
+    private final float density;
+    /** The radius of a bee */
+    private final float radius;
+    /** The draw scale of a bee */
+    private final Vector2 scale;
+    /** The texture of a bee */
+    private final TextureRegion texture;
+    /** The animation of a bee in synth */
+    private final Animation<TextureRegion> synthAnimation;
+
+    /**
+     * Creates an empty bee pool, reading the bee constants from the object controller.
+     *
+     * @param oc    The object controller with the loaded constants and animations
+     * @param scale The draw scale
+     */
+    public BeePool(ObjectController oc, Vector2 scale) {
+        JsonValue data = oc.defaultConstants.get("bullet");
+        offset = data.getFloat("offset", 0);
+        density = data.getFloat("density", 0);
+        radius = oc.beeTexture.getRegionWidth() / (7.0f * scale.x);
+        this.scale = new Vector2(scale);
+        texture = oc.beeTexture;
+        synthAnimation = oc.beeSynthAnimation;
+    }
+
+    @Override
+    protected Bee newObject() {
+        Bee bee = new Bee(0, 0, radius, Genre.SYNTH, true, synthAnimation, 1);
+        bee.setName("bee");
+        bee.setDensity(density);
+        bee.setDrawScale(scale);
+        bee.setTexture(texture);
+        bee.setGravityScale(0);
+        bee.setPool(this);
+        return bee;
+    }
+
+    /**
+     * Releases a bee from the given position and adds it to the game.
+     *
+     * @param x         The x-coordinate of the hive
+     * @param y         The y-coordinate of the hive
+     * @param faceRight Whether the hive is facing right
+     * @param genre     The genre of the hive
+     * @param animation The bee animation for the hive's genre
+     * @param beeBeat   How often the bee changes direction
+     *
+     * @return the bee that was released
+     */
+    public Bee release(float x, float y, boolean faceRight, Genre genre,
+                       Animation<TextureRegion> animation, float beeBeat) {
+        float dir = faceRight ? 1 : -1;
+        Bee bee = obtain();
+        bee.launch(genre, faceRight, animation, beeBeat);
+        bee.setPosition(x + offset * dir, y);
+        bee.storePreviousTransform();
+        bee.setVX(SPEED * dir);
+        bee.setVY(VERTICAL_SPEED);
+        GameController.getInstance().instantiateQueue(bee);
+        return bee;
+    }
+}
@@ -4,12 +4,15 @@ import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import edu.cornell.gdiac.rabbeat.GameCanvas;
 import edu.cornell.gdiac.rabbeat.objects.BoxGameObject;
+import com.badlogic.gdx.utils.Pool;
+import edu.cornell.gdiac.rabbeat.objects.ContactKind;
+import edu.cornell.gdiac.rabbeat.objects.IPooled;
 import edu.cornell.gdiac.rabbeat.objects.Type;
 import edu.cornell.gdiac.rabbeat.sync.ISynced;
 import edu.cornell.gdiac.rabbeat.sync.ISyncedAnimated;
 import edu.cornell.gdiac.rabbeat.Genre;
 
-public class Bullet extends BoxGameObject implements ISynced, ISyncedAnimated {
+public class Bullet extends BoxGameObject implements ISynced, ISyncedAnimated, IPooled {
     public int beatCount = 0;
 
     private float stateTime = 0;
@@ -19,12 +22,16 @@ public class Bullet extends BoxGameObject implements ISynced, ISyncedAnimated {
 
     private Animation animation;
 
+    /** The pool this bullet returns to when it is destroyed */
+    private Pool<Bullet> pool;
+
     public Bullet(float x, float y, float width, float height, float synthVX, float jazzVX, boolean fr, Genre genre) {
         super(x, y, width, height);
         setVX(synthVX);
         dir = (fr ? 1 : -1);
         bulletGenre = genre;
         setType(Type.LETHAL);
+        setContactKind(ContactKind.BULLET);
         setSensor(true);
     }
 
@@ -54,10 +61,29 @@ public class Bullet extends BoxGameObject implements ISynced, ISyncedAnimated {
         }
     }
 
+    /** Sets the pool this bullet returns to when it is destroyed */
+    public void setPool(Pool<Bullet> pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void free() {
+        pool.free(this);
+    }
+
+    /** Clears the state of a used bullet so that it can be fired again */
+    @Override
+    public void reset() {
+        markRemoved(false);
+        beatCount = 0;
+        stateTime = 0;
+        clearDrawExtent();
+    }
+
     public void draw(GameCanvas canvas) {
         TextureRegion currentFrame = (TextureRegion) animation.getKeyFrame(stateTime, true);
 
-        canvas.draw(currentFrame, Color.WHITE,origin.x+30 ,origin.y+(bulletGenre == Genre.SYNTH ? 35 : 50),getX()*drawScale.x,getY()*drawScale.y,getAngle(), 1.2f*dir*-1,1.2f);
+        canvas.draw(currentFrame, Color.WHITE,origin.x+30 ,origin.y+(bulletGenre == Genre.SYNTH ? 35 : 50),getDrawX()*drawScale.x,getDrawY()*drawScale.y,getDrawAngle(), 1.2f*dir*-1,1.2f);
     }
 
 }
\ No newline at end of file
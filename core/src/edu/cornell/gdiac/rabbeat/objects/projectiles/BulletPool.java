@@ -0,0 +1,97 @@
+package edu.cornell.gdiac.rabbeat.objects.projectiles;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.JsonValue;
+import edu.cornell.gdiac.rabbeat.GameController;
+import edu.cornell.gdiac.rabbeat.Genre;
+import edu.cornell.gdiac.rabbeat.ObjectController;
+
+/**
+ * The pool of bullets fired by bears.
+ */
+public class BulletPool extends ProjectilePool<Bullet> {
+    /** The distance in front of the bear that bullets appear */
+    private final float offset;
+    /** The density of a bullet */
+    private final float density;
+    /** The speed of a bullet in synth */
+    private final float synthSpeed;
+    /** The speed of a bullet in jazz */
+    private final float jazzSpeed;
+    /** The number of beats a bullet lasts in synth */
+    private final int synthBulletTime;
+    /** The number of beats a bullet lasts in jazz */
+    private final int jazzBulletTime;
+    /** The width of a bullet */
+    private final float width;
+    /** The height of a bullet */
+    private final float height;
+    /** The draw scale of a bullet */
+    private final Vector2 scale;
+    /** The animation of a bullet in synth */
+    private final Animation<TextureRegion> synthAnimation;
+    /** The animation of a bullet in jazz */
+    private final Animation<TextureRegion> jazzAnimation;
+
+    /**
+     * Creates an empty bullet pool, reading the bullet constants from the object controller.
+     *
+     * @param oc    The object controller with the loaded constants and animations
+     * @param scale The draw scale
+     */
+    public BulletPool(ObjectController oc, Vector2 scale) {
+        JsonValue data = oc.defaultConstants.get("bullet");
+        offset = data.getFloat("offset", 0);
+        density = data.getFloat("density", 0);
+        synthSpeed = data.getFloat("synth speed", 0);
+        jazzSpeed = data.getFloat("jazz speed", 0);
+        synthBulletTime = data.getInt("synth bullet time", 0);
+        jazzBulletTime = data.getInt("jazz bullet time", 0);
+        width  = oc.bulletTexture.getRegionWidth()*0.1f;
+        height = oc.bulletTexture.getRegionHeight()*0.05f;
+        this.scale = new Vector2(scale);
+        synthAnimation = oc.bulletSynthAnimation;
+        jazzAnimation = oc.bulletJazzAnimation;
+    }
+
+    @Override
+    protected Bullet newObject() {
+        Bullet bullet = new Bullet(0, 0, width, height, synthSpeed, jazzSpeed, true, Genre.SYNTH);
+        bullet.setDensity(density);
+        bullet.setDrawScale(scale);
+        bullet.setGravityScale(0);
+        bullet.setPool(this);
+        return bullet;
+    }
+
+    /**
+     * Fires a bullet from the given position and adds it to the game.
+     *
+     * @param x         The x-coordinate of the bear
+     * @param y         The y-coordinate of the bear
+     * @param faceRight Whether the bear is facing right
+     * @param genre     The genre of the bear
+     *
+     * @return the bullet that was fired
+     */
+    public Bullet fire(float x, float y, boolean faceRight, Genre genre) {
+        float dir = faceRight ? 1 : -1;
+        Bullet bullet = obtain();
+        bullet.setPosition(x + offset * dir, y + 0.1f);
+        bullet.storePreviousTransform();
+        bullet.dir = dir;
+        bullet.bulletGenre = genre;
+        bullet.setAnimation(genre == Genre.SYNTH ? synthAnimation : jazzAnimation);
+        if (genre == Genre.SYNTH) {
+            bullet.setVX(synthSpeed * dir);
+            bullet.beatCount = synthBulletTime;
+        } else {
+            bullet.setVX(jazzSpeed * dir);
+            bullet.beatCount = jazzBulletTime;
+        }
+        GameController.getInstance().instantiateQueue(bullet);
+        return bullet;
+    }
+}
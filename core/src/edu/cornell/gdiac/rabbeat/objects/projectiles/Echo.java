@@ -5,11 +5,14 @@ import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import edu.cornell.gdiac.rabbeat.GameCanvas;
 import edu.cornell.gdiac.rabbeat.objects.BoxGameObject;
+import com.badlogic.gdx.utils.Pool;
+import edu.cornell.gdiac.rabbeat.objects.ContactKind;
+import edu.cornell.gdiac.rabbeat.objects.IPooled;
 import edu.cornell.gdiac.rabbeat.objects.Type;
 import edu.cornell.gdiac.rabbeat.sync.ISyncedAnimated;
 
 
-public class Echo extends BoxGameObject implements ISyncedAnimated {
+public class Echo extends BoxGameObject implements ISyncedAnimated, IPooled {
 
     public int beatCount = 2;
 
@@ -22,10 +25,14 @@ public class Echo extends BoxGameObject implements ISyncedAnimated {
 
     public boolean vertical = false;
 
+    /** The pool this echo returns to when it is destroyed */
+    private Pool<Echo> pool;
+
     public Echo(float x, float y, float width, float height, Animation _animation) {
         super(x, y, width, height);
         setAnimation(_animation);
         setType(Type.LETHAL);
+        setContactKind(ContactKind.ECHO);
         setSensor(true);
     }
 
@@ -47,12 +54,33 @@ public class Echo extends BoxGameObject implements ISyncedAnimated {
     public void updateAnimationFrame(){
         stateTime++;
     }
+    /** Sets the pool this echo returns to when it is destroyed */
+    public void setPool(Pool<Echo> pool) {
+        this.pool = pool;
+    }
+
+    @Override
+    public void free() {
+        pool.free(this);
+    }
+
+    /** Clears the state of a used echo so that it can be fired again */
+    @Override
+    public void reset() {
+        markRemoved(false);
+        beatCount = 2;
+        stateTime = 0;
+        flipX = false;
+        flipY = false;
+        clearDrawExtent();
+    }
+
     public void draw(GameCanvas canvas) {
         TextureRegion currentFrame = animation.getKeyFrame(6+stateTime, true);
         float scaleX = flipX ? -1 : 1;
         float scaleY = flipY ? -1 : 1;
         float rotate = vertical ? (float)(Math.PI/2) : 0;
-        canvas.draw(currentFrame, Color.WHITE,origin.x,origin.y,getX()*drawScale.x,getY()*drawScale.y,
-                getAngle() + rotate, scaleX,scaleY);
+        canvas.draw(currentFrame, Color.WHITE,origin.x,origin.y,getDrawX()*drawScale.x,getDrawY()*drawScale.y,
+                getDrawAngle() + rotate, scaleX,scaleY);
     }
 }
@@ -0,0 +1,98 @@
+package edu.cornell.gdiac.rabbeat.objects.projectiles;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.JsonValue;
+import edu.cornell.gdiac.rabbeat.GameController;
+import edu.cornell.gdiac.rabbeat.Genre;
+import edu.cornell.gdiac.rabbeat.ObjectController;
+
+/**
+ * The pool of echoes sent out by bats in one genre.
+ *
+ * Synth echoes travel sideways and jazz echoes travel up and down, so the two have
+ * differently shaped bodies and need separate pools.
+ */
+public class EchoPool extends ProjectilePool<Echo> {
+    /** The distance from the bat that echoes appear */
+    private final float offset;
+    /** The density of an echo */
+    private final float density;
+    /** The width of an echo body */
+    private final float width;
+    /** The height of an echo body */
+    private final float height;
+    /** Whether echoes in this pool travel vertically */
+    private final boolean vertical;
+    /** The draw scale of an echo */
+    private final Vector2 scale;
+    /** The texture of an echo */
+    private final TextureRegion texture;
+    /** The animation of an echo */
+    private final Animation<TextureRegion> animation;
+
+    /**
+     * Creates an empty echo pool, reading the echo constants from the object controller.
+     *
+     * @param oc    The object controller with the loaded constants and animations
+     * @param scale The draw scale
+     * @param genre The genre of the echoes in this pool
+     */
+    public EchoPool(ObjectController oc, Vector2 scale, Genre genre) {
+        JsonValue data = oc.defaultConstants.get("echo");
+        offset = data.getFloat("offset", 0);
+        density = data.getFloat("density", 0);
+        vertical = genre == Genre.JAZZ;
+        if (vertical) {
+            width = .75f;
+            height = 2.5f;
+            animation = oc.echoJazzAnimation;
+        } else {
+            width = 2;
+            height = .75f;
+            animation = oc.echoSynthAnimation;
+        }
+        this.scale = new Vector2(scale);
+        texture = oc.echoTexture;
+    }
+
+    @Override
+    protected Echo newObject() {
+        Echo echo = new Echo(0, 0, width, height, animation);
+        echo.vertical = vertical;
+        echo.setDensity(density);
+        echo.setDrawScale(scale);
+        echo.setTexture(texture);
+        echo.setGravityScale(0);
+        echo.setPool(this);
+        return echo;
+    }
+
+    /**
+     * Returns the distance from the bat that echoes appear
+     *
+     * @return the distance from the bat that echoes appear
+     */
+    public float getOffset() {
+        return offset;
+    }
+
+    /**
+     * Sends out an echo at the given position and adds it to the game.
+     *
+     * @param x    The x-coordinate of the echo
+     * @param y    The y-coordinate of the echo
+     * @param flip Whether the echo is drawn flipped
+     *
+     * @return the echo that was sent out
+     */
+    public Echo send(float x, float y, boolean flip) {
+        Echo echo = obtain();
+        echo.flipX = flip;
+        echo.setPosition(x, y);
+        echo.storePreviousTransform();
+        GameController.getInstance().instantiateQueue(echo);
+        return echo;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * ProjectilePool.java
+ *
+ * Enemies fire on the beat, so creating a new object and Box2D body for every shot
+ * puts an allocation spike on exactly the frames where timing matters most.  Instead,
+ * a destroyed projectile keeps its body (deactivated) and is returned to a pool, and
+ * the next shot reactivates it.  Each pool also reads its constants from the JSON
+ * once, rather than on every shot.
+ */
+package edu.cornell.gdiac.rabbeat.objects.projectiles;
+
+import com.badlogic.gdx.physics.box2d.World;
+import com.badlogic.gdx.utils.Pool;
+import edu.cornell.gdiac.rabbeat.objects.GameObject;
+import edu.cornell.gdiac.rabbeat.objects.IPooled;
+
+/**
+ * A pool of projectiles whose bodies are kept between uses.
+ *
+ * Projectiles obtained from the pool are instantiated through the usual add queue.
+ * GameController reactivates their body if they already have one, and on removal
+ * deactivates it and calls {@link IPooled#free()}, which returns them here.
+ */
+public abstract class ProjectilePool<T extends GameObject & IPooled> extends Pool<T> {
+
+    /**
+     * Creates projectiles and their bodies ahead of time, so that the first shots do
+     * not allocate either.
+     *
+     * @param world The Box2D world to create the bodies in
+     * @param count The number of projectiles to create
+     */
+    public void prewarm(World world, int count) {
+        for (int i = 0; i < count; i++) {
+            T projectile = newObject();
+            projectile.activatePhysics(world);
+            projectile.setActive(false);
+            free(projectile);
+        }
+    }
+}
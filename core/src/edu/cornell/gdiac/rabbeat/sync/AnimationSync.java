@@ -1,6 +1,6 @@
 package edu.cornell.gdiac.rabbeat.sync;
 
-import com.badlogic.gdx.utils.Array;
+import edu.cornell.gdiac.util.PooledList;
 
 public class AnimationSync implements ISynced{
     /**
@@ -9,7 +9,7 @@ public class AnimationSync implements ISynced{
      */
 
     /** The animated objects that need to be synced with the game*/
-    public Array<ISyncedAnimated> animatedObjects = new Array<>();
+    public PooledList<ISyncedAnimated> animatedObjects = new PooledList<>();
     /** Number of frames that play per beat */
     float ANIMATION_FPB = 3.0f;
 
@@ -0,0 +1,16 @@
+package edu.cornell.gdiac.rabbeat.sync;
+
+/**
+ * A source for the song position that the {@link SyncController} times beats with.
+ *
+ * By default the SyncController reads the position of the synth soundtrack. Setting
+ * a clock replaces that, so that a replay can feed back the positions it recorded.
+ */
+public interface SyncClock {
+    /**
+     * Returns the current position in the song, in seconds
+     *
+     * @return the current position in the song, in seconds
+     */
+    public float getPosition();
+}
@@ -6,6 +6,7 @@ import com.badlogic.gdx.audio.*;
 import com.badlogic.gdx.utils.*;
 import edu.cornell.gdiac.rabbeat.GameController;
 import edu.cornell.gdiac.rabbeat.InputController;
+import edu.cornell.gdiac.util.PooledList;
 
 public class SyncController {
     /**
@@ -27,13 +28,15 @@ public class SyncController {
     Music synth;
     /** The jazz soundtrack */
     Music jazz;
+    /** The clock to read the song position from, or null to read the synth soundtrack */
+    private SyncClock clock;
 
     /** The audio delay of the audio in seconds */
     public float audioDelay = 0f;
     /** The visual delay of the animations in seconds */
     public float visualDelay = 0f;
     /** The intervals of each of the synced objects in the game */
-    private Array<Interval> intervals = new Array<>();
+    private PooledList<Interval> intervals = new PooledList<>();
 
     /** The beat of the game */
     public Beat beat;
@@ -76,6 +79,17 @@ public class SyncController {
         jazz = _jazz;
     }
 
+    /**
+     * Sets the clock to read the song position from.
+     *
+     * Passing null goes back to reading the position of the synth soundtrack.
+     *
+     * @param clock The clock to read the song position from
+     */
+    public void setClock(SyncClock clock) {
+        this.clock = clock;
+    }
+
     /**
      * Adds delay to visualDelay
      *
@@ -119,7 +133,7 @@ public class SyncController {
      * @param isPaused if the game is currently paused
      */
     public void update(boolean isPaused) {
-        float musicPos = synth.getPosition();
+        float musicPos = (clock != null ? clock.getPosition() : synth.getPosition());
         beatInterval.checkForNewInterval(
                 (musicPos - audioDelay) / beatInterval.getIntervalLength(BPM), true);
         uiSyncPulse.update();
@@ -178,15 +192,62 @@ public class SyncController {
      * animated synced objects
      * 
      * @param syncedObject A synced object
+     *
+     * @return the handle to pass to removeSync when the object is destroyed
+     */
+    public SyncHandle addSync(ISynced syncedObject) {
+        SyncHandle handle = new SyncHandle(new Interval(syncedObject));
+        addSync(handle);
+        return handle;
+    }
+
+    /**
+     * Syncs the object of a removed handle again.
+     *
+     * This is used for pooled objects, so they do not need a new interval each time
+     * they are reused.  The interval starts over, so the object acts on its first
+     * update just as a new object would.  Adding a registered handle does nothing.
+     *
+     * @param handle A handle returned by addSync
      */
-    public void addSync(ISynced syncedObject) {
-        Interval interval = new Interval(
-                syncedObject);
-        intervals.add(interval);
+    public void addSync(SyncHandle handle) {
+        if (handle.isRegistered()) {
+            return;
+        }
+        handle.interval.lastInterval = 0;
+        handle.intervalEntry = intervals.addEntry(handle.interval);
+        ISynced syncedObject = handle.interval.syncedObject;
         if (syncedObject instanceof ISyncedAnimated) {
-            animationSync.animatedObjects.add((ISyncedAnimated) (syncedObject));
+            handle.animationEntry = animationSync.animatedObjects.addEntry((ISyncedAnimated) (syncedObject));
         }
+    }
 
+    /**
+     * Stops syncing the object registered with the given handle.
+     *
+     * This is O(1), and must not be called from inside a beatAction.  Removing a
+     * handle a second time does nothing.
+     *
+     * @param handle The handle returned by addSync
+     */
+    public void removeSync(SyncHandle handle) {
+        if (handle.intervalEntry != null) {
+            handle.intervalEntry.remove();
+            handle.intervalEntry = null;
+        }
+        if (handle.animationEntry != null) {
+            handle.animationEntry.remove();
+            handle.animationEntry = null;
+        }
+    }
+
+    /**
+     * Returns the number of objects currently synced to the beat
+     *
+     * @return the number of objects currently synced to the beat
+     */
+    public int getSyncCount() {
+        return intervals.size();
     }
 
     /**
@@ -0,0 +1,37 @@
+package edu.cornell.gdiac.rabbeat.sync;
+
+import edu.cornell.gdiac.util.PooledList;
+
+/**
+ * A handle to an object registered with the {@link SyncController}.
+ *
+ * addSync returns one of these, and passing it to removeSync drops the object from
+ * the beat (and animation) lists in O(1). A removed handle keeps its interval, so a
+ * pooled object can be synced again by passing the handle back to addSync.
+ */
+public class SyncHandle {
+    /** The interval of the synced object */
+    final Interval interval;
+    /** The entry for the object's interval, or null if it is not registered */
+    PooledList<Interval>.Entry intervalEntry;
+    /** The entry for the object in the animation list, or null if it is not animated */
+    PooledList<ISyncedAnimated>.Entry animationEntry;
+
+    /**
+     * Creates an unregistered handle for the given interval
+     *
+     * @param interval The interval of the synced object
+     */
+    SyncHandle(Interval interval) {
+        this.interval = interval;
+    }
+
+    /**
+     * Returns true if this handle is currently registered
+     *
+     * @return true if this handle is currently registered
+     */
+    public boolean isRegistered() {
+        return intervalEntry != null;
+    }
+}
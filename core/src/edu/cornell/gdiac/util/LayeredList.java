@@ -0,0 +1,184 @@
+/*
+ * LayeredList.java
+ *
+ * Drawing order in a 2d game is usually a handful of layers (background, walls,
+ * characters, foreground, and so on).  Keeping one list and inserting into the
+ * middle of it means walking the list to find the insertion point.  Instead we
+ * keep one PooledList per layer, so adding and removing are always O(1), and we
+ * iterate the layers back to back.
+ */
+package edu.cornell.gdiac.util;
+
+import java.util.*;
+
+/**
+ * A fixed number of PooledLists that are iterated in sequence.
+ *
+ * Elements are appended to the end of their layer, so order within a layer is the
+ * order they were added.  Iterating this list visits layer 0 first, then layer 1,
+ * and so on.  For O(1) removal, keep the entry returned by addEntry(), or use the
+ * entryIterator() of each layer directly.
+ */
+public class LayeredList<E> implements Iterable<E> {
+	/** The lists for each layer */
+	private final PooledList<E>[] layers;
+	/** Cached reference to the value iterator */
+	private final LayerIterator values;
+
+	/**
+	 * Creates a new LayeredList with the given number of (empty) layers
+	 *
+	 * @param count the number of layers
+	 */
+	@SuppressWarnings("unchecked")
+	public LayeredList(int count) {
+		layers = new PooledList[count];
+		for (int i = 0; i < count; i++) {
+			layers[i] = new PooledList<E>();
+		}
+		values = new LayerIterator();
+	}
+
+	/**
+	 * Returns the number of layers
+	 *
+	 * @return the number of layers
+	 */
+	public int getLayerCount() {
+		return layers.length;
+	}
+
+	/**
+	 * Returns the list for the given layer
+	 *
+	 * @param layer the layer index
+	 *
+	 * @return the list for the given layer
+	 */
+	public PooledList<E> getLayer(int layer) {
+		return layers[layer];
+	}
+
+	/**
+	 * Adds an element to the end of the given layer
+	 *
+	 * @param layer the layer index
+	 * @param e     the element to add
+	 *
+	 * @return whether the addition succeeeded
+	 */
+	public boolean add(int layer, E e) {
+		return layers[layer].add(e);
+	}
+
+	/**
+	 * Adds an element to the end of the given layer, returning its entry
+	 *
+	 * The entry may be kept to remove the element later in O(1), as with
+	 * {@link PooledList#addEntry}.
+	 *
+	 * @param layer the layer index
+	 * @param e     the element to add
+	 *
+	 * @return the entry for the element, or null if the addition failed
+	 */
+	public PooledList<E>.Entry addEntry(int layer, E e) {
+		return layers[layer].addEntry(e);
+	}
+
+	/**
+	 * Returns the number of elements in all layers.
+	 *
+	 * @return the number of elements in all layers
+	 */
+	public int size() {
+		int size = 0;
+		for (PooledList<E> layer : layers) {
+			size += layer.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Returns true if every layer is empty
+	 *
+	 * @return true if every layer is empty
+	 */
+	public boolean isEmpty() {
+		for (PooledList<E> layer : layers) {
+			if (!layer.isEmpty()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Removes every element from every layer
+	 */
+	public void clear() {
+		for (PooledList<E> layer : layers) {
+			layer.clear();
+		}
+	}
+
+	/**
+	 * Returns an iterator over the values of every layer, in layer order
+	 *
+	 * @return an iterator over the values of every layer
+	 */
+	public Iterator<E> iterator() {
+		values.reset();
+		return values;
+	}
+
+	/**
+	 * An iterator that walks each layer in turn
+	 */
+	private class LayerIterator implements Iterator<E> {
+		/** The layer currently being walked */
+		private int layer;
+		/** The iterator for the current layer */
+		private Iterator<E> current;
+
+		/**
+		 * Resets the iterator to start at the beginning
+		 */
+		public void reset() {
+			layer = 0;
+			current = layers[0].iterator();
+		}
+
+		/**
+		 * Returns true if this iterator has more elements
+		 *
+		 * @return true if this iterator has more elements
+		 */
+		public boolean hasNext() {
+			while (!current.hasNext() && layer < layers.length - 1) {
+				layer++;
+				current = layers[layer].iterator();
+			}
+			return current.hasNext();
+		}
+
+		/**
+		 * Returns the next element (and advances the cursor)
+		 *
+		 * @return the next element
+		 */
+		public E next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return current.next();
+		}
+
+		/**
+		 * Removes the element last returned by next()
+		 */
+		public void remove() {
+			current.remove();
+		}
+	}
+}
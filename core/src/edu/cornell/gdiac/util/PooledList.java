@@ -51,6 +51,15 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 		public E getValue() {
 			return value;
 		}
+
+		/**
+		 * Returns the entry before this one, or null if this is the first entry
+		 *
+		 * @return the entry before this one, or null if this is the first entry
+		 */
+		public Entry getPrevious() {
+			return prev;
+		}
 		
 		/**
 		 * Removes this entry from the list in place
@@ -243,9 +252,24 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 	 * @return whether the addition succeeeded
 	 */
 	public boolean add(E e) {
+		return addEntry(e) != null;
+	}
+
+	/** 
+	 * Adds an element to the end of the list, returning its entry
+	 *
+	 * The entry may be kept to remove the element later in O(1), without searching
+	 * for it.  Entries are recycled once removed, so drop the reference as soon as
+	 * you call remove() on it (or clear the list).
+	 *
+	 * @param e  the element to add
+	 *
+	 * @return the entry for the element, or null if the addition failed
+	 */
+	public Entry addEntry(E e) {
 		Entry entry = memory.obtain();
 		if (entry == null) {
-			return false;
+			return null;
 		}
 		entry.value = e;
 		entry.prev = tail;
@@ -256,7 +280,49 @@ public class PooledList<E> extends AbstractSequentialList<E> implements Iterable
 		}
 		tail = entry;
 		size++;
-		return true;
+		return entry;
+	}
+
+	/**
+	 * Returns the entry for the last element of the list, or null if it is empty
+	 *
+	 * @return the entry for the last element of the list, or null if it is empty
+	 */
+	public Entry getTailEntry() {
+		return tail;
+	}
+
+	/**
+	 * Inserts an element after the given entry, returning its entry
+	 *
+	 * If the given entry is null, the element is added to the front of the list.
+	 * This is O(1), like {@link #addEntry}.
+	 *
+	 * @param before  the entry to insert after, or null for the front of the list
+	 * @param e  the element to add
+	 *
+	 * @return the entry for the element, or null if the addition failed
+	 */
+	public Entry addEntryAfter(Entry before, E e) {
+		if (before == tail) {
+			return addEntry(e);
+		}
+		Entry entry = memory.obtain();
+		if (entry == null) {
+			return null;
+		}
+		entry.value = e;
+		entry.prev = before;
+		if (before == null) {
+			entry.next = head;
+			head = entry;
+		} else {
+			entry.next = before.next;
+			before.next = entry;
+		}
+		entry.next.prev = entry;
+		size++;
+		return entry;
 	}
 
 	/** 
@@ -24,6 +24,17 @@ public class RandomController {
 	/** Pseudo-random number generator */
 	private static Random generator = new Random(0); // Make it deterministic
 
+	/**
+	 * Restarts the random number sequence from the given seed.
+	 *
+	 * Replays set this so that a recorded session rolls the same numbers again.
+	 *
+	 * @param seed The seed of the sequence
+	 */
+	public static void setSeed(long seed) {
+		generator.setSeed(seed);
+	}
+
 	/**
 	 * Returns a random int between min and max (inclusive).
 	 *
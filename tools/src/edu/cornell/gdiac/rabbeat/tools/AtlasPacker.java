@@ -0,0 +1,180 @@
+/*
+ * AtlasPacker.java
+ *
+ * Every animation used to be its own atlas with its own texture, so drawing the player
+ * next to an enemy next to a bullet switched textures each time.  This tool takes the
+ * atlases exported for each animation and packs them into a few shared atlases.  The
+ * source atlases stay where they are, so the animations can still be edited one at a
+ * time.
+ *
+ * This is run by the packAtlases Gradle task, before the game is run or packaged.
+ */
+package edu.cornell.gdiac.rabbeat.tools;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.tools.texturepacker.TexturePacker;
+import com.badlogic.gdx.tools.texturepacker.TextureUnpacker;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.OrderedMap;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/**
+ * Command line tool that packs the animation atlases into shared atlases.
+ *
+ * The arguments are the assets directory and the pack configuration. The
+ * configuration names the output directory (relative to the assets), and lists the
+ * directories of each pack. Every atlas in those directories is split back into its
+ * frames, and the frames of a pack are packed together with TexturePacker. The
+ * region names and indices are kept, so they must be unique within a pack.
+ *
+ * Along with the packed atlases, this writes an index from the path of each source
+ * atlas to the path of the packed atlas that now holds its regions. The game looks
+ * up atlases through this index (see AnimationLibrary), so the paths in the code
+ * do not change.
+ */
+public class AtlasPacker {
+	/** The name of the index of packed atlases, in the output directory */
+	public static final String INDEX = "atlases.json";
+	/** The width and height of the largest page */
+	private static final int MAX_PAGE_SIZE = 2048;
+	/** The transparent pixels between frames */
+	private static final int PADDING = 2;
+
+	/** The assets directory */
+	private final File assets;
+	/** The directory the packed atlases are written to */
+	private final File output;
+	/** The internal path of the output directory */
+	private final String outputPath;
+	/** The packed atlas of each source atlas, by internal path */
+	private final OrderedMap<String, String> index = new OrderedMap<>();
+
+	/**
+	 * Packs the atlases for the assets directory given on the command line
+	 *
+	 * @param args The assets directory and the pack configuration
+	 */
+	public static void main(String[] args) {
+		if (args.length != 2 || !new File(args[0]).isDirectory() || !new File(args[1]).isFile()) {
+			System.err.println("Usage: AtlasPacker <assets directory> <pack configuration>");
+			System.exit(1);
+		}
+		File assets = new File(args[0]);
+		JsonValue config = new JsonReader().parse(new FileHandle(new File(args[1])));
+		AtlasPacker packer = new AtlasPacker(assets, config.getString("output"));
+		try {
+			packer.clean();
+			for (JsonValue pack : config.get("packs")) {
+				packer.pack(pack.name(), pack.asStringArray());
+			}
+			packer.writeIndex();
+		} catch (Exception e) {
+			System.err.println("Could not pack the atlases");
+			e.printStackTrace();
+			System.exit(1);
+		}
+		System.out.println("Packed " + packer.index.size + " atlases into " + config.get("packs").size + " shared atlases");
+	}
+
+	/**
+	 * Creates a packer for the given directories
+	 *
+	 * @param assets The assets directory
+	 * @param output The directory the packed atlases are written to, relative to the assets
+	 */
+	public AtlasPacker(File assets, String output) {
+		this.assets = assets;
+		this.output = new File(assets, output);
+		this.outputPath = output;
+	}
+
+	/**
+	 * Removes the packed atlases of any earlier run
+	 */
+	private void clean() {
+		FileHandle directory = new FileHandle(output);
+		if (directory.exists()) {
+			directory.deleteDirectory();
+		}
+		directory.mkdirs();
+	}
+
+	/**
+	 * Packs every atlas in the given directories into a single atlas
+	 *
+	 * @param name        The name of the pack, which is the name of its atlas
+	 * @param directories The directories of the source atlases, relative to the assets
+	 */
+	private void pack(String name, String[] directories) throws IOException {
+		FileHandle frames = new FileHandle(File.createTempFile("atlas-" + name, ""));
+		frames.delete();
+		frames.mkdirs();
+		try {
+			ObjectMap<String, String> owners = new ObjectMap<>();
+			TextureUnpacker unpacker = new TextureUnpacker();
+			for (String directory : directories) {
+				File[] files = new File(assets, directory).listFiles((dir, file) -> file.endsWith(".atlas"));
+				if (files == null) {
+					throw new GdxRuntimeException("No atlas directory " + directory);
+				}
+				Arrays.sort(files);
+				for (File file : files) {
+					String path = directory + "/" + file.getName();
+					FileHandle source = new FileHandle(file);
+					TextureAtlas.TextureAtlasData data = new TextureAtlas.TextureAtlasData(source, source.parent(), false);
+					for (TextureAtlas.TextureAtlasData.Region region : data.getRegions()) {
+						String owner = owners.get(region.name);
+						if (owner != null && !owner.equals(path)) {
+							throw new GdxRuntimeException("Region " + region.name + " is in both " + owner + " and " + path);
+						}
+						owners.put(region.name, path);
+					}
+					unpacker.splitAtlas(data, frames.path());
+					index.put(path, outputPath + "/" + name + ".atlas");
+				}
+			}
+
+			TexturePacker.Settings settings = new TexturePacker.Settings();
+			settings.maxWidth = MAX_PAGE_SIZE;
+			settings.maxHeight = MAX_PAGE_SIZE;
+			settings.paddingX = PADDING;
+			settings.paddingY = PADDING;
+			settings.duplicatePadding = true;
+			settings.filterMin = Texture.TextureFilter.Linear;
+			settings.filterMag = Texture.TextureFilter.Linear;
+			settings.useIndexes = true;
+			TexturePacker.process(settings, frames.path(), output.getPath(), name);
+		} finally {
+			frames.deleteDirectory();
+		}
+	}
+
+	/**
+	 * Writes the packed atlas of each source atlas to the index
+	 */
+	private void writeIndex() throws IOException {
+		Writer writer = new FileHandle(new File(output, INDEX)).writer(false, "UTF-8");
+		try {
+			JsonWriter json = new JsonWriter(writer);
+			json.setOutputType(JsonWriter.OutputType.json);
+			json.object();
+			for (ObjectMap.Entry<String, String> entry : index) {
+				json.set(entry.key, entry.value);
+			}
+			json.pop();
+		} finally {
+			StreamUtils.closeQuietly(writer);
+		}
+	}
+}